@@ -11,14 +11,16 @@
 package org.eclipse.che.api.core.rest;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.io.CharStreams;
+import com.google.common.io.ByteStreams;
+import com.google.gson.JsonIOException;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.io.Reader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
@@ -48,6 +50,10 @@ import org.eclipse.che.dto.server.JsonStringMapImpl;
 /**
  * Simple implementation of {@link HttpJsonRequest} based on {@link HttpURLConnection}.
  *
+ * <p>Connections are not disconnected after the responses are read, so they are kept alive and
+ * reused by the next requests to the same hosts. The size of the pool of idle connections is
+ * configured by the "http.maxConnections" system property.
+ *
  * <p>The implementation is not thread-safe, instance of this class must be created each time when
  * it's needed.
  *
@@ -202,6 +208,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
     conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
     conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+    // the connection is kept alive for the next requests only if its response is read completely
+    boolean responseRead = false;
     try {
       conn.setRequestMethod(method);
       //drop a hint for server side that we want to receive application/json
@@ -213,6 +221,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       }
       if (body != null) {
         conn.addRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        // the body is not streamed, in streaming mode the connection can neither follow redirects
+        // nor give the error stream of an unauthorized response
         conn.setDoOutput(true);
 
         if (HttpMethod.DELETE.equals(
@@ -221,8 +231,15 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
           conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
         }
 
-        try (OutputStream output = conn.getOutputStream()) {
-          output.write(DtoFactory.getInstance().toJson(body).getBytes());
+        try (Writer writer =
+            new BufferedWriter(new OutputStreamWriter(conn.getOutputStream(), UTF_8))) {
+          if (body instanceof JsonSerializable) {
+            ((JsonSerializable) body).toJson(writer);
+          } else {
+            writer.write(DtoFactory.getInstance().toJson(body));
+          }
+        } catch (JsonIOException e) {
+          throw new IOException(e.getLocalizedMessage(), e);
         }
       }
 
@@ -232,10 +249,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         if (in == null) {
           in = conn.getInputStream();
         }
-        final String str;
-        try (Reader reader = new InputStreamReader(in)) {
-          str = CharStreams.toString(reader);
-        }
+        final String str = new String(readFully(in), UTF_8);
+        responseRead = true;
         final String contentType = conn.getContentType();
         if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
           final ServiceError serviceError =
@@ -270,11 +285,21 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         throw new IOException(conn.getResponseMessage());
       }
 
-      try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
-      }
+      final DefaultHttpJsonResponse response =
+          new DefaultHttpJsonResponse(readFully(conn.getInputStream()), responseCode);
+      responseRead = true;
+      return response;
     } finally {
-      conn.disconnect();
+      if (!responseRead) {
+        conn.disconnect();
+      }
+    }
+  }
+
+  /** Reads and closes the stream, so the connection it belongs to may be reused. */
+  private static byte[] readFully(InputStream in) throws IOException {
+    try (InputStream stream = in) {
+      return ByteStreams.toByteArray(stream);
     }
   }
 
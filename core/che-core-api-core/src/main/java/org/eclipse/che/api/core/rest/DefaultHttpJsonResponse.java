@@ -10,10 +10,15 @@
  */
 package org.eclipse.che.api.core.rest;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
@@ -31,27 +36,53 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
   private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
   private final String responseBody;
+  private final byte[] responseBytes;
   private final int responseCode;
 
   protected DefaultHttpJsonResponse(String response, int responseCode) {
     this.responseBody = response;
+    this.responseBytes = null;
+    this.responseCode = responseCode;
+  }
+
+  /**
+   * Creates response with the body in UTF-8 encoding. DTOs are parsed from the bytes without
+   * creating the string of the whole body.
+   */
+  protected DefaultHttpJsonResponse(byte[] response, int responseCode) {
+    this.responseBody = null;
+    this.responseBytes = requireNonNull(response, "Required non-null response");
     this.responseCode = responseCode;
   }
 
   @Override
   public String asString() {
-    return responseBody;
+    return responseBytes != null ? new String(responseBytes, UTF_8) : responseBody;
   }
 
   @Override
   public <T> T asDto(Class<T> dtoInterface) {
     requireNonNull(dtoInterface, "Required non-null dto interface");
+    if (responseBytes != null) {
+      try {
+        return DtoFactory.getInstance().createDtoFromJson(reader(), dtoInterface);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e); // won't happen
+      }
+    }
     return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
   }
 
   @Override
   public <T> List<T> asList(Class<T> dtoInterface) {
     requireNonNull(dtoInterface, "Required non-null dto interface");
+    if (responseBytes != null) {
+      try {
+        return DtoFactory.getInstance().createListDtoFromJson(reader(), dtoInterface);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e); // won't happen
+      }
+    }
     return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
   }
 
@@ -65,12 +96,19 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
   public <T> T as(Class<T> clazz, Type genericType) throws IOException {
     requireNonNull(clazz, "Required non-null class");
     try {
+      if (responseBytes != null) {
+        return JsonHelper.fromJson(reader(), clazz, genericType);
+      }
       return JsonHelper.fromJson(responseBody, clazz, genericType);
     } catch (JsonParseException jsonEx) {
       throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
     }
   }
 
+  private Reader reader() {
+    return new InputStreamReader(new ByteArrayInputStream(responseBytes), UTF_8);
+  }
+
   @Override
   public int getResponseCode() {
     return responseCode;
@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import org.eclipse.che.api.core.BadRequestException;
@@ -24,6 +26,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.dto.server.JsonSerializable;
 
 /**
@@ -150,6 +153,31 @@ public interface HttpJsonRequest {
       throws IOException, ServerException, UnauthorizedException, ForbiddenException,
           NotFoundException, ConflictException, BadRequestException;
 
+  /**
+   * Makes this request in a thread of the given executor, see {@link #request()}. The current
+   * {@link EnvironmentContext context} is propagated to that thread. The request must not be
+   * modified until the returned future is completed.
+   *
+   * @param executor executor which makes the request
+   * @return future which is completed with the response of this request or exceptionally with the
+   *     exception or error thrown by {@link #request()}
+   */
+  default CompletableFuture<HttpJsonResponse> requestAsync(@NotNull Executor executor) {
+    Objects.requireNonNull(executor, "Required non-null executor");
+    final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    executor.execute(
+        ThreadLocalPropagateContext.wrap(
+            () -> {
+              try {
+                future.complete(request());
+              } catch (Throwable e) {
+                // errors complete the future too, otherwise it would never be completed
+                future.completeExceptionally(e);
+              }
+            }));
+    return future;
+  }
+
   /**
    * Uses {@link HttpMethod#GET} as a request method.
    *
@@ -13,6 +13,7 @@ package org.eclipse.che.api.core.util;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.IOException;
+import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.slf4j.Logger;
 
@@ -50,6 +51,30 @@ public class JsonRpcMessageConsumer<T> implements MessageConsumer<T> {
     }
   }
 
+  /**
+   * Sends all the given messages to each endpoint as a single notification, which params are the
+   * list of messages.
+   */
+  public void consumeBatch(List<T> messages) throws IOException {
+    if (messages.isEmpty()) {
+      return;
+    }
+    try {
+      jsonRpcEndpointIdProvider
+          .get()
+          .forEach(
+              it ->
+                  transmitter
+                      .newRequest()
+                      .endpointId(it)
+                      .methodName(method)
+                      .paramsAsListOfDto(messages)
+                      .sendAndSkipResult());
+    } catch (IllegalStateException e) {
+      LOG.error("Error trying send {} messages", messages.size());
+    }
+  }
+
   @Override
   public void close() throws IOException {}
 }
@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.util;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Consumes text line by line for analysing, writing, storing, etc.
@@ -23,5 +24,16 @@ public interface LineConsumer extends Closeable {
   /** Consumes single line. */
   void writeLine(String line) throws IOException;
 
+  /**
+   * Consumes batch of lines. Default implementation delegates to {@link #writeLine(String)} for
+   * each line, implementations may override it to process the whole batch at once, e.g. to flush
+   * underlying stream only once per batch.
+   */
+  default void writeLines(List<String> lines) throws IOException {
+    for (String line : lines) {
+      writeLine(line);
+    }
+  }
+
   LineConsumer DEV_NULL = new AbstractLineConsumer() {};
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.lang.String.format;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous line consumer which accumulates lines and passes them to the delegate consumer in
+ * batches using {@link LineConsumer#writeLines(List)}.
+ *
+ * <p>Batch is delivered when it reaches {@code maxBatchSize} lines or when {@code maxDelayMs}
+ * elapsed since the first line of the batch was written, whichever happens first. Delivery is
+ * performed in a background thread, so writers are never blocked by slow delegates. Number of
+ * buffered lines is bounded by {@code maxPendingLines}, when the delegate falls behind further lines
+ * are dropped and summary line with number of dropped lines is delivered instead of them.
+ *
+ * <p>Delegate is never called concurrently. This implementation is thread safe.
+ */
+public class BatchingLineConsumer implements LineConsumer {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchingLineConsumer.class);
+
+  private static final ScheduledExecutorService DEFAULT_EXECUTOR =
+      Executors.newScheduledThreadPool(
+          Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+          new ThreadFactoryBuilder()
+              .setNameFormat("BatchingLineConsumer-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private final LineConsumer delegate;
+  private final int maxBatchSize;
+  private final long maxDelayMs;
+  private final int maxPendingLines;
+  private final ScheduledExecutorService executor;
+  private final ArrayDeque<String> pending;
+  private final Object deliveryLock;
+
+  private boolean isOpen;
+  private long droppedLines;
+  private Future<?> flushTask;
+  private boolean flushTaskDelayed;
+
+  public BatchingLineConsumer(
+      LineConsumer delegate, int maxBatchSize, long maxDelayMs, int maxPendingLines) {
+    this(delegate, maxBatchSize, maxDelayMs, maxPendingLines, DEFAULT_EXECUTOR);
+  }
+
+  public BatchingLineConsumer(
+      LineConsumer delegate,
+      int maxBatchSize,
+      long maxDelayMs,
+      int maxPendingLines,
+      ScheduledExecutorService executor) {
+    if (maxBatchSize < 1 || maxPendingLines < maxBatchSize || maxDelayMs < 0) {
+      throw new IllegalArgumentException(
+          format(
+              "Invalid batch size '%s', max delay '%s' or max pending lines '%s'",
+              maxBatchSize, maxDelayMs, maxPendingLines));
+    }
+    this.delegate = delegate;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayMs = maxDelayMs;
+    this.maxPendingLines = maxPendingLines;
+    this.executor = executor;
+    this.pending = new ArrayDeque<>(maxBatchSize);
+    this.deliveryLock = new Object();
+    this.isOpen = true;
+  }
+
+  public synchronized boolean isOpen() {
+    return isOpen;
+  }
+
+  @Override
+  public void writeLine(String line) {
+    synchronized (this) {
+      if (!isOpen) {
+        return;
+      }
+      if (pending.size() >= maxPendingLines) {
+        droppedLines++;
+        return;
+      }
+      pending.add(line == null ? "" : line);
+      if (flushTask == null) {
+        scheduleFlush();
+      } else if (flushTaskDelayed && pending.size() >= maxBatchSize && flushTask.cancel(false)) {
+        // the batch is full, there is no need to wait for the delay, if the delayed task is
+        // already running it delivers all the full batches itself
+        scheduleFlush();
+      }
+    }
+  }
+
+  /** Flushes pending lines to the delegate and closes it. */
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (!isOpen) {
+        return;
+      }
+      isOpen = false;
+      if (flushTask != null) {
+        flushTask.cancel(false);
+        flushTask = null;
+      }
+    }
+    synchronized (deliveryLock) {
+      List<String> batch;
+      while (!(batch = nextBatch()).isEmpty()) {
+        deliver(batch);
+      }
+      delegate.close();
+    }
+  }
+
+  private void flush() {
+    synchronized (deliveryLock) {
+      List<String> batch;
+      do {
+        batch = nextBatch();
+        if (!batch.isEmpty()) {
+          deliver(batch);
+        }
+      } while (batch.size() >= maxBatchSize && hasFullBatch());
+
+      synchronized (this) {
+        if (!isOpen) {
+          return;
+        }
+        if (pending.isEmpty()) {
+          flushTask = null;
+        } else {
+          scheduleFlush();
+        }
+      }
+    }
+  }
+
+  /** Schedules delivery of pending lines, immediate if they form a full batch. */
+  private synchronized void scheduleFlush() {
+    flushTaskDelayed = pending.size() < maxBatchSize;
+    flushTask =
+        flushTaskDelayed
+            ? executor.schedule(this::flush, maxDelayMs, TimeUnit.MILLISECONDS)
+            : executor.submit(this::flush);
+  }
+
+  private synchronized boolean hasFullBatch() {
+    return pending.size() >= maxBatchSize;
+  }
+
+  private synchronized List<String> nextBatch() {
+    final int size = Math.min(pending.size(), maxBatchSize);
+    final List<String> batch = new ArrayList<>(size + 1);
+    for (int i = 0; i < size; i++) {
+      batch.add(pending.poll());
+    }
+    if (droppedLines > 0 && !batch.isEmpty()) {
+      batch.add(format("[WARN] %d lines of output were skipped", droppedLines));
+      droppedLines = 0;
+    }
+    return batch;
+  }
+
+  private void deliver(List<String> batch) {
+    try {
+      delegate.writeLines(batch);
+    } catch (ConsumerAlreadyClosedException e) {
+      synchronized (this) {
+        isOpen = false;
+        pending.clear();
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.error(
+          format("An error occurred while writing lines to the line consumer %s", delegate), e);
+    }
+  }
+}
@@ -75,11 +75,26 @@ public class ConcurrentCompositeLineConsumer implements LineConsumer {
    */
   @Override
   public void writeLine(String line) {
+    writeToAll(lineConsumer -> lineConsumer.writeLine(line));
+  }
+
+  /**
+   * Writes given batch of lines to each subconsumer. Do nothing if this consumer is closed or all
+   * subconsumers are closed.
+   *
+   * @param lines lines to write
+   */
+  @Override
+  public void writeLines(List<String> lines) {
+    writeToAll(lineConsumer -> lineConsumer.writeLines(lines));
+  }
+
+  private void writeToAll(LineWriter writer) {
     if (isOpen && lock.readLock().tryLock()) {
       try {
         for (LineConsumer lineConsumer : lineConsumers) {
           try {
-            lineConsumer.writeLine(line);
+            writer.write(lineConsumer);
           } catch (ConsumerAlreadyClosedException | ClosedByInterruptException e) {
             lineConsumers.remove(
                 lineConsumer); // consumer is already closed, so we cannot write into it any more
@@ -99,4 +114,8 @@ public class ConcurrentCompositeLineConsumer implements LineConsumer {
       }
     }
   }
+
+  private interface LineWriter {
+    void write(LineConsumer lineConsumer) throws IOException;
+  }
 }
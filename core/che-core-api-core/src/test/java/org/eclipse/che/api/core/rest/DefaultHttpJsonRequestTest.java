@@ -19,10 +19,12 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.reflect.TypeToken;
@@ -31,6 +33,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.HttpMethod;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -229,6 +235,15 @@ public class DefaultHttpJsonRequestTest {
     new DefaultHttpJsonRequest(getUrl(ctx) + "/401/response-code-test").useGetMethod().request();
   }
 
+  @Test(expectedExceptions = UnauthorizedException.class)
+  public void shouldThrowUnauthorizedExceptionWhenResponseCodeToRequestWithBodyIs401(
+      ITestContext ctx) throws Exception {
+    new DefaultHttpJsonRequest(getUrl(ctx) + "/401/response-code-test")
+        .usePostMethod()
+        .setBody(singletonList(createLink("GET", DEFAULT_URL, "rel")))
+        .request();
+  }
+
   @Test(expectedExceptions = ForbiddenException.class)
   public void shouldThrowForbiddenExceptionWhenResponseCodeIs403(ITestContext ctx)
       throws Exception {
@@ -350,6 +365,62 @@ public class DefaultHttpJsonRequestTest {
     new DefaultHttpJsonRequest(getUrl(ctx) + "/token").usePostMethod().request();
   }
 
+  @Test
+  public void shouldMakeRequestAsynchronouslyWithTokenFromCurrentContext(ITestContext ctx)
+      throws Exception {
+    final EnvironmentContext context = new EnvironmentContext();
+    context.setSubject(TEST_SUBJECT);
+    EnvironmentContext.setCurrent(context);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      final HttpJsonResponse response =
+          new DefaultHttpJsonRequest(getUrl(ctx) + "/token")
+              .usePostMethod()
+              .requestAsync(executor)
+              .get(10, TimeUnit.SECONDS);
+
+      assertEquals(response.getResponseCode(), 204);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldCompleteAsynchronousRequestExceptionallyWhenResponseCodeIs401(
+      ITestContext ctx) throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      new DefaultHttpJsonRequest(getUrl(ctx) + "/401/response-code-test")
+          .useGetMethod()
+          .requestAsync(executor)
+          .get(10, TimeUnit.SECONDS);
+      fail("Future must be completed with UnauthorizedException");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof UnauthorizedException);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldCompleteAsynchronousRequestExceptionallyWhenRequestThrowsError()
+      throws Exception {
+    final Error error = new NoClassDefFoundError("test");
+    doThrow(error).when(request).request();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      request.requestAsync(executor).get(10, TimeUnit.SECONDS);
+      fail("Future must be completed with the error");
+    } catch (ExecutionException e) {
+      assertEquals(e.getCause(), error);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Filter
   public static class EnvironmentFilter implements RequestFilter {
 
@@ -59,6 +59,13 @@ public class TestService extends Service {
         .build();
   }
 
+  @POST
+  @Path("/{response-code}/response-code-test")
+  public Response postRequestedResponseCode(
+      @PathParam("response-code") int responseCode, List<Link> elements) {
+    return getRequestedResponseCode(responseCode);
+  }
+
   @GET
   @Path("/text-plain")
   @Produces(TEXT_PLAIN)
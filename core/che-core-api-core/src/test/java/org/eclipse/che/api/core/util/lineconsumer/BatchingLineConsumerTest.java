@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(value = {MockitoTestNGListener.class})
+public class BatchingLineConsumerTest {
+
+  @Mock private LineConsumer delegate;
+
+  private ScheduledExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldDeliverLinesInBatchWhenBatchSizeIsReached() throws Exception {
+    BatchingLineConsumer consumer =
+        new BatchingLineConsumer(delegate, 3, TimeUnit.MINUTES.toMillis(1), 10, executor);
+
+    consumer.writeLine("1");
+    consumer.writeLine("2");
+    consumer.writeLine("3");
+
+    verify(delegate, timeout(5000)).writeLines(asList("1", "2", "3"));
+  }
+
+  @Test
+  public void shouldDeliverEachBatchAsSoonAsItIsFull() throws Exception {
+    BatchingLineConsumer consumer =
+        new BatchingLineConsumer(delegate, 2, TimeUnit.MINUTES.toMillis(1), 10, executor);
+
+    consumer.writeLine("1");
+    consumer.writeLine("2");
+    verify(delegate, timeout(5000)).writeLines(asList("1", "2"));
+    consumer.writeLine("3");
+    consumer.writeLine("4");
+
+    verify(delegate, timeout(5000)).writeLines(asList("3", "4"));
+  }
+
+  @Test
+  public void shouldDeliverIncompleteBatchAfterDelay() throws Exception {
+    BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 100, 50, 1000, executor);
+
+    consumer.writeLine("1");
+    consumer.writeLine("2");
+
+    verify(delegate, timeout(5000)).writeLines(asList("1", "2"));
+  }
+
+  @Test
+  public void shouldFlushPendingLinesAndCloseDelegateOnClose() throws Exception {
+    BatchingLineConsumer consumer =
+        new BatchingLineConsumer(delegate, 100, TimeUnit.MINUTES.toMillis(1), 1000, executor);
+    consumer.writeLine("1");
+
+    consumer.close();
+
+    verify(delegate).writeLines(asList("1"));
+    verify(delegate).close();
+    assertFalse(consumer.isOpen());
+  }
+
+  @Test
+  public void shouldNotAcceptLinesAfterClose() throws Exception {
+    BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, 1, 0, 10, executor);
+    consumer.close();
+
+    consumer.writeLine("1");
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+
+    verify(delegate, never()).writeLines(anyListOf(String.class));
+  }
+
+  @Test
+  public void shouldDropLinesAndReportSummaryWhenPendingLimitIsExceeded() throws Exception {
+    CollectingLineConsumer collector = new CollectingLineConsumer();
+    BatchingLineConsumer consumer =
+        new BatchingLineConsumer(collector, 2, TimeUnit.MINUTES.toMillis(1), 2, executor);
+    // the executor is blocked, so the full batch is not delivered while the lines are written
+    CountDownLatch release = new CountDownLatch(1);
+    executor.submit(
+        () -> {
+          release.await();
+          return null;
+        });
+    try {
+      consumer.writeLine("1");
+      consumer.writeLine("2");
+      consumer.writeLine("3");
+      consumer.writeLine("4");
+      consumer.close();
+    } finally {
+      release.countDown();
+    }
+
+    assertEquals(collector.lines, asList("1", "2", "[WARN] 2 lines of output were skipped"));
+  }
+
+  @Test
+  public void shouldStopDeliveringWhenDelegateIsClosed() throws Exception {
+    doThrow(new ConsumerAlreadyClosedException("closed"))
+        .when(delegate)
+        .writeLines(anyListOf(String.class));
+    BatchingLineConsumer consumer =
+        new BatchingLineConsumer(delegate, 1, TimeUnit.MINUTES.toMillis(1), 10, executor);
+
+    consumer.writeLine("1");
+
+    verify(delegate, timeout(5000)).writeLines(asList("1"));
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+    assertFalse(consumer.isOpen());
+  }
+
+  private static class CollectingLineConsumer implements LineConsumer {
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void writeLine(String line) {
+      lines.add(line);
+    }
+
+    @Override
+    public void writeLines(List<String> lines) {
+      this.lines.addAll(lines);
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.core.db.cache.TransactionTracker;
 import org.eclipse.che.core.db.jpa.JpaInitializer;
 import org.eclipse.che.core.db.jpa.eclipselink.GuiceEntityListenerInjectionManager;
 import org.eclipse.che.core.db.schema.SchemaInitializationException;
@@ -74,6 +75,12 @@ public class DBInitializer {
     session.setEntityListenerInjectionManager(injManager);
   }
 
+  @Inject
+  public void setUpTransactionTracker(
+      TransactionTracker transactionTracker, EntityManagerFactory emFactory) {
+    emFactory.unwrap(ServerSession.class).getEventManager().addListener(transactionTracker);
+  }
+
   /** Returns map of properties which represents state of database while initialization process */
   public Map<String, String> getInitProperties() {
     return initProperties;
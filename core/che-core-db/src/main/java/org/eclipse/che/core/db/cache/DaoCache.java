@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of values read from the storage by DAO implementations.
+ *
+ * <p>The cache is limited by the number of entries and the time elapsed since the entry was
+ * written, so entries modified bypassing DAO(e.g. by another server which uses the same database)
+ * are eventually refreshed. DAO implementations are responsible for {@link #invalidate(Object)
+ * invalidation} of entries affected by modifications.
+ *
+ * <p>Values are neither cached nor taken from the cache when lookup happens within an active
+ * transaction, as such lookups may observe uncommitted changes. Invalidations performed within a
+ * transaction are repeated after the transaction is finished, so values of other threads loaded
+ * before the commit are not left in the cache.
+ *
+ * <p>Statistics of each cache are exposed as JMX bean with name {@code
+ * org.eclipse.che.core.db:type=DaoCache,name=<cache name>}. Cache with {@code maxEntries} equal to
+ * 0 doesn't keep any entries, which effectively disables caching.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class DaoCache<K, V> implements DaoCacheMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DaoCache.class);
+
+  private final String name;
+  private final Cache<K, V> cache;
+  private final TransactionTracker transactionTracker;
+  private final AtomicLong generation;
+  private final AtomicLong invalidations;
+  /** Makes the check of the generation and the put atomic relative to invalidations. */
+  private final Object invalidationLock = new Object();
+
+  /**
+   * Creates new cache.
+   *
+   * @param name the name of the cache used to identify it among the others
+   * @param maxEntries the maximum number of cached entries
+   * @param ttlSeconds the time in seconds after which entry is expired
+   * @param transactionTracker tracker of the transactions of the current thread, may be null when
+   *     values are neither read nor modified within transactions
+   */
+  public DaoCache(
+      String name, long maxEntries, long ttlSeconds, TransactionTracker transactionTracker) {
+    this.name = requireNonNull(name, "Required non-null name");
+    this.transactionTracker = transactionTracker;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.generation = new AtomicLong();
+    this.invalidations = new AtomicLong();
+    registerMBean();
+  }
+
+  /**
+   * Returns cached value for the given key, if there is no such value it is loaded with a given
+   * loader and cached.
+   *
+   * @param key the key of the value
+   * @param loader loads the value from the storage, must not return null
+   * @return cached or loaded value
+   * @throws X when loader fails to load the value
+   */
+  public <X extends Exception> V get(K key, Loader<V, X> loader) throws X {
+    if (isInTransaction()) {
+      return loader.load();
+    }
+    final V cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final long loadGeneration = generation.get();
+    final V loaded = loader.load();
+    if (loaded != null) {
+      synchronized (invalidationLock) {
+        // if cache was invalidated while the value was loading, the value may be already stale
+        if (loadGeneration == generation.get()) {
+          cache.put(key, loaded);
+        }
+      }
+    }
+    return loaded;
+  }
+
+  /** Discards cached value for the given key. */
+  public void invalidate(K key) {
+    invalidate(() -> cache.invalidate(key));
+  }
+
+  /** Discards all the cached values matching the given predicate. */
+  public void invalidateIf(Predicate<V> predicate) {
+    invalidate(() -> cache.asMap().values().removeIf(predicate));
+  }
+
+  @Override
+  public void invalidateAll() {
+    invalidate(cache::invalidateAll);
+  }
+
+  private void invalidate(Runnable invalidation) {
+    invalidations.incrementAndGet();
+    runInvalidation(invalidation);
+    if (isInTransaction()) {
+      // values loaded by other threads until the commit are the old ones
+      transactionTracker.afterCompletion(() -> runInvalidation(invalidation));
+    }
+  }
+
+  private void runInvalidation(Runnable invalidation) {
+    synchronized (invalidationLock) {
+      generation.incrementAndGet();
+      invalidation.run();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getSize() {
+    return cache.size();
+  }
+
+  @Override
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  @Override
+  public double getHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  @Override
+  public long getInvalidationCount() {
+    return invalidations.get();
+  }
+
+  /** Returns snapshot of the cache statistics. */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  private boolean isInTransaction() {
+    return transactionTracker != null && transactionTracker.isInTransaction();
+  }
+
+  private void registerMBean() {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName objectName =
+          new ObjectName("org.eclipse.che.core.db:type=DaoCache,name=" + ObjectName.quote(name));
+      try {
+        server.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException x) {
+        // the latest created cache is the one in use
+        server.unregisterMBean(objectName);
+        server.registerMBean(this, objectName);
+      }
+    } catch (JMException | RuntimeException x) {
+      LOG.warn("Couldn't register statistics bean of DAO cache '{}'", name, x);
+    }
+  }
+
+  /**
+   * Loads value from the storage.
+   *
+   * @param <V> the type of the value
+   * @param <X> the type of the exception thrown by loader
+   */
+  @FunctionalInterface
+  public interface Loader<V, X extends Exception> {
+    V load() throws X;
+  }
+}
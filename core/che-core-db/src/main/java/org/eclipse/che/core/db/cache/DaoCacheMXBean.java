@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+/**
+ * Management interface of {@link DaoCache}, exposes cache statistics through JMX.
+ */
+public interface DaoCacheMXBean {
+
+  /** Returns the name of the cache. */
+  String getName();
+
+  /** Returns the approximate number of entries in the cache. */
+  long getSize();
+
+  /** Returns the number of times lookups returned cached value. */
+  long getHitCount();
+
+  /** Returns the number of times lookups went to the storage. */
+  long getMissCount();
+
+  /** Returns the ratio of hits to all the lookups or {@code 1.0} if there were no lookups. */
+  double getHitRate();
+
+  /** Returns the number of entries evicted because of size or time limits. */
+  long getEvictionCount();
+
+  /** Returns the number of invalidations caused by modifications of cached data. */
+  long getInvalidationCount();
+
+  /** Discards all the cached entries. */
+  void invalidateAll();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Singleton;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks database transactions of the threads by EclipseLink session events. This lets {@link
+ * DaoCache} tell whether the current thread is in a transaction without opening a unit of work,
+ * and run invalidations once more after the transaction is committed or rolled back.
+ *
+ * <p>The tracker must be registered as the listener of the server session events, which is done
+ * by {@link org.eclipse.che.core.db.DBInitializer}. Until that the current thread is never
+ * considered to be in a transaction.
+ */
+@Singleton
+public class TransactionTracker extends SessionEventAdapter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionTracker.class);
+
+  private final ThreadLocal<List<Runnable>> afterCompletion = new ThreadLocal<>();
+
+  /** Returns true if the current thread has started a database transaction and not finished it. */
+  public boolean isInTransaction() {
+    return afterCompletion.get() != null;
+  }
+
+  /**
+   * Runs the action after the transaction of the current thread is finished, or immediately if
+   * the thread is not in a transaction.
+   */
+  public void afterCompletion(Runnable action) {
+    final List<Runnable> actions = afterCompletion.get();
+    if (actions == null) {
+      action.run();
+    } else {
+      actions.add(action);
+    }
+  }
+
+  @Override
+  public void postBeginTransaction(SessionEvent event) {
+    transactionStarted();
+  }
+
+  @Override
+  public void postCommitTransaction(SessionEvent event) {
+    transactionCompleted();
+  }
+
+  @Override
+  public void postRollbackTransaction(SessionEvent event) {
+    transactionCompleted();
+  }
+
+  void transactionStarted() {
+    if (afterCompletion.get() == null) {
+      afterCompletion.set(new ArrayList<>());
+    }
+  }
+
+  void transactionCompleted() {
+    final List<Runnable> actions = afterCompletion.get();
+    afterCompletion.remove();
+    if (actions != null) {
+      for (Runnable action : actions) {
+        try {
+          action.run();
+        } catch (RuntimeException x) {
+          LOG.error(x.getLocalizedMessage(), x);
+        }
+      }
+    }
+  }
+}
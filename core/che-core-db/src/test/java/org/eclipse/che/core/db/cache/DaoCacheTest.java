@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link DaoCache}. */
+public class DaoCacheTest {
+
+  private TransactionTracker transactionTracker;
+  private DaoCache<String, String> cache;
+  private AtomicInteger loads;
+
+  @BeforeMethod
+  public void setUp() {
+    transactionTracker = new TransactionTracker();
+    cache = new DaoCache<>("test", 10, 60, transactionTracker);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  public void loadsValueOnlyOnce() throws Exception {
+    assertEquals(cache.get("key", this::load), "value1");
+    assertEquals(cache.get("key", this::load), "value1");
+
+    assertEquals(loads.get(), 1);
+    assertEquals(cache.getHitCount(), 1);
+    assertEquals(cache.getMissCount(), 1);
+  }
+
+  @Test
+  public void reloadsValueAfterInvalidation() throws Exception {
+    cache.get("key", this::load);
+
+    cache.invalidate("key");
+
+    assertEquals(cache.get("key", this::load), "value2");
+    assertEquals(cache.getInvalidationCount(), 1);
+  }
+
+  @Test
+  public void invalidatesValuesMatchingPredicate() throws Exception {
+    cache.get("key1", () -> "a");
+    cache.get("key2", () -> "b");
+
+    cache.invalidateIf("a"::equals);
+
+    assertEquals(cache.getSize(), 1);
+    assertEquals(cache.get("key2", this::load), "b");
+  }
+
+  @Test
+  public void doesNotCacheValueLoadedConcurrentlyWithInvalidation() throws Exception {
+    cache.get(
+        "key",
+        () -> {
+          cache.invalidate("key");
+          return "stale";
+        });
+
+    assertEquals(cache.get("key", this::load), "value1");
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void doesNotCacheFailedLoads() throws Exception {
+    try {
+      cache.get(
+          "key",
+          () -> {
+            throw new IllegalStateException();
+          });
+    } finally {
+      assertEquals(cache.getSize(), 0);
+    }
+  }
+
+  @Test
+  public void doesNotCacheAnythingWhenMaxEntriesIsZero() throws Exception {
+    final DaoCache<String, String> disabled = new DaoCache<>("disabled", 0, 60, null);
+
+    disabled.get("key", this::load);
+    disabled.get("key", this::load);
+
+    assertEquals(loads.get(), 2);
+  }
+
+  @Test
+  public void doesNotUseCacheWithinTransaction() throws Exception {
+    cache.get("key", this::load);
+
+    transactionTracker.transactionStarted();
+    try {
+      assertEquals(cache.get("key", this::load), "value2");
+      assertEquals(cache.get("key", this::load), "value3");
+    } finally {
+      transactionTracker.transactionCompleted();
+    }
+
+    assertEquals(cache.get("key", this::load), "value1");
+  }
+
+  @Test
+  public void repeatsInvalidationAfterTransactionCompletion() throws Exception {
+    cache.get("key", this::load);
+
+    transactionTracker.transactionStarted();
+    try {
+      cache.invalidate("key");
+      // another thread reads the value which is not committed yet
+      CompletableFuture.runAsync(() -> cache.get("key", () -> "stale")).get();
+      assertEquals(cache.getSize(), 1);
+    } finally {
+      transactionTracker.transactionCompleted();
+    }
+
+    assertEquals(cache.get("key", this::load), "value2");
+  }
+
+  @Test
+  public void invalidatesImmediatelyOutsideOfTransaction() throws Exception {
+    cache.get("key", this::load);
+
+    cache.invalidate("key");
+    transactionTracker.transactionCompleted();
+
+    assertEquals(cache.get("key", this::load), "value2");
+    assertEquals(cache.getInvalidationCount(), 1);
+  }
+
+  private String load() {
+    return "value" + loads.incrementAndGet();
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read/write locks which are allocated per key, unlike {@link StripedLocks} operations on different
+ * keys never block each other. Lock of the key is created when it is requested for the first time
+ * and is discarded as soon as nobody holds or awaits it, so the number of kept locks is bounded by
+ * the number of concurrently locked keys. Usage is the same as for {@link StripedLocks}:
+ *
+ * <pre>{@code
+ * KeyedLocks locks = new KeyedLocks("workspaces");
+ * try (Unlocker u = locks.writeLock(myKey)) {
+ *     syncedObject.write();
+ * }
+ *
+ * try (Unlocker u = locks.writeAllLock()) {
+ *     for (ObjectToSync objectToSync : allObjectsToSync) {
+ *         objectToSync.write();
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Acquiring of the lock for all the keys costs the same as acquiring of a single key lock.
+ * Locks are not upgradable, and the lock for all the keys can't be acquired by the thread which
+ * already holds a lock for any key.
+ *
+ * <p>Time spent waiting for the lock and holding it is recorded for each kind of the lock, the
+ * statistics are exposed as JMX bean with name {@code
+ * org.eclipse.che:type=KeyedLocks,name=<locks name>}.
+ */
+public class KeyedLocks implements KeyedLocksMXBean {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KeyedLocks.class);
+
+  private final String name;
+  private final ReentrantReadWriteLock allKeysLock;
+  private final ConcurrentHashMap<String, KeyLock> locks;
+  private final LockStatistics.Recorder readStats;
+  private final LockStatistics.Recorder writeStats;
+  private final LockStatistics.Recorder writeAllStats;
+
+  public KeyedLocks(String name) {
+    this.name = requireNonNull(name, "Required non-null name");
+    this.allKeysLock = new ReentrantReadWriteLock();
+    this.locks = new ConcurrentHashMap<>();
+    this.readStats = new LockStatistics.Recorder();
+    this.writeStats = new LockStatistics.Recorder();
+    this.writeAllStats = new LockStatistics.Recorder();
+    registerMBean();
+  }
+
+  /** Acquire read lock for provided key. */
+  public Unlocker readLock(String key) {
+    return lock(key, false);
+  }
+
+  /** Acquire write lock for provided key. */
+  public Unlocker writeLock(String key) {
+    return lock(key, true);
+  }
+
+  /** Acquire write lock for all possible keys. */
+  public Unlocker writeAllLock() {
+    final long start = System.nanoTime();
+    final Lock lock = allKeysLock.writeLock();
+    lock.lock();
+    final long acquired = System.nanoTime();
+    return () -> {
+      lock.unlock();
+      writeAllStats.record(acquired - start, System.nanoTime() - acquired);
+    };
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public int getLockedKeysCount() {
+    return locks.size();
+  }
+
+  @Override
+  public LockStatistics getReadLockStatistics() {
+    return readStats.snapshot();
+  }
+
+  @Override
+  public LockStatistics getWriteLockStatistics() {
+    return writeStats.snapshot();
+  }
+
+  @Override
+  public LockStatistics getWriteAllLockStatistics() {
+    return writeAllStats.snapshot();
+  }
+
+  @Override
+  public void resetStatistics() {
+    readStats.reset();
+    writeStats.reset();
+    writeAllStats.reset();
+  }
+
+  private Unlocker lock(String key, boolean exclusive) {
+    requireNonNull(key, "Required non-null key");
+    final long start = System.nanoTime();
+    final Lock sharedAllKeysLock = allKeysLock.readLock();
+    sharedAllKeysLock.lock();
+    final KeyLock keyLock = locks.compute(key, (k, existing) -> retain(existing));
+    final Lock lock = exclusive ? keyLock.lock.writeLock() : keyLock.lock.readLock();
+    lock.lock();
+    final long acquired = System.nanoTime();
+    final LockStatistics.Recorder stats = exclusive ? writeStats : readStats;
+    return () -> {
+      lock.unlock();
+      locks.computeIfPresent(key, (k, existing) -> release(existing));
+      sharedAllKeysLock.unlock();
+      stats.record(acquired - start, System.nanoTime() - acquired);
+    };
+  }
+
+  private static KeyLock retain(KeyLock existing) {
+    final KeyLock keyLock = existing == null ? new KeyLock() : existing;
+    keyLock.references++;
+    return keyLock;
+  }
+
+  private static KeyLock release(KeyLock existing) {
+    return --existing.references == 0 ? null : existing;
+  }
+
+  private void registerMBean() {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName objectName =
+          new ObjectName("org.eclipse.che:type=KeyedLocks,name=" + ObjectName.quote(name));
+      try {
+        server.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException x) {
+        // the latest created locks are the ones in use
+        server.unregisterMBean(objectName);
+        server.registerMBean(this, objectName);
+      }
+    } catch (JMException | RuntimeException x) {
+      LOG.warn("Couldn't register statistics bean of locks '{}'", name, x);
+    }
+  }
+
+  /** Lock of a single key, references are modified only within map's atomic operations. */
+  private static class KeyLock {
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    int references;
+  }
+}
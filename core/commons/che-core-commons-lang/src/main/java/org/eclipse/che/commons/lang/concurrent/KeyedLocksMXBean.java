@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+/** Management interface of {@link KeyedLocks}, exposes lock contention statistics through JMX. */
+public interface KeyedLocksMXBean {
+
+  /** Returns the name of the locks. */
+  String getName();
+
+  /** Returns the number of keys which are currently locked or awaited. */
+  int getLockedKeysCount();
+
+  /** Returns statistics of read locks acquired for a single key. */
+  LockStatistics getReadLockStatistics();
+
+  /** Returns statistics of write locks acquired for a single key. */
+  LockStatistics getWriteLockStatistics();
+
+  /** Returns statistics of write locks acquired for all the keys. */
+  LockStatistics getWriteAllLockStatistics();
+
+  /** Resets all the statistics. */
+  void resetStatistics();
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Snapshot of statistics of a certain kind of lock acquisitions: how many times lock was acquired,
+ * how long callers waited for the lock and how long the lock was held.
+ */
+public class LockStatistics {
+
+  private final long count;
+  private final long totalWaitNanos;
+  private final long maxWaitNanos;
+  private final long totalHoldNanos;
+  private final long maxHoldNanos;
+
+  public LockStatistics(
+      long count, long totalWaitNanos, long maxWaitNanos, long totalHoldNanos, long maxHoldNanos) {
+    this.count = count;
+    this.totalWaitNanos = totalWaitNanos;
+    this.maxWaitNanos = maxWaitNanos;
+    this.totalHoldNanos = totalHoldNanos;
+    this.maxHoldNanos = maxHoldNanos;
+  }
+
+  /** Returns the number of released locks. */
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns total time in milliseconds spent waiting for the lock. */
+  public long getTotalWaitMillis() {
+    return NANOSECONDS.toMillis(totalWaitNanos);
+  }
+
+  /** Returns the longest time in milliseconds spent waiting for the lock. */
+  public long getMaxWaitMillis() {
+    return NANOSECONDS.toMillis(maxWaitNanos);
+  }
+
+  /** Returns average time in milliseconds spent waiting for the lock. */
+  public double getAverageWaitMillis() {
+    return count == 0 ? 0 : totalWaitNanos / 1_000_000D / count;
+  }
+
+  /** Returns total time in milliseconds the lock was held. */
+  public long getTotalHoldMillis() {
+    return NANOSECONDS.toMillis(totalHoldNanos);
+  }
+
+  /** Returns the longest time in milliseconds the lock was held. */
+  public long getMaxHoldMillis() {
+    return NANOSECONDS.toMillis(maxHoldNanos);
+  }
+
+  /** Returns average time in milliseconds the lock was held. */
+  public double getAverageHoldMillis() {
+    return count == 0 ? 0 : totalHoldNanos / 1_000_000D / count;
+  }
+
+  @Override
+  public String toString() {
+    return "LockStatistics{"
+        + "count="
+        + count
+        + ", totalWaitNanos="
+        + totalWaitNanos
+        + ", maxWaitNanos="
+        + maxWaitNanos
+        + ", totalHoldNanos="
+        + totalHoldNanos
+        + ", maxHoldNanos="
+        + maxHoldNanos
+        + '}';
+  }
+
+  /** Thread safe accumulator of the lock statistics. */
+  static class Recorder {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalWait = new LongAdder();
+    private final AtomicLong maxWait = new AtomicLong();
+    private final LongAdder totalHold = new LongAdder();
+    private final AtomicLong maxHold = new AtomicLong();
+
+    void record(long waitNanos, long holdNanos) {
+      count.increment();
+      totalWait.add(waitNanos);
+      totalHold.add(holdNanos);
+      maxWait.accumulateAndGet(waitNanos, Math::max);
+      maxHold.accumulateAndGet(holdNanos, Math::max);
+    }
+
+    LockStatistics snapshot() {
+      return new LockStatistics(
+          count.sum(), totalWait.sum(), maxWait.get(), totalHold.sum(), maxHold.get());
+    }
+
+    void reset() {
+      count.reset();
+      totalWait.reset();
+      maxWait.set(0);
+      totalHold.reset();
+      maxHold.set(0);
+    }
+  }
+}
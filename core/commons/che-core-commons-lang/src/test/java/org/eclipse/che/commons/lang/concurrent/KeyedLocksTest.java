@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link KeyedLocks}. */
+public class KeyedLocksTest {
+
+  private KeyedLocks locks;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    locks = new KeyedLocks("test");
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void writeLockOfOneKeyDoesNotBlockOtherKeys() throws Exception {
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock("key1")) {
+      Future<?> other = executor.submit(() -> locks.writeLock("key2").unlock());
+
+      other.get(5, SECONDS);
+    }
+  }
+
+  @Test
+  public void writeLockBlocksTheSameKey() throws Exception {
+    Future<?> other;
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock("key")) {
+      other = executor.submit(() -> locks.readLock("key").unlock());
+
+      assertTrue(isBlocked(other));
+    }
+    other.get(5, SECONDS);
+  }
+
+  @Test
+  public void readLocksOfTheSameKeyAreShared() throws Exception {
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.readLock("key")) {
+      Future<?> other = executor.submit(() -> locks.readLock("key").unlock());
+
+      other.get(5, SECONDS);
+    }
+  }
+
+  @Test
+  public void writeAllLockWaitsForKeyLocksAndBlocksThem() throws Exception {
+    CountDownLatch keyLocked = new CountDownLatch(1);
+    CountDownLatch releaseKey = new CountDownLatch(1);
+    executor.submit(
+        () -> {
+          try (@SuppressWarnings("unused")
+              Unlocker u = locks.readLock("key")) {
+            keyLocked.countDown();
+            releaseKey.await();
+          }
+          return null;
+        });
+    assertTrue(keyLocked.await(5, SECONDS));
+
+    Future<?> all = executor.submit(() -> locks.writeAllLock().unlock());
+    assertTrue(isBlocked(all));
+
+    releaseKey.countDown();
+    all.get(5, SECONDS);
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeAllLock()) {
+      assertTrue(isBlocked(executor.submit(() -> locks.readLock("other").unlock())));
+    }
+  }
+
+  @Test
+  public void discardsLocksWhichAreNotHeld() throws Exception {
+    Unlocker first = locks.readLock("key");
+    Unlocker second = locks.readLock("key");
+    assertEquals(locks.getLockedKeysCount(), 1);
+
+    first.unlock();
+    assertEquals(locks.getLockedKeysCount(), 1);
+
+    second.unlock();
+    assertEquals(locks.getLockedKeysCount(), 0);
+  }
+
+  @Test
+  public void recordsStatisticsOfEachLockKind() throws Exception {
+    locks.readLock("key").unlock();
+    locks.readLock("key").unlock();
+    locks.writeLock("key").unlock();
+    locks.writeAllLock().unlock();
+
+    assertEquals(locks.getReadLockStatistics().getCount(), 2);
+    assertEquals(locks.getWriteLockStatistics().getCount(), 1);
+    assertEquals(locks.getWriteAllLockStatistics().getCount(), 1);
+
+    locks.resetStatistics();
+
+    assertEquals(locks.getReadLockStatistics().getCount(), 0);
+  }
+
+  private static boolean isBlocked(Future<?> future) throws Exception {
+    try {
+      future.get(200, MILLISECONDS);
+      return false;
+    } catch (TimeoutException x) {
+      assertFalse(future.isDone());
+      return true;
+    }
+  }
+}
@@ -25,15 +25,21 @@ export class CheJsonRpcMasterApi {
   private cheJsonRpcApi: CheJsonRpcApiClient;
   private channels: Map<MasterChannels, IChannel>;
   private clientId: string;
+  /**
+   * Handlers of the batched environment output notifications registered for the callbacks.
+   */
+  private environmentOutputHandlers: Array<{callback: Function, params: string, handler: Function}>;
 
   constructor (client: ICommunicationClient, entrypoint: string) {
     this.cheJsonRpcApi = new CheJsonRpcApiClient(client);
 
+    this.environmentOutputHandlers = [];
     this.channels = new Map<MasterChannels, IChannel>();
+    // machine output is sent in batches, the params of each notification are the list of messages
     this.channels.set(MasterChannels.ENVIRONMENT_OUTPUT, {
       subscription: 'event:environment-output:subscribe-by-machine-name',
       unsubscription: 'event:environment-output:un-subscribe-by-machine-name',
-      notification: 'event:environment-output:message'
+      notification: 'event:environment-output:messages'
     });
 
     this.channels.set(MasterChannels.ENVIRONMENT_STATUS, {
@@ -79,7 +85,15 @@ export class CheJsonRpcMasterApi {
   subscribeEnvironmentOutput(workspaceId: string, machineName: string, callback: Function): void {
     let channel = this.channels.get(MasterChannels.ENVIRONMENT_OUTPUT);
     let params = [workspaceId + '::' + machineName];
-    this.cheJsonRpcApi.subscribe(channel.subscription, channel.notification, callback, params);
+    let batchHandler = (messages: Array<any>) => {
+      if (angular.isArray(messages)) {
+        messages.forEach((message: any) => {
+          callback(message);
+        });
+      }
+    };
+    this.environmentOutputHandlers.push({callback: callback, params: params[0], handler: batchHandler});
+    this.cheJsonRpcApi.subscribe(channel.subscription, channel.notification, batchHandler, params);
   }
 
   /**
@@ -92,7 +106,14 @@ export class CheJsonRpcMasterApi {
   unSubscribeEnvironmentOutput(workspaceId: string, machineName: string, callback: Function): void {
     let channel = this.channels.get(MasterChannels.ENVIRONMENT_OUTPUT);
     let params = [workspaceId + '::' + machineName];
-    this.cheJsonRpcApi.unsubscribe(channel.unsubscription, channel.notification, callback, params);
+    for (let i = 0; i < this.environmentOutputHandlers.length; i++) {
+      let registered = this.environmentOutputHandlers[i];
+      if (registered.callback === callback && registered.params === params[0]) {
+        this.environmentOutputHandlers.splice(i, 1);
+        this.cheJsonRpcApi.unsubscribe(channel.unsubscription, channel.notification, registered.handler, params);
+        return;
+      }
+    }
   }
 
   /**
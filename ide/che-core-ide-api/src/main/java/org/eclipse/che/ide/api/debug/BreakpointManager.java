@@ -23,6 +23,15 @@ public interface BreakpointManager extends BreakpointManagerObservable {
   /** Toggle / untoggle breakpoint. */
   void changeBreakpointState(int lineNumber);
 
+  /**
+   * Sets the hit count of the breakpoint at the given line of the active editor, the debugger
+   * suspends on the hit with that number only. Does nothing if there is no breakpoint at the line.
+   *
+   * @param lineNumber zero-based line number
+   * @param hitCount number of the hit to suspend on, or zero to suspend on each hit
+   */
+  void setBreakpointHitCount(int lineNumber, int hitCount);
+
   /** @return all breakpoints */
   List<Breakpoint> getBreakpointList();
 
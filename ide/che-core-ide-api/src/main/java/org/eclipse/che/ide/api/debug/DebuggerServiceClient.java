@@ -121,6 +121,24 @@ public interface DebuggerServiceClient {
    */
   Promise<List<ThreadStateDto>> getThreadDump(String id);
 
+  /**
+   * Gets states of all threads without their frames, debuggers which can't fetch frames on demand
+   * return the frames anyway.
+   *
+   * @param id debug session id
+   */
+  Promise<List<ThreadStateDto>> getThreadSummaries(String id);
+
+  /**
+   * Gets the window of the frames of the suspended thread, frames contain only their locations.
+   *
+   * @param id debug session id
+   * @param threadId the unique thread id {@link ThreadState#getId()}
+   * @param start index of the first frame, the top frame has index 0
+   * @param count maximum number of the frames
+   */
+  Promise<List<StackFrameDumpDto>> getStackFrames(String id, long threadId, int start, int count);
+
   /**
    * Resumes application.
    *
@@ -152,6 +152,24 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
         .send(dtoUnmarshallerFactory.newListUnmarshaller(ThreadStateDto.class));
   }
 
+  @Override
+  public Promise<List<ThreadStateDto>> getThreadSummaries(String id) {
+    final String requestUrl = getBaseUrl(id) + "/threaddump?frames=false";
+    return asyncRequestFactory
+        .createGetRequest(requestUrl)
+        .send(dtoUnmarshallerFactory.newListUnmarshaller(ThreadStateDto.class));
+  }
+
+  @Override
+  public Promise<List<StackFrameDumpDto>> getStackFrames(
+      String id, long threadId, int start, int count) {
+    final String requestUrl =
+        getBaseUrl(id) + "/threaddump/" + threadId + "/frames?start=" + start + "&count=" + count;
+    return asyncRequestFactory
+        .createGetRequest(requestUrl)
+        .send(dtoUnmarshallerFactory.newListUnmarshaller(StackFrameDumpDto.class));
+  }
+
   @Override
   public Promise<Void> resume(String id, ResumeActionDto action) {
     return performAction(id, action);
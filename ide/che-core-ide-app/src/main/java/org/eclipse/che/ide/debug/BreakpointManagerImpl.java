@@ -121,6 +121,41 @@ public class BreakpointManagerImpl
     }
   }
 
+  @Override
+  public void setBreakpointHitCount(int lineNumber, int hitCount) {
+    EditorPartPresenter editor = editorAgent.getActiveEditor();
+    if (editor == null) {
+      return;
+    }
+
+    VirtualFile activeFile = editor.getEditorInput().getFile();
+    Optional<Breakpoint> existedBreakpoint =
+        breakpointStorage.get(activeFile.getLocation().toString(), lineNumber + 1);
+    if (!existedBreakpoint.isPresent()) {
+      return;
+    }
+
+    Breakpoint breakpoint = existedBreakpoint.get();
+    Breakpoint updatedBreakpoint =
+        new BreakpointImpl(
+            breakpoint.getLocation(), breakpoint.isEnabled(), breakpoint.getCondition(), hitCount);
+
+    // the breakpoint mark stays at the same line
+    breakpointStorage.delete(breakpoint);
+    breakpointStorage.add(updatedBreakpoint);
+
+    for (BreakpointManagerObserver observer : observers) {
+      observer.onBreakpointDeleted(breakpoint);
+      observer.onBreakpointAdded(updatedBreakpoint);
+    }
+
+    Debugger debugger = debuggerManager.getActiveDebugger();
+    if (debugger != null) {
+      // replaces the breakpoint at the same location
+      debugger.addBreakpoint(activeFile, updatedBreakpoint);
+    }
+  }
+
   /** Deletes breakpoint. Removes breakpoint mark. */
   private void deleteBreakpoint(final VirtualFile activeFile, final Breakpoint breakpoint) {
     breakpointStorage.delete(breakpoint);
@@ -322,7 +357,11 @@ public class BreakpointManagerImpl
 
           toRemove.add(breakpoint);
           toAdd.add(
-              new BreakpointImpl(newLocation, breakpoint.isEnabled(), breakpoint.getCondition()));
+              new BreakpointImpl(
+                  newLocation,
+                  breakpoint.isEnabled(),
+                  breakpoint.getCondition(),
+                  breakpoint.getHitCount()));
         }
       }
 
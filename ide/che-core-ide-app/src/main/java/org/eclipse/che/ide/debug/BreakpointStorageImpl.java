@@ -194,6 +194,7 @@ public class BreakpointStorageImpl implements BreakpointStorage {
     return dtoFactory
         .createDto(BreakpointDto.class)
         .withLocation(locationDto)
-        .withCondition(breakpoint.getCondition());
+        .withCondition(breakpoint.getCondition())
+        .withHitCount(breakpoint.getHitCount());
   }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.ide.debug;
 import java.util.List;
 import java.util.Map;
 import org.eclipse.che.api.debug.shared.dto.BreakpointDto;
+import org.eclipse.che.api.debug.shared.dto.StackFrameDumpDto;
 import org.eclipse.che.api.debug.shared.dto.ThreadStateDto;
 import org.eclipse.che.api.debug.shared.model.Breakpoint;
 import org.eclipse.che.api.debug.shared.model.SimpleValue;
@@ -115,6 +116,21 @@ public interface Debugger extends DebuggerObservable {
   /** Gets thread dump. */
   Promise<List<ThreadStateDto>> getThreadDump();
 
+  /**
+   * Gets states of all threads, the frames are fetched on demand with {@link #getStackFrames(long,
+   * int, int)} unless the debugger returns them anyway.
+   */
+  Promise<List<ThreadStateDto>> getThreadSummaries();
+
+  /**
+   * Gets the window of the frames of the suspended thread, frames contain only their locations.
+   *
+   * @param threadId the unique thread id {@link ThreadState#getId()}
+   * @param start index of the first frame, the top frame has index 0
+   * @param count maximum number of the frames
+   */
+  Promise<List<StackFrameDumpDto>> getStackFrames(long threadId, int start, int count);
+
   /**
    * Sets a new value in the variable inside a specific frame.
    *
@@ -33,5 +33,19 @@ public class EnvironmentOutputHandler {
               eventBus.fireEvent(
                   new EnvironmentOutputEvent(log.getContent(), log.getMachineName()));
             });
+
+    configurator
+        .newConfiguration()
+        .methodName("event:environment-output:messages")
+        .paramsAsListOfDto(MachineLogMessageDto.class)
+        .noResult()
+        .withBiConsumer(
+            (endpointId, logs) -> {
+              Log.debug(getClass(), "Received batch notification from endpoint: " + endpointId);
+              for (MachineLogMessageDto log : logs) {
+                eventBus.fireEvent(
+                    new EnvironmentOutputEvent(log.getContent(), log.getMachineName()));
+              }
+            });
   }
 }
@@ -10,7 +10,10 @@
  */
 package org.eclipse.che.plugin.activity;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -34,6 +37,7 @@ public class WorkspaceActivityNotifier {
   private final String apiEndpoint;
   private final String wsId;
   private final long threshold;
+  private final ExecutorService executor;
 
   private long lastUpdateTime;
 
@@ -48,6 +52,19 @@ public class WorkspaceActivityNotifier {
     this.wsId = wsId;
     this.activeDuringThreshold = new AtomicBoolean(false);
     this.threshold = threshold;
+    // notifications are sent in background, so the requests of the workspace do not wait for them
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "WorkspaceActivityNotifier");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
   }
 
   /**
@@ -76,7 +93,16 @@ public class WorkspaceActivityNotifier {
 
   private void notifyActivity() {
     try {
-      httpJsonRequestFactory.fromUrl(apiEndpoint + "/activity/" + wsId).usePutMethod().request();
+      httpJsonRequestFactory
+          .fromUrl(apiEndpoint + "/activity/" + wsId)
+          .usePutMethod()
+          .requestAsync(executor)
+          .whenComplete(
+              (response, error) -> {
+                if (error != null) {
+                  LOG.error("Cannot notify master about workspace " + wsId + " activity", error);
+                }
+              });
     } catch (Exception e) {
       LOG.error("Cannot notify master about workspace " + wsId + " activity", e);
     }
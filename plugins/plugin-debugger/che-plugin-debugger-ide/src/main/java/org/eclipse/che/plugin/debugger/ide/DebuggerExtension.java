@@ -32,6 +32,7 @@ import org.eclipse.che.plugin.debugger.ide.actions.DisconnectDebuggerAction;
 import org.eclipse.che.plugin.debugger.ide.actions.EditConfigurationsAction;
 import org.eclipse.che.plugin.debugger.ide.actions.EvaluateExpressionAction;
 import org.eclipse.che.plugin.debugger.ide.actions.ResumeExecutionAction;
+import org.eclipse.che.plugin.debugger.ide.actions.SetBreakpointHitCountAction;
 import org.eclipse.che.plugin.debugger.ide.actions.ShowHideDebuggerPanelAction;
 import org.eclipse.che.plugin.debugger.ide.actions.StepIntoAction;
 import org.eclipse.che.plugin.debugger.ide.actions.StepOutAction;
@@ -64,6 +65,7 @@ public class DebuggerExtension {
   public static final String EVALUATE_EXPRESSION_ID = "evaluateExpression";
   public static final String CHANGE_VARIABLE_VALUE_ID = "changeVariableValue";
   public static final String SHOW_HIDE_DEBUGGER_PANEL_ID = "showHideDebuggerPanel";
+  public static final String SET_BREAKPOINT_HIT_COUNT_ID = "setBreakpointHitCount";
 
   @Inject
   public DebuggerExtension(
@@ -79,6 +81,7 @@ public class DebuggerExtension {
       SuspendAction suspendAction,
       EvaluateExpressionAction evaluateExpressionAction,
       DeleteAllBreakpointsAction deleteAllBreakpointsAction,
+      SetBreakpointHitCountAction setBreakpointHitCountAction,
       ChangeVariableValueAction changeVariableValueAction,
       ShowHideDebuggerPanelAction showHideDebuggerPanelAction,
       EditConfigurationsAction editConfigurationsAction,
@@ -101,6 +104,7 @@ public class DebuggerExtension {
     actionManager.registerAction(EVALUATE_EXPRESSION_ID, evaluateExpressionAction);
     actionManager.registerAction(CHANGE_VARIABLE_VALUE_ID, changeVariableValueAction);
     actionManager.registerAction(SHOW_HIDE_DEBUGGER_PANEL_ID, showHideDebuggerPanelAction);
+    actionManager.registerAction(SET_BREAKPOINT_HIT_COUNT_ID, setBreakpointHitCountAction);
 
     // create group for selecting (changing) debug configurations
     final DefaultActionGroup debugActionGroup =
@@ -122,6 +126,7 @@ public class DebuggerExtension {
     runMenu.add(suspendAction, new Constraints(Anchor.BEFORE, RESUME_EXECUTION_ID));
     runMenu.addSeparator();
     runMenu.add(evaluateExpressionAction, LAST);
+    runMenu.add(setBreakpointHitCountAction, LAST);
 
     // create debugger toolbar action group
     DefaultActionGroup debuggerToolbarActionGroup = new DefaultActionGroup(actionManager);
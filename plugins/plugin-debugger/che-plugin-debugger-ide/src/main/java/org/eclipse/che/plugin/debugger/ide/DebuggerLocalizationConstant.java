@@ -39,6 +39,9 @@ public interface DebuggerLocalizationConstant extends com.google.gwt.i18n.client
   @Key("deleteAllBreakpoints")
   String deleteAllBreakpoints();
 
+  @Key("setBreakpointHitCount")
+  String setBreakpointHitCount();
+
   @Key("resumeExecution")
   String resumeExecution();
 
@@ -94,6 +97,9 @@ public interface DebuggerLocalizationConstant extends com.google.gwt.i18n.client
   @Key("deleteAllBreakpointsDescription")
   String deleteAllBreakpointsDescription();
 
+  @Key("setBreakpointHitCountDescription")
+  String setBreakpointHitCountDescription();
+
   @Key("changeVariableValueDescription")
   String changeVariableValueDescription();
 
@@ -202,4 +208,11 @@ public interface DebuggerLocalizationConstant extends com.google.gwt.i18n.client
 
   @Key("debugger.frames.title")
   String debuggerFramesTitle();
+
+  /* SetBreakpointHitCount */
+  @Key("view.setBreakpointHitCount.title")
+  String setBreakpointHitCountTitle();
+
+  @Key("view.setBreakpointHitCount.label")
+  String setBreakpointHitCountLabel();
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.debugger.ide.actions;
+
+import static org.eclipse.che.ide.workspace.perspectives.project.ProjectPerspective.PROJECT_PERSPECTIVE_ID;
+
+import com.google.inject.Inject;
+import java.util.Collections;
+import java.util.Optional;
+import org.eclipse.che.api.debug.shared.model.Breakpoint;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.ide.api.action.AbstractPerspectiveAction;
+import org.eclipse.che.ide.api.action.ActionEvent;
+import org.eclipse.che.ide.api.debug.BreakpointManager;
+import org.eclipse.che.ide.api.dialogs.DialogFactory;
+import org.eclipse.che.ide.api.dialogs.InputValidator;
+import org.eclipse.che.ide.api.editor.EditorAgent;
+import org.eclipse.che.ide.api.editor.EditorPartPresenter;
+import org.eclipse.che.ide.api.editor.texteditor.TextEditor;
+import org.eclipse.che.plugin.debugger.ide.DebuggerLocalizationConstant;
+
+/** Action which allows to set the hit count of the breakpoint at the cursor line. */
+public class SetBreakpointHitCountAction extends AbstractPerspectiveAction {
+
+  private final BreakpointManager breakpointManager;
+  private final EditorAgent editorAgent;
+  private final DialogFactory dialogFactory;
+  private final DebuggerLocalizationConstant locale;
+
+  @Inject
+  public SetBreakpointHitCountAction(
+      BreakpointManager breakpointManager,
+      EditorAgent editorAgent,
+      DialogFactory dialogFactory,
+      DebuggerLocalizationConstant locale) {
+    super(
+        Collections.singletonList(PROJECT_PERSPECTIVE_ID),
+        locale.setBreakpointHitCount(),
+        locale.setBreakpointHitCountDescription());
+    this.breakpointManager = breakpointManager;
+    this.editorAgent = editorAgent;
+    this.dialogFactory = dialogFactory;
+    this.locale = locale;
+  }
+
+  @Override
+  public void actionPerformed(ActionEvent e) {
+    EditorPartPresenter editor = editorAgent.getActiveEditor();
+    if (!(editor instanceof TextEditor)) {
+      return;
+    }
+
+    int lineNumber = ((TextEditor) editor).getCursorPosition().getLine();
+    Optional<Breakpoint> breakpoint = getBreakpoint(editor, lineNumber);
+    if (!breakpoint.isPresent()) {
+      return;
+    }
+
+    String hitCount = String.valueOf(Math.max(breakpoint.get().getHitCount(), 0));
+    dialogFactory
+        .createInputDialog(
+            locale.setBreakpointHitCountTitle(),
+            locale.setBreakpointHitCountLabel(),
+            hitCount,
+            0,
+            hitCount.length(),
+            value -> breakpointManager.setBreakpointHitCount(lineNumber, Integer.parseInt(value)),
+            null)
+        .withValidator(new HitCountValidator())
+        .show();
+  }
+
+  @Override
+  public void updateInPerspective(ActionEvent event) {
+    EditorPartPresenter editor = editorAgent.getActiveEditor();
+    event
+        .getPresentation()
+        .setEnabled(
+            editor instanceof TextEditor
+                && getBreakpoint(editor, ((TextEditor) editor).getCursorPosition().getLine())
+                    .isPresent());
+  }
+
+  private Optional<Breakpoint> getBreakpoint(EditorPartPresenter editor, int lineNumber) {
+    String path = editor.getEditorInput().getFile().getLocation().toString();
+    return breakpointManager
+        .getBreakpointList()
+        .stream()
+        .filter(
+            b ->
+                b.getLocation().getLineNumber() == lineNumber + 1
+                    && b.getLocation().getTarget().equals(path))
+        .findAny();
+  }
+
+  private static class HitCountValidator implements InputValidator {
+    private static final Violation ERROR_WITH_NO_MESSAGE =
+        new InputValidator.Violation() {
+          @Nullable
+          @Override
+          public String getMessage() {
+            return "";
+          }
+
+          @Nullable
+          @Override
+          public String getCorrectedValue() {
+            return null;
+          }
+        };
+
+    @Nullable
+    @Override
+    public Violation validate(String value) {
+      return value.matches("[0-9]{1,9}") ? null : ERROR_WITH_NO_MESSAGE;
+    }
+  }
+}
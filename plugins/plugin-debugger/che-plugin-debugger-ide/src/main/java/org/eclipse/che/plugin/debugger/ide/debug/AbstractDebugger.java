@@ -27,6 +27,7 @@ import org.eclipse.che.api.debug.shared.dto.BreakpointDto;
 import org.eclipse.che.api.debug.shared.dto.DebugSessionDto;
 import org.eclipse.che.api.debug.shared.dto.LocationDto;
 import org.eclipse.che.api.debug.shared.dto.SimpleValueDto;
+import org.eclipse.che.api.debug.shared.dto.StackFrameDumpDto;
 import org.eclipse.che.api.debug.shared.dto.ThreadStateDto;
 import org.eclipse.che.api.debug.shared.dto.VariableDto;
 import org.eclipse.che.api.debug.shared.dto.VariablePathDto;
@@ -351,6 +352,24 @@ public abstract class AbstractDebugger implements Debugger, DebuggerObservable {
     return service.getThreadDump(debugSessionDto.getId());
   }
 
+  @Override
+  public Promise<List<ThreadStateDto>> getThreadSummaries() {
+    if (!isConnected()) {
+      return Promises.reject(JsPromiseError.create("Debugger is not connected"));
+    }
+
+    return service.getThreadSummaries(debugSessionDto.getId());
+  }
+
+  @Override
+  public Promise<List<StackFrameDumpDto>> getStackFrames(long threadId, int start, int count) {
+    if (!isConnected()) {
+      return Promises.reject(JsPromiseError.create("Debugger is not connected"));
+    }
+
+    return service.getStackFrames(debugSessionDto.getId(), threadId, start, count);
+  }
+
   @Override
   public Breakpoint createBreakpoint(VirtualFile file, int lineNumber) {
     return new BreakpointImpl(new LocationImpl(file.getLocation().toString(), lineNumber));
@@ -367,7 +386,12 @@ public abstract class AbstractDebugger implements Debugger, DebuggerObservable {
       locationDto.setResourceProjectPath(location.getResourceProjectPath());
 
       BreakpointDto breakpointDto =
-          dtoFactory.createDto(BreakpointDto.class).withLocation(locationDto).withEnabled(true);
+          dtoFactory
+              .createDto(BreakpointDto.class)
+              .withLocation(locationDto)
+              .withEnabled(true)
+              .withCondition(breakpoint.getCondition())
+              .withHitCount(breakpoint.getHitCount());
 
       Promise<Void> promise = service.addBreakpoint(debugSessionDto.getId(), breakpointDto);
       promise
@@ -494,6 +518,8 @@ public abstract class AbstractDebugger implements Debugger, DebuggerObservable {
       BreakpointDto breakpointDto = dtoFactory.createDto(BreakpointDto.class);
       breakpointDto.setLocation(locationDto);
       breakpointDto.setEnabled(true);
+      breakpointDto.setCondition(breakpoint.getCondition());
+      breakpointDto.setHitCount(breakpoint.getHitCount());
 
       breakpoints.add(breakpointDto);
     }
@@ -67,6 +67,8 @@ import org.vectomatic.dom.svg.ui.SVGResource;
 public class DebuggerPresenter extends BasePresenter
     implements DebuggerView.ActionDelegate, DebuggerManagerObserver, BreakpointManagerObserver {
   private static final String TITLE = "Debug";
+  /** The number of frames fetched at once, only the frames of the selected thread are fetched. */
+  private static final int FRAMES_WINDOW = 50;
 
   private final DebuggerResources debuggerResources;
   private final ToolbarPresenter debuggerToolbar;
@@ -80,6 +82,13 @@ public class DebuggerPresenter extends BasePresenter
 
   private List<Variable> variables;
   private List<? extends ThreadState> threadDump;
+  private List<? extends StackFrameDump> frames;
+  /** The thread whose frames are fetched window by window. */
+  private long framesThreadId;
+  /** Incremented when the frames are replaced, responses to the earlier requests are ignored. */
+  private int framesRequest;
+  private boolean loadingFrames;
+  private boolean allFramesLoaded = true;
   private Location executionPoint;
   private DebuggerDescriptor debuggerDescriptor;
 
@@ -171,11 +180,8 @@ public class DebuggerPresenter extends BasePresenter
     long selectedThreadId = view.getSelectedThreadId();
     updateVariables(selectedThreadId, frameIndex);
 
-    for (ThreadState ts : threadDump) {
-      if (ts.getId() == selectedThreadId) {
-        StackFrameDump stackFrameDump = ts.getFrames().get(frameIndex);
-        open(stackFrameDump.getLocation());
-      }
+    if (frameIndex < frames.size()) {
+      open(frames.get(frameIndex).getLocation());
     }
   }
 
@@ -213,7 +219,7 @@ public class DebuggerPresenter extends BasePresenter
     Debugger debugger = debuggerManager.getActiveDebugger();
     if (debugger != null && debugger.isSuspended()) {
       debugger
-          .getThreadDump()
+          .getThreadSummaries()
           .then(
               threadDump -> {
                 DebuggerPresenter.this.threadDump = threadDump;
@@ -233,11 +239,70 @@ public class DebuggerPresenter extends BasePresenter
   protected void updateStackFrameDump(long threadId) {
     for (ThreadState ts : threadDump) {
       if (ts.getId() == threadId) {
-        view.setFrames(ts.getFrames());
+        if (!ts.getFrames().isEmpty() || !ts.isSuspended()) {
+          // debuggers which can't fetch frames on demand return them with the threads
+          setFrames(ts.getFrames());
+        } else {
+          setFrames(new ArrayList<>());
+          framesThreadId = threadId;
+          allFramesLoaded = false;
+          loadFrames();
+        }
       }
     }
   }
 
+  @Override
+  public void onFramesScrolledToEnd() {
+    if (!allFramesLoaded && !loadingFrames) {
+      loadFrames();
+    }
+  }
+
+  /** Fetches the next window of the frames of the selected thread. */
+  private void loadFrames() {
+    Debugger debugger = debuggerManager.getActiveDebugger();
+    if (debugger != null && debugger.isSuspended()) {
+      int request = framesRequest;
+      int start = frames.size();
+      loadingFrames = true;
+      debugger
+          .getStackFrames(framesThreadId, start, FRAMES_WINDOW)
+          .then(
+              window -> {
+                if (request != framesRequest) {
+                  return;
+                }
+                loadingFrames = false;
+                allFramesLoaded = window.size() < FRAMES_WINDOW;
+                List<StackFrameDump> loaded = new ArrayList<>(frames);
+                loaded.addAll(window);
+                frames = loaded;
+                if (start == 0) {
+                  view.setFrames(loaded);
+                } else {
+                  view.addFrames(window);
+                }
+              })
+          .catchError(
+              error -> {
+                if (request == framesRequest) {
+                  loadingFrames = false;
+                }
+                Log.error(DebuggerPresenter.class, error.getCause());
+              });
+    }
+  }
+
+  /** Sets all the frames of the thread, the responses to the earlier requests are ignored. */
+  private void setFrames(List<? extends StackFrameDump> frames) {
+    framesRequest++;
+    loadingFrames = false;
+    allFramesLoaded = true;
+    this.frames = frames;
+    view.setFrames(frames);
+  }
+
   protected void updateVariables(long threadId, int frameIndex) {
     Debugger debugger = debuggerManager.getActiveDebugger();
     if (debugger != null && debugger.isSuspended()) {
@@ -353,7 +418,7 @@ public class DebuggerPresenter extends BasePresenter
     threadDump = new ArrayList<>();
     view.setExecutionPoint(null);
     view.setThreadDump(emptyList(), -1);
-    view.setFrames(emptyList());
+    setFrames(new ArrayList<>());
     view.setVariables(emptyList());
   }
 
@@ -366,7 +431,7 @@ public class DebuggerPresenter extends BasePresenter
     view.setVMName("");
     view.setExecutionPoint(null);
     view.setThreadDump(emptyList(), -1);
-    view.setFrames(emptyList());
+    setFrames(new ArrayList<>());
     view.setVariables(emptyList());
   }
 
@@ -50,6 +50,9 @@ public interface DebuggerView extends View<DebuggerView.ActionDelegate> {
      * @param frameIndex the frame index inside a thread
      */
     void onSelectedFrame(int frameIndex);
+
+    /** Is invoked when the list of frames is scrolled to its end. */
+    void onFramesScrolledToEnd();
   }
 
   /**
@@ -85,6 +88,9 @@ public interface DebuggerView extends View<DebuggerView.ActionDelegate> {
   /** Sets the list of frames for selected thread. */
   void setFrames(@NotNull List<? extends StackFrameDump> stackFrameDumps);
 
+  /** Adds the frames to the end of the list of frames, the selected frame stays selected. */
+  void addFrames(@NotNull List<? extends StackFrameDump> stackFrameDumps);
+
   /**
    * Sets java virtual machine name and version.
    *
@@ -62,6 +62,8 @@ import org.eclipse.che.plugin.debugger.ide.DebuggerResources;
 @Singleton
 public class DebuggerViewImpl extends BaseView<DebuggerView.ActionDelegate>
     implements DebuggerView {
+  /** Distance in pixels from the end of the frames list at which more frames are requested. */
+  private static final int FRAMES_SCROLL_THRESHOLD = 20;
 
   interface DebuggerViewImplUiBinder extends UiBinder<Widget, DebuggerViewImpl> {}
 
@@ -111,6 +113,13 @@ public class DebuggerViewImpl extends BaseView<DebuggerView.ActionDelegate>
 
     this.frames = createFramesList();
     this.framesPanel.add(frames);
+    this.framesPanel.addScrollHandler(
+        event -> {
+          if (framesPanel.getVerticalScrollPosition()
+              >= framesPanel.getMaximumVerticalScrollPosition() - FRAMES_SCROLL_THRESHOLD) {
+            delegate.onFramesScrolledToEnd();
+          }
+        });
 
     this.variables =
         Tree.create(
@@ -253,6 +262,20 @@ public class DebuggerViewImpl extends BaseView<DebuggerView.ActionDelegate>
     }
   }
 
+  @Override
+  public void addFrames(List<? extends StackFrameDump> stackFrameDumps) {
+    int selectedIndex = frames.getSelectionModel().getSelectedIndex();
+    List<StackFrameDump> all = new ArrayList<>(frames.size() + stackFrameDumps.size());
+    for (int i = 0; i < frames.size(); i++) {
+      all.add(frames.get(i));
+    }
+    all.addAll(stackFrameDumps);
+    frames.render(all);
+    if (selectedIndex >= 0) {
+      frames.getSelectionModel().setSelectedItem(selectedIndex);
+    }
+  }
+
   @Override
   public void setVMName(@Nullable String name) {
     vmName.setText(name == null ? "" : name);
@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.plugin.debugger.ide.debug;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.NOT_EMERGE_MODE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.SUCCESS;
 import static org.mockito.Matchers.any;
@@ -19,7 +22,9 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -77,11 +82,13 @@ public class DebuggerPresenterTest extends BaseTest {
   @Mock private Promise<SimpleValueDto> promiseValue;
   @Mock private Promise<List<ThreadState>> promiseThreadDump;
   @Mock private Promise<StackFrameDump> promiseStackFrame;
+  @Mock private Promise<List<StackFrameDump>> promiseFrames;
   @Mock private Promise<Void> promiseVoid;
 
   @Captor private ArgumentCaptor<Operation<Void>> operationVoidCaptor;
   @Captor private ArgumentCaptor<Operation<List<ThreadState>>> operationThreadDumpCaptor;
   @Captor private ArgumentCaptor<Operation<StackFrameDump>> operationStackFrameCaptor;
+  @Captor private ArgumentCaptor<Operation<List<StackFrameDump>>> operationFramesCaptor;
   @Captor private ArgumentCaptor<Operation<SimpleValueDto>> operationValueCaptor;
 
   private DebuggerPresenter presenter;
@@ -153,7 +160,7 @@ public class DebuggerPresenterTest extends BaseTest {
   public void whenDebuggerStoppedThenPresenterShouldUpdateFramesAndVariables() throws Exception {
     Location executionPoint = mock(Location.class);
     doReturn(THREAD_ID).when(executionPoint).getThreadId();
-    doReturn(promiseThreadDump).when(debugger).getThreadDump();
+    doReturn(promiseThreadDump).when(debugger).getThreadSummaries();
     doReturn(promiseThreadDump).when(promiseThreadDump).then((Operation<List<ThreadState>>) any());
     doNothing().when(presenter).updateStackFrameDump(THREAD_ID);
     doNothing().when(presenter).updateVariables(THREAD_ID, 0);
@@ -167,6 +174,62 @@ public class DebuggerPresenterTest extends BaseTest {
     verify(view).setThreadDump(eq(threadDump), anyInt());
   }
 
+  @Test
+  public void shouldFetchFramesOfSuspendedThreadOnDemand() throws Exception {
+    ThreadState thread = mock(ThreadState.class);
+    when(thread.getId()).thenReturn(THREAD_ID);
+    when(thread.isSuspended()).thenReturn(true);
+    doReturn(emptyList()).when(thread).getFrames();
+    Location executionPoint = mock(Location.class);
+    doReturn(THREAD_ID).when(executionPoint).getThreadId();
+    doReturn(promiseThreadDump).when(debugger).getThreadSummaries();
+    doReturn(promiseThreadDump).when(promiseThreadDump).then((Operation<List<ThreadState>>) any());
+    doReturn(promiseFrames).when(debugger).getStackFrames(eq(THREAD_ID), eq(0), anyInt());
+    doReturn(promiseFrames).when(promiseFrames).then((Operation<List<StackFrameDump>>) any());
+    doNothing().when(presenter).updateVariables(THREAD_ID, 0);
+
+    presenter.onBreakpointStopped(null, executionPoint);
+    verify(promiseThreadDump).then(operationThreadDumpCaptor.capture());
+    operationThreadDumpCaptor.getValue().apply(singletonList(thread));
+    verify(promiseFrames).then(operationFramesCaptor.capture());
+    operationFramesCaptor.getValue().apply(singletonList(stackFrame));
+
+    verify(view).setFrames(singletonList(stackFrame));
+    verify(debugger, never()).getThreadDump();
+  }
+
+  @Test
+  public void shouldFetchNextFramesOnlyWhenListIsScrolledToEnd() throws Exception {
+    ThreadState thread = mock(ThreadState.class);
+    when(thread.getId()).thenReturn(THREAD_ID);
+    when(thread.isSuspended()).thenReturn(true);
+    doReturn(emptyList()).when(thread).getFrames();
+    Location executionPoint = mock(Location.class);
+    doReturn(THREAD_ID).when(executionPoint).getThreadId();
+    doReturn(promiseThreadDump).when(debugger).getThreadSummaries();
+    doReturn(promiseThreadDump).when(promiseThreadDump).then((Operation<List<ThreadState>>) any());
+    doReturn(promiseFrames).when(debugger).getStackFrames(eq(THREAD_ID), anyInt(), anyInt());
+    doReturn(promiseFrames).when(promiseFrames).then((Operation<List<StackFrameDump>>) any());
+    doNothing().when(presenter).updateVariables(THREAD_ID, 0);
+    List<StackFrameDump> firstWindow = nCopies(50, stackFrame);
+
+    presenter.onBreakpointStopped(null, executionPoint);
+    verify(promiseThreadDump).then(operationThreadDumpCaptor.capture());
+    operationThreadDumpCaptor.getValue().apply(singletonList(thread));
+    verify(promiseFrames).then(operationFramesCaptor.capture());
+    operationFramesCaptor.getValue().apply(firstWindow);
+
+    verify(view).setFrames(firstWindow);
+    verify(debugger, never()).getStackFrames(eq(THREAD_ID), eq(50), anyInt());
+
+    presenter.onFramesScrolledToEnd();
+    verify(promiseFrames, times(2)).then(operationFramesCaptor.capture());
+    operationFramesCaptor.getValue().apply(singletonList(stackFrame));
+
+    verify(debugger).getStackFrames(eq(THREAD_ID), eq(50), anyInt());
+    verify(view).addFrames(singletonList(stackFrame));
+  }
+
   @Test
   public void updateVariablesShouldUpdateView() throws Exception {
     doReturn(promiseStackFrame).when(debugger).getStackFrameDump(THREAD_ID, FRAME_INDEX);
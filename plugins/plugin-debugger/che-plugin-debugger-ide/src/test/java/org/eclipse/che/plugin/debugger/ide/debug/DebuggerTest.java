@@ -408,9 +408,15 @@ public class DebuggerTest extends BaseTest {
     when(breakpointDto.getLocation().getLineNumber()).thenReturn(LINE_NUMBER);
     when(breakpointDto.withLocation(locationDto)).thenReturn(breakpointDto);
     when(breakpointDto.withEnabled(true)).thenReturn(breakpointDto);
+    when(breakpointDto.getCondition()).thenReturn("i == 3");
+    when(breakpointDto.getHitCount()).thenReturn(2);
+    when(breakpointDto.withCondition("i == 3")).thenReturn(breakpointDto);
+    when(breakpointDto.withHitCount(2)).thenReturn(breakpointDto);
 
     debugger.addBreakpoint(virtualFile, breakpointDto);
 
+    verify(breakpointDto).withCondition("i == 3");
+    verify(breakpointDto).withHitCount(2);
     verify(service).addBreakpoint(SESSION_ID, breakpointDto);
     verify(promiseVoid).then(operationVoidCaptor.capture());
     operationVoidCaptor.getValue().apply(null);
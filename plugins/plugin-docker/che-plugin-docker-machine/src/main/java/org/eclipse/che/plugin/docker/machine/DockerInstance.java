@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.machine;
 
 import static java.lang.String.format;
+import static org.eclipse.che.plugin.docker.client.DockerRegistryAuthResolver.DEFAULT_REGISTRY_SYNONYMS;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
@@ -44,6 +46,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
@@ -51,6 +54,7 @@ import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.slf4j.Logger;
@@ -85,6 +89,8 @@ public class DockerInstance extends AbstractInstance {
    *
    * Where each line is full path to pid file of <b>process that is running<b/>
    */
+  private static final Pattern INVALID_REPOSITORY_CHARS = Pattern.compile("[^a-z0-9]+");
+  private static final String DEFAULT_REPOSITORY_COMPONENT = "machine";
   private static final String GET_ALIVE_PROCESSES_COMMAND =
       format(
           "for pidFile in $(find %s -print 2>/dev/null); do kill -0 \"$(cat ${pidFile})\" 2>/dev/null && echo \"${pidFile}\"; done",
@@ -207,33 +213,33 @@ public class DockerInstance extends AbstractInstance {
   @Override
   public MachineSource saveToSnapshot() throws MachineException {
     try {
-      String image = generateRepository();
+      final String tag = NameGenerator.generate(null, 16);
       if (!snapshotUseRegistry) {
-        commitContainer(image, LATEST_TAG);
-        return new DockerMachineSource(image).withTag(LATEST_TAG);
+        String image = generateRepository(true);
+        commitContainer(image, tag);
+        return new DockerMachineSource(image).withTag(tag);
       }
 
-      PushParams pushParams = PushParams.create(image).withRegistry(registry).withTag(LATEST_TAG);
+      // docker hub snapshots are removed along with the whole repository,
+      // so each of them requires a separate one
+      String image = generateRepository(!DEFAULT_REGISTRY_SYNONYMS.contains(registry));
+      PushParams pushParams = PushParams.create(image).withRegistry(registry).withTag(tag);
 
       final String fullRepo = pushParams.getFullRepo();
-      commitContainer(fullRepo, LATEST_TAG);
+      commitContainer(fullRepo, tag);
       //TODO fix this workaround. Docker image is not visible after commit when using swarm
       Thread.sleep(2000);
-      final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
-      final String digest =
-          docker.push(
-              pushParams,
-              progressMonitor -> {
-                try {
-                  outputConsumer.writeLine(lineFormatter.format(progressMonitor));
-                } catch (IOException ignored) {
-                }
-              });
-      docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
+      final LayersCountingProgressMonitor progressMonitor = new LayersCountingProgressMonitor();
+      final String digest = docker.push(pushParams, progressMonitor);
+      outputConsumer.writeLine(
+          format(
+              "[DOCKER] Snapshot is pushed, layers uploaded: %d, layers reused: %d",
+              progressMonitor.pushed.size(), progressMonitor.reused.size()));
+      docker.removeImage(RemoveImageParams.create(fullRepo + ':' + tag).withForce(false));
       return new DockerMachineSource(image)
           .withRegistry(registry)
           .withDigest(digest)
-          .withTag(LATEST_TAG);
+          .withTag(tag);
     } catch (IOException ioEx) {
       throw new MachineException(ioEx);
     } catch (InterruptedException e) {
@@ -256,11 +262,38 @@ public class DockerInstance extends AbstractInstance {
             .withComment(comment));
   }
 
-  private String generateRepository() {
+  /**
+   * Generates repository for the machine snapshot. Snapshots of the same machine which are stored
+   * in the same repository share unchanged layers, so only the new ones are uploaded.
+   */
+  private String generateRepository(boolean reuseMachineRepository) {
+    final String name;
+    if (reuseMachineRepository) {
+      name =
+          MACHINE_SNAPSHOT_PREFIX
+              + toRepositoryComponent(getWorkspaceId())
+              + '_'
+              + toRepositoryComponent(getConfig().getName());
+    } else {
+      name = MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
+    }
     if (registryNamespace != null) {
-      return registryNamespace + '/' + MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
+      return registryNamespace + '/' + name;
     }
-    return MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
+    return name;
+  }
+
+  /**
+   * Converts the given value to a valid component of docker repository name, runs of invalid
+   * characters are replaced with single separator which may not start or end the component.
+   */
+  private static String toRepositoryComponent(String value) {
+    final String component =
+        INVALID_REPOSITORY_CHARS
+            .matcher(value.toLowerCase())
+            .replaceAll("_")
+            .replaceAll("^_|_$", "");
+    return component.isEmpty() ? DEFAULT_REPOSITORY_COMPONENT : component;
   }
 
   @Override
@@ -401,4 +434,32 @@ public class DockerInstance extends AbstractInstance {
       throw new MachineException(x.getMessage(), x);
     }
   }
+
+  /**
+   * Writes push progress to the machine output and counts layers which were uploaded or reused
+   * from the previous snapshots of the machine.
+   */
+  private class LayersCountingProgressMonitor implements ProgressMonitor {
+
+    private final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
+    private final Set<String> pushed = ConcurrentHashMap.newKeySet();
+    private final Set<String> reused = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void updateProgress(ProgressStatus progressStatus) {
+      final String layer = progressStatus.getId();
+      final String status = progressStatus.getStatus();
+      if (layer != null && status != null) {
+        if (status.startsWith("Layer already exists") || status.startsWith("Mounted from")) {
+          reused.add(layer);
+        } else if (status.equals("Pushed")) {
+          pushed.add(layer);
+        }
+      }
+      try {
+        outputConsumer.writeLine(lineFormatter.format(progressStatus));
+      } catch (IOException ignored) {
+      }
+    }
+  }
 }
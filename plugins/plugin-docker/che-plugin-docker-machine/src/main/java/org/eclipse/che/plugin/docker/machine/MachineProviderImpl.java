@@ -44,15 +44,9 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
-import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.machine.ServerConf;
-import org.eclipse.che.api.core.util.AbstractLineConsumer;
-import org.eclipse.che.api.core.util.CompositeLineConsumer;
 import org.eclipse.che.api.core.util.FileCleaner;
-import org.eclipse.che.api.core.util.JsonRpcEndpointToMachineNameHolder;
-import org.eclipse.che.api.core.util.JsonRpcMessageConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.SystemInfo;
 import org.eclipse.che.api.environment.server.MachineInstanceProvider;
@@ -62,7 +56,6 @@ import org.eclipse.che.api.machine.server.exception.SourceNotFoundException;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineLimitsImpl;
-import org.eclipse.che.api.machine.server.model.impl.MachineLogMessageImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -148,8 +141,6 @@ public class MachineProviderImpl implements MachineInstanceProvider {
   private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
   private final ExecutorService executor;
   private final DockerInstanceStopDetector dockerInstanceStopDetector;
-  private final RequestTransmitter transmitter;
-  private final JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
   private final boolean doForcePullImage;
   private final boolean privilegedMode;
   private final int pidsLimit;
@@ -179,8 +170,6 @@ public class MachineProviderImpl implements MachineInstanceProvider {
       UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
       DockerMachineFactory dockerMachineFactory,
       DockerInstanceStopDetector dockerInstanceStopDetector,
-      RequestTransmitter transmitter,
-      JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder,
       @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
       @Named("machine.docker.machine_servers") Set<ServerConf> allMachinesServers,
       @Named("machine.docker.dev_machine.machine_volumes") Set<String> devMachineSystemVolumes,
@@ -207,7 +196,6 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     this.dockerCredentials = dockerCredentials;
     this.dockerMachineFactory = dockerMachineFactory;
     this.dockerInstanceStopDetector = dockerInstanceStopDetector;
-    this.transmitter = transmitter;
     this.doForcePullImage = doForcePullImage;
     this.privilegedMode = privilegedMode;
     this.snapshotUseRegistry = snapshotUseRegistry;
@@ -220,7 +208,6 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     //  according to docker docs field  memorySwap should be equal to memory+swap
     //  we calculate this field as memorySwap=memory * (1 + multiplier) so we just add 1 to multiplier
     this.memorySwapMultiplier = memorySwapMultiplier == -1 ? -1 : memorySwapMultiplier + 1;
-    this.jsonRpcEndpointToMachineNameHolder = jsonRpcEndpointToMachineNameHolder;
     this.networkDriver = networkDriver;
     this.parentCgroup = parentCgroup;
     this.cpusetCpus = cpusetCpus;
@@ -318,28 +305,11 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     // copy to not affect/be affected by changes in origin
     service = new CheServiceImpl(service);
 
-    JsonRpcMessageConsumer<MachineLogMessage> messageConsumer =
-        new JsonRpcMessageConsumer<>(
-            "event:environment-output:message",
-            transmitter,
-            () ->
-                jsonRpcEndpointToMachineNameHolder.getEndpointIdsByWorkspaceIdPlusMachineName(
-                    workspaceId + "::" + machineName));
-    LineConsumer logger =
-        new CompositeLineConsumer(
-            machineLogger,
-            new AbstractLineConsumer() {
-              @Override
-              public void writeLine(String line) throws IOException {
-                messageConsumer.consume(new MachineLogMessageImpl(machineName, line));
-              }
-            });
-
     ProgressLineFormatterImpl progressLineFormatter = new ProgressLineFormatterImpl();
     ProgressMonitor progressMonitor =
         currentProgressStatus -> {
           try {
-            logger.writeLine(progressLineFormatter.format(currentProgressStatus));
+            machineLogger.writeLine(progressLineFormatter.format(currentProgressStatus));
           } catch (IOException e) {
             LOG.error(e.getLocalizedMessage(), e);
           }
@@ -357,7 +327,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
       checkContainerIsRunning(container);
 
-      readContainerLogsInSeparateThread(container, workspaceId, service.getId(), logger);
+      readContainerLogsInSeparateThread(container, workspaceId, service.getId(), machineLogger);
 
       DockerNode node = dockerMachineFactory.createNode(workspaceId, container);
 
@@ -388,7 +358,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
               MachineStatus.RUNNING,
               null);
 
-      return dockerMachineFactory.createInstance(machine, container, image, node, logger);
+      return dockerMachineFactory.createInstance(machine, container, image, node, machineLogger);
     } catch (SourceNotFoundException e) {
       throw e;
     } catch (RuntimeException | ServerException | NotFoundException | IOException e) {
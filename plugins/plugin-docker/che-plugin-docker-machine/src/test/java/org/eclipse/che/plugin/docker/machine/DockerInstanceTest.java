@@ -18,6 +18,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -38,6 +39,7 @@ import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
@@ -70,6 +72,8 @@ public class DockerInstanceTest {
   private static final String REPOSITORY = "eclipse-che";
   private static final String TAG = "latest";
   private static final MachineStatus STATUS = MachineStatus.RUNNING;
+  private static final String SNAPSHOT_REPOSITORY =
+      USERNAME + "/machine_snapshot_" + WORKSPACE_ID + "_suse_jdk";
 
   @Mock private LogMessage logMessageMock;
   @Mock private Exec execMock;
@@ -164,11 +168,78 @@ public class DockerInstanceTest {
 
     assertTrue(result instanceof DockerMachineSource);
     DockerMachineSource dockerMachineSource = (DockerMachineSource) result;
-    assertEquals(dockerMachineSource.getTag(), TAG);
-    assertNotNull(dockerMachineSource.getRepository());
+    assertNotNull(dockerMachineSource.getTag());
+    assertEquals(dockerMachineSource.getRepository(), SNAPSHOT_REPOSITORY);
     assertEquals(dockerMachineSource.getRegistry(), null);
   }
 
+  @Test
+  public void shouldSaveSnapshotsOfTheSameMachineIntoTheSameRepositoryWithDifferentTags()
+      throws Exception {
+    dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+
+    DockerMachineSource first = (DockerMachineSource) dockerInstance.saveToSnapshot();
+    DockerMachineSource second = (DockerMachineSource) dockerInstance.saveToSnapshot();
+
+    assertEquals(first.getRepository(), SNAPSHOT_REPOSITORY);
+    assertEquals(second.getRepository(), SNAPSHOT_REPOSITORY);
+    assertNotEquals(first.getTag(), second.getTag());
+  }
+
+  @Test
+  public void shouldCollapseAndTrimSeparatorsInSnapshotRepository() throws Exception {
+    final Machine machine =
+        getMachine(
+            getMachineConfig(true, "--Suse..JDK__", TYPE), OWNER, MACHINE_ID, WORKSPACE_ID, STATUS);
+    dockerInstance = getDockerInstance(machine, REGISTRY, CONTAINER, IMAGE, true);
+
+    DockerMachineSource source = (DockerMachineSource) dockerInstance.saveToSnapshot();
+
+    assertEquals(source.getRepository(), SNAPSHOT_REPOSITORY);
+  }
+
+  @Test
+  public void shouldUseDefaultComponentWhenMachineNameHasNoValidCharacters() throws Exception {
+    final Machine machine =
+        getMachine(getMachineConfig(true, "-.-", TYPE), OWNER, MACHINE_ID, WORKSPACE_ID, STATUS);
+    dockerInstance = getDockerInstance(machine, REGISTRY, CONTAINER, IMAGE, true);
+
+    DockerMachineSource source = (DockerMachineSource) dockerInstance.saveToSnapshot();
+
+    assertEquals(
+        source.getRepository(), USERNAME + "/machine_snapshot_" + WORKSPACE_ID + "_machine");
+  }
+
+  @Test
+  public void shouldSaveDockerHubSnapshotsIntoSeparateRepositories() throws Exception {
+    dockerInstance = getDockerInstance(getMachine(), "docker.io", CONTAINER, IMAGE, true);
+
+    DockerMachineSource first = (DockerMachineSource) dockerInstance.saveToSnapshot();
+    DockerMachineSource second = (DockerMachineSource) dockerInstance.saveToSnapshot();
+
+    assertNotEquals(first.getRepository(), second.getRepository());
+  }
+
+  @Test
+  public void shouldReportNumberOfUploadedAndReusedLayers() throws Exception {
+    dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+    doAnswer(
+            invoke -> {
+              ProgressMonitor monitor = (ProgressMonitor) invoke.getArguments()[1];
+              monitor.updateProgress(progress("layer1", "Layer already exists"));
+              monitor.updateProgress(progress("layer2", "Pushing"));
+              monitor.updateProgress(progress("layer2", "Pushed"));
+              return "digest";
+            })
+        .when(dockerConnectorMock)
+        .push(any(PushParams.class), any(ProgressMonitor.class));
+
+    dockerInstance.saveToSnapshot();
+
+    verify(outputConsumer)
+        .writeLine("[DOCKER] Snapshot is pushed, layers uploaded: 1, layers reused: 1");
+  }
+
   @Test
   public void shouldCloseOutputConsumerOnDestroy() throws Exception {
     dockerInstance.destroy();
@@ -187,7 +258,8 @@ public class DockerInstanceTest {
 
     assertTrue(result instanceof DockerMachineSource);
     DockerMachineSource dockerMachineSource = (DockerMachineSource) result;
-    assertEquals(dockerMachineSource.getTag(), TAG);
+    assertNotNull(dockerMachineSource.getTag());
+    assertEquals(dockerMachineSource.getRepository(), SNAPSHOT_REPOSITORY);
     assertEquals(dockerMachineSource.getDigest(), digest);
     assertEquals(dockerMachineSource.getRegistry(), REGISTRY);
   }
@@ -262,4 +334,11 @@ public class DockerInstanceTest {
         .setLimits(new MachineLimitsImpl(64))
         .build();
   }
+
+  private static ProgressStatus progress(String layer, String status) {
+    ProgressStatus progressStatus = new ProgressStatus();
+    progressStatus.setId(layer);
+    progressStatus.setStatus(status);
+    return progressStatus;
+  }
 }
@@ -47,11 +47,9 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.ServerConf;
-import org.eclipse.che.api.core.util.JsonRpcEndpointToMachineNameHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerConfImpl;
@@ -111,10 +109,6 @@ public class MachineProviderImplTest {
 
   @Mock private DockerInstanceStopDetector dockerInstanceStopDetector;
 
-  @Mock private RequestTransmitter transmitter;
-
-  @Mock private JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
-
   @Mock private DockerNode dockerNode;
 
   @Mock private UserSpecificDockerRegistryCredentialsProvider credentialsReader;
@@ -1945,8 +1939,6 @@ public class MachineProviderImplTest {
                   credentialsReader,
                   dockerMachineFactory,
                   dockerInstanceStopDetector,
-                  transmitter,
-                  jsonRpcEndpointToMachineNameHolder,
                   devMachineServers,
                   allMachineServers,
                   devMachineVolumes,
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server;
+
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
+import org.eclipse.che.plugin.jdb.server.expression.EvaluationCache;
+import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
+import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
+import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
+
+/**
+ * Condition of a breakpoint. The expression is parsed once, and the JDI handles of variables,
+ * fields and methods it refers to are resolved on the first hit and reused by the following ones,
+ * so each hit costs only the round trips needed to read the values.
+ *
+ * <p>When the breakpoint also has a hit count, only the hits which satisfy the condition are
+ * counted. The count filter of the target VM can't be used for that, because it counts every hit
+ * before the condition is evaluated. Instances are accessed by the event processing thread only.
+ */
+class BreakpointCondition {
+  /** Name of the property of the breakpoint request which holds its condition. */
+  static final String PROPERTY = "org.eclipse.che.ide.java.debug.condition";
+
+  private final ExpressionParser parser;
+  private final EvaluationCache cache;
+  private final int hitCount;
+
+  private int matchingHits;
+
+  /**
+   * @param expression condition expression
+   * @param hitCount number of the matching hit to suspend on, or zero to suspend on each of them
+   */
+  BreakpointCondition(String expression, int hitCount) {
+    this.parser = ExpressionParser.newInstance(expression);
+    this.cache = new EvaluationCache();
+    this.hitCount = hitCount;
+  }
+
+  /**
+   * Evaluates the condition in the frame where the breakpoint is hit and counts the hit if the
+   * condition is satisfied.
+   *
+   * @return true if the thread should be suspended, i.e. the condition is satisfied and, when a hit
+   *     count is set, this is the matching hit with that number
+   * @throws ExpressionException if the condition can't be evaluated
+   */
+  boolean isHit(VirtualMachine vm, StackFrame frame) {
+    if (isExhausted() || !isSatisfied(vm, frame)) {
+      return false;
+    }
+    return hitCount <= 0 || ++matchingHits == hitCount;
+  }
+
+  /**
+   * Returns true once the breakpoint has been hit the specified number of times, after that it
+   * never suspends again, the same way as a request with a count filter expires.
+   */
+  boolean isExhausted() {
+    return hitCount > 0 && matchingHits >= hitCount;
+  }
+
+  /**
+   * Evaluates the condition in the frame where the breakpoint is hit.
+   *
+   * @return true if the condition evaluates to boolean true
+   * @throws ExpressionException if the condition can't be evaluated
+   */
+  boolean isSatisfied(VirtualMachine vm, StackFrame frame) {
+    Value result = parser.evaluate(new Evaluator(vm, frame, cache));
+    return result instanceof BooleanValue && ((BooleanValue) result).value();
+  }
+}
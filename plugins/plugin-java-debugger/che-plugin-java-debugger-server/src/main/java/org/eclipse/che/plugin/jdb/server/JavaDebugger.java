@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.plugin.jdb.server;
 
+import static com.google.common.base.Strings.emptyToNull;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static org.eclipse.che.api.debugger.server.DtoConverter.asDto;
@@ -38,9 +39,9 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -70,11 +71,11 @@ import org.eclipse.che.api.debug.shared.model.impl.event.DisconnectEventImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.SuspendEventImpl;
 import org.eclipse.che.api.debugger.server.Debugger;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
+import org.eclipse.che.plugin.jdb.server.expression.EvaluationCache;
 import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
 import org.eclipse.che.plugin.jdb.server.model.JdbLocation;
-import org.eclipse.che.plugin.jdb.server.model.JdbMethod;
 import org.eclipse.che.plugin.jdb.server.model.JdbStackFrame;
 import org.eclipse.che.plugin.jdb.server.utils.JavaDebuggerUtils;
 import org.slf4j.Logger;
@@ -92,6 +93,8 @@ import org.slf4j.LoggerFactory;
 public class JavaDebugger implements EventsHandler, Debugger {
   private static final Logger LOG = LoggerFactory.getLogger(JavaDebugger.class);
   private static final JavaDebuggerUtils debuggerUtil = new JavaDebuggerUtils();
+  /** Name of the property of the breakpoint request which holds the breakpoint it is set for. */
+  private static final String BREAKPOINT_PROPERTY = "org.eclipse.che.ide.java.debug.breakpoint";
 
   private final String host;
   private final int port;
@@ -119,6 +122,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
   private JdbStackFrame stackFrame;
   /** Lock for synchronization debug processes. */
   private Lock lock = new ReentrantLock();
+  /** Mirrors of threads and frames fetched since the target VM was suspended. */
+  private final SuspendCache suspendCache;
 
   /**
    * Create debugger and connect it to the JVM which already running at the specified host and port.
@@ -132,6 +137,10 @@ public class JavaDebugger implements EventsHandler, Debugger {
     this.port = port;
     this.debuggerCallback = debuggerCallback;
     connect();
+    // events may be handled as soon as the collector is started
+    this.suspendCache = new SuspendCache(vm);
+    eventsCollector = new EventsCollector(vm.eventQueue(), this);
+    LOG.debug("Connect {}:{}", host, port);
   }
 
   /**
@@ -172,8 +181,6 @@ public class JavaDebugger implements EventsHandler, Debugger {
       } catch (InterruptedException ignored) {
       }
     }
-    eventsCollector = new EventsCollector(vm.eventQueue(), this);
-    LOG.debug("Connect {}:{}", host, port);
   }
 
   private AttachingConnector connector(String connectorName) {
@@ -237,23 +244,34 @@ public class JavaDebugger implements EventsHandler, Debugger {
       throw new DebuggerException("Invalid line " + lineNumber + " in class " + className);
     }
 
-    // Ignore new breakpoint if already have breakpoint at the same location.
+    // Ignore new breakpoint if already have the same breakpoint at the same location,
+    // replace it if its condition or hit count are changed.
     EventRequestManager requestManager = getEventManager();
-    for (BreakpointRequest breakpointRequest : requestManager.breakpointRequests()) {
+    List<BreakpointRequest> snapshot = new ArrayList<>(requestManager.breakpointRequests());
+    for (BreakpointRequest breakpointRequest : snapshot) {
       if (location.equals(breakpointRequest.location())) {
-        LOG.debug("Breakpoint at {} already set", location);
-        return;
+        Breakpoint existing = (Breakpoint) breakpointRequest.getProperty(BREAKPOINT_PROPERTY);
+        if (existing == null || hasSameConditions(existing, breakpoint)) {
+          LOG.debug("Breakpoint at {} already set", location);
+          return;
+        }
+        requestManager.deleteEventRequest(breakpointRequest);
       }
     }
 
     try {
       EventRequest breakPointRequest = requestManager.createBreakpointRequest(location);
       breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
+      breakPointRequest.putProperty(BREAKPOINT_PROPERTY, breakpoint);
       String expression = breakpoint.getCondition();
       if (!(expression == null || expression.isEmpty())) {
-        ExpressionParser parser = ExpressionParser.newInstance(expression);
+        // matching hits are counted by the condition, the count filter would count all of them
         breakPointRequest.putProperty(
-            "org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+            BreakpointCondition.PROPERTY,
+            new BreakpointCondition(expression, breakpoint.getHitCount()));
+      } else if (breakpoint.getHitCount() > 0) {
+        // counted by the target VM, which doesn't suspend on the preceding hits
+        breakPointRequest.addCountFilter(breakpoint.getHitCount());
       }
       breakPointRequest.setEnabled(true);
     } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
@@ -262,11 +280,20 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     debuggerCallback.onEvent(
         new BreakpointActivatedEventImpl(
-            new BreakpointImpl(breakpoint.getLocation(), true, breakpoint.getCondition())));
+            new BreakpointImpl(
+                breakpoint.getLocation(),
+                true,
+                breakpoint.getCondition(),
+                breakpoint.getHitCount())));
 
     LOG.debug("Add breakpoint: {}", location);
   }
 
+  private static boolean hasSameConditions(Breakpoint b1, Breakpoint b2) {
+    return Objects.equals(emptyToNull(b1.getCondition()), emptyToNull(b2.getCondition()))
+        && Math.max(b1.getHitCount(), 0) == Math.max(b2.getHitCount(), 0);
+  }
+
   private void deferBreakpoint(String className, Breakpoint breakpoint) throws DebuggerException {
     List<Breakpoint> newList = new ArrayList<>();
     List<Breakpoint> list = deferredBreakpoints.putIfAbsent(className, newList);
@@ -303,11 +330,18 @@ public class JavaDebugger implements EventsHandler, Debugger {
     List<Breakpoint> breakPoints = new ArrayList<>(breakpointRequests.size());
     for (BreakpointRequest breakpointRequest : breakpointRequests) {
       com.sun.jdi.Location location = breakpointRequest.location();
+      Breakpoint breakpoint = (Breakpoint) breakpointRequest.getProperty(BREAKPOINT_PROPERTY);
       // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
-      breakPoints.add(
+      BreakpointDto breakpointDto =
           newDto(BreakpointDto.class)
               .withEnabled(true)
-              .withLocation(asDto(new JdbLocation(location))));
+              .withLocation(asDto(new JdbLocation(location)));
+      if (breakpoint != null) {
+        breakpointDto
+            .withCondition(breakpoint.getCondition())
+            .withHitCount(breakpoint.getHitCount());
+      }
+      breakPoints.add(breakpointDto);
     }
     breakPoints.sort(BREAKPOINT_COMPARATOR);
     return breakPoints;
@@ -341,6 +375,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
     lock.lock();
     try {
       invalidateCurrentThread();
+      suspendCache.clear();
       vm.resume();
       LOG.debug("Resume VM");
     } catch (VMCannotBeModifiedException e) {
@@ -364,7 +399,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
   public StackFrameDump getStackFrameDump(long threadId, int frameIndex) throws DebuggerException {
     lock.lock();
     try {
-      return new JdbStackFrame(getJdiStackFrame(threadId, frameIndex));
+      return getJdbStackFrame(threadId, frameIndex);
     } finally {
       lock.unlock();
     }
@@ -372,31 +407,62 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
   @Override
   public List<ThreadState> getThreadDump() throws DebuggerException {
-    List<ThreadState> threadStates = new LinkedList<>();
+    return getThreadDump(true);
+  }
 
-    for (ThreadReference t : vm.allThreads()) {
-      List<JdbStackFrame> frames = new LinkedList<>();
-      try {
-        for (StackFrame f : t.frames()) {
-          frames.add(
-              new JdbStackFrame(f, emptyList(), emptyList(), new JdbLocation(f, new JdbMethod(f))));
+  @Override
+  public List<ThreadState> getThreadSummaries() throws DebuggerException {
+    return getThreadDump(false);
+  }
+
+  private List<ThreadState> getThreadDump(boolean withFrames) throws DebuggerException {
+    lock.lock();
+    try {
+      SuspendCache cache = getSuspendCache();
+      List<ThreadState> threadStates = new ArrayList<>();
+      for (ThreadReference t : cache.getThreads()) {
+        List<JdbStackFrame> frames = emptyList();
+        if (withFrames) {
+          try {
+            frames = cache.getFrameSummaries(t, 0, Integer.MAX_VALUE);
+          } catch (IncompatibleThreadStateException ignored) {
+            // Thread isn't suspended. Information isn't available.
+          }
         }
-      } catch (IncompatibleThreadStateException ignored) {
-        // Thread isn't suspended. Information isn't available.
-      }
 
-      threadStates.add(
-          new ThreadStateImpl(
-              t.uniqueID(),
-              t.name(),
-              t.threadGroup().name(),
-              toThreadStatus(t.status()),
-              t.isSuspended(),
-              frames));
+        threadStates.add(
+            new ThreadStateImpl(
+                t.uniqueID(),
+                t.name(),
+                t.threadGroup().name(),
+                toThreadStatus(t.status()),
+                t.isSuspended(),
+                frames));
+      }
+      return threadStates;
+    } finally {
+      lock.unlock();
     }
+  }
 
-    return threadStates;
+  @Override
+  public List<StackFrameDump> getStackFrames(long threadId, int start, int count)
+      throws DebuggerException {
+    lock.lock();
+    try {
+      SuspendCache cache = getSuspendCache();
+      ThreadReference t = cache.getThread(threadId);
+      if (t == null) {
+        throw new DebuggerException(format("Thread '%d' not found.", threadId));
+      }
+      return new ArrayList<>(cache.getFrameSummaries(t, Math.max(0, start), count));
+    } catch (IncompatibleThreadStateException e) {
+      throw new DebuggerException("Thread is not suspended", e);
+    } finally {
+      lock.unlock();
+    }
   }
+
   /**
    * Get value of variable with specified path. Each item in path is name of variable.
    *
@@ -457,7 +523,15 @@ public class JavaDebugger implements EventsHandler, Debugger {
   @Override
   public SimpleValue getValue(VariablePath variablePath, long threadId, int frameIndex)
       throws DebuggerException {
-    JdbStackFrame jdbStackFrame = new JdbStackFrame(getJdiStackFrame(threadId, frameIndex));
+    lock.lock();
+    try {
+      return getValue(variablePath, getJdbStackFrame(threadId, frameIndex));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private SimpleValue getValue(VariablePath variablePath, JdbStackFrame jdbStackFrame) {
 
     Optional<? extends Variable> targetVar;
 
@@ -549,7 +623,15 @@ public class JavaDebugger implements EventsHandler, Debugger {
       }
     } finally {
       if (resume) {
-        eventSet.resume();
+        lock.lock();
+        try {
+          // the thread of the event is not suspended any more
+          invalidateCurrentThread();
+          suspendCache.clear();
+          eventSet.resume();
+        } finally {
+          lock.unlock();
+        }
       }
     }
   }
@@ -558,15 +640,24 @@ public class JavaDebugger implements EventsHandler, Debugger {
       throws DebuggerException {
     setCurrentThread(event.thread());
     boolean hitBreakpoint;
-    ExpressionParser parser =
-        (ExpressionParser)
-            event
-                .request()
-                .getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
-    if (parser != null) {
-      com.sun.jdi.Value result = evaluate(parser, event.thread().uniqueID(), 0);
-      hitBreakpoint =
-          result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue) result).value();
+    BreakpointCondition condition =
+        (BreakpointCondition) event.request().getProperty(BreakpointCondition.PROPERTY);
+    if (condition != null) {
+      try {
+        hitBreakpoint = condition.isHit(vm, event.thread().frame(0));
+        if (condition.isExhausted()) {
+          // expires the same way as a request with a count filter
+          event.request().disable();
+        }
+      } catch (IncompatibleThreadStateException e) {
+        return true;
+      } catch (ExpressionException e) {
+        throw new DebuggerException(e.getMessage(), e);
+      } finally {
+        // methods invoked by the condition resume the thread, so its frames are no longer valid
+        suspendCache.clear();
+        invalidateCurrentFrame();
+      }
     } else {
       // If there is no expression.
       hitBreakpoint = true;
@@ -694,18 +785,33 @@ public class JavaDebugger implements EventsHandler, Debugger {
       throws DebuggerException {
     StackFrame jdiStackFrame = getJdiStackFrame(threadId, frameIndex);
     try {
-      return parser.evaluate(new Evaluator(vm, jdiStackFrame));
+      return parser.evaluate(new Evaluator(vm, jdiStackFrame, new EvaluationCache()));
     } catch (ExpressionException e) {
       throw new DebuggerException(e.getMessage(), e);
+    } finally {
+      // methods invoked by the expression resume the thread and the expression may change values,
+      // so the fetched frames are no longer valid
+      suspendCache.clear();
+      invalidateCurrentFrame();
     }
   }
 
+  private JdbStackFrame getJdbStackFrame(long threadId, int frameIndex)
+      throws DebuggerException {
+    SuspendCache cache = getSuspendCache();
+    return cache.getStackFrameDump(getJdiStackFrame(cache, threadId, frameIndex));
+  }
+
   private StackFrame getJdiStackFrame(long threadId, int frameIndex) throws DebuggerException {
+    return getJdiStackFrame(getSuspendCache(), threadId, frameIndex);
+  }
+
+  private StackFrame getJdiStackFrame(SuspendCache cache, long threadId, int frameIndex)
+      throws DebuggerException {
     try {
-      for (ThreadReference t : vm.allThreads()) {
-        if (t.uniqueID() == threadId) {
-          return t.frame(frameIndex);
-        }
+      ThreadReference t = cache.getThread(threadId);
+      if (t != null) {
+        return cache.getFrame(t, frameIndex);
       }
 
       throw new DebuggerException(
@@ -718,6 +824,15 @@ public class JavaDebugger implements EventsHandler, Debugger {
     }
   }
 
+  /**
+   * Returns the cache of the mirrors if the target VM is suspended, otherwise the mirrors may
+   * change at any moment, so they are fetched anew. The current thread is set only while the target
+   * VM stays suspended by an event.
+   */
+  private SuspendCache getSuspendCache() {
+    return thread != null ? suspendCache : new SuspendCache(vm);
+  }
+
   private ThreadReference getCurrentThread() throws DebuggerException {
     if (thread == null) {
       throw new DebuggerException("Target Java VM is not suspended. ");
@@ -730,7 +845,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
       return stackFrame;
     }
     try {
-      stackFrame = new JdbStackFrame(getCurrentThread().frame(0));
+      ThreadReference current = getCurrentThread();
+      stackFrame = suspendCache.getStackFrameDump(suspendCache.getFrame(current, 0));
     } catch (IncompatibleThreadStateException e) {
       throw new DebuggerException("Thread is not suspended. ", e);
     }
@@ -738,6 +854,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
   }
 
   private void setCurrentThread(ThreadReference t) {
+    suspendCache.clear();
     stackFrame = null;
     thread = t;
   }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server;
+
+import static java.util.Collections.emptyList;
+
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VirtualMachine;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.plugin.jdb.server.model.JdbLocation;
+import org.eclipse.che.plugin.jdb.server.model.JdbMethod;
+import org.eclipse.che.plugin.jdb.server.model.JdbStackFrame;
+import org.eclipse.che.plugin.jdb.server.model.JdbValueCache;
+
+/**
+ * Keeps JDI mirrors of threads and frames fetched while the target VM is suspended, so repeated
+ * requests of thread dumps and frames don't make the same JDWP round trips again.
+ *
+ * <p>Mirrors of frames are valid only until the thread is resumed, so the cache must be cleared
+ * whenever the target VM resumes, including method invocations made by expression evaluation.
+ * Frames are fetched by windows, only the requested part of the stack is transferred.
+ *
+ * <p>Variables of the frames are kept as well, along with the values of the objects reachable from
+ * them, so expanding the variable tree reads only the values which were not read yet.
+ */
+class SuspendCache {
+  private final VirtualMachine vm;
+
+  private Map<Long, ThreadReference> threads;
+  private final Map<Long, Map<Integer, StackFrame>> frames = new HashMap<>();
+  private final Map<Long, Integer> frameCounts = new HashMap<>();
+  private final Map<Long, Map<Integer, JdbStackFrame>> summaries = new HashMap<>();
+  private final Map<StackFrame, JdbStackFrame> dumps = new HashMap<>();
+  private JdbValueCache values = new JdbValueCache();
+
+  SuspendCache(VirtualMachine vm) {
+    this.vm = vm;
+  }
+
+  /** Returns all the threads of the target VM. */
+  synchronized List<ThreadReference> getThreads() {
+    return new ArrayList<>(threads().values());
+  }
+
+  /** Returns the thread with the given id or null if there is no such thread. */
+  synchronized ThreadReference getThread(long threadId) {
+    return threads().get(threadId);
+  }
+
+  /** Returns the number of frames of the suspended thread. */
+  synchronized int getFrameCount(ThreadReference thread) throws IncompatibleThreadStateException {
+    Integer count = frameCounts.get(thread.uniqueID());
+    if (count == null) {
+      count = thread.frameCount();
+      frameCounts.put(thread.uniqueID(), count);
+    }
+    return count;
+  }
+
+  /** Returns the frame of the suspended thread. */
+  synchronized StackFrame getFrame(ThreadReference thread, int index)
+      throws IncompatibleThreadStateException {
+    Map<Integer, StackFrame> threadFrames =
+        frames.computeIfAbsent(thread.uniqueID(), id -> new HashMap<>());
+    StackFrame frame = threadFrames.get(index);
+    if (frame == null) {
+      frame = thread.frame(index);
+      threadFrames.put(index, frame);
+    }
+    return frame;
+  }
+
+  /** Returns the frame along with its variables, whose values are read on demand. */
+  synchronized JdbStackFrame getStackFrameDump(StackFrame frame) {
+    return dumps.computeIfAbsent(frame, f -> new JdbStackFrame(f, values));
+  }
+
+  /**
+   * Returns the window of the frames of the suspended thread, frames contain only their locations.
+   *
+   * @param thread the suspended thread
+   * @param start index of the first frame of the window
+   * @param count maximum number of frames in the window
+   */
+  synchronized List<JdbStackFrame> getFrameSummaries(ThreadReference thread, int start, int count)
+      throws IncompatibleThreadStateException {
+    int end = (int) Math.min(getFrameCount(thread), (long) start + count);
+    if (start >= end) {
+      return emptyList();
+    }
+
+    Map<Integer, StackFrame> threadFrames =
+        frames.computeIfAbsent(thread.uniqueID(), id -> new HashMap<>());
+    Map<Integer, JdbStackFrame> threadSummaries =
+        summaries.computeIfAbsent(thread.uniqueID(), id -> new HashMap<>());
+    int missing = start;
+    while (missing < end && threadFrames.containsKey(missing)) {
+      missing++;
+    }
+    if (missing < end) {
+      // fetches the rest of the window at once
+      List<StackFrame> fetched = thread.frames(missing, end - missing);
+      for (int i = 0; i < fetched.size(); i++) {
+        threadFrames.putIfAbsent(missing + i, fetched.get(i));
+      }
+    }
+
+    List<JdbStackFrame> window = new ArrayList<>(end - start);
+    for (int i = start; i < end; i++) {
+      StackFrame frame = threadFrames.get(i);
+      window.add(threadSummaries.computeIfAbsent(i, index -> summary(frame)));
+    }
+    return window;
+  }
+
+  /** Forgets all the mirrors, must be called when the target VM is resumed. */
+  synchronized void clear() {
+    threads = null;
+    frames.clear();
+    frameCounts.clear();
+    summaries.clear();
+    dumps.clear();
+    // frames returned before may still be in use, they must not fill the new cache
+    values = new JdbValueCache();
+  }
+
+  private JdbStackFrame summary(StackFrame frame) {
+    return new JdbStackFrame(
+        frame, emptyList(), emptyList(), new JdbLocation(frame, new JdbMethod(frame)), values);
+  }
+
+  private Map<Long, ThreadReference> threads() {
+    if (threads == null) {
+      threads = new LinkedHashMap<>();
+      for (ThreadReference thread : vm.allThreads()) {
+        threads.put(thread.uniqueID(), thread);
+      }
+    }
+    return threads;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JDI handles of local variables, fields and methods resolved by {@link Evaluator}. Handles don't
+ * change while the classes are loaded, so they can be reused by all the following evaluations of
+ * the same expression, e.g. by the condition of a breakpoint which is evaluated on each hit.
+ *
+ * <p>Local variables are cached per location, as the set of visible variables depends on it.
+ */
+public class EvaluationCache {
+  private final Map<Location, Map<String, Optional<LocalVariable>>> localVariables =
+      new ConcurrentHashMap<>();
+  private final Map<ReferenceType, Map<String, Optional<Field>>> fields = new ConcurrentHashMap<>();
+  private final Map<ReferenceType, Map<String, List<Method>>> methods = new ConcurrentHashMap<>();
+
+  /** Returns the variable visible in the frame or null if there is no such variable. */
+  LocalVariable getLocalVariable(StackFrame frame, String name)
+      throws AbsentInformationException {
+    Map<String, Optional<LocalVariable>> variables =
+        localVariables.computeIfAbsent(frame.location(), location -> new ConcurrentHashMap<>());
+    Optional<LocalVariable> variable = variables.get(name);
+    if (variable == null) {
+      variable = Optional.ofNullable(frame.visibleVariableByName(name));
+      variables.put(name, variable);
+    }
+    return variable.orElse(null);
+  }
+
+  /** Returns the field of the type or null if there is no such field. */
+  Field getField(ReferenceType type, String name) {
+    return fields
+        .computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+        .computeIfAbsent(name, n -> Optional.ofNullable(type.fieldByName(n)))
+        .orElse(null);
+  }
+
+  /** Returns the methods of the type with the given name. */
+  List<Method> getMethods(ReferenceType type, String name) {
+    return methods
+        .computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+        .computeIfAbsent(name, type::methodsByName);
+  }
+}
@@ -66,10 +66,15 @@ public class Evaluator {
 
   private final VirtualMachine vm;
   private final StackFrame stackFrame;
+  private final EvaluationCache cache;
 
-  public Evaluator(VirtualMachine vm, StackFrame stackFrame) {
+  /**
+   * Creates evaluator which resolves local variables, fields and methods through the given cache.
+   */
+  public Evaluator(VirtualMachine vm, StackFrame stackFrame, EvaluationCache cache) {
     this.vm = vm;
     this.stackFrame = stackFrame;
+    this.cache = cache;
   }
 
   private static boolean isPrimitive(Type type) {
@@ -231,7 +236,7 @@ public class Evaluator {
     ExpressionValue value = null;
     try {
       ObjectReference object = (ObjectReference) parent;
-      Field field = object.referenceType().fieldByName(name);
+      Field field = cache.getField(object.referenceType(), name);
       if (field != null) {
         value = new InstanceValue(object, field);
       }
@@ -246,7 +251,7 @@ public class Evaluator {
     ExpressionValue value = null;
     try {
 
-      LocalVariable var = stackFrame.visibleVariableByName(text);
+      LocalVariable var = cache.getLocalVariable(stackFrame, text);
       if (var != null) {
         value = new LocalValue(stackFrame, var);
       }
@@ -385,7 +390,7 @@ public class Evaluator {
     }
     ObjectReference object = (ObjectReference) value;
     ReferenceType type = object.referenceType();
-    List<Method> methods = type.methodsByName(name);
+    List<Method> methods = cache.getMethods(type, name);
     Method method = findMethod(methods, arguments);
     if (method == null) {
       throw new ExpressionException(
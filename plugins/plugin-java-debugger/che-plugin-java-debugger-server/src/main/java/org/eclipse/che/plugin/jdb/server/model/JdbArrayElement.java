@@ -30,11 +30,15 @@ public class JdbArrayElement implements Variable {
   private final String type;
   private final VariablePath parentPath;
 
-  public JdbArrayElement(Value jdiValue, int index, VariablePath parentPath) {
+  public JdbArrayElement(
+      Value jdiValue, int index, VariablePath parentPath, JdbValueCache valueCache) {
     this.jdiValue = jdiValue;
     this.name = "[" + index + "]";
     this.parentPath = parentPath;
-    this.value = jdiValue == null ? new JdbNullValue() : new JdbValue(jdiValue, getVariablePath());
+    this.value =
+        jdiValue == null
+            ? new JdbNullValue()
+            : new JdbValue(jdiValue, getVariablePath(), valueCache);
     this.type = jdiValue == null ? "null" : jdiValue.type().name();
   }
 
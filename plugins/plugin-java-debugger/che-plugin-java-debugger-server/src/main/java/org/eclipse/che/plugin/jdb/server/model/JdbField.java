@@ -15,6 +15,7 @@ import com.sun.jdi.ReferenceType;
 import com.sun.jdi.Value;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.che.api.debug.shared.model.Field;
 import org.eclipse.che.api.debug.shared.model.SimpleValue;
 import org.eclipse.che.api.debug.shared.model.VariablePath;
@@ -32,19 +33,33 @@ public class JdbField implements Field {
   private final ReferenceType type;
   private final ObjectReference object;
   private final VariablePath parentPath;
-
-  public JdbField(com.sun.jdi.Field jdiField, ObjectReference object, VariablePath parentPath) {
+  private final JdbValueCache valueCache;
+  private final AtomicReference<SimpleValue> value;
+
+  public JdbField(
+      com.sun.jdi.Field jdiField,
+      ObjectReference object,
+      VariablePath parentPath,
+      JdbValueCache valueCache) {
     this.jdiField = jdiField;
     this.object = object;
     this.type = null;
     this.parentPath = parentPath;
+    this.valueCache = valueCache;
+    this.value = new AtomicReference<>();
   }
 
-  public JdbField(com.sun.jdi.Field jdiField, ReferenceType type, VariablePath parentPath) {
+  public JdbField(
+      com.sun.jdi.Field jdiField,
+      ReferenceType type,
+      VariablePath parentPath,
+      JdbValueCache valueCache) {
     this.jdiField = jdiField;
     this.type = type;
     this.object = null;
     this.parentPath = parentPath;
+    this.valueCache = valueCache;
+    this.value = new AtomicReference<>();
   }
 
   @Override
@@ -79,11 +94,21 @@ public class JdbField implements Field {
 
   @Override
   public SimpleValue getValue() {
-    Value value = object == null ? type.getValue(jdiField) : object.getValue(jdiField);
-    if (value == null) {
-      return new JdbNullValue();
+    if (value.get() == null) {
+      synchronized (value) {
+        if (value.get() == null) {
+          Value jdiValue =
+              object == null
+                  ? valueCache.getStaticValues(type).get(jdiField)
+                  : valueCache.getFieldValues(object).get(jdiField);
+          value.set(
+              jdiValue == null
+                  ? new JdbNullValue()
+                  : new JdbValue(jdiValue, getVariablePath(), valueCache));
+        }
+      }
     }
-    return new JdbValue(value, getVariablePath());
+    return value.get();
   }
 
   @Override
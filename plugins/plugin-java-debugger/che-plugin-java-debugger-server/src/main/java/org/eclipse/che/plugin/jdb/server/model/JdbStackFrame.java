@@ -10,10 +10,13 @@
  */
 package org.eclipse.che.plugin.jdb.server.model;
 
+import com.sun.jdi.LocalVariable;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.eclipse.che.api.debug.shared.model.Field;
@@ -35,23 +38,27 @@ public class JdbStackFrame implements StackFrameDump {
   private final AtomicReference<List<Field>> fields;
   private final AtomicReference<List<Variable>> variables;
   private final Location location;
+  private final JdbValueCache valueCache;
 
-  public JdbStackFrame(com.sun.jdi.StackFrame jdiStackFrame) {
+  public JdbStackFrame(com.sun.jdi.StackFrame jdiStackFrame, JdbValueCache valueCache) {
     this.jdiStackFrame = jdiStackFrame;
     this.location = new JdbLocation(jdiStackFrame);
     this.variables = new AtomicReference<>();
     this.fields = new AtomicReference<>();
+    this.valueCache = valueCache;
   }
 
   public JdbStackFrame(
       com.sun.jdi.StackFrame jdiStackFrame,
       List<Field> fields,
       List<Variable> variables,
-      Location location) {
+      Location location,
+      JdbValueCache valueCache) {
     this.jdiStackFrame = jdiStackFrame;
     this.fields = new AtomicReference<>(fields);
     this.variables = new AtomicReference<>(variables);
     this.location = location;
+    this.valueCache = valueCache;
   }
 
   @Override
@@ -70,7 +77,12 @@ public class JdbStackFrame implements StackFrameDump {
                       .allFields()
                       .stream()
                       .map(
-                          f -> new JdbField(f, type, new VariablePathImpl(Collections.emptyList())))
+                          f ->
+                              new JdbField(
+                                  f,
+                                  type,
+                                  new VariablePathImpl(Collections.emptyList()),
+                                  valueCache))
                       .sorted(new JdbFieldComparator())
                       .collect(Collectors.toList()));
             } else {
@@ -82,7 +94,10 @@ public class JdbStackFrame implements StackFrameDump {
                       .map(
                           f ->
                               new JdbField(
-                                  f, object, new VariablePathImpl(Collections.emptyList())))
+                                  f,
+                                  object,
+                                  new VariablePathImpl(Collections.emptyList()),
+                                  valueCache))
                       .sorted(new JdbFieldComparator())
                       .collect(Collectors.toList()));
             }
@@ -103,11 +118,13 @@ public class JdbStackFrame implements StackFrameDump {
       synchronized (variables) {
         if (variables.get() == null) {
           try {
+            // reads values of all the visible variables at once
+            List<LocalVariable> visible = jdiStackFrame.visibleVariables();
+            Map<LocalVariable, Value> values = jdiStackFrame.getValues(visible);
             variables.set(
-                jdiStackFrame
-                    .visibleVariables()
+                visible
                     .stream()
-                    .map(v -> new JdbVariable(jdiStackFrame, v))
+                    .map(v -> new JdbVariable(v, values.get(v), valueCache))
                     .collect(Collectors.toList()));
           } catch (Exception e) {
             variables.set(Collections.emptyList());
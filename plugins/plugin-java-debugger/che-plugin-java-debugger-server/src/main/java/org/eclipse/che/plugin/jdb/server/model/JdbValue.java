@@ -14,8 +14,8 @@ import com.sun.jdi.ArrayReference;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
 import com.sun.jdi.Value;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -32,11 +32,13 @@ public class JdbValue implements SimpleValue {
   private final Value jdiValue;
   private final AtomicReference<List<Variable>> variables;
   private final VariablePath variablePath;
+  private final JdbValueCache valueCache;
 
-  public JdbValue(Value jdiValue, VariablePath variablePath) {
+  public JdbValue(Value jdiValue, VariablePath variablePath, JdbValueCache valueCache) {
     this.jdiValue = jdiValue;
     this.variables = new AtomicReference<>();
     this.variablePath = variablePath;
+    this.valueCache = valueCache;
   }
 
   @Override
@@ -52,12 +54,18 @@ public class JdbValue implements SimpleValue {
           if (isPrimitive()) {
             variables.set(Collections.emptyList());
           } else if (isArray()) {
-            variables.set(new LinkedList<>());
-
             ArrayReference array = (ArrayReference) jdiValue;
-            for (int i = 0; i < array.length(); i++) {
-              variables.get().add(new JdbArrayElement(array.getValue(i), i, variablePath));
+            int length = valueCache.getArrayLength(array);
+            List<Variable> elements = new ArrayList<>(length);
+            for (int start = 0; start < length; start += JdbValueCache.ARRAY_PAGE_SIZE) {
+              List<Value> page =
+                  valueCache.getArrayValues(array, start, JdbValueCache.ARRAY_PAGE_SIZE);
+              for (int i = 0; i < page.size(); i++) {
+                elements.add(
+                    new JdbArrayElement(page.get(i), start + i, variablePath, valueCache));
+              }
             }
+            variables.set(elements);
           } else {
             ObjectReference object = (ObjectReference) jdiValue;
             variables.set(
@@ -65,7 +73,7 @@ public class JdbValue implements SimpleValue {
                     .referenceType()
                     .allFields()
                     .stream()
-                    .map(f -> new JdbField(f, object, variablePath))
+                    .map(f -> new JdbField(f, object, variablePath, valueCache))
                     .sorted(new JdbFieldComparator())
                     .collect(Collectors.toList()));
           }
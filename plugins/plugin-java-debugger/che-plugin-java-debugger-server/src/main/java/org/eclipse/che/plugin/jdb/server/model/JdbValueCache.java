@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server.model;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values of fields and array elements read from the target VM while it is suspended, keyed by the
+ * unique id of the object they belong to. Objects reachable by different variable paths are read
+ * only once, all the fields of an object are read by a single request and array elements are read
+ * by pages.
+ *
+ * <p>Values may change as soon as the target VM resumes, so the cache must be cleared on resume
+ * and step.
+ */
+public class JdbValueCache {
+  /** Maximum number of array elements read by a single request. */
+  static final int ARRAY_PAGE_SIZE = 1000;
+
+  private final Map<Long, Map<Field, Value>> fieldValues = new ConcurrentHashMap<>();
+  private final Map<ReferenceType, Map<Field, Value>> staticValues = new ConcurrentHashMap<>();
+  private final Map<Long, Integer> arrayLengths = new ConcurrentHashMap<>();
+  private final Map<Long, Map<Integer, List<Value>>> arrayPages = new ConcurrentHashMap<>();
+
+  /** Returns values of all the fields of the object. */
+  public Map<Field, Value> getFieldValues(ObjectReference object) {
+    return fieldValues.computeIfAbsent(
+        object.uniqueID(), id -> object.getValues(object.referenceType().allFields()));
+  }
+
+  /** Returns values of all the static fields of the type. */
+  public Map<Field, Value> getStaticValues(ReferenceType type) {
+    return staticValues.computeIfAbsent(
+        type,
+        t -> {
+          List<Field> fields = new ArrayList<>();
+          for (Field field : t.allFields()) {
+            if (field.isStatic()) {
+              fields.add(field);
+            }
+          }
+          return t.getValues(fields);
+        });
+  }
+
+  /** Returns the length of the array. */
+  public int getArrayLength(ArrayReference array) {
+    return arrayLengths.computeIfAbsent(array.uniqueID(), id -> array.length());
+  }
+
+  /**
+   * Returns the elements of the array.
+   *
+   * @param array the array
+   * @param start index of the first element
+   * @param count maximum number of the elements
+   */
+  public List<Value> getArrayValues(ArrayReference array, int start, int count) {
+    int end = (int) Math.min(getArrayLength(array), (long) start + count);
+    Map<Integer, List<Value>> pages =
+        arrayPages.computeIfAbsent(array.uniqueID(), id -> new ConcurrentHashMap<>());
+    List<Value> values = new ArrayList<>(Math.max(0, end - start));
+    for (int index = start; index < end; ) {
+      int pageStart = index - index % ARRAY_PAGE_SIZE;
+      List<Value> page =
+          pages.computeIfAbsent(
+              pageStart,
+              s -> array.getValues(s, Math.min(ARRAY_PAGE_SIZE, getArrayLength(array) - s)));
+      int pageEnd = Math.min(end, pageStart + page.size());
+      values.addAll(page.subList(index - pageStart, pageEnd - pageStart));
+      index = pageEnd;
+    }
+    return values;
+  }
+
+  /** Forgets all the values. */
+  public void clear() {
+    fieldValues.clear();
+    staticValues.clear();
+    arrayLengths.clear();
+    arrayPages.clear();
+  }
+}
@@ -11,7 +11,6 @@
 package org.eclipse.che.plugin.jdb.server.model;
 
 import com.sun.jdi.LocalVariable;
-import com.sun.jdi.StackFrame;
 import com.sun.jdi.Value;
 import org.eclipse.che.api.debug.shared.model.SimpleValue;
 import org.eclipse.che.api.debug.shared.model.Variable;
@@ -27,11 +26,12 @@ public class JdbVariable implements Variable {
   private final LocalVariable jdiVariable;
   private final SimpleValue value;
 
-  public JdbVariable(StackFrame jdiStackFrame, LocalVariable jdiVariable) {
-    Value jdiValue = jdiStackFrame.getValue(jdiVariable);
-
+  public JdbVariable(LocalVariable jdiVariable, Value jdiValue, JdbValueCache valueCache) {
     this.jdiVariable = jdiVariable;
-    this.value = jdiValue == null ? new JdbNullValue() : new JdbValue(jdiValue, getVariablePath());
+    this.value =
+        jdiValue == null
+            ? new JdbNullValue()
+            : new JdbValue(jdiValue, getVariablePath(), valueCache);
   }
 
   public JdbVariable(SimpleValue value, LocalVariable jdiVariable) {
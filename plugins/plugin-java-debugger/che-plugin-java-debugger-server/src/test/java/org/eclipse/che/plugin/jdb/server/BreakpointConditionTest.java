@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server;
+
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.jdi.BooleanValue;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.VirtualMachine;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link BreakpointCondition}. */
+@Listeners(MockitoTestNGListener.class)
+public class BreakpointConditionTest {
+
+  @Mock private VirtualMachine vm;
+  @Mock private StackFrame frame;
+  @Mock private BooleanValue value;
+
+  @Test
+  public void hitsEachTimeConditionIsSatisfiedWithoutHitCount() {
+    mockBooleanValue(true);
+    BreakpointCondition condition = new BreakpointCondition("true", 0);
+
+    assertTrue(condition.isHit(vm, frame));
+    assertTrue(condition.isHit(vm, frame));
+    assertFalse(condition.isExhausted());
+  }
+
+  @Test
+  public void hitsOnlyOnMatchingHitWithGivenNumber() {
+    mockBooleanValue(true);
+    BreakpointCondition condition = new BreakpointCondition("true", 3);
+
+    assertFalse(condition.isHit(vm, frame));
+    assertFalse(condition.isHit(vm, frame));
+    assertFalse(condition.isExhausted());
+    assertTrue(condition.isHit(vm, frame));
+    assertTrue(condition.isExhausted());
+    assertFalse(condition.isHit(vm, frame));
+  }
+
+  @Test
+  public void doesNotCountHitsWhichDoNotSatisfyCondition() {
+    mockBooleanValue(false);
+    BreakpointCondition condition = new BreakpointCondition("false", 1);
+
+    assertFalse(condition.isHit(vm, frame));
+    assertFalse(condition.isHit(vm, frame));
+    assertFalse(condition.isExhausted());
+  }
+
+  private void mockBooleanValue(boolean b) {
+    when(value.value()).thenReturn(b);
+    when(vm.mirrorOf(b)).thenReturn(value);
+  }
+}
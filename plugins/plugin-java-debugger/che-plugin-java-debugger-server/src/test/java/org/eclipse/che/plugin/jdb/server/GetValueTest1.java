@@ -137,6 +137,24 @@ public class GetValueTest1 {
     assertEquals(debuggerValue.getString(), newValue);
   }
 
+  @Test
+  public void shouldDumpStackFrameWithValueSetAfterPreviousDump() throws Exception {
+    final VariablePathImpl variablePath = new VariablePathImpl(ImmutableList.of("i"));
+    debugger.dumpStackFrame();
+
+    debugger.setValue(new VariableImpl(new SimpleValueImpl("7"), variablePath));
+
+    Variable i =
+        debugger
+            .dumpStackFrame()
+            .getVariables()
+            .stream()
+            .filter(v -> v.getName().equals("i"))
+            .findAny()
+            .get();
+    assertEquals(i.getValue().getString(), "7");
+  }
+
   @DataProvider(name = "setVariable")
   public static Object[][] getSetVariable() {
     return new Object[][] {{ImmutableList.of("i"), "3", 0}};
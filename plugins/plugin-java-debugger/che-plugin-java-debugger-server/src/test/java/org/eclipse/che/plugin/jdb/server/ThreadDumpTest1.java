@@ -81,6 +81,37 @@ public class ThreadDumpTest1 {
     validateFinalizerThreadDump(threads);
   }
 
+  @Test
+  public void shouldGetThreadSummariesWithoutFrames() throws Exception {
+    List<ThreadState> threads = debugger.getThreadSummaries();
+
+    Optional<ThreadState> finalizerThread =
+        threads.stream().filter(t -> t.getName().equals("Finalizer")).findAny();
+    assertTrue(finalizerThread.isPresent());
+    assertTrue(finalizerThread.get().isSuspended());
+    assertEquals(finalizerThread.get().getStatus(), ThreadStatus.WAIT);
+    assertTrue(finalizerThread.get().getFrames().isEmpty());
+  }
+
+  @Test
+  public void shouldGetWindowOfStackFrames() throws Exception {
+    ThreadState finalizerThread =
+        debugger
+            .getThreadSummaries()
+            .stream()
+            .filter(t -> t.getName().equals("Finalizer"))
+            .findAny()
+            .get();
+
+    List<StackFrameDump> top = debugger.getStackFrames(finalizerThread.getId(), 0, 1);
+    List<StackFrameDump> rest = debugger.getStackFrames(finalizerThread.getId(), 1, 10);
+
+    assertEquals(top.size(), 1);
+    assertEquals(top.get(0).getLocation().getMethod().getName(), "wait");
+    assertEquals(rest.size(), 3);
+    assertTrue(debugger.getStackFrames(finalizerThread.getId(), 4, 10).isEmpty());
+  }
+
   private void validateMainThreadDump(List<ThreadStateDto> threads) {
     Optional<ThreadStateDto> mainThread =
         threads.stream().filter(t -> t.getName().equals("main")).findAny();
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link EvaluationCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class EvaluationCacheTest {
+
+  @Mock private ReferenceType type;
+  @Mock private StackFrame frame;
+  @Mock private Location location;
+
+  @Test
+  public void resolvesFieldOnce() throws Exception {
+    Field field = mock(Field.class);
+    when(type.fieldByName("count")).thenReturn(field);
+    EvaluationCache cache = new EvaluationCache();
+
+    assertEquals(cache.getField(type, "count"), field);
+    assertEquals(cache.getField(type, "count"), field);
+    assertNull(cache.getField(type, "absent"));
+    assertNull(cache.getField(type, "absent"));
+
+    verify(type, times(1)).fieldByName("count");
+    verify(type, times(1)).fieldByName("absent");
+  }
+
+  @Test
+  public void resolvesMethodsOnce() throws Exception {
+    Method method = mock(Method.class);
+    when(type.methodsByName("size")).thenReturn(singletonList(method));
+    EvaluationCache cache = new EvaluationCache();
+
+    cache.getMethods(type, "size");
+    assertEquals(cache.getMethods(type, "size"), singletonList(method));
+
+    verify(type, times(1)).methodsByName("size");
+  }
+
+  @Test
+  public void resolvesLocalVariableOncePerLocation() throws Exception {
+    LocalVariable variable = mock(LocalVariable.class);
+    when(frame.location()).thenReturn(location);
+    when(frame.visibleVariableByName("i")).thenReturn(variable);
+    EvaluationCache cache = new EvaluationCache();
+
+    cache.getLocalVariable(frame, "i");
+    assertEquals(cache.getLocalVariable(frame, "i"), variable);
+
+    verify(frame, times(1)).visibleVariableByName("i");
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server.model;
+
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
+import java.util.List;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link JdbValueCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class JdbValueCacheTest {
+
+  @Mock private ObjectReference object;
+  @Mock private ReferenceType type;
+  @Mock private ArrayReference array;
+  @Mock private Value value;
+
+  @Test
+  public void readsFieldsOfObjectOnce() throws Exception {
+    Field field = mock(Field.class);
+    when(object.uniqueID()).thenReturn(1L);
+    when(object.referenceType()).thenReturn(type);
+    when(type.allFields()).thenReturn(singletonList(field));
+    when(object.getValues(singletonList(field))).thenReturn(singletonMap(field, value));
+    JdbValueCache cache = new JdbValueCache();
+
+    cache.getFieldValues(object);
+    assertEquals(cache.getFieldValues(object).get(field), value);
+
+    verify(object, times(1)).getValues(singletonList(field));
+  }
+
+  @Test
+  public void readsArrayElementsByPages() throws Exception {
+    int page = JdbValueCache.ARRAY_PAGE_SIZE;
+    when(array.uniqueID()).thenReturn(2L);
+    when(array.length()).thenReturn(page + 10);
+    when(array.getValues(0, page)).thenReturn(nCopies(page, value));
+    when(array.getValues(page, 10)).thenReturn(nCopies(10, value));
+    JdbValueCache cache = new JdbValueCache();
+
+    List<Value> values = cache.getArrayValues(array, 0, page + 10);
+    cache.getArrayValues(array, page - 5, 10);
+
+    assertEquals(values.size(), page + 10);
+    verify(array, times(1)).length();
+    verify(array, times(1)).getValues(0, page);
+    verify(array, times(1)).getValues(page, 10);
+  }
+
+  @Test
+  public void readsValuesAgainAfterClear() throws Exception {
+    when(array.uniqueID()).thenReturn(2L);
+    when(array.length()).thenReturn(1);
+    when(array.getValues(0, 1)).thenReturn(singletonList(value));
+    JdbValueCache cache = new JdbValueCache();
+
+    cache.getArrayValues(array, 0, 1);
+    cache.clear();
+    cache.getArrayValues(array, 0, 1);
+
+    verify(array, times(2)).getValues(0, 1);
+  }
+}
@@ -21,6 +21,11 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import javax.annotation.PreDestroy;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -43,6 +48,8 @@ import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -83,6 +90,9 @@ public class JavaReconciler {
   private final ProjectManager projectManager;
   private final EditorWorkingCopyManager editorWorkingCopyManager;
   private final SemanticHighlightingReconciler semanticHighlighting;
+  private final ReconcileScheduler scheduler;
+  private final Map<String, CompletableFuture<ReconcileResult>> transmissions =
+      new ConcurrentHashMap<>();
 
   private Mode mode = ACTIVATED;
 
@@ -92,8 +102,10 @@ public class JavaReconciler {
       EventService eventService,
       RequestTransmitter transmitter,
       ProjectManager projectManager,
-      EditorWorkingCopyManager editorWorkingCopyManager) {
+      EditorWorkingCopyManager editorWorkingCopyManager,
+      ReconcileScheduler scheduler) {
     this.semanticHighlighting = semanticHighlighting;
+    this.scheduler = scheduler;
     this.eventService = eventService;
     this.transmitter = transmitter;
     this.projectManager = projectManager;
@@ -129,10 +141,34 @@ public class JavaReconciler {
     IType type = getType(fqn, javaProject);
     ICompilationUnit compilationUnit = type.getCompilationUnit();
 
-    return reconcile(compilationUnit, javaProject);
+    try {
+      return schedule(compilationUnit, javaProject).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JavaModelException(e, 500);
+    } catch (CancellationException e) {
+      throw new JavaModelException(new Throwable("Reconcile is cancelled for " + fqn), 500);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof JavaModelException) {
+        throw (JavaModelException) e.getCause();
+      }
+      throw new JavaModelException(new Exception(e.getCause()), 500);
+    }
+  }
+
+  /**
+   * Schedules reconcile of the compilation unit, the pending and running reconciles of the same
+   * compilation unit are superseded by this one.
+   */
+  private CompletableFuture<ReconcileResult> schedule(
+      ICompilationUnit compilationUnit, IJavaProject javaProject) {
+    return scheduler.schedule(
+        compilationUnit.getPath().toString(),
+        monitor -> reconcile(compilationUnit, javaProject, monitor));
   }
 
-  private ReconcileResult reconcile(ICompilationUnit compilationUnit, IJavaProject javaProject)
+  private ReconcileResult reconcile(
+      ICompilationUnit compilationUnit, IJavaProject javaProject, IProgressMonitor monitor)
       throws JavaModelException {
     ICompilationUnit workingCopy = null;
     List<HighlightedPosition> positions;
@@ -142,11 +178,14 @@ public class JavaReconciler {
     final WorkingCopyOwner wcOwner = createWorkingCopyOwner(problemRequestor);
 
     try {
-      workingCopy = compilationUnit.getWorkingCopy(wcOwner, null);
+      workingCopy = compilationUnit.getWorkingCopy(wcOwner, monitor);
       synchronizeWorkingCopyContent(filePath, workingCopy);
       problemRequestor.reset();
 
-      CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+      CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, monitor);
+      if (monitor.isCanceled()) {
+        throw new OperationCanceledException();
+      }
       positions = semanticHighlighting.reconcileSemanticHighlight(unit);
 
       if (workingCopy instanceof ClassFileWorkingCopy) {
@@ -270,24 +309,47 @@ public class JavaReconciler {
       return; //ignore - we haven't compilation unit to reconcile
     }
 
+    IJavaProject javaProject;
     try {
-      ReconcileResult reconcileResult = reconcile(compilationUnit, getJavaProject(projectPath));
-      transmitter
-          .newRequest()
-          .endpointId(endpointId)
-          .methodName(RECONCILE_STATE_CHANGED_METHOD)
-          .paramsAsDto(reconcileResult)
-          .sendAndSkipResult();
+      javaProject = getJavaProject(projectPath);
     } catch (JavaModelException e) {
-      String errorMessage =
-          format(
-              "Can't reconcile class: %s in project: %s, the reason is %s",
-              filePath, projectPath, e.getLocalizedMessage());
+      transmitReconcileError(filePath, projectPath, e, endpointId);
+      return;
+    }
 
-      LOG.error(errorMessage);
+    // only the result of the latest request is transmitted, as all the earlier requests of the
+    // same compilation unit are answered with the same result
+    String transmissionKey = endpointId + ' ' + filePath;
+    CompletableFuture<ReconcileResult> future = schedule(compilationUnit, javaProject);
+    transmissions.put(transmissionKey, future);
+    future.whenComplete(
+        (reconcileResult, error) -> {
+          if (!transmissions.remove(transmissionKey, future)) {
+            return;
+          }
+          if (error == null) {
+            transmitter
+                .newRequest()
+                .endpointId(endpointId)
+                .methodName(RECONCILE_STATE_CHANGED_METHOD)
+                .paramsAsDto(reconcileResult)
+                .sendAndSkipResult();
+          } else if (!(error instanceof CancellationException)) {
+            transmitReconcileError(filePath, projectPath, error, endpointId);
+          }
+        });
+  }
 
-      transmitError(500, errorMessage, endpointId);
-    }
+  private void transmitReconcileError(
+      String filePath, String projectPath, Throwable error, String endpointId) {
+    String errorMessage =
+        format(
+            "Can't reconcile class: %s in project: %s, the reason is %s",
+            filePath, projectPath, error.getLocalizedMessage());
+
+    LOG.error(errorMessage);
+
+    transmitError(500, errorMessage, endpointId);
   }
 
   private void transmitError(int code, String errorMessage, String endpointId) {
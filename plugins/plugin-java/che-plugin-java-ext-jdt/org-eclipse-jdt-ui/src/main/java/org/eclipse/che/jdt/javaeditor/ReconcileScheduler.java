@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.javaeditor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules reconcile operations of compilation units on a bounded pool of threads.
+ *
+ * <p>Only the latest request is kept for each compilation unit: a request which is not started
+ * yet is replaced by the newer one, and the reconcile which is in progress is cancelled through
+ * its progress monitor. Callers of the replaced and cancelled requests receive the result of the
+ * latest one, as it reflects the latest content of the same compilation unit. Requests are started
+ * after the debounce delay, so a burst of requests caused by typing results in a single reconcile.
+ *
+ * <p>Statistics of the scheduler are exposed as JMX bean with name {@code
+ * org.eclipse.che.jdt:type=ReconcileScheduler}.
+ */
+@Singleton
+public class ReconcileScheduler implements ReconcileSchedulerMXBean {
+  private static final Logger LOG = LoggerFactory.getLogger(ReconcileScheduler.class);
+  private static final String MBEAN_NAME = "org.eclipse.che.jdt:type=ReconcileScheduler";
+
+  private final ScheduledThreadPoolExecutor executor;
+  private final long debounceMs;
+  private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong cancelled = new AtomicLong();
+  private final AtomicLong totalLatencyMs = new AtomicLong();
+  private final AtomicLong maxLatencyMs = new AtomicLong();
+
+  private volatile boolean mBeanRegistered;
+
+  /** The operation which reconciles a compilation unit and checks the given monitor. */
+  public interface ReconcileOperation<T> {
+    T run(IProgressMonitor monitor) throws Exception;
+  }
+
+  @Inject
+  public ReconcileScheduler(
+      @Named("che.java.reconcile.pool_size") int poolSize,
+      @Named("che.java.reconcile.debounce_ms") long debounceMs) {
+    this.debounceMs = debounceMs;
+    this.executor =
+        new ScheduledThreadPoolExecutor(
+            poolSize,
+            new ThreadFactoryBuilder()
+                .setNameFormat("JavaReconciler-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  @PostConstruct
+  public void start() {
+    registerMBean();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    unregisterMBean();
+  }
+
+  /**
+   * Schedules reconcile of the compilation unit.
+   *
+   * @param key identifier of the compilation unit, e.g. its path
+   * @param operation the reconcile operation
+   * @return the result of this or of a newer reconcile of the same compilation unit
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> schedule(String key, ReconcileOperation<T> operation) {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    slots.compute(
+        key,
+        (k, slot) -> {
+          if (slot == null) {
+            slot = new Slot();
+          }
+          if (slot.pending == null) {
+            slot.pending = new Request(operation);
+            queueDepth.incrementAndGet();
+          } else {
+            slot.pending.operation = operation;
+            slot.pending.requestedMs = System.currentTimeMillis();
+          }
+          slot.pending.waiters.add(result);
+          if (slot.running != null) {
+            slot.running.monitor.setCanceled(true);
+          } else if (slot.pending.waiters.size() == 1 && !start(k)) {
+            return reject(slot);
+          }
+          return slot;
+        });
+    return (CompletableFuture<T>) result;
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  @Override
+  public long getCompletedCount() {
+    return completed.get();
+  }
+
+  @Override
+  public long getCancelledCount() {
+    return cancelled.get();
+  }
+
+  @Override
+  public long getAverageLatencyMs() {
+    long count = completed.get();
+    return count == 0 ? 0 : totalLatencyMs.get() / count;
+  }
+
+  @Override
+  public long getMaxLatencyMs() {
+    return maxLatencyMs.get();
+  }
+
+  private void registerMBean() {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(MBEAN_NAME);
+      try {
+        server.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException x) {
+        // the latest created scheduler is the one in use
+        server.unregisterMBean(objectName);
+        server.registerMBean(this, objectName);
+      }
+      mBeanRegistered = true;
+    } catch (JMException | RuntimeException x) {
+      LOG.warn("Couldn't register statistics bean of reconcile scheduler", x);
+    }
+  }
+
+  private void unregisterMBean() {
+    if (!mBeanRegistered) {
+      return;
+    }
+    mBeanRegistered = false;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(MBEAN_NAME));
+    } catch (JMException | RuntimeException x) {
+      LOG.warn("Couldn't unregister statistics bean of reconcile scheduler", x);
+    }
+  }
+
+  private boolean start(String key) {
+    try {
+      executor.schedule(() -> run(key), debounceMs, MILLISECONDS);
+      return true;
+    } catch (RejectedExecutionException x) {
+      return false;
+    }
+  }
+
+  /** Cancels the pending request of the slot when the scheduler is shut down. */
+  private Slot reject(Slot slot) {
+    queueDepth.decrementAndGet();
+    slot.pending.waiters.forEach(waiter -> waiter.cancel(false));
+    slot.pending = null;
+    return slot.running == null ? null : slot;
+  }
+
+  private void run(String key) {
+    Request[] request = new Request[1];
+    slots.computeIfPresent(
+        key,
+        (k, slot) -> {
+          request[0] = slot.running = slot.pending;
+          slot.pending = null;
+          return slot;
+        });
+    if (request[0] == null) {
+      return;
+    }
+    queueDepth.decrementAndGet();
+
+    Request current = request[0];
+    Object result = null;
+    Throwable error = null;
+    try {
+      result = current.operation.run(current.monitor);
+    } catch (OperationCanceledException x) {
+      error = new CancellationException();
+    } catch (Throwable x) {
+      error = x;
+    }
+
+    List<CompletableFuture<Object>> waiters = new ArrayList<>();
+    boolean superseded = error instanceof CancellationException;
+    slots.computeIfPresent(
+        key,
+        (k, slot) -> {
+          slot.running = null;
+          if (slot.pending != null) {
+            if (superseded) {
+              // the newer request answers the callers of the cancelled one
+              slot.pending.waiters.addAll(current.waiters);
+            } else {
+              waiters.addAll(current.waiters);
+            }
+            return start(k) ? slot : reject(slot);
+          }
+          waiters.addAll(current.waiters);
+          return null;
+        });
+
+    if (superseded) {
+      cancelled.incrementAndGet();
+    } else {
+      long latency = System.currentTimeMillis() - current.requestedMs;
+      completed.incrementAndGet();
+      totalLatencyMs.addAndGet(latency);
+      maxLatencyMs.accumulateAndGet(latency, Math::max);
+      LOG.debug("Reconciled '{}' in {}ms, {} more waiting", key, latency, queueDepth.get());
+    }
+    for (CompletableFuture<Object> waiter : waiters) {
+      if (error == null) {
+        waiter.complete(result);
+      } else {
+        waiter.completeExceptionally(error);
+      }
+    }
+  }
+
+  private static class Slot {
+    Request pending;
+    Request running;
+  }
+
+  private static class Request {
+    final List<CompletableFuture<Object>> waiters = new ArrayList<>();
+    final IProgressMonitor monitor = new NullProgressMonitor();
+    ReconcileOperation<?> operation;
+    long requestedMs = System.currentTimeMillis();
+
+    Request(ReconcileOperation<?> operation) {
+      this.operation = operation;
+    }
+  }
+}
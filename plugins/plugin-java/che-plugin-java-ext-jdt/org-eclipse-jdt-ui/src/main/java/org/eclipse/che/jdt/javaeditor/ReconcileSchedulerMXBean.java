@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.javaeditor;
+
+/** Management interface of {@link ReconcileScheduler}, exposes reconcile statistics through JMX. */
+public interface ReconcileSchedulerMXBean {
+
+  /** Returns the number of compilation units which wait for reconcile. */
+  int getQueueDepth();
+
+  /** Returns the number of completed reconcile operations. */
+  long getCompletedCount();
+
+  /** Returns the number of reconcile operations cancelled because of newer requests. */
+  long getCancelledCount();
+
+  /** Returns the average time between the latest request and the completion of a reconcile. */
+  long getAverageLatencyMs();
+
+  /** Returns the longest time between the latest request and the completion of a reconcile. */
+  long getMaxLatencyMs();
+}
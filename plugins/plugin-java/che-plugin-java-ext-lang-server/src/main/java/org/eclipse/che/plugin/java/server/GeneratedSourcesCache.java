@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparingLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Two-level cache of the sources generated from the bytecode of library types.
+ *
+ * <p>Sources are stored by the checksum of the jar which contains the type and by the fully
+ * qualified name of the type, so they are shared between all the projects of the workspace which
+ * use the same library. The most recently used sources are kept in memory, the rest of them on the
+ * disk, both levels are bounded by the number of the entries. The memory level is dropped when a
+ * classpath of any project changes, the sources on the disk stay valid as long as the jar they
+ * were generated from has the same content.
+ */
+@Singleton
+public class GeneratedSourcesCache {
+  private static final Logger LOG = LoggerFactory.getLogger(GeneratedSourcesCache.class);
+
+  private final File cacheDir;
+  private final int maxDiskEntries;
+  private final Cache<String, String> memory;
+  private final Map<File, Checksum> checksums = new ConcurrentHashMap<>();
+  private final AtomicInteger diskEntries = new AtomicInteger(-1);
+  private final IElementChangedListener classpathListener = this::elementChanged;
+
+  @Inject
+  public GeneratedSourcesCache(
+      @Named("che.java.generated_sources.cache.dir") String cacheDir,
+      @Named("che.java.generated_sources.cache.memory_entries") int maxMemoryEntries,
+      @Named("che.java.generated_sources.cache.disk_entries") int maxDiskEntries) {
+    this(new File(cacheDir), maxMemoryEntries, maxDiskEntries);
+  }
+
+  /**
+   * Creates cache which stores sources in the given directory.
+   *
+   * @param cacheDir directory of the on-disk level, or null to keep sources only in memory
+   * @param maxMemoryEntries maximum number of sources kept in memory
+   * @param maxDiskEntries maximum number of sources kept on the disk
+   */
+  public GeneratedSourcesCache(File cacheDir, int maxMemoryEntries, int maxDiskEntries) {
+    this.cacheDir = cacheDir;
+    this.maxDiskEntries = maxDiskEntries;
+    this.memory = CacheBuilder.newBuilder().maximumSize(maxMemoryEntries).build();
+  }
+
+  @PostConstruct
+  void start() {
+    JavaCore.addElementChangedListener(classpathListener, ElementChangedEvent.POST_CHANGE);
+  }
+
+  @PreDestroy
+  void stop() {
+    JavaCore.removeElementChangedListener(classpathListener);
+  }
+
+  /**
+   * Returns cached sources of the type or null when there are no sources of it.
+   *
+   * @param jar the jar which contains the type
+   * @param fqn fully qualified name of the type
+   */
+  public String get(File jar, String fqn) {
+    String checksum = checksum(jar);
+    if (checksum == null) {
+      return null;
+    }
+    String key = checksum + '/' + fqn;
+    String source = memory.getIfPresent(key);
+    if (source == null && cacheDir != null) {
+      File file = file(checksum, fqn);
+      try {
+        source = new String(Files.readAllBytes(file.toPath()), UTF_8);
+        memory.put(key, source);
+        file.setLastModified(System.currentTimeMillis());
+      } catch (IOException x) {
+        // not cached on the disk either
+      }
+    }
+    return source;
+  }
+
+  /**
+   * Stores sources generated for the type.
+   *
+   * @param jar the jar which contains the type
+   * @param fqn fully qualified name of the type
+   * @param source generated sources
+   */
+  public void put(File jar, String fqn, String source) {
+    String checksum = checksum(jar);
+    if (checksum == null) {
+      return;
+    }
+    memory.put(checksum + '/' + fqn, source);
+    if (cacheDir == null || maxDiskEntries <= 0) {
+      return;
+    }
+
+    File file = file(checksum, fqn);
+    File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+    try {
+      Files.createDirectories(file.getParentFile().toPath());
+      boolean added = !file.exists();
+      Files.write(tmp.toPath(), source.getBytes(UTF_8));
+      Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      if (added && countDiskEntries(1) > maxDiskEntries) {
+        prune();
+      }
+    } catch (IOException x) {
+      LOG.warn("Couldn't cache generated sources of '{}'", fqn, x);
+      tmp.delete();
+    }
+  }
+
+  /** Drops the sources kept in memory and forgets the checksums of the jars. */
+  public void invalidate() {
+    memory.invalidateAll();
+    checksums.clear();
+  }
+
+  private void elementChanged(ElementChangedEvent event) {
+    if (isClasspathChanged(event.getDelta())) {
+      invalidate();
+    }
+  }
+
+  private static boolean isClasspathChanged(IJavaElementDelta delta) {
+    int flags = delta.getFlags();
+    if ((flags & IJavaElementDelta.F_CLASSPATH_CHANGED) != 0
+        || (flags & IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED) != 0) {
+      return true;
+    }
+    if (delta.getElement().getElementType() != IJavaElement.JAVA_MODEL) {
+      // classpath changes are reported on the projects
+      return false;
+    }
+    for (IJavaElementDelta child : delta.getAffectedChildren()) {
+      if (isClasspathChanged(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private File file(String checksum, String fqn) {
+    return new File(new File(cacheDir, checksum), fqn + ".java");
+  }
+
+  /** Returns checksum of the jar content, it is recomputed only when the jar is modified. */
+  private String checksum(File jar) {
+    if (jar == null || !jar.isFile()) {
+      return null;
+    }
+    long length = jar.length();
+    long lastModified = jar.lastModified();
+    Checksum checksum = checksums.get(jar);
+    if (checksum == null || checksum.length != length || checksum.lastModified != lastModified) {
+      try {
+        String value =
+            com.google.common.io.Files.asByteSource(jar).hash(Hashing.sha1()).toString();
+        checksum = new Checksum(length, lastModified, value);
+      } catch (IOException x) {
+        LOG.debug("Couldn't compute checksum of '{}'", jar, x);
+        return null;
+      }
+      checksums.put(jar, checksum);
+    }
+    return checksum.value;
+  }
+
+  private int countDiskEntries(int delta) throws IOException {
+    if (diskEntries.get() < 0) {
+      synchronized (diskEntries) {
+        if (diskEntries.get() < 0) {
+          try (Stream<Path> files = Files.walk(cacheDir.toPath())) {
+            // the entry which is just added is already on the disk
+            diskEntries.set((int) files.filter(this::isEntry).count() - delta);
+          }
+        }
+      }
+    }
+    return diskEntries.addAndGet(delta);
+  }
+
+  /** Removes the least recently used sources from the disk, so a tenth of the space is free. */
+  private synchronized void prune() throws IOException {
+    List<File> files;
+    try (Stream<Path> paths = Files.walk(cacheDir.toPath())) {
+      files =
+          paths
+              .filter(this::isEntry)
+              .map(Path::toFile)
+              .sorted(comparingLong(File::lastModified))
+              .collect(Collectors.toList());
+    }
+    int toRemove = files.size() - maxDiskEntries + maxDiskEntries / 10;
+    for (int i = 0; i < toRemove && i < files.size(); i++) {
+      File file = files.get(i);
+      file.delete();
+      File parent = file.getParentFile();
+      String[] left = parent.list();
+      if (left != null && left.length == 0) {
+        parent.delete();
+      }
+    }
+    diskEntries.set(files.size() - Math.max(0, Math.min(toRemove, files.size())));
+  }
+
+  private boolean isEntry(Path path) {
+    return path.getFileName().toString().endsWith(".java") && Files.isRegularFile(path);
+  }
+
+  private static class Checksum {
+    final long length;
+    final long lastModified;
+    final String value;
+
+    Checksum(long length, long lastModified, String value) {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.value = value;
+    }
+  }
+}
@@ -10,7 +10,9 @@
  */
 package org.eclipse.che.plugin.java.server;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +26,7 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
@@ -39,13 +42,48 @@ public class SourcesFromBytecodeGenerator {
           "\n // Failed to get sources. Instead, stub sources have been generated.\n // Implementation of methods is unavailable.\n");
   private static final String TAB = "    ";
 
+  private final GeneratedSourcesCache cache;
+
+  @Inject
+  public SourcesFromBytecodeGenerator(GeneratedSourcesCache cache) {
+    this.cache = cache;
+  }
+
   public String generateSource(IType type) throws JavaModelException {
+    File jar = getJar(type);
+    String fqn = type.getFullyQualifiedName();
+    if (jar != null) {
+      String source = cache.get(jar, fqn);
+      if (source != null) {
+        return source;
+      }
+    }
+
     StringBuilder builder = new StringBuilder();
     builder.append(COMMENT);
     builder.append("package ").append(type.getPackageFragment().getElementName()).append(";\n");
 
     generateType(type, builder, TAB);
-    return builder.toString();
+    String source = builder.toString();
+    if (jar != null) {
+      cache.put(jar, fqn, source);
+    }
+    return source;
+  }
+
+  /** Returns the jar which contains the type, or null if the type isn't from a jar. */
+  private static File getJar(IType type) {
+    IPackageFragmentRoot root =
+        (IPackageFragmentRoot) type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+    if (root == null || !root.isArchive()) {
+      return null;
+    }
+    if (!root.isExternal() && root.getResource() != null) {
+      return root.getResource().getLocation() == null
+          ? null
+          : root.getResource().getLocation().toFile();
+    }
+    return root.getPath().toFile();
   }
 
   private void generateType(IType type, StringBuilder builder, String indent)
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link GeneratedSourcesCache}. */
+public class GeneratedSourcesCacheTest {
+
+  private File root;
+  private File cacheDir;
+  private File jar;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("generated-sources").toFile();
+    cacheDir = new File(root, "cache");
+    jar = new File(root, "lib.jar");
+    Files.write(jar.toPath(), "content".getBytes(UTF_8));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Test
+  public void returnsSourcesFromDiskAfterMemoryIsInvalidated() {
+    GeneratedSourcesCache cache = new GeneratedSourcesCache(cacheDir, 10, 10);
+    cache.put(jar, "a.A", "class A {}");
+
+    cache.invalidate();
+
+    assertEquals(cache.get(jar, "a.A"), "class A {}");
+    assertEquals(new GeneratedSourcesCache(cacheDir, 10, 10).get(jar, "a.A"), "class A {}");
+  }
+
+  @Test
+  public void sharesSourcesBetweenJarsWithSameContent() throws Exception {
+    File copy = new File(root, "copy.jar");
+    Files.copy(jar.toPath(), copy.toPath());
+    GeneratedSourcesCache cache = new GeneratedSourcesCache(cacheDir, 10, 10);
+    cache.put(jar, "a.A", "class A {}");
+
+    assertEquals(cache.get(copy, "a.A"), "class A {}");
+  }
+
+  @Test
+  public void doesNotReturnSourcesOfModifiedJar() throws Exception {
+    GeneratedSourcesCache cache = new GeneratedSourcesCache(cacheDir, 10, 10);
+    cache.put(jar, "a.A", "class A {}");
+
+    Files.write(jar.toPath(), "new content".getBytes(UTF_8));
+
+    assertNull(cache.get(jar, "a.A"));
+  }
+
+  @Test
+  public void removesLeastRecentlyUsedSourcesFromDisk() throws Exception {
+    GeneratedSourcesCache cache = new GeneratedSourcesCache(cacheDir, 1, 2);
+    cache.put(jar, "a.A", "class A {}");
+    cache.put(jar, "a.B", "class B {}");
+    new File(new File(cacheDir, checksumDir()), "a.A.java").setLastModified(1000);
+
+    cache.put(jar, "a.C", "class C {}");
+    cache.invalidate();
+
+    assertNull(cache.get(jar, "a.A"));
+    assertEquals(cache.get(jar, "a.C"), "class C {}");
+  }
+
+  private String checksumDir() {
+    return cacheDir.list()[0];
+  }
+}
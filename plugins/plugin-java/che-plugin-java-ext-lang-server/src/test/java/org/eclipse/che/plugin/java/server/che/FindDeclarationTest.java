@@ -11,8 +11,10 @@
 package org.eclipse.che.plugin.java.server.che;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import org.eclipse.che.ide.ext.java.shared.OpenDeclarationDescriptor;
+import org.eclipse.che.plugin.java.server.GeneratedSourcesCache;
 import org.eclipse.che.plugin.java.server.JavaNavigation;
 import org.eclipse.che.plugin.java.server.SourcesFromBytecodeGenerator;
 import org.junit.Ignore;
@@ -23,7 +25,8 @@ import org.junit.Test;
 @Ignore
 public class FindDeclarationTest extends BaseTest {
 
-  private JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator());
+  private JavaNavigation navigation =
+      new JavaNavigation(new SourcesFromBytecodeGenerator(mock(GeneratedSourcesCache.class)));
 
   @Test
   public void testFindClassIsNotNullOrEmpty() throws Exception {
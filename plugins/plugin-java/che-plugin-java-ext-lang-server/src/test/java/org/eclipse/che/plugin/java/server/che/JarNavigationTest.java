@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.java.server.che;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.util.List;
@@ -19,6 +20,7 @@ import org.eclipse.che.ide.ext.java.shared.JarEntry;
 import org.eclipse.che.ide.ext.java.shared.dto.ClassContent;
 import org.eclipse.che.ide.ext.java.shared.dto.model.JavaProject;
 import org.eclipse.che.ide.ext.java.shared.dto.model.PackageFragmentRoot;
+import org.eclipse.che.plugin.java.server.GeneratedSourcesCache;
 import org.eclipse.che.plugin.java.server.JavaNavigation;
 import org.eclipse.che.plugin.java.server.SourcesFromBytecodeGenerator;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
@@ -30,7 +32,8 @@ import org.junit.Test;
 @Ignore
 public class JarNavigationTest extends BaseTest {
 
-  private final JavaNavigation navigation = new JavaNavigation(new SourcesFromBytecodeGenerator());
+  private final JavaNavigation navigation =
+      new JavaNavigation(new SourcesFromBytecodeGenerator(mock(GeneratedSourcesCache.class)));
 
   @Test
   public void testJars() throws Exception {
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server.che;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ObjectName;
+import org.eclipse.che.jdt.javaeditor.ReconcileScheduler;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ReconcileScheduler}. */
+public class ReconcileSchedulerTest {
+
+  private ReconcileScheduler scheduler;
+
+  @BeforeMethod
+  public void setUp() {
+    scheduler = new ReconcileScheduler(2, 200);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void runsOnlyLatestOfPendingRequests() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+
+    CompletableFuture<String> first =
+        scheduler.schedule("A.java", monitor -> "first" + runs.incrementAndGet());
+    CompletableFuture<String> second =
+        scheduler.schedule("A.java", monitor -> "second" + runs.incrementAndGet());
+
+    assertEquals(second.get(5, SECONDS), "second1");
+    assertEquals(first.get(5, SECONDS), "second1");
+    assertEquals(runs.get(), 1);
+    assertEquals(scheduler.getQueueDepth(), 0);
+  }
+
+  @Test
+  public void cancelsRunningReconcileWhenNewerRequestArrives() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+
+    CompletableFuture<String> first =
+        scheduler.schedule(
+            "A.java",
+            monitor -> {
+              started.countDown();
+              while (!monitor.isCanceled()) {
+                Thread.sleep(10);
+              }
+              throw new OperationCanceledException();
+            });
+    assertTrue(started.await(5, SECONDS));
+    CompletableFuture<String> second = scheduler.schedule("A.java", monitor -> "second");
+
+    assertEquals(first.get(5, SECONDS), "second");
+    assertEquals(second.get(5, SECONDS), "second");
+    assertEquals(scheduler.getCancelledCount(), 1);
+    assertEquals(scheduler.getCompletedCount(), 1);
+  }
+
+  @Test
+  public void reconcilesDifferentCompilationUnitsIndependently() throws Exception {
+    CompletableFuture<String> a = scheduler.schedule("A.java", monitor -> "a");
+    CompletableFuture<String> b = scheduler.schedule("B.java", monitor -> "b");
+
+    assertEquals(a.get(5, SECONDS), "a");
+    assertEquals(b.get(5, SECONDS), "b");
+  }
+
+  @Test
+  public void exposesStatisticsThroughJmxAfterStart() throws Exception {
+    ObjectName objectName = new ObjectName("org.eclipse.che.jdt:type=ReconcileScheduler");
+    scheduler.start();
+    scheduler.schedule("A.java", monitor -> "a").get(5, SECONDS);
+
+    Object completed =
+        ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "CompletedCount");
+
+    assertEquals(completed, 1L);
+    scheduler.shutdown();
+    assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+  }
+}
@@ -24,6 +24,7 @@ import org.eclipse.che.api.project.server.EditorWorkingCopyManager;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.che.jdt.javaeditor.ReconcileScheduler;
 import org.eclipse.che.jdt.javaeditor.SemanticHighlightingReconciler;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -33,6 +34,7 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -44,6 +46,7 @@ public class ReconcileTest extends BaseTest {
   protected ICompilationUnit workingCopy;
 
   private JavaReconciler reconciler;
+  private ReconcileScheduler scheduler;
 
   void setWorkingCopyContents(String contents) throws JavaModelException {
     IPath path = workingCopy.getPath();
@@ -62,17 +65,24 @@ public class ReconcileTest extends BaseTest {
     EventService eventService = new EventService();
     EditorWorkingCopyManager editorWorkingCopyManager =
         new EditorWorkingCopyManager(null, eventService, requestTransmitter);
+    scheduler = new ReconcileScheduler(1, 0);
     reconciler =
         new JavaReconciler(
             new SemanticHighlightingReconciler(),
             eventService,
             requestTransmitter,
             null,
-            editorWorkingCopyManager);
+            editorWorkingCopyManager,
+            scheduler);
     this.workingCopy =
         project.findType("p1.X").getCompilationUnit(); //.getWorkingCopy(this.wcOwner, null);
   }
 
+  @After
+  public void tearDown() throws Exception {
+    scheduler.shutdown();
+  }
+
   @Test
   public void testCompilationUnitReconcile() throws Exception {
     setWorkingCopyContents(
@@ -11,7 +11,9 @@
 package org.eclipse.che.plugin.java.server.che;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
+import org.eclipse.che.plugin.java.server.GeneratedSourcesCache;
 import org.eclipse.che.plugin.java.server.SourcesFromBytecodeGenerator;
 import org.eclipse.jdt.core.IType;
 import org.junit.Before;
@@ -25,16 +27,18 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   private IType type;
   private IType zipFileSystem;
+  private SourcesFromBytecodeGenerator generator;
 
   @Before
   public void findType() throws Exception {
+    generator = new SourcesFromBytecodeGenerator(mock(GeneratedSourcesCache.class));
     type = project.findType("com.sun.nio.zipfs.ZipFileStore");
     zipFileSystem = project.findType("com.sun.nio.zipfs.ZipFileSystem");
   }
 
   @Test
   public void testClassComment() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(type);
+    String source = generator.generateSource(type);
     assertThat(source)
         .isNotNull()
         .isNotEmpty()
@@ -44,37 +48,37 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testPackageDeclaration() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(type);
+    String source = generator.generateSource(type);
     assertThat(source).contains("package com.sun.nio.zipfs;");
   }
 
   @Test
   public void testClassDeclaration() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(type);
+    String source = generator.generateSource(type);
     assertThat(source).contains("public class ZipFileStore extends java.nio.file.FileStore {");
   }
 
   @Test
   public void testFieldsDeclaration() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(type);
+    String source = generator.generateSource(type);
     assertThat(source).contains("    private final com.sun.nio.zipfs.ZipFileSystem zfs;");
   }
 
   @Test
   public void testFieldsDeclaration2() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source).contains("    private boolean readOnly;");
   }
 
   @Test
   public void testFieldsDeclaration3() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source).contains("    private final boolean createNew;");
   }
 
   @Test
   public void testFieldsDeclaration4() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    private static final java.util.Set<java.lang.String> supportedFileAttributeViews;");
@@ -82,20 +86,20 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testFieldsDeclaration5() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains("    private static final java.lang.String GLOB_SYNTAX = \"glob\";");
   }
 
   @Test
   public void testFieldsDeclaration6() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source).contains("    private static byte[] ROOTPATH;");
   }
 
   @Test
   public void testFieldsDeclaration7() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    private java.util.LinkedHashMap<com.sun.nio.zipfs.ZipFileSystem.IndexNode,com.sun.nio.zipfs.ZipFileSystem.IndexNode> inodes;");
@@ -103,19 +107,19 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testFieldsDeclaration8() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source).contains("    private com.sun.nio.zipfs.ZipFileSystem.IndexNode root;");
   }
 
   @Test
   public void testFieldsDeclaration9() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source).contains("    private final int MAX_FLATER = 20;");
   }
 
   @Test
   public void testConstructorDeclaration() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    ZipFileSystem(com.sun.nio.zipfs.ZipFileSystemProvider arg0, java.nio.file.Path arg1, java.util.Map<java.lang.String,?> arg2) throws java.io.IOException { /* compiled code */ }");
@@ -123,7 +127,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testMethodDeclaration() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    public java.nio.file.spi.FileSystemProvider provider() { /* compiled code */ }");
@@ -131,7 +135,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testMethodDeclaration2() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    public com.sun.nio.zipfs.ZipPath getPath(java.lang.String arg0, java.lang.String[] arg1) { /* compiled code */ }");
@@ -139,7 +143,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testMethodDeclaration3() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    void createDirectory(byte[] arg0, java.nio.file.attribute.FileAttribute<?>[] arg1) throws java.io.IOException { /* compiled code */ }");
@@ -148,7 +152,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testGenericMethodDeclaration() throws Exception {
     IType iType = project.findType("com.sun.nio.zipfs.ZipFileStore");
-    String source = new SourcesFromBytecodeGenerator().generateSource(iType);
+    String source = generator.generateSource(iType);
     assertThat(source)
         .contains(
             "public <V extends java.nio.file.attribute.FileStoreAttributeView> V getFileStoreAttributeView(java.lang.Class<V> arg0) { /* compiled code */ }");
@@ -157,7 +161,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testEnumDeclaration() throws Exception {
     IType enumType = project.findType("javax.servlet.DispatcherType");
-    String source = new SourcesFromBytecodeGenerator().generateSource(enumType);
+    String source = generator.generateSource(enumType);
     assertThat(source)
         .contains(
             "\n"
@@ -176,7 +180,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
 
   @Test
   public void testInnerTypeDeclaration() throws Exception {
-    String source = new SourcesFromBytecodeGenerator().generateSource(zipFileSystem);
+    String source = generator.generateSource(zipFileSystem);
     assertThat(source)
         .contains(
             "    private static class ExChannelCloser {\n"
@@ -193,14 +197,14 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testInterfaceDeclaration() throws Exception {
     IType interfaceType = project.findType("java.lang.CharSequence");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source).contains("public interface CharSequence {");
   }
 
   @Test
   public void testInterfaceMethodDeclaration() throws Exception {
     IType interfaceType = project.findType("java.lang.CharSequence");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source)
         .contains("    public int length();")
         .contains("    public char charAt(int arg0);")
@@ -211,7 +215,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testTypeExtendsGeneric() throws Exception {
     IType interfaceType = project.findType("com.sun.nio.zipfs.ZipDirectoryStream");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source)
         .contains(
             "public class ZipDirectoryStream implements java.nio.file.DirectoryStream<java.nio.file.Path> {\n"
@@ -234,7 +238,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testGenericInterface() throws Exception {
     IType interfaceType = project.findType("com.google.gwt.user.client.rpc.AsyncCallback");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source)
         .contains(
             "public interface AsyncCallback<T> {\n"
@@ -249,14 +253,14 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testAnnotation() throws Exception {
     IType interfaceType = project.findType("com.google.gwt.core.client.SingleJsoImpl");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source).contains("public @interface SingleJsoImpl {\n");
   }
 
   @Test
   public void testAnnotationMethod() throws Exception {
     IType interfaceType = project.findType("com.google.gwt.core.client.SingleJsoImpl");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source)
         .contains(
             "    public java.lang.Class<? extends com.google.gwt.core.client.JavaScriptObject> value();\n");
@@ -265,7 +269,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testAnnotationsOnAnnotation() throws Exception {
     IType interfaceType = project.findType("com.google.gwt.core.client.SingleJsoImpl");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source)
         .contains(
             "@java.lang.annotation.Retention(value=java.lang.annotation.RetentionPolicy.RUNTIME)\n")
@@ -275,7 +279,7 @@ public class SourceFromBytecodeGeneratorTest extends BaseTest {
   @Test
   public void testAnnotationsOnMethod() throws Exception {
     IType interfaceType = project.findType("java.util.Date");
-    String source = new SourcesFromBytecodeGenerator().generateSource(interfaceType);
+    String source = generator.generateSource(interfaceType);
     assertThat(source).contains("@java.lang.Deprecated\n    public Date(java.lang.String arg0)");
   }
 }
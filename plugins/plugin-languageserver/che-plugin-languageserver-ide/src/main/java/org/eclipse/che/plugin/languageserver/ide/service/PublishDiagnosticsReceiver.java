@@ -30,6 +30,12 @@ public class PublishDiagnosticsReceiver {
         .paramsAsDto(ExtendedPublishDiagnosticsParams.class)
         .noResult()
         .withConsumer(params -> provider.get().processDiagnostics(params));
+    configurator
+        .newConfiguration()
+        .methodName("textDocument/publishDiagnostics/batch")
+        .paramsAsListOfDto(ExtendedPublishDiagnosticsParams.class)
+        .noResult()
+        .withConsumer(batch -> batch.forEach(provider.get()::processDiagnostics));
   }
 
   @Inject
@@ -12,38 +12,67 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances.
+ *
+ * <p>Up to {@code che.maven.server.pool_size} servers are kept for each {@link ServerType}, so
+ * that many operations of the same type may run in parallel each in its own Maven server process.
+ * When all the servers of the type are in use a temporary server is created, it is disposed as
+ * soon as it is released.
  *
  * @author Evgen Vidolob
  */
 @Singleton
 public class MavenWrapperManager {
+  private static final Logger LOG = LoggerFactory.getLogger(MavenWrapperManager.class);
 
   private final MavenServerManager serverManager;
-  private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
+  private final int poolSize;
+  private final Map<ServerType, Deque<MavenServerWrapper>> idleServers =
+      new EnumMap<>(ServerType.class);
+  private final Map<MavenServerWrapper, ServerType> pooledServers = new HashMap<>();
   private final Set<MavenServerWrapper> usedServers = new HashSet<>();
 
-  @Inject
   public MavenWrapperManager(MavenServerManager serverManager) {
+    this(serverManager, 1);
+  }
+
+  @Inject
+  public MavenWrapperManager(
+      MavenServerManager serverManager, @Named("che.maven.server.pool_size") int poolSize) {
     this.serverManager = serverManager;
+    this.poolSize = Math.max(1, poolSize);
+    for (ServerType type : ServerType.values()) {
+      idleServers.put(type, new ArrayDeque<>());
+    }
+  }
+
+  /** Returns the maximum number of servers kept for each type of server. */
+  public int getPoolSize() {
+    return poolSize;
   }
 
   public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-    MavenServerWrapper wrapper = cache.get(type);
+    MavenServerWrapper wrapper = idleServers.get(type).poll();
     if (wrapper == null) {
       wrapper = serverManager.createMavenServer();
-      cache.put(type, wrapper);
-    }
-
-    if (usedServers.contains(wrapper)) {
-      //need to warn here
-      return serverManager.createMavenServer();
+      if (countPooled(type) < poolSize) {
+        pooledServers.put(wrapper, type);
+      } else {
+        LOG.warn("All the {} Maven servers are in use, starting a temporary one", type);
+        return wrapper;
+      }
     }
 
     usedServers.add(wrapper);
@@ -51,14 +80,24 @@ public class MavenWrapperManager {
   }
 
   public synchronized void release(MavenServerWrapper wrapper) {
-    if (usedServers.contains(wrapper)) {
+    if (usedServers.remove(wrapper)) {
       wrapper.reset();
-      usedServers.remove(wrapper);
+      idleServers.get(pooledServers.get(wrapper)).push(wrapper);
     } else {
       wrapper.dispose();
     }
   }
 
+  private int countPooled(ServerType type) {
+    int count = 0;
+    for (ServerType pooledType : pooledServers.values()) {
+      if (pooledType == type) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   public enum ServerType {
     RESOLVE,
     DOWNLOAD
@@ -11,7 +11,10 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -28,20 +31,44 @@ public class MavenExecutorService {
   private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
   private final ExecutorService service;
+  private final ExecutorService resolveService;
 
   public MavenExecutorService() {
+    this(1);
+  }
+
+  /**
+   * Creates executor service.
+   *
+   * @param poolSize the number of threads which resolve Maven projects in parallel, it matches
+   *     the number of Maven servers kept for resolving
+   */
+  @Inject
+  public MavenExecutorService(@Named("che.maven.server.pool_size") int poolSize) {
     ThreadFactory threadFactory =
         new ThreadFactoryBuilder()
             .setNameFormat("Maven Executor - %d")
             .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
             .build();
     service = Executors.newFixedThreadPool(1, threadFactory);
+    ThreadFactory resolveThreadFactory =
+        new ThreadFactoryBuilder()
+            .setNameFormat("Maven Resolver - %d")
+            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+            .setDaemon(true)
+            .build();
+    resolveService = Executors.newFixedThreadPool(Math.max(1, poolSize), resolveThreadFactory);
   }
 
   public void submit(Runnable task) {
     service.execute(task);
   }
 
+  /** Returns executor which resolves Maven projects in parallel. */
+  public Executor getResolveExecutor() {
+    return resolveService;
+  }
+
   @PreDestroy
   public void shutdown() throws InterruptedException {
     // Tell threads to finish off.
@@ -58,6 +85,8 @@ public class MavenExecutorService {
       service.shutdownNow();
       // Preserve interrupt status
       Thread.currentThread().interrupt();
+    } finally {
+      resolveService.shutdownNow();
     }
   }
 }
@@ -37,6 +37,7 @@ import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.ResolvedModelCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
@@ -64,6 +65,7 @@ public class MavenProjectManager {
   private final MavenTerminal terminal;
   private final MavenProgressNotifier mavenNotifier;
   private final Provider<IWorkspace> workspaceProvider;
+  private final ResolvedModelCache resolvedModelCache;
 
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final Lock readLock = readWriteLock.readLock();
@@ -77,7 +79,9 @@ public class MavenProjectManager {
       MavenServerManager serverManager,
       MavenTerminal terminal,
       MavenProgressNotifier mavenNotifier,
-      EclipseWorkspaceProvider workspaceProvider) {
+      EclipseWorkspaceProvider workspaceProvider,
+      ResolvedModelCache resolvedModelCache) {
+    this.resolvedModelCache = resolvedModelCache;
     this.wrapperManager = wrapperManager;
     this.serverManager = serverManager;
     this.terminal = terminal;
@@ -114,6 +118,12 @@ public class MavenProjectManager {
   }
 
   public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+    MavenProjectModifications cached = mavenProject.resolveFromCache(project, resolvedModelCache);
+    if (cached != null) {
+      dispatcher.projectResolved(mavenProject, cached);
+      return;
+    }
+
     MavenServerWrapper mavenServer =
         wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
     try {
@@ -121,7 +131,7 @@ public class MavenProjectManager {
       mavenNotifier.setText("Resolving project: " + mavenProject.getName());
       mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
       MavenProjectModifications modifications =
-          mavenProject.resolve(project, mavenServer, serverManager);
+          mavenProject.resolve(project, mavenServer, serverManager, resolvedModelCache);
       dispatcher.projectResolved(mavenProject, modifications);
 
     } finally {
@@ -130,6 +140,18 @@ public class MavenProjectManager {
   }
 
   public void update(List<IProject> projects, boolean recursive) {
+    update(projects, recursive, true);
+  }
+
+  /**
+   * Re-reads the given projects and their modules and notifies listeners about the updated ones.
+   *
+   * @param projects projects to update
+   * @param recursive whether modules of the projects should be re-read
+   * @param force whether the given projects should be updated even if their models are the same as
+   *     at the previous reading, when false such projects and their modules are skipped
+   */
+  public void update(List<IProject> projects, boolean recursive, boolean force) {
     if (projects.isEmpty()) {
       return;
     }
@@ -140,7 +162,7 @@ public class MavenProjectManager {
       MavenProject mavenProject = findMavenProject(project);
       if (mavenProject != null) {
         internalUpdate(
-            mavenProject, findParentProject(mavenProject), false, recursive, state, stack);
+            mavenProject, findParentProject(mavenProject), false, recursive, !force, state, stack);
       } else {
         internalAddMavenProject(project, recursive, state, stack);
       }
@@ -168,7 +190,7 @@ public class MavenProjectManager {
         break;
       }
     }
-    internalUpdate(mavenProject, potentialParent, true, recursive, state, stack);
+    internalUpdate(mavenProject, potentialParent, true, recursive, false, state, stack);
   }
 
   private void internalUpdate(
@@ -176,6 +198,7 @@ public class MavenProjectManager {
       MavenProject parentProject,
       boolean isNew,
       boolean recursive,
+      boolean skipUnchanged,
       UpdateState state,
       Deque<MavenProject> stack) {
     if (stack.contains(mavenProject)) {
@@ -202,7 +225,11 @@ public class MavenProjectManager {
     }
     MavenProjectModifications modifications = new MavenProjectModifications();
     //re read maven project meta info from pom.xml
-    modifications = modifications.addChanges(mavenProject.read(serverManager));
+    MavenProjectModifications readModifications =
+        skipUnchanged
+            ? mavenProject.readIfChanged(serverManager)
+            : mavenProject.read(serverManager);
+    modifications = modifications.addChanges(readModifications);
 
     writeLock.lock();
     try {
@@ -212,6 +239,12 @@ public class MavenProjectManager {
       writeLock.unlock();
     }
 
+    if (readModifications == null) {
+      //model is the same, neither the project nor its modules need to be updated
+      stack.pop();
+      return;
+    }
+
     if (isNew) {
       addToChild(parentProject, mavenProject);
     } else {
@@ -249,7 +282,7 @@ public class MavenProjectManager {
       }
 
       if (isNewProject || recursive) {
-        internalUpdate(project, mavenProject, isNewProject, recursive, state, stack);
+        internalUpdate(project, mavenProject, isNewProject, recursive, false, state, stack);
       } else {
         if (updateChild(mavenProject, project)) {
           state.addUpdate(project, new MavenProjectModifications());
@@ -259,7 +292,8 @@ public class MavenProjectManager {
     oldChilds.addAll(findChildProjects(mavenProject));
 
     for (MavenProject oldModule : oldChilds) {
-      internalUpdate(oldModule, findParentProject(oldModule), false, false, state, stack);
+      internalUpdate(
+          oldModule, findParentProject(oldModule), false, false, false, state, stack);
     }
 
     stack.pop();
@@ -521,7 +555,7 @@ public class MavenProjectManager {
     childToUpdate.removeAll(state.removedProjects);
 
     for (MavenProject mavenProject : childToUpdate) {
-      internalUpdate(mavenProject, null, false, false, state, stack);
+      internalUpdate(mavenProject, null, false, false, false, state, stack);
     }
 
     state.fireUpdate();
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves a set of Maven projects in parallel.
+ *
+ * <p>Projects are scheduled by the graph of the dependencies between them: a project is resolved
+ * as soon as all the projects of the set it depends on (as on a parent or as on a dependency) are
+ * resolved, independent projects are resolved at the same time. Projects which form a dependency
+ * cycle are resolved without any particular order.
+ */
+public class MavenProjectsResolveTask implements MavenProjectTask {
+  private static final Logger LOG = LoggerFactory.getLogger(MavenProjectsResolveTask.class);
+
+  private final Collection<MavenProject> projects;
+  private final MavenProjectManager projectManager;
+  private final Executor executor;
+  private final Consumer<MavenProject> afterResolve;
+
+  public MavenProjectsResolveTask(
+      Collection<MavenProject> projects,
+      MavenProjectManager projectManager,
+      Executor executor,
+      Consumer<MavenProject> afterResolve) {
+    this.projects = projects;
+    this.projectManager = projectManager;
+    this.executor = executor;
+    this.afterResolve = afterResolve;
+  }
+
+  @Override
+  public void perform() {
+    Map<MavenProject, Node> nodes = buildGraph();
+    CountDownLatch latch = new CountDownLatch(nodes.size());
+    List<Node> roots =
+        nodes.values().stream().filter(node -> node.dependencies == 0).collect(toList());
+    roots.forEach(node -> submit(node, latch));
+    try {
+      latch.await();
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void submit(Node node, CountDownLatch latch) {
+    try {
+      executor.execute(() -> resolve(node, latch));
+    } catch (RejectedExecutionException x) {
+      // executor is shut down, nothing else is going to be resolved
+      while (latch.getCount() > 0) {
+        latch.countDown();
+      }
+    }
+  }
+
+  private void resolve(Node node, CountDownLatch latch) {
+    try {
+      new MavenProjectResolveTask(
+              node.project, projectManager, () -> afterResolve.accept(node.project))
+          .perform();
+    } catch (Throwable throwable) {
+      LOG.error(
+          "Can't resolve Maven project " + node.project.getProject().getFullPath(), throwable);
+    } finally {
+      for (Node dependent : node.dependents) {
+        boolean ready;
+        synchronized (dependent) {
+          ready = --dependent.dependencies == 0;
+        }
+        if (ready) {
+          submit(dependent, latch);
+        }
+      }
+      latch.countDown();
+    }
+  }
+
+  private Map<MavenProject, Node> buildGraph() {
+    Map<MavenKey, Node> byKey = new HashMap<>();
+    Map<MavenProject, Node> nodes = new LinkedHashMap<>();
+    for (MavenProject project : projects) {
+      Node node = new Node(project);
+      nodes.put(project, node);
+      if (project.getMavenKey() != null) {
+        byKey.put(project.getMavenKey(), node);
+      }
+    }
+
+    Map<Node, List<Node>> dependencies = new HashMap<>();
+    for (Node node : nodes.values()) {
+      List<Node> nodeDependencies = new ArrayList<>();
+      Node parent = byKey.get(node.project.getParentKey());
+      if (parent != null && parent != node) {
+        nodeDependencies.add(parent);
+      }
+      for (MavenArtifact artifact : node.project.getDependencies()) {
+        MavenKey key =
+            new MavenKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+        Node dependency = byKey.get(key);
+        if (dependency != null && dependency != node && !nodeDependencies.contains(dependency)) {
+          nodeDependencies.add(dependency);
+        }
+      }
+      dependencies.put(node, nodeDependencies);
+    }
+
+    // projects which are not reachable by the topological sort are in or after a cycle,
+    // the dependencies between them are ignored to keep the graph acyclic
+    Set<Node> sorted = sort(nodes.values(), dependencies);
+    for (Node node : nodes.values()) {
+      for (Node dependency : dependencies.get(node)) {
+        if (sorted.contains(dependency)) {
+          dependency.dependents.add(node);
+          node.dependencies++;
+        }
+      }
+    }
+    return nodes;
+  }
+
+  private static Set<Node> sort(Collection<Node> nodes, Map<Node, List<Node>> dependencies) {
+    Map<Node, Integer> remaining = new HashMap<>();
+    Map<Node, List<Node>> dependents = new HashMap<>();
+    Deque<Node> ready = new ArrayDeque<>();
+    for (Node node : nodes) {
+      remaining.put(node, dependencies.get(node).size());
+      if (dependencies.get(node).isEmpty()) {
+        ready.add(node);
+      }
+      for (Node dependency : dependencies.get(node)) {
+        dependents.computeIfAbsent(dependency, d -> new ArrayList<>()).add(node);
+      }
+    }
+    Set<Node> sorted = new HashSet<>();
+    while (!ready.isEmpty()) {
+      Node node = ready.poll();
+      sorted.add(node);
+      for (Node dependent : dependents.getOrDefault(node, emptyList())) {
+        if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    return sorted;
+  }
+
+  private static class Node {
+    final MavenProject project;
+    final List<Node> dependents = new ArrayList<>();
+    int dependencies;
+
+    Node(MavenProject project) {
+      this.project = project;
+    }
+  }
+}
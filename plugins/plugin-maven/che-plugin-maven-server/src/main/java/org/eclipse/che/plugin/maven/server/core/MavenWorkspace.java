@@ -64,6 +64,8 @@ public class MavenWorkspace {
   private final Provider<ProjectRegistry> projectRegistryProvider;
   private final ClasspathManager classpathManager;
 
+  private final MavenExecutorService executorService;
+
   private MavenTaskExecutor resolveExecutor;
   private MavenTaskExecutor classPathExecutor;
 
@@ -81,6 +83,7 @@ public class MavenWorkspace {
     this.projectRegistryProvider = projectRegistryProvider;
     this.classpathManager = classpathManager;
     this.manager = manager;
+    this.executorService = executorService;
     resolveExecutor = new MavenTaskExecutor(executorService, notifier);
     eventService.subscribe(
         new EventSubscriber<ProjectDeletedEvent>() {
@@ -172,22 +175,34 @@ public class MavenWorkspace {
     runResolve();
   }
 
+  /**
+   * Updates projects whose pom.xml has been modified. Unlike {@link #update(List)} projects whose
+   * model read from pom.xml is the same as before, e.g. when only comments or formatting were
+   * changed, are neither updated nor resolved again.
+   */
+  public void updateModified(List<IProject> projects) {
+    manager.update(projects, true, false);
+    runResolve();
+  }
+
   private void runResolve() {
     //TODO synchronise on projectsToResolve change
     Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
     projectsToResolve.clear();
 
-    for (MavenProject mavenProject : needResolve) {
-
-      resolveExecutor.submitTask(
-          new MavenProjectResolveTask(
-              mavenProject,
-              manager,
-              () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-              }));
+    if (needResolve.isEmpty()) {
+      return;
     }
+
+    resolveExecutor.submitTask(
+        new MavenProjectsResolveTask(
+            needResolve,
+            manager,
+            executorService.getResolveExecutor(),
+            mavenProject -> {
+              addSourcesFromBuildHelperPlugin(mavenProject);
+              classpathManager.updateClasspath(mavenProject);
+            }));
   }
 
   private void updateJavaProject(MavenProject project) {
@@ -12,7 +12,12 @@ package org.eclipse.che.plugin.maven.server.core.project;
 
 import static java.util.Collections.emptyList;
 
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -197,13 +202,93 @@ public class MavenProject {
     return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
   }
 
+  /**
+   * Invoke maven to build project model and stores the result in the cache.
+   *
+   * @param project to resolve
+   * @param mavenServer the maven server
+   * @param cache the cache of resolution results
+   * @return the modification types that applied to this project
+   */
+  public MavenProjectModifications resolve(
+      IProject project,
+      MavenServerWrapper mavenServer,
+      MavenServerManager serverManager,
+      ResolvedModelCache cache) {
+    List<String> activeProfiles = info.activeProfiles;
+    List<String> inactiveProfiles = info.inactiveProfiles;
+    MavenModelReaderResult modelReaderResult =
+        new MavenModelReader()
+            .resolveMavenProject(
+                getPom(project), mavenServer, activeProfiles, inactiveProfiles, serverManager);
+    cache.put(getPom(project), activeProfiles, inactiveProfiles, modelReaderResult);
+
+    return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
+  }
+
+  /**
+   * Builds project model from the result of the previous resolution if it is still valid.
+   *
+   * @param project to resolve
+   * @param cache the cache of resolution results
+   * @return the modification types that applied to this project, or null if there is no valid
+   *     result in the cache
+   */
+  public MavenProjectModifications resolveFromCache(IProject project, ResolvedModelCache cache) {
+    MavenModelReaderResult modelReaderResult =
+        cache.get(getPom(project), info.activeProfiles, info.inactiveProfiles);
+    if (modelReaderResult == null) {
+      return null;
+    }
+    return setModel(modelReaderResult, true, false);
+  }
+
   public MavenProjectModifications read(MavenServerManager manager) {
     return read(project, manager);
   }
 
   public MavenProjectModifications read(IProject project, MavenServerManager serverManager) {
     MavenModelReader reader = new MavenModelReader();
-    return setModel(reader.readMavenProject(getPom(project), serverManager), false, true);
+    MavenModelReaderResult readerResult = reader.readMavenProject(getPom(project), serverManager);
+    MavenProjectModifications modifications = setModel(readerResult, false, true);
+    info.readFingerprint = fingerprint(readerResult);
+    return modifications;
+  }
+
+  /**
+   * Re-reads project model from pom.xml unless the model is the same as at the previous reading,
+   * e.g. when only comments or formatting of pom.xml were changed.
+   *
+   * @param serverManager the maven server manager
+   * @return the modification types that applied to this project, or null if the model hasn't
+   *     changed and the project is left as is
+   */
+  public MavenProjectModifications readIfChanged(MavenServerManager serverManager) {
+    MavenModelReader reader = new MavenModelReader();
+    MavenModelReaderResult readerResult = reader.readMavenProject(getPom(project), serverManager);
+    String fingerprint = fingerprint(readerResult);
+    if (fingerprint != null && fingerprint.equals(info.readFingerprint)) {
+      return null;
+    }
+    MavenProjectModifications modifications = setModel(readerResult, false, true);
+    info.readFingerprint = fingerprint;
+    return modifications;
+  }
+
+  /** Returns hash of everything read from pom.xml, or null if it can't be computed. */
+  private static String fingerprint(MavenModelReaderResult readerResult) {
+    try {
+      Hasher hasher = Hashing.sha1().newHasher();
+      try (ObjectOutputStream out = new ObjectOutputStream(Funnels.asOutputStream(hasher))) {
+        out.writeObject(readerResult.getMavenModel());
+        out.writeObject(new ArrayList<>(readerResult.getActiveProfiles()));
+        out.writeObject(new ArrayList<>(readerResult.getInactiveProfiles()));
+        out.writeObject(new ArrayList<>(readerResult.getProblems()));
+      }
+      return hasher.hash().toString();
+    } catch (IOException | RuntimeException x) {
+      return null;
+    }
   }
 
   private MavenProjectModifications setModel(
@@ -438,6 +523,8 @@ public class MavenProject {
     public String testOutputDirectory;
     public String outputDirectory;
 
+    public String readFingerprint;
+
     public Info clone() {
       try {
         Info newInfo = (Info) super.clone();
@@ -117,7 +117,7 @@ public class PomChangeListener {
               .stream()
               .map(project -> workspace.getRoot().getProject(project))
               .collect(Collectors.toList());
-      mavenWorkspace.update(projectsList);
+      mavenWorkspace.updateModified(projectsList);
     } catch (Throwable t) {
       JavaPlugin.log(t);
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.commons.xml.XMLTreeException;
+import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.ide.maven.tools.Parent;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of Maven projects resolution results, it allows to skip resolution of the projects
+ * whose build configuration hasn't changed since the previous resolution, e.g. after the agent
+ * restart.
+ *
+ * <p>Results are stored per pom file and requested profiles. Cached result is valid only while
+ * the pom and all its parent poms found by their relative paths have the same content, and all
+ * the resolved dependencies have the same files in the local repository.
+ */
+@Singleton
+public class ResolvedModelCache {
+  private static final Logger LOG = LoggerFactory.getLogger(ResolvedModelCache.class);
+
+  private static final int MAX_PARENTS_DEPTH = 32;
+
+  private final File cacheDir;
+
+  @Inject
+  public ResolvedModelCache(
+      @Named("che.user.workspaces.storage") String workspacePath,
+      @Named("che.maven.resolved_model_cache.enabled") boolean enabled) {
+    this(enabled ? new File(workspacePath, ".che/maven/resolved") : null);
+  }
+
+  /**
+   * Creates cache which stores results in the given directory.
+   *
+   * @param cacheDir directory of the cache, or null to disable caching
+   */
+  public ResolvedModelCache(File cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Returns cached resolution result of the pom or null when there is no valid cached result.
+   *
+   * @param pom the pom file of the project
+   * @param activeProfiles profiles which are explicitly activated
+   * @param inactiveProfiles profiles which are explicitly deactivated
+   */
+  public MavenModelReaderResult get(
+      File pom, List<String> activeProfiles, List<String> inactiveProfiles) {
+    if (cacheDir == null || pom == null) {
+      return null;
+    }
+    String key = key(pom, activeProfiles, inactiveProfiles);
+    File file = new File(cacheDir, hash(key));
+    if (!file.isFile()) {
+      return null;
+    }
+
+    Entry entry;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      entry = (Entry) in.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException x) {
+      LOG.debug("Couldn't read cached resolution result of '{}'", pom, x);
+      file.delete();
+      return null;
+    }
+
+    if (!key.equals(entry.key)
+        || !entry.poms.equals(hashPoms(pom))
+        || !entry.artifacts.equals(stampArtifacts(entry.model))) {
+      return null;
+    }
+    return new MavenModelReaderResult(
+        entry.model,
+        entry.activeProfiles,
+        new ArrayList<>(),
+        new ArrayList<>(),
+        new HashSet<>());
+  }
+
+  /**
+   * Stores successful resolution result of the pom, results with problems or unresolved artifacts
+   * are not cached.
+   *
+   * @param pom the pom file of the project
+   * @param activeProfiles profiles which are explicitly activated
+   * @param inactiveProfiles profiles which are explicitly deactivated
+   * @param result the result of the resolution
+   */
+  public void put(
+      File pom,
+      List<String> activeProfiles,
+      List<String> inactiveProfiles,
+      MavenModelReaderResult result) {
+    if (cacheDir == null
+        || pom == null
+        || !result.getProblems().isEmpty()
+        || !result.getUnresolvedArtifacts().isEmpty()) {
+      return;
+    }
+    Map<String, String> poms = hashPoms(pom);
+    if (poms.isEmpty()) {
+      return;
+    }
+
+    Entry entry = new Entry();
+    entry.key = key(pom, activeProfiles, inactiveProfiles);
+    entry.poms = poms;
+    entry.artifacts = stampArtifacts(result.getMavenModel());
+    entry.model = result.getMavenModel();
+    entry.activeProfiles = new ArrayList<>(result.getActiveProfiles());
+
+    File file = new File(cacheDir, hash(entry.key));
+    File tmp = new File(cacheDir, file.getName() + ".tmp");
+    try {
+      Files.createDirectories(cacheDir.toPath());
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+        out.writeObject(entry);
+      }
+      Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException x) {
+      LOG.warn("Couldn't cache resolution result of '{}'", pom, x);
+      tmp.delete();
+    }
+  }
+
+  private static String key(File pom, List<String> activeProfiles, List<String> inactiveProfiles) {
+    return pom.getAbsolutePath() + '\n' + activeProfiles + '\n' + inactiveProfiles;
+  }
+
+  private static String hash(String value) {
+    return Hashing.sha1().hashString(value, UTF_8).toString();
+  }
+
+  /** Returns content hashes of the pom and its parents, empty map if the pom can't be read. */
+  private static Map<String, String> hashPoms(File pom) {
+    Map<String, String> hashes = new LinkedHashMap<>();
+    File current = pom;
+    try {
+      while (current != null
+          && current.isFile()
+          && hashes.size() < MAX_PARENTS_DEPTH
+          && !hashes.containsKey(current.getAbsolutePath())) {
+        byte[] content = Files.readAllBytes(current.toPath());
+        hashes.put(current.getAbsolutePath(), Hashing.sha1().hashBytes(content).toString());
+        Parent parent = Model.readFrom(new ByteArrayInputStream(content)).getParent();
+        if (parent == null) {
+          break;
+        }
+        File parentFile = new File(current.getParentFile(), parent.getRelativePath());
+        current = parentFile.isDirectory() ? new File(parentFile, "pom.xml") : parentFile;
+      }
+    } catch (IOException | XMLTreeException x) {
+      // the chain of parents ends at the pom which can't be read, it is recorded if hashed
+    }
+    return hashes;
+  }
+
+  /** Returns modification stamps of the resolved dependency files. */
+  private static Map<String, String> stampArtifacts(MavenModel model) {
+    Map<String, String> stamps = new LinkedHashMap<>();
+    for (MavenArtifact artifact : model.getDependencies()) {
+      File file = artifact.getFile();
+      if (file != null && artifact.isResolved()) {
+        stamps.put(file.getAbsolutePath(), file.length() + ":" + file.lastModified());
+      }
+    }
+    return stamps;
+  }
+
+  private static class Entry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    String key;
+    Map<String, String> poms;
+    Map<String, String> artifacts;
+    MavenModel model;
+    List<String> activeProfiles;
+  }
+}
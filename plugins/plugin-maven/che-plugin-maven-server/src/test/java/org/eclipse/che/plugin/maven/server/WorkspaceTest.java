@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.che.api.project.server.FolderEntry;
@@ -39,10 +40,13 @@ import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectListener;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.ResolvedModelCache;
 import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -87,7 +91,8 @@ public class WorkspaceTest extends BaseTest {
             mavenServerManager,
             terminal,
             mavenNotifier,
-            new EclipseWorkspaceProvider());
+            new EclipseWorkspaceProvider(),
+            new ResolvedModelCache(null));
     mavenWorkspace =
         new MavenWorkspace(
             mavenProjectManager,
@@ -131,6 +136,44 @@ public class WorkspaceTest extends BaseTest {
     assertThat(dependencies).onProperty("version").contains("4.12", "1.3");
   }
 
+  @Test
+  public void testUpdateModifiedShouldSkipProjectWhenOnlyFormattingChanged() throws Exception {
+    String pom =
+        "<groupId>test</groupId><artifactId>testArtifact</artifactId><version>42</version>";
+    FolderEntry folder = createTestProject("test", pom);
+
+    IProject test = ResourcesPlugin.getWorkspace().getRoot().getProject("test");
+    mavenWorkspace.update(Collections.singletonList(test));
+    mavenWorkspace.waitForUpdate();
+
+    List<MavenProject> updatedProjects = new ArrayList<>();
+    mavenProjectManager.addListener(
+        new MavenProjectListener() {
+          @Override
+          public void projectResolved(
+              MavenProject project, MavenProjectModifications modifications) {}
+
+          @Override
+          public void projectUpdated(
+              Map<MavenProject, MavenProjectModifications> updated, List<MavenProject> removed) {
+            updatedProjects.addAll(updated.keySet());
+          }
+        });
+    VirtualFile pomFile = folder.getChild("pom.xml").getVirtualFile();
+
+    pomFile.updateContent(getPomContent("<!-- comment -->\n" + pom));
+    mavenWorkspace.updateModified(Collections.singletonList(test));
+    mavenWorkspace.waitForUpdate();
+    assertThat(updatedProjects).isEmpty();
+
+    pomFile.updateContent(getPomContent(pom.replace("42", "43")));
+    mavenWorkspace.updateModified(Collections.singletonList(test));
+    mavenWorkspace.waitForUpdate();
+    assertThat(updatedProjects).hasSize(1);
+    assertThat(mavenProjectManager.findMavenProject(test).getMavenKey().getVersion())
+        .isEqualTo("43");
+  }
+
   @Test
   public void testUpdateProjectShuldSetName() throws Exception {
     String pom =
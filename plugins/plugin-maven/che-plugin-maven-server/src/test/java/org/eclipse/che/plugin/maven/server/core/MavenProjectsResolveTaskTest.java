@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link MavenProjectsResolveTask}. */
+@Listeners(MockitoTestNGListener.class)
+public class MavenProjectsResolveTaskTest {
+
+  @Mock private MavenProjectManager projectManager;
+
+  private ExecutorService executor;
+  private List<String> resolved;
+  private List<String> afterResolved;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    resolved = new CopyOnWriteArrayList<>();
+    afterResolved = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              MavenProject project = (MavenProject) invocation.getArguments()[1];
+              resolved.add(project.getMavenKey().getArtifactId());
+              return null;
+            })
+        .when(projectManager)
+        .resolveMavenProject(any(), any());
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void resolvesProjectsAfterTheirDependencies() throws Exception {
+    MavenProject parent = project("parent", null);
+    MavenProject core = project("core", "parent");
+    MavenProject api = project("api", "parent");
+    MavenProject app = project("app", "parent", "core", "api");
+
+    newTask(asList(app, api, core, parent)).perform();
+
+    assertEquals(resolved.size(), 4);
+    assertEquals(afterResolved.size(), 4);
+    assertEquals(resolved.get(0), "parent");
+    assertEquals(resolved.get(3), "app");
+  }
+
+  @Test
+  public void resolvesProjectsWithCyclicDependencies() throws Exception {
+    MavenProject first = project("first", null, "second");
+    MavenProject second = project("second", null, "first");
+    MavenProject third = project("third", null, "first");
+
+    newTask(asList(first, second, third)).perform();
+
+    assertEquals(resolved.size(), 3);
+    assertTrue(resolved.containsAll(asList("first", "second", "third")));
+  }
+
+  @Test
+  public void continuesResolvingWhenProjectFails() throws Exception {
+    MavenProject broken = project("broken", null);
+    MavenProject dependent = project("dependent", null, "broken");
+    MavenProject independent = project("independent", null);
+    doAnswer(
+            invocation -> {
+              MavenProject project = (MavenProject) invocation.getArguments()[1];
+              String artifactId = project.getMavenKey().getArtifactId();
+              if (artifactId.equals("broken")) {
+                throw new IllegalStateException("broken");
+              }
+              resolved.add(artifactId);
+              return null;
+            })
+        .when(projectManager)
+        .resolveMavenProject(any(), any());
+
+    newTask(asList(broken, dependent, independent)).perform();
+
+    assertEquals(resolved.size(), 2);
+    assertEquals(new HashSet<>(resolved), new HashSet<>(asList("dependent", "independent")));
+    assertEquals(new HashSet<>(afterResolved), new HashSet<>(asList("dependent", "independent")));
+  }
+
+  private MavenProjectsResolveTask newTask(List<MavenProject> projects) {
+    return new MavenProjectsResolveTask(
+        projects,
+        projectManager,
+        executor,
+        project -> afterResolved.add(project.getMavenKey().getArtifactId()));
+  }
+
+  private static MavenProject project(String artifactId, String parentId, String... dependencies) {
+    MavenProject project = mock(MavenProject.class);
+    IProject iProject = mock(IProject.class);
+    when(iProject.exists()).thenReturn(true);
+    when(project.getProject()).thenReturn(iProject);
+    when(project.getMavenKey()).thenReturn(key(artifactId));
+    when(project.getParentKey()).thenReturn(parentId == null ? null : key(parentId));
+    List<MavenArtifact> artifacts = new ArrayList<>();
+    for (String dependency : dependencies) {
+      MavenArtifact artifact = mock(MavenArtifact.class);
+      when(artifact.getGroupId()).thenReturn("group");
+      when(artifact.getArtifactId()).thenReturn(dependency);
+      when(artifact.getVersion()).thenReturn("1.0");
+      artifacts.add(artifact);
+    }
+    when(project.getDependencies()).thenReturn(artifacts);
+    return project;
+  }
+
+  private static MavenKey key(String artifactId) {
+    return new MavenKey("group", artifactId, "1.0");
+  }
+}
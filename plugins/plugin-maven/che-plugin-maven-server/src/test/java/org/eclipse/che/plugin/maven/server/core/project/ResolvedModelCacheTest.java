@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ResolvedModelCache}. */
+public class ResolvedModelCacheTest {
+  private static final String PARENT =
+      "<project><groupId>g</groupId><artifactId>parent</artifactId><version>1</version>"
+          + "</project>";
+  private static final String MODULE =
+      "<project><parent><groupId>g</groupId><artifactId>parent</artifactId><version>1</version>"
+          + "</parent><artifactId>module</artifactId></project>";
+
+  private File root;
+  private File parentPom;
+  private File pom;
+  private File jar;
+  private ResolvedModelCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("resolved-model-cache").toFile();
+    parentPom = write(new File(root, "pom.xml"), PARENT);
+    pom = write(new File(root, "module/pom.xml"), MODULE);
+    jar = write(new File(root, "repository/dependency.jar"), "jar");
+    cache = new ResolvedModelCache(new File(root, "cache"));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Test
+  public void returnsCachedResult() throws Exception {
+    cache.put(pom, singletonList("profile"), emptyList(), result());
+
+    MavenModelReaderResult cached = cache.get(pom, singletonList("profile"), emptyList());
+
+    assertNotNull(cached);
+    assertEquals(cached.getMavenModel().getMavenKey(), new MavenKey("g", "module", "1"));
+    assertEquals(cached.getMavenModel().getDependencies().get(0).getFile(), jar);
+    assertEquals(cached.getActiveProfiles(), singletonList("profile"));
+  }
+
+  @Test
+  public void doesNotReturnResultOfOtherProfiles() throws Exception {
+    cache.put(pom, singletonList("profile"), emptyList(), result());
+
+    assertNull(cache.get(pom, emptyList(), emptyList()));
+  }
+
+  @Test
+  public void invalidatesResultWhenParentPomChanges() throws Exception {
+    cache.put(pom, emptyList(), emptyList(), result());
+
+    write(parentPom, PARENT.replace("<version>1</version>", "<version>2</version>"));
+
+    assertNull(cache.get(pom, emptyList(), emptyList()));
+  }
+
+  @Test
+  public void invalidatesResultWhenDependencyChanges() throws Exception {
+    cache.put(pom, emptyList(), emptyList(), result());
+
+    write(jar, "new content of the jar");
+
+    assertNull(cache.get(pom, emptyList(), emptyList()));
+  }
+
+  @Test
+  public void doesNotCacheResultWithProblems() throws Exception {
+    MavenModelReaderResult result = result();
+    result.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), "problem"));
+
+    cache.put(pom, emptyList(), emptyList(), result);
+
+    assertNull(cache.get(pom, emptyList(), emptyList()));
+  }
+
+  private MavenModelReaderResult result() {
+    MavenModel model = new MavenModel();
+    model.setMavenKey(new MavenKey("g", "module", "1"));
+    MavenArtifact dependency =
+        new MavenArtifact(
+            "g", "dependency", "1", "1", "jar", null, "compile", false, "jar", jar, null, true,
+            false);
+    model.setDependencies(singletonList(dependency));
+    return new MavenModelReaderResult(
+        model, singletonList("profile"), emptyList(), new ArrayList<>(), emptySet());
+  }
+
+  private static File write(File file, String content) throws Exception {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    return file;
+  }
+}
@@ -28,6 +28,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.ResolvedModelCache;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
@@ -76,7 +77,8 @@ public class MavenProjectManagerTest {
             manager,
             new MavenTerminalImpl(),
             new MavenServerManagerTest.MyMavenServerProgressNotifier(),
-            workspaceProvider);
+            workspaceProvider,
+            new ResolvedModelCache(null));
     when(workspaceProvider.get()).thenReturn(workspace);
     when(workspace.getRoot()).thenReturn(workspaceRoot);
   }
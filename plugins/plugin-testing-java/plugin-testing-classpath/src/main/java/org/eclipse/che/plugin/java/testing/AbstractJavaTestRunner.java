@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.java.testing;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 
 import java.io.IOException;
 import java.net.Socket;
@@ -23,6 +24,9 @@ import org.eclipse.che.api.testing.server.framework.TestRunner;
 import org.eclipse.che.api.testing.shared.TestDetectionContext;
 import org.eclipse.che.api.testing.shared.TestExecutionContext;
 import org.eclipse.che.api.testing.shared.TestPosition;
+import org.eclipse.che.commons.lang.execution.CommandLine;
+import org.eclipse.che.commons.lang.execution.ExecutionException;
+import org.eclipse.che.commons.lang.execution.JavaParameters;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -51,10 +55,18 @@ public abstract class AbstractJavaTestRunner implements TestRunner {
   private int debugPort = -1;
   private String workspacePath;
   private JavaTestFinder javaTestFinder;
+  private TestShardPlanner shardPlanner;
+  private TestDaemonPool daemonPool;
 
-  public AbstractJavaTestRunner(String workspacePath, JavaTestFinder javaTestFinder) {
+  public AbstractJavaTestRunner(
+      String workspacePath,
+      JavaTestFinder javaTestFinder,
+      TestShardPlanner shardPlanner,
+      TestDaemonPool daemonPool) {
     this.workspacePath = workspacePath;
     this.javaTestFinder = javaTestFinder;
+    this.shardPlanner = shardPlanner;
+    this.daemonPool = daemonPool;
   }
 
   @Override
@@ -230,6 +242,71 @@ public abstract class AbstractJavaTestRunner implements TestRunner {
     return emptyList();
   }
 
+  /**
+   * Splits the test classes between several JVMs. Only whole classes of a folder, a set or a
+   * project are split, tests which are debugged always run in one JVM.
+   *
+   * @param context information about test runner
+   * @param tests tests found by {@link #findTests}
+   * @return tests of each JVM, one list if the tests should run in one JVM
+   */
+  protected List<List<String>> splitTests(TestExecutionContext context, List<String> tests) {
+    if (shardPlanner.getShardCount() < 2 || context.isDebugModeEnable() || tests.size() < 2) {
+      return singletonList(tests);
+    }
+    switch (context.getContextType()) {
+      case FOLDER:
+      case SET:
+      case PROJECT:
+        for (String test : tests) {
+          if (test.indexOf('#') != -1) {
+            return singletonList(tests);
+          }
+        }
+        return shardPlanner.plan(tests);
+      default:
+        return singletonList(tests);
+    }
+  }
+
+  /**
+   * Starts the test JVMs, their output is merged as if all the tests ran in one JVM. Tests which
+   * run in one JVM are run by the daemon of the project if it is enabled and isn't busy.
+   *
+   * @param parameters parameters of the JVMs, one per each list returned by {@link #splitTests}
+   * @param onShardsFinished called when the tests which run in several JVMs are finished or
+   *     failed to start, may be null. It isn't called when the tests run in one JVM
+   */
+  protected Process createProcess(List<JavaParameters> parameters, Runnable onShardsFinished)
+      throws ExecutionException {
+    if (parameters.size() == 1) {
+      Process process = daemonPool.run(parameters.get(0));
+      if (process != null) {
+        return process;
+      }
+    }
+    List<CommandLine> commands = new ArrayList<>(parameters.size());
+    for (JavaParameters jvmParameters : parameters) {
+      commands.add(jvmParameters.createCommand());
+    }
+    if (commands.size() == 1) {
+      return commands.get(0).createProcess();
+    }
+    List<Process> shards = new ArrayList<>(commands.size());
+    try {
+      for (CommandLine command : commands) {
+        shards.add(command.createProcess());
+      }
+    } catch (ExecutionException e) {
+      shards.forEach(Process::destroy);
+      if (onShardsFinished != null) {
+        onShardsFinished.run();
+      }
+      throw e;
+    }
+    return new ShardedTestProcess(shards, shardPlanner, onShardsFinished);
+  }
+
   @Override
   public int getDebugPort() {
     return debugPort;
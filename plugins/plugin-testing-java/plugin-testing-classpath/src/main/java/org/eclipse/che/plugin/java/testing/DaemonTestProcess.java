@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.EXIT;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.STDERR;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.STDOUT;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Test run executed by {@link TestRunnerDaemon}, presented as a process. */
+class DaemonTestProcess extends Process {
+  private static final Logger LOG = LoggerFactory.getLogger(DaemonTestProcess.class);
+  private static final int PIPE_SIZE = 64 * 1024;
+
+  private final Socket socket;
+  private final Runnable onDestroy;
+  private final PipedInputStream stdout = new PipedInputStream(PIPE_SIZE);
+  private final PipedInputStream stderr = new PipedInputStream(PIPE_SIZE);
+  private final CountDownLatch finished = new CountDownLatch(1);
+
+  private volatile int exitValue = 1;
+
+  /**
+   * @param socket connection of the run, the request is already sent
+   * @param onFinish called when the run is finished
+   * @param onDestroy called when the run is destroyed, must stop the daemon
+   */
+  DaemonTestProcess(Socket socket, Runnable onFinish, Runnable onDestroy) throws IOException {
+    this.socket = socket;
+    this.onDestroy = onDestroy;
+    PipedOutputStream stdoutSink = new PipedOutputStream(stdout);
+    PipedOutputStream stderrSink = new PipedOutputStream(stderr);
+    Thread reader =
+        new Thread(
+            () -> {
+              try {
+                readFrames(stdoutSink, stderrSink);
+              } finally {
+                closeQuietly(stdoutSink);
+                closeQuietly(stderrSink);
+                closeQuietly(socket);
+                // the daemon is free for the next run once the caller sees this one finished
+                onFinish.run();
+                finished.countDown();
+              }
+            },
+            "TestDaemonReader");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Input of the tests is not supported");
+      }
+    };
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return stdout;
+  }
+
+  @Override
+  public InputStream getErrorStream() {
+    return stderr;
+  }
+
+  @Override
+  public int waitFor() throws InterruptedException {
+    finished.await();
+    return exitValue;
+  }
+
+  @Override
+  public int exitValue() {
+    if (finished.getCount() > 0) {
+      throw new IllegalThreadStateException("Tests are still running");
+    }
+    return exitValue;
+  }
+
+  @Override
+  public void destroy() {
+    if (finished.getCount() > 0) {
+      // tests can't be stopped inside of the daemon
+      onDestroy.run();
+      closeQuietly(socket);
+    }
+  }
+
+  private void readFrames(OutputStream stdoutSink, OutputStream stderrSink) {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+      byte[] buffer = new byte[8192];
+      while (true) {
+        byte type = in.readByte();
+        if (type == EXIT) {
+          exitValue = in.readInt();
+          return;
+        }
+        OutputStream sink = type == STDERR ? stderrSink : stdoutSink;
+        int length = in.readInt();
+        while (length > 0) {
+          int count = in.read(buffer, 0, Math.min(length, buffer.length));
+          if (count == -1) {
+            return;
+          }
+          if (type == STDOUT || type == STDERR) {
+            sink.write(buffer, 0, count);
+          }
+          length -= count;
+        }
+        sink.flush();
+      }
+    } catch (IOException e) {
+      LOG.debug("Test daemon connection is closed", e);
+    }
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (Exception ignored) {
+    }
+  }
+}
@@ -11,14 +11,24 @@
 package org.eclipse.che.plugin.java.testing;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.base.Strings.nullToEmpty;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.che.plugin.java.testing.JavaTestIndex.TestClasses;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
@@ -49,6 +59,13 @@ import org.slf4j.LoggerFactory;
 public class JavaTestFinder {
   private static final Logger LOG = LoggerFactory.getLogger(JavaTestFinder.class);
 
+  private final JavaTestIndex index;
+
+  @Inject
+  public JavaTestFinder(JavaTestIndex index) {
+    this.index = index;
+  }
+
   /**
    * Finds test method related to the cursor position.
    *
@@ -104,9 +121,20 @@ public class JavaTestFinder {
     } catch (JavaModelException e) {
       LOG.info("Can't find package.", e);
     }
-    return packageFragment == null
-        ? emptyList()
-        : findClassesInContainer(packageFragment, testMethodAnnotation, testClassAnnotation);
+    if (packageFragment == null) {
+      return emptyList();
+    }
+    IPath packageFragmentPath = packageFragment.getPath();
+    TestClasses tests = getIndexedTests(javaProject, testMethodAnnotation, testClassAnnotation);
+    synchronized (tests) {
+      List<String> result = new LinkedList<>();
+      for (Map.Entry<String, String> test : tests.tests.entrySet()) {
+        if (packageFragmentPath.equals(new Path(test.getValue()).removeLastSegments(1))) {
+          result.add(test.getKey());
+        }
+      }
+      return result;
+    }
   }
 
   /**
@@ -119,7 +147,10 @@ public class JavaTestFinder {
    */
   public List<String> findClassesInProject(
       IJavaProject project, String testMethodAnnotation, String testClassAnnotation) {
-    return findClassesInContainer(project, testMethodAnnotation, testClassAnnotation);
+    TestClasses tests = getIndexedTests(project, testMethodAnnotation, testClassAnnotation);
+    synchronized (tests) {
+      return new LinkedList<>(tests.tests.keySet());
+    }
   }
 
   /**
@@ -173,57 +204,186 @@ public class JavaTestFinder {
     return false;
   }
 
-  private List<String> findClassesInContainer(
-      IJavaElement container, String testMethodAnnotation, String testClassAnnotation) {
-    List<String> result = new LinkedList<>();
-    IRegion region = getRegion(container);
-    try {
-      ITypeHierarchy hierarchy = JavaCore.newTypeHierarchy(region, null, null);
-      IType[] allClasses = hierarchy.getAllClasses();
+  /** Returns the types which have references to the test annotations and all their subclasses. */
+  @VisibleForTesting
+  Set<IType> findCandidates(
+      IRegion region, String testMethodAnnotation, String testClassAnnotation)
+      throws CoreException {
+    ITypeHierarchy hierarchy = JavaCore.newTypeHierarchy(region, null, null);
+    IType[] allClasses = hierarchy.getAllClasses();
 
-      // search for all types with references to RunWith and Test and all subclasses
-      HashSet<IType> candidates = new HashSet<>(allClasses.length);
-      SearchRequestor requestor = new AnnotationSearchRequestor(hierarchy, candidates);
+    // search for all types with references to RunWith and Test and all subclasses
+    HashSet<IType> candidates = new HashSet<>(allClasses.length);
+    SearchRequestor requestor = new AnnotationSearchRequestor(hierarchy, candidates);
 
-      IJavaSearchScope scope =
-          SearchEngine.createJavaSearchScope(allClasses, IJavaSearchScope.SOURCES);
-      int matchRule = SearchPattern.R_CASE_SENSITIVE;
+    IJavaSearchScope scope =
+        SearchEngine.createJavaSearchScope(allClasses, IJavaSearchScope.SOURCES);
+    int matchRule = SearchPattern.R_CASE_SENSITIVE;
 
-      SearchPattern testPattern =
-          SearchPattern.createPattern(
-              testMethodAnnotation,
-              IJavaSearchConstants.ANNOTATION_TYPE,
-              IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE,
-              matchRule);
+    SearchPattern testPattern =
+        SearchPattern.createPattern(
+            testMethodAnnotation,
+            IJavaSearchConstants.ANNOTATION_TYPE,
+            IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE,
+            matchRule);
 
-      SearchPattern runWithPattern =
-          isNullOrEmpty(testClassAnnotation)
-              ? testPattern
-              : SearchPattern.createPattern(
-                  testClassAnnotation,
-                  IJavaSearchConstants.ANNOTATION_TYPE,
-                  IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE,
-                  matchRule);
+    SearchPattern runWithPattern =
+        isNullOrEmpty(testClassAnnotation)
+            ? testPattern
+            : SearchPattern.createPattern(
+                testClassAnnotation,
+                IJavaSearchConstants.ANNOTATION_TYPE,
+                IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE,
+                matchRule);
 
-      SearchPattern annotationsPattern = SearchPattern.createOrPattern(runWithPattern, testPattern);
-      SearchParticipant[] searchParticipants =
-          new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
-      new SearchEngine().search(annotationsPattern, searchParticipants, scope, requestor, null);
+    SearchPattern annotationsPattern = SearchPattern.createOrPattern(runWithPattern, testPattern);
+    SearchParticipant[] searchParticipants =
+        new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
+    new SearchEngine().search(annotationsPattern, searchParticipants, scope, requestor, null);
+    return candidates;
+  }
 
-      // find all classes in the region
-      for (IType candidate : candidates) {
-        if (isAccessibleClass(candidate)
-            && !Flags.isAbstract(candidate.getFlags())
-            && region.contains(candidate)) {
-          result.add(candidate.getFullyQualifiedName());
+  /**
+   * Returns the indexed test classes of the project. The project is searched if it isn't indexed
+   * yet, otherwise only the compilation units which were changed since the last request are read.
+   */
+  private TestClasses getIndexedTests(
+      IJavaProject project, String testMethodAnnotation, String testClassAnnotation) {
+    String framework = testMethodAnnotation + '\n' + nullToEmpty(testClassAnnotation);
+    TestClasses tests = index.get(project, framework);
+    if (tests != null) {
+      synchronized (tests) {
+        if (updateChangedUnits(tests, testMethodAnnotation, testClassAnnotation)) {
+          return tests;
         }
       }
-    } catch (CoreException e) {
+    }
 
+    tests = new TestClasses();
+    try {
+      IRegion region = getRegion(project);
+      for (IType candidate : findCandidates(region, testMethodAnnotation, testClassAnnotation)) {
+        ICompilationUnit unit = candidate.getCompilationUnit();
+        if (unit != null) {
+          addCandidate(tests, candidate, unit.getPath().toString());
+        }
+      }
+    } catch (CoreException e) {
       LOG.info("Can't build project hierarchy.", e);
+      return tests;
     }
+    index.put(project, framework, tests);
+    return tests;
+  }
 
-    return result;
+  /**
+   * Re-reads the changed compilation units of the indexed project.
+   *
+   * @return {@code false} if the project should be searched again, because the classes of the
+   *     changed units became or stopped being test classes, so their subclasses might change too
+   */
+  private boolean updateChangedUnits(
+      TestClasses tests, String testMethodAnnotation, String testClassAnnotation) {
+    for (String unitPath : new ArrayList<>(tests.changedUnits)) {
+      tests.changedUnits.remove(unitPath);
+      Set<String> removed = tests.removeUnit(unitPath);
+      IJavaElement element = getElement(unitPath);
+      if (!(element instanceof ICompilationUnit) || !element.exists()) {
+        if (!removed.isEmpty()) {
+          return false;
+        }
+        continue;
+      }
+
+      ICompilationUnit unit = (ICompilationUnit) element;
+      Map<String, IType> added = new HashMap<>();
+      try {
+        for (IType type : unit.getAllTypes()) {
+          if (isCandidate(type, unit, tests, testMethodAnnotation, testClassAnnotation)) {
+            added.put(type.getFullyQualifiedName(), type);
+          }
+        }
+        if (!added.keySet().equals(removed)) {
+          return false;
+        }
+        for (IType type : added.values()) {
+          addCandidate(tests, type, unitPath);
+        }
+      } catch (JavaModelException e) {
+        LOG.info("Can't read compilation unit {}.", unitPath, e);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the java element of the workspace file. */
+  @VisibleForTesting
+  IJavaElement getElement(String filePath) {
+    return JavaCore.create(ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(filePath)));
+  }
+
+  private void addCandidate(TestClasses tests, IType candidate, String unitPath)
+      throws JavaModelException {
+    String name = candidate.getFullyQualifiedName();
+    tests.candidates.put(name, unitPath);
+    if (isRunnableClass(candidate)) {
+      tests.tests.put(name, unitPath);
+    }
+  }
+
+  /** Checks the type in the same way as the search of the project. */
+  private boolean isCandidate(
+      IType type,
+      ICompilationUnit unit,
+      TestClasses tests,
+      String testMethodAnnotation,
+      String testClassAnnotation)
+      throws JavaModelException {
+    if (hasAnnotation(type.getAnnotations(), unit, testMethodAnnotation, testClassAnnotation)) {
+      return true;
+    }
+    for (IMethod method : type.getMethods()) {
+      if (hasAnnotation(method.getAnnotations(), unit, testMethodAnnotation, testClassAnnotation)) {
+        return true;
+      }
+    }
+    if (type.getSuperclassName() == null) {
+      return false;
+    }
+    for (IType superclass : type.newSupertypeHierarchy(null).getAllSuperclasses(type)) {
+      if (tests.candidates.containsKey(superclass.getFullyQualifiedName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasAnnotation(
+      IAnnotation[] annotations,
+      ICompilationUnit unit,
+      String testMethodAnnotation,
+      String testClassAnnotation) {
+    for (IAnnotation annotation : annotations) {
+      String name = annotation.getElementName();
+      if (isAnnotation(name, unit, testMethodAnnotation)
+          || (!isNullOrEmpty(testClassAnnotation)
+              && isAnnotation(name, unit, testClassAnnotation))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isAnnotation(String name, ICompilationUnit unit, String annotation) {
+    if (annotation.equals(name)) {
+      return true;
+    }
+    return annotation.endsWith('.' + name) && isImportOfTestAnnotationExist(unit, annotation);
+  }
+
+  private static boolean isRunnableClass(IType type) throws JavaModelException {
+    return isAccessibleClass(type) && !Flags.isAbstract(type.getFlags());
   }
 
   private IRegion getRegion(IJavaElement element) {
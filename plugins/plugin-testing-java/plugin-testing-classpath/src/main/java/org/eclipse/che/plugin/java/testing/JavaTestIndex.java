@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.name.Named;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the test classes of the projects, per test framework. {@link JavaTestFinder} searches
+ * a project once, then keeps the index up to date by re-reading only the compilation units which
+ * were changed, so finding the tests of a project or a package is a lookup.
+ *
+ * <p>Changed compilation units are collected from the deltas of the Java model, changes of
+ * classpaths and source folders make the whole project to be searched again. The index is saved on
+ * stop along with a fingerprint of the sources of each project, it is reused after restart if the
+ * sources haven't changed in the meantime.
+ */
+@Singleton
+public class JavaTestIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(JavaTestIndex.class);
+
+  private static final String INDEX_FILE = "tests.index";
+  private static final int FORMAT_VERSION = 2;
+
+  private final File indexDir;
+  private final Map<String, TestClasses> entries = new ConcurrentHashMap<>();
+  private final IElementChangedListener deltaListener = this::elementChanged;
+
+  @Inject
+  public JavaTestIndex(@Named("che.workspace.metadata") String wsMetadata) {
+    this(Paths.get(System.getProperty("user.home"), wsMetadata, "test-index").toFile());
+  }
+
+  JavaTestIndex(File indexDir) {
+    this.indexDir = indexDir;
+  }
+
+  @PostConstruct
+  void start() {
+    load();
+    JavaCore.addElementChangedListener(deltaListener, ElementChangedEvent.POST_CHANGE);
+  }
+
+  @PreDestroy
+  void stop() {
+    JavaCore.removeElementChangedListener(deltaListener);
+    save();
+  }
+
+  /**
+   * Returns the indexed test classes of the project or null if the project should be searched.
+   *
+   * @param project java project
+   * @param framework identifier of the test annotations of the framework
+   */
+  TestClasses get(IJavaProject project, String framework) {
+    String key = getKey(project.getPath().toString(), framework);
+    TestClasses tests = entries.get(key);
+    if (tests == null) {
+      return null;
+    }
+    if (!tests.verified) {
+      // loaded from the disk, the sources might have been changed while the agent was stopped
+      if (tests.fingerprint != fingerprint(project)) {
+        entries.remove(key, tests);
+        return null;
+      }
+      tests.project = project;
+      tests.verified = true;
+    }
+    return tests.outdated ? null : tests;
+  }
+
+  /** Adds the result of the search of the project tests to the index. */
+  void put(IJavaProject project, String framework, TestClasses tests) {
+    tests.project = project;
+    tests.verified = true;
+    entries.put(getKey(project.getPath().toString(), framework), tests);
+  }
+
+  /** Forgets all the indexed tests. */
+  void clear() {
+    entries.clear();
+  }
+
+  @VisibleForTesting
+  void elementChanged(ElementChangedEvent event) {
+    processDelta(event.getDelta());
+  }
+
+  private void processDelta(IJavaElementDelta delta) {
+    IJavaElement element = delta.getElement();
+    int kind = delta.getKind();
+    switch (element.getElementType()) {
+      case IJavaElement.JAVA_MODEL:
+        break;
+      case IJavaElement.JAVA_PROJECT:
+        if (kind != IJavaElementDelta.CHANGED
+            || (delta.getFlags()
+                    & (IJavaElementDelta.F_CLASSPATH_CHANGED
+                        | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED))
+                != 0) {
+          outdate(element);
+          return;
+        }
+        break;
+      case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+      case IJavaElement.PACKAGE_FRAGMENT:
+        if (kind != IJavaElementDelta.CHANGED) {
+          outdate(element);
+          return;
+        }
+        break;
+      case IJavaElement.COMPILATION_UNIT:
+        if (kind != IJavaElementDelta.CHANGED
+            || (delta.getFlags()
+                    & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE))
+                != 0) {
+          unitChanged(element);
+        }
+        return;
+      default:
+        return;
+    }
+    for (IJavaElementDelta child : delta.getAffectedChildren()) {
+      processDelta(child);
+    }
+  }
+
+  private void outdate(IJavaElement element) {
+    String prefix = getKey(element.getJavaProject().getPath().toString(), "");
+    for (Map.Entry<String, TestClasses> entry : entries.entrySet()) {
+      if (entry.getKey().startsWith(prefix)) {
+        entry.getValue().outdated = true;
+      }
+    }
+  }
+
+  private void unitChanged(IJavaElement unit) {
+    String prefix = getKey(unit.getJavaProject().getPath().toString(), "");
+    String unitPath = unit.getPath().toString();
+    for (Map.Entry<String, TestClasses> entry : entries.entrySet()) {
+      if (entry.getKey().startsWith(prefix)) {
+        entry.getValue().changedUnits.add(unitPath);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void load() {
+    File file = new File(indexDir, INDEX_FILE);
+    if (!file.isFile()) {
+      return;
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+      if (in.readInt() == FORMAT_VERSION) {
+        Map<String, TestClasses> saved = new HashMap<>();
+        for (String key = (String) in.readObject(); key != null; key = (String) in.readObject()) {
+          saved.put(key, (TestClasses) in.readObject());
+        }
+        entries.putAll(saved);
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.warn("Can't read index of tests {}, projects will be searched again", file, e);
+    }
+  }
+
+  @VisibleForTesting
+  void save() {
+    File file = new File(indexDir, INDEX_FILE);
+    try {
+      Files.createDirectories(indexDir.toPath());
+      Path tmp = Files.createTempFile(indexDir.toPath(), INDEX_FILE, ".tmp");
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(FORMAT_VERSION);
+        for (Map.Entry<String, TestClasses> entry : entries.entrySet()) {
+          TestClasses tests = entry.getValue();
+          // the finder updates the classes under the same lock
+          synchronized (tests) {
+            if (tests.outdated) {
+              continue;
+            }
+            if (tests.verified && tests.project != null) {
+              tests.fingerprint = fingerprint(tests.project);
+            }
+            out.writeObject(entry.getKey());
+            out.writeObject(tests);
+          }
+        }
+        out.writeObject(null);
+      }
+      Files.move(tmp, file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.warn("Can't save index of tests {}", file, e);
+    }
+  }
+
+  /** Returns the hash of the names, sizes and modification times of the project sources. */
+  static long fingerprint(IJavaProject project) {
+    long result = 17;
+    try {
+      for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+        if (root.isArchive() || root.getResource() == null) {
+          continue;
+        }
+        IPath location = root.getResource().getLocation();
+        if (location == null || !location.toFile().isDirectory()) {
+          continue;
+        }
+        Path rootPath = location.toFile().toPath();
+        long rootHash = 0;
+        try (Stream<Path> files = Files.walk(rootPath)) {
+          Iterator<Path> iterator = files.iterator();
+          while (iterator.hasNext()) {
+            Path path = iterator.next();
+            if (path.toString().endsWith(".java")) {
+              File source = path.toFile();
+              // files are walked in no particular order
+              rootHash +=
+                  rootPath.relativize(path).toString().hashCode() * 31L
+                      + source.length() * 17L
+                      + source.lastModified();
+            }
+          }
+        }
+        result = result * 31 + root.getPath().toString().hashCode() + rootHash;
+      }
+    } catch (JavaModelException | IOException e) {
+      LOG.debug("Can't read sources of project {}", project.getElementName(), e);
+      return 0;
+    }
+    return result;
+  }
+
+  private static String getKey(String projectPath, String framework) {
+    return projectPath + '\n' + framework;
+  }
+
+  /** Test classes of a project found for a test framework. */
+  static class TestClasses implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Classes with test annotations and their subclasses, mapped to compilation units. */
+    final Map<String, String> candidates = new HashMap<>();
+    /** Runnable test classes, mapped to compilation units. */
+    final Map<String, String> tests = new HashMap<>();
+    /** Compilation units which were changed since the classes were found. */
+    final Set<String> changedUnits = ConcurrentHashMap.newKeySet();
+
+    private long fingerprint;
+    private transient volatile IJavaProject project;
+    private transient volatile boolean verified;
+    private transient volatile boolean outdated;
+
+    /**
+     * Removes the classes of the compilation unit.
+     *
+     * @return candidates which were declared in the unit
+     */
+    Set<String> removeUnit(String unitPath) {
+      Set<String> removed = new HashSet<>();
+      candidates
+          .entrySet()
+          .removeIf(
+              e -> {
+                if (e.getValue().equals(unitPath)) {
+                  removed.add(e.getKey());
+                  return true;
+                }
+                return false;
+              });
+      tests.values().removeIf(unitPath::equals);
+      return removed;
+    }
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.ROOT_PRESENTATION;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.SUITE_TREE_ENDED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.SUITE_TREE_STARTED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_COUNT;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_REPORTER_ATTACHED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_SUITE_FINISHED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_SUITE_STARTED;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.che.api.testing.server.messages.ServerTestingMessage;
+
+/**
+ * Merges the testing messages printed by several test JVMs into the messages of a single run.
+ *
+ * <p>Messages of each innermost test suite, usually a test class, are written at once when the
+ * suite finishes, so suites of different JVMs are not interleaved. Suites which enclose other
+ * suites, e.g. the {@code <test>} of a TestNG suite, are opened once and shared by the classes of
+ * all the JVMs. Messages which start the run are written once, as soon as all the JVMs have printed
+ * them, the numbers of tests are summed. Output of the JVMs which are faster to start is kept until
+ * then.
+ */
+class ShardOutputMerger {
+  private static final Set<String> HEADER_MESSAGES =
+      ImmutableSet.of(TEST_REPORTER_ATTACHED, ROOT_PRESENTATION, TEST_COUNT);
+  private static final Pattern TOTALS =
+      Pattern.compile("Total tests run: (\\d+), Failures: (\\d+), Skips: (\\d+)");
+
+  private final Consumer<String> output;
+  private final TestShardPlanner planner;
+  private final Shard[] shards;
+
+  private final Map<String, String> header = new LinkedHashMap<>();
+  private long testCount;
+  private int shardsInHeader;
+  private final List<Runnable> deferredWrites = new ArrayList<>();
+
+  private final List<Suite> openSuites = new ArrayList<>();
+  private final Map<String, String> suiteFinishLines = new HashMap<>();
+  private final long[] totals = new long[3];
+  private boolean hasTotals;
+
+  /**
+   * @param shardCount number of the test JVMs
+   * @param output consumer of the merged lines
+   * @param planner receives durations of the test classes, may be null
+   */
+  ShardOutputMerger(int shardCount, Consumer<String> output, TestShardPlanner planner) {
+    this.output = output;
+    this.planner = planner;
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard();
+    }
+    this.shardsInHeader = shardCount;
+  }
+
+  /** Handles the line printed by the test JVM. */
+  synchronized void accept(int shardIndex, String line) {
+    Shard shard = shards[shardIndex];
+    ServerTestingMessage message = parse(line);
+    String name = message == null ? null : message.getName();
+
+    if (shard.inHeader) {
+      if (name != null && HEADER_MESSAGES.contains(name)) {
+        addHeader(message, line.trim());
+        return;
+      }
+      leaveHeader(shard);
+    }
+
+    if (name == null) {
+      Matcher matcher = TOTALS.matcher(line.trim());
+      if (matcher.matches()) {
+        addTotals(matcher);
+        return;
+      }
+    } else if (HEADER_MESSAGES.contains(name)) {
+      // the run is already presented
+      return;
+    }
+
+    if (shard.tree != null || SUITE_TREE_STARTED.equals(name)) {
+      if (shard.tree == null) {
+        shard.tree = new ArrayList<>();
+      }
+      shard.tree.add(line);
+      if (SUITE_TREE_STARTED.equals(name)) {
+        shard.treeDepth++;
+      } else if (SUITE_TREE_ENDED.equals(name)) {
+        shard.treeDepth--;
+      }
+      if (shard.treeDepth <= 0) {
+        write(shard.enclosing, shard.tree);
+        shard.tree = null;
+        shard.treeDepth = 0;
+      }
+    } else if (TEST_SUITE_STARTED.equals(name)) {
+      if (shard.suite != null) {
+        // the open suite contains other suites, so it is shared with the other JVMs
+        shard.enclosing.add(new Suite(shard.suiteName, shard.suite.remove(0)));
+        if (!shard.suite.isEmpty()) {
+          write(shard.enclosing, shard.suite);
+        }
+      }
+      shard.suite = new ArrayList<>();
+      shard.suite.add(line);
+      shard.suiteName = message.getAttributes().get("name");
+      shard.suiteKey = getSuiteKey(message);
+      shard.suiteStart = System.currentTimeMillis();
+    } else if (TEST_SUITE_FINISHED.equals(name)) {
+      if (shard.suite != null) {
+        shard.suite.add(line);
+        write(shard.enclosing, shard.suite);
+        if (planner != null && shard.suiteKey != null) {
+          planner.recordDuration(shard.suiteKey, System.currentTimeMillis() - shard.suiteStart);
+        }
+        shard.suite = null;
+      } else if (!shard.enclosing.isEmpty()) {
+        Suite suite = shard.enclosing.remove(shard.enclosing.size() - 1);
+        addSuiteFinishLine(suite.name, line);
+      } else {
+        write(shard.enclosing, singletonList(line));
+      }
+    } else if (shard.suite != null) {
+      shard.suite.add(line);
+    } else {
+      write(shard.enclosing, singletonList(line));
+    }
+  }
+
+  /** Handles the end of the output of the test JVM. */
+  synchronized void finish(int shardIndex) {
+    Shard shard = shards[shardIndex];
+    if (shard.inHeader) {
+      leaveHeader(shard);
+    }
+    // the JVM has been terminated in the middle of a suite
+    if (shard.tree != null) {
+      write(shard.enclosing, shard.tree);
+      shard.tree = null;
+    }
+    if (shard.suite != null) {
+      write(shard.enclosing, shard.suite);
+      shard.suite = null;
+    }
+  }
+
+  /** Finishes the merged output, must be called when the output of all the JVMs is handled. */
+  synchronized void close() {
+    closeSuites(0);
+    if (hasTotals) {
+      output.accept(
+          String.format(
+              "Total tests run: %d, Failures: %d, Skips: %d", totals[0], totals[1], totals[2]));
+    }
+  }
+
+  private void addHeader(ServerTestingMessage message, String line) {
+    if (TEST_COUNT.equals(message.getName())) {
+      try {
+        testCount += Long.parseLong(message.getAttributes().get("count"));
+      } catch (NumberFormatException ignored) {
+      }
+    }
+    header.putIfAbsent(message.getName(), line);
+  }
+
+  private void leaveHeader(Shard shard) {
+    shard.inHeader = false;
+    if (--shardsInHeader == 0) {
+      for (Map.Entry<String, String> entry : header.entrySet()) {
+        output.accept(
+            TEST_COUNT.equals(entry.getKey())
+                ? message(TEST_COUNT, "count", String.valueOf(testCount))
+                : entry.getValue());
+      }
+      deferredWrites.forEach(Runnable::run);
+      deferredWrites.clear();
+    }
+  }
+
+  private void addTotals(Matcher matcher) {
+    hasTotals = true;
+    for (int i = 0; i < totals.length; i++) {
+      totals[i] += Long.parseLong(matcher.group(i + 1));
+    }
+  }
+
+  private void addSuiteFinishLine(String suite, String line) {
+    suiteFinishLines.putIfAbsent(suite, line);
+  }
+
+  /** Writes the lines inside of the given suites, opens and closes the shared suites if needed. */
+  private void write(List<Suite> enclosing, List<String> lines) {
+    if (shardsInHeader > 0) {
+      // the output of the run must not start before the header
+      List<Suite> enclosingCopy = new ArrayList<>(enclosing);
+      List<String> linesCopy = new ArrayList<>(lines);
+      deferredWrites.add(() -> write(enclosingCopy, linesCopy));
+      return;
+    }
+    int common = 0;
+    while (common < openSuites.size()
+        && common < enclosing.size()
+        && Objects.equals(openSuites.get(common).name, enclosing.get(common).name)) {
+      common++;
+    }
+    closeSuites(common);
+    for (int i = common; i < enclosing.size(); i++) {
+      openSuites.add(enclosing.get(i));
+      output.accept(enclosing.get(i).startLine);
+    }
+    lines.forEach(output);
+  }
+
+  private void closeSuites(int remaining) {
+    while (openSuites.size() > remaining) {
+      Suite suite = openSuites.remove(openSuites.size() - 1);
+      String finishLine = suiteFinishLines.remove(suite.name);
+      output.accept(
+          finishLine != null ? finishLine : message(TEST_SUITE_FINISHED, "name", suite.name));
+    }
+  }
+
+  /** Creates the message in the format printed by the test JVMs. */
+  private static String message(String name, String attribute, String value) {
+    return "@@<{\"name\":\""
+        + name
+        + "\", \"attributes\":{\""
+        + attribute
+        + "\":\""
+        + value
+        + "\"}}>";
+  }
+
+  private static ServerTestingMessage parse(String line) {
+    try {
+      return ServerTestingMessage.parse(line.trim());
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /** Returns fully qualified name of the test class from the location of the suite. */
+  private static String getSuiteKey(ServerTestingMessage message) {
+    String location = message.getAttributes().get("location");
+    if (location != null && location.contains("://")) {
+      return location.substring(location.indexOf("://") + 3);
+    }
+    return message.getAttributes().get("name");
+  }
+
+  private static class Shard {
+    private boolean inHeader = true;
+    private final List<Suite> enclosing = new ArrayList<>();
+
+    private List<String> suite;
+    private String suiteName;
+    private String suiteKey;
+    private long suiteStart;
+
+    private List<String> tree;
+    private int treeDepth;
+  }
+
+  private static class Suite {
+    private final String name;
+    private final String startLine;
+
+    private Suite(String name, String startLine) {
+      this.name = name;
+      this.startLine = startLine;
+    }
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests running in several JVMs presented as a single process. The output of the JVMs is merged by
+ * {@link ShardOutputMerger}, so it looks like the output of one JVM running all the tests, and the
+ * results of each test class are available as soon as the class is finished.
+ */
+public class ShardedTestProcess extends Process {
+  private static final Logger LOG = LoggerFactory.getLogger(ShardedTestProcess.class);
+
+  private final List<Process> shards;
+  private final LineStream stdout = new LineStream();
+  private final LineStream stderr = new LineStream();
+  private final ShardOutputMerger merger;
+  private final ExecutorService executor;
+  private final CountDownLatch finished = new CountDownLatch(1);
+  private final Runnable onFinished;
+
+  private volatile int exitValue;
+
+  /**
+   * @param shards processes of the test JVMs
+   * @param planner receives durations of the test classes, may be null
+   * @param onFinished called when all the test JVMs are finished, may be null
+   */
+  public ShardedTestProcess(List<Process> shards, TestShardPlanner planner, Runnable onFinished) {
+    this.shards = shards;
+    this.onFinished = onFinished;
+    this.merger = new ShardOutputMerger(shards.size(), stdout::writeLine, planner);
+    this.executor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("TestShardReader-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+
+    CountDownLatch readers = new CountDownLatch(shards.size() * 2);
+    for (int i = 0; i < shards.size(); i++) {
+      final int index = i;
+      Process shard = shards.get(i);
+      executor.execute(
+          () -> {
+            try {
+              read(shard.getInputStream(), line -> merger.accept(index, line));
+            } finally {
+              merger.finish(index);
+              readers.countDown();
+            }
+          });
+      executor.execute(
+          () -> {
+            try {
+              read(shard.getErrorStream(), stderr::writeLine);
+            } finally {
+              readers.countDown();
+            }
+          });
+    }
+    executor.execute(() -> awaitShards(readers));
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Input of the tests is not supported");
+      }
+
+      @Override
+      public void close() throws IOException {
+        for (Process shard : shards) {
+          shard.getOutputStream().close();
+        }
+      }
+    };
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return stdout;
+  }
+
+  @Override
+  public InputStream getErrorStream() {
+    return stderr;
+  }
+
+  @Override
+  public int waitFor() throws InterruptedException {
+    finished.await();
+    return exitValue;
+  }
+
+  @Override
+  public int exitValue() {
+    if (finished.getCount() > 0) {
+      throw new IllegalThreadStateException("Tests are still running");
+    }
+    return exitValue;
+  }
+
+  @Override
+  public void destroy() {
+    shards.forEach(Process::destroy);
+  }
+
+  private void awaitShards(CountDownLatch readers) {
+    try {
+      int result = 0;
+      for (Process shard : shards) {
+        int shardResult = shard.waitFor();
+        if (result == 0) {
+          result = shardResult;
+        }
+      }
+      readers.await();
+      merger.close();
+      exitValue = result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (onFinished != null) {
+        try {
+          onFinished.run();
+        } catch (RuntimeException e) {
+          LOG.error("Can't complete the tests", e);
+        }
+      }
+      stdout.close();
+      stderr.close();
+      finished.countDown();
+      executor.shutdown();
+    }
+  }
+
+  private static void read(InputStream stream, Consumer<String> consumer) {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        consumer.accept(line);
+      }
+    } catch (IOException e) {
+      LOG.error("Can't read output of the tests", e);
+    }
+  }
+
+  /** Stream of the merged lines. */
+  private static class LineStream extends InputStream {
+    private final Deque<byte[]> chunks = new ArrayDeque<>();
+    private int position;
+    private int available;
+    private boolean closed;
+
+    synchronized void writeLine(String line) {
+      byte[] chunk = (line + '\n').getBytes(Charset.defaultCharset());
+      chunks.add(chunk);
+      available += chunk.length;
+      notifyAll();
+    }
+
+    @Override
+    public synchronized int available() {
+      return available;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      while (chunks.isEmpty()) {
+        if (closed) {
+          return -1;
+        }
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+      int read = 0;
+      while (read < len && !chunks.isEmpty()) {
+        byte[] chunk = chunks.peek();
+        int count = Math.min(len - read, chunk.length - position);
+        System.arraycopy(chunk, position, b, off + read, count);
+        read += count;
+        position += count;
+        if (position == chunk.length) {
+          chunks.poll();
+          position = 0;
+        }
+      }
+      available -= read;
+      return read;
+    }
+
+    @Override
+    public synchronized void close() {
+      closed = true;
+      notifyAll();
+    }
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.name.Named;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.execution.ExecutionException;
+import org.eclipse.che.commons.lang.execution.JavaParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a {@link TestRunnerDaemon} JVM per project and test framework, so the tests which are run
+ * again don't wait for the JVM to start and load the libraries. The daemon is restarted when the
+ * libraries of the project change. If the daemon of the project is busy or still starting, the
+ * tests are run in a new JVM.
+ *
+ * <p>Daemons are started outside of the pool lock, a daemon which doesn't report its port in time
+ * is killed. Each daemon accepts only the runs which present the random secret it was started
+ * with.
+ */
+@Singleton
+public class TestDaemonPool {
+  private static final Logger LOG = LoggerFactory.getLogger(TestDaemonPool.class);
+
+  private static final long START_TIMEOUT_SECONDS = 60;
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final boolean enabled;
+  private final Map<String, CompletableFuture<Daemon>> daemons = new HashMap<>();
+  private final ScheduledExecutorService watchdog;
+
+  @Inject
+  public TestDaemonPool(@Named("che.testing.java.daemon") boolean enabled) {
+    this.enabled = enabled;
+    this.watchdog =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("TestDaemonWatchdog-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Runs the tests in the daemon of the project.
+   *
+   * @param parameters parameters of the test JVM, JVM options are not supported
+   * @return process of the run or null if the tests should be run in a new JVM
+   */
+  public Process run(JavaParameters parameters) {
+    if (!enabled || !parameters.getVmParameters().isEmpty()) {
+      return null;
+    }
+    List<String> libraries = new ArrayList<>();
+    List<String> outputFolders = new ArrayList<>();
+    for (String entry : parameters.getClassPath()) {
+      if (new File(entry).isDirectory()) {
+        outputFolders.add(entry);
+      } else {
+        libraries.add(entry);
+      }
+    }
+
+    String key = parameters.getWorkingDirectory() + '\n' + parameters.getMainClassName();
+    String fingerprint = fingerprint(libraries);
+    Daemon daemon = null;
+    CompletableFuture<Daemon> starting = null;
+    synchronized (daemons) {
+      CompletableFuture<Daemon> future = daemons.get(key);
+      if (future != null) {
+        if (!future.isDone()) {
+          // the daemon is being started for another run
+          return null;
+        }
+        daemon = future.join();
+      }
+      if (daemon != null && (!daemon.isAlive() || !daemon.fingerprint.equals(fingerprint))) {
+        if (daemon.busy) {
+          return null;
+        }
+        daemon.destroy();
+        daemon = null;
+      }
+      if (daemon == null) {
+        starting = new CompletableFuture<>();
+        daemons.put(key, starting);
+      } else if (daemon.busy) {
+        return null;
+      } else {
+        daemon.busy = true;
+      }
+    }
+
+    if (starting != null) {
+      // the daemon is started outside of the lock, so runs of other projects are not blocked
+      daemon = start(key, starting, parameters, libraries, fingerprint);
+      if (daemon == null) {
+        return null;
+      }
+    }
+
+    try {
+      return daemon.run(parameters, outputFolders);
+    } catch (IOException e) {
+      LOG.warn("Can't run tests in the daemon, tests will run in a new JVM", e);
+      daemon.destroy();
+      return null;
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    List<CompletableFuture<Daemon>> stopped;
+    synchronized (daemons) {
+      stopped = new ArrayList<>(daemons.values());
+      daemons.clear();
+    }
+    // daemons which are still starting are destroyed once started
+    for (CompletableFuture<Daemon> daemon : stopped) {
+      if (daemon.isDone()) {
+        daemon.join().destroy();
+      }
+    }
+    watchdog.shutdownNow();
+  }
+
+  /**
+   * Starts the daemon and completes the future registered for it, returns busy daemon or null if
+   * the daemon couldn't be started or the pool was stopped meanwhile.
+   */
+  private Daemon start(
+      String key,
+      CompletableFuture<Daemon> starting,
+      JavaParameters parameters,
+      List<String> libraries,
+      String fingerprint) {
+    Daemon daemon;
+    try {
+      daemon = startDaemon(parameters, libraries, fingerprint);
+    } catch (ExecutionException | IOException | RuntimeException e) {
+      LOG.warn("Can't start test daemon, tests will run in a new JVM", e);
+      synchronized (daemons) {
+        daemons.remove(key, starting);
+      }
+      starting.completeExceptionally(e);
+      return null;
+    }
+    daemon.busy = true;
+    synchronized (daemons) {
+      if (daemons.get(key) == starting) {
+        starting.complete(daemon);
+        return daemon;
+      }
+    }
+    starting.complete(daemon);
+    daemon.process.destroy();
+    return null;
+  }
+
+  private Daemon startDaemon(JavaParameters parameters, List<String> libraries, String fingerprint)
+      throws ExecutionException, IOException {
+    String secret = newSecret();
+    JavaParameters daemonParameters = new JavaParameters();
+    daemonParameters.setJavaExecutable(parameters.getJavaExecutable());
+    daemonParameters.setWorkingDirectory(parameters.getWorkingDirectory());
+    daemonParameters.setMainClassName(TestRunnerDaemon.class.getName());
+    daemonParameters.getClassPath().addAll(libraries);
+    daemonParameters.getClassPath().add(ClasspathUtil.getJarPathForClass(TestRunnerDaemon.class));
+    daemonParameters.getParametersList().add(secret);
+    Process process = daemonParameters.createCommand().createProcess();
+
+    ScheduledFuture<?> kill = null;
+    try {
+      // the daemon which doesn't report its port in time is killed, then its output ends
+      kill = watchdog.schedule(process::destroyForcibly, START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(TestRunnerDaemon.PORT_PREFIX)) {
+          int port = Integer.parseInt(line.substring(TestRunnerDaemon.PORT_PREFIX.length()));
+          drain(reader, "out");
+          drain(process.getErrorStream(), "err");
+          return new Daemon(process, port, fingerprint, secret);
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      process.destroy();
+      throw e;
+    } finally {
+      if (kill != null) {
+        kill.cancel(false);
+      }
+    }
+    process.destroy();
+    throw new IOException(
+        "Test daemon exited or didn't start in " + START_TIMEOUT_SECONDS + " seconds");
+  }
+
+  /** Returns a random secret the daemon accepts runs with, so other local users can't run code. */
+  private static String newSecret() {
+    byte[] secret = new byte[32];
+    RANDOM.nextBytes(secret);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+  }
+
+  /** Output of the daemon outside of the runs, e.g. of the threads left by the tests. */
+  private static void drain(InputStream stream, String name) {
+    drain(new BufferedReader(new InputStreamReader(stream)), name);
+  }
+
+  private static void drain(BufferedReader reader, String name) {
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                  LOG.debug("Test daemon {}: {}", name, line);
+                }
+              } catch (IOException ignored) {
+              }
+            },
+            "TestDaemonOutput");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Returns a fingerprint of the libraries, the daemon is restarted when it changes. */
+  private static String fingerprint(List<String> libraries) {
+    StringBuilder result = new StringBuilder();
+    for (String library : libraries) {
+      File file = new File(library);
+      result.append(library).append(':').append(file.length()).append(':');
+      result.append(file.lastModified()).append('\n');
+    }
+    return result.toString();
+  }
+
+  private class Daemon {
+    private final Process process;
+    private final int port;
+    private final String fingerprint;
+    private final String secret;
+
+    private volatile boolean busy;
+
+    private Daemon(Process process, int port, String fingerprint, String secret) {
+      this.process = process;
+      this.port = port;
+      this.fingerprint = fingerprint;
+      this.secret = secret;
+    }
+
+    private Process run(JavaParameters parameters, List<String> outputFolders)
+        throws IOException {
+      Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+      try {
+        List<String> urls = new ArrayList<>(outputFolders.size());
+        for (String folder : outputFolders) {
+          urls.add(new File(folder).toURI().toURL().toString());
+        }
+        TestRunnerDaemon.writeRequest(
+            new DataOutputStream(socket.getOutputStream()),
+            secret,
+            parameters.getMainClassName(),
+            parameters.getParametersList().getParameters(),
+            urls);
+        return new DaemonTestProcess(socket, () -> busy = false, this::destroy);
+      } catch (IOException e) {
+        socket.close();
+        throw e;
+      }
+    }
+
+    private boolean isAlive() {
+      return process.isAlive();
+    }
+
+    private void destroy() {
+      process.destroy();
+      synchronized (daemons) {
+        daemons.values().removeIf(future -> future.getNow(null) == this);
+      }
+    }
+  }
+}
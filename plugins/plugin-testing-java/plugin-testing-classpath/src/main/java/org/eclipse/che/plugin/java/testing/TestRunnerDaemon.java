@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Main class of the JVM which stays alive between the test runs of a project. Libraries of the
+ * project and the test frameworks are on the classpath of the JVM, so they are loaded once. Output
+ * folders of the project are loaded by a new class loader for each run, so the run sees the latest
+ * compiled classes.
+ *
+ * <p>The JVM is started with a secret as its only argument and prints {@link #PORT_PREFIX}
+ * followed by the port it accepts runs on. A run is a connection which sends the secret, the main
+ * class, the arguments and the output folders, connections with a wrong secret are closed without
+ * running anything, as any local user is able to connect to the port. The output of the run is
+ * sent back in frames of {@link #STDOUT}, {@link #STDERR} and {@link #EXIT}. Runs are executed one
+ * by one. The main class can't exit the JVM, so it reports a non-zero exit code by setting the
+ * {@link #EXIT_CODE_PROPERTY} system property.
+ *
+ * <p>The class is loaded by the test JVM, so it must use only JDK classes.
+ */
+public class TestRunnerDaemon {
+  /** System property which is set in the daemon JVM. */
+  public static final String DAEMON_PROPERTY = "che.testing.daemon";
+  /** System property which is set by the main class of the run to report its exit code. */
+  public static final String EXIT_CODE_PROPERTY = "che.testing.daemon.exitCode";
+
+  static final String PORT_PREFIX = "@@daemon-port:";
+  static final byte STDOUT = 1;
+  static final byte STDERR = 2;
+  static final byte EXIT = 3;
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: TestRunnerDaemon <secret>");
+      System.exit(1);
+    }
+    String secret = args[0];
+    System.setProperty(DAEMON_PROPERTY, "true");
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      System.out.println(PORT_PREFIX + server.getLocalPort());
+      System.out.flush();
+      while (true) {
+        try (Socket socket = server.accept()) {
+          run(socket, secret);
+        } catch (IOException e) {
+          e.printStackTrace(System.err);
+        }
+      }
+    }
+  }
+
+  /**
+   * Sends a run to the daemon.
+   *
+   * @param out output stream of the connection to the daemon
+   * @param secret secret the daemon was started with
+   * @param mainClass main class of the run
+   * @param args arguments of the main method
+   * @param outputFolders urls of the project output folders
+   */
+  static void writeRequest(
+      DataOutputStream out,
+      String secret,
+      String mainClass,
+      List<String> args,
+      List<String> outputFolders)
+      throws IOException {
+    out.writeUTF(secret);
+    out.writeUTF(mainClass);
+    out.writeInt(args.size());
+    for (String arg : args) {
+      out.writeUTF(arg);
+    }
+    out.writeInt(outputFolders.size());
+    for (String folder : outputFolders) {
+      out.writeUTF(folder);
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads the run from the connection, executes it and sends back its output. The run is ignored
+   * when it doesn't present the given secret.
+   */
+  static void run(Socket socket, String secret) throws IOException {
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] presented = in.readUTF().getBytes(StandardCharsets.UTF_8);
+    if (!MessageDigest.isEqual(presented, secret.getBytes(StandardCharsets.UTF_8))) {
+      System.err.println("Run with a wrong secret is rejected");
+      return;
+    }
+    PrintStream out = System.out;
+    PrintStream err = System.err;
+    try {
+      execute(socket, in);
+    } finally {
+      System.setOut(out);
+      System.setErr(err);
+    }
+  }
+
+  private static void execute(Socket socket, DataInputStream in) throws IOException {
+    String mainClass = in.readUTF();
+    String[] mainArgs = new String[in.readInt()];
+    for (int i = 0; i < mainArgs.length; i++) {
+      mainArgs[i] = in.readUTF();
+    }
+    URL[] urls = new URL[in.readInt()];
+    for (int i = 0; i < urls.length; i++) {
+      urls[i] = new URL(in.readUTF());
+    }
+
+    DataOutputStream frames =
+        new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    PrintStream runOut = new PrintStream(new FrameStream(frames, STDOUT), true);
+    PrintStream runErr = new PrintStream(new FrameStream(frames, STDERR), true);
+    System.setOut(runOut);
+    System.setErr(runErr);
+
+    int[] exitCode = new int[1];
+    System.clearProperty(EXIT_CODE_PROPERTY);
+    try (URLClassLoader loader =
+        new URLClassLoader(urls, TestRunnerDaemon.class.getClassLoader())) {
+      Thread runner =
+          new Thread(
+              () -> {
+                try {
+                  Method main =
+                      Class.forName(mainClass, true, loader).getMethod("main", String[].class);
+                  main.invoke(null, (Object) mainArgs);
+                } catch (InvocationTargetException e) {
+                  e.getCause().printStackTrace(runErr);
+                  exitCode[0] = 1;
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                  e.printStackTrace(runErr);
+                  exitCode[0] = 1;
+                }
+              },
+              "TestRunnerDaemon-run");
+      runner.setContextClassLoader(loader);
+      runner.start();
+      try {
+        runner.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        exitCode[0] = 1;
+      }
+    }
+    if (exitCode[0] == 0) {
+      exitCode[0] = reportedExitCode();
+    }
+
+    runOut.flush();
+    runErr.flush();
+    synchronized (frames) {
+      frames.writeByte(EXIT);
+      frames.writeInt(exitCode[0]);
+      frames.flush();
+    }
+  }
+
+  private static int reportedExitCode() {
+    String reported = System.clearProperty(EXIT_CODE_PROPERTY);
+    if (reported == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(reported);
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+
+  /** Sends everything written to it as frames of the given type. */
+  private static class FrameStream extends OutputStream {
+    private final DataOutputStream frames;
+    private final byte type;
+
+    private FrameStream(DataOutputStream frames, byte type) {
+      this.frames = frames;
+      this.type = type;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      synchronized (frames) {
+        frames.writeByte(type);
+        frames.writeInt(len);
+        frames.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      synchronized (frames) {
+        frames.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.singletonList;
+
+import com.google.inject.name.Named;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits test classes between several JVMs. Classes are balanced by the durations of their previous
+ * runs, the longest classes are assigned first, each one to the least loaded shard. The durations
+ * are saved on stop next to the {@link JavaTestIndex index of tests}, so the first run after
+ * restart is balanced as well.
+ */
+@Singleton
+public class TestShardPlanner {
+  private static final Logger LOG = LoggerFactory.getLogger(TestShardPlanner.class);
+
+  /** Duration assumed for classes which haven't run yet if no class has run yet. */
+  private static final long DEFAULT_DURATION_MS = 1000;
+
+  private static final String DURATIONS_FILE = "test.durations";
+  private static final int FORMAT_VERSION = 1;
+
+  private final int shardCount;
+  private final File durationsDir;
+  private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+  @Inject
+  public TestShardPlanner(
+      @Named("che.testing.java.shards") int shardCount,
+      @Named("che.workspace.metadata") String wsMetadata) {
+    this(shardCount, Paths.get(System.getProperty("user.home"), wsMetadata, "test-index").toFile());
+  }
+
+  TestShardPlanner(int shardCount, File durationsDir) {
+    this.shardCount = Math.max(1, shardCount);
+    this.durationsDir = durationsDir;
+  }
+
+  @PostConstruct
+  void start() {
+    load();
+  }
+
+  @PreDestroy
+  void stop() {
+    save();
+  }
+
+  /** Returns the maximum number of shards. */
+  public int getShardCount() {
+    return shardCount;
+  }
+
+  /**
+   * Splits the test classes between the shards.
+   *
+   * @param testClasses fully qualified names of the test classes
+   * @return non empty lists of the classes, one list per shard
+   */
+  public List<List<String>> plan(List<String> testClasses) {
+    int count = Math.min(shardCount, testClasses.size());
+    if (count <= 1) {
+      return singletonList(testClasses);
+    }
+
+    long unknownDuration = getAverageDuration();
+    List<String> sorted = new ArrayList<>(testClasses);
+    sorted.sort(
+        Comparator.<String>comparingLong(c -> durations.getOrDefault(c, unknownDuration))
+            .reversed());
+
+    List<List<String>> shards = new ArrayList<>(count);
+    long[] loads = new long[count];
+    for (int i = 0; i < count; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (String testClass : sorted) {
+      int lightest = 0;
+      for (int i = 1; i < count; i++) {
+        if (loads[i] < loads[lightest]) {
+          lightest = i;
+        }
+      }
+      shards.get(lightest).add(testClass);
+      loads[lightest] += durations.getOrDefault(testClass, unknownDuration);
+    }
+    return shards;
+  }
+
+  /**
+   * Records the duration of the test class run.
+   *
+   * @param testClass fully qualified name of the test class
+   * @param durationMs duration of all the tests of the class
+   */
+  public void recordDuration(String testClass, long durationMs) {
+    durations.put(testClass, durationMs);
+  }
+
+  private void load() {
+    File file = new File(durationsDir, DURATIONS_FILE);
+    if (!file.isFile()) {
+      return;
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+      if (in.readInt() == FORMAT_VERSION) {
+        @SuppressWarnings("unchecked")
+        Map<String, Long> saved = (Map<String, Long>) in.readObject();
+        durations.putAll(saved);
+      }
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.warn("Can't read durations of tests {}", file, e);
+    }
+  }
+
+  private void save() {
+    File file = new File(durationsDir, DURATIONS_FILE);
+    try {
+      Files.createDirectories(durationsDir.toPath());
+      Path tmp = Files.createTempFile(durationsDir.toPath(), DURATIONS_FILE, ".tmp");
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeObject(new HashMap<>(durations));
+      }
+      Files.move(tmp, file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.warn("Can't save durations of tests {}", file, e);
+    }
+  }
+
+  private long getAverageDuration() {
+    if (durations.isEmpty()) {
+      return DEFAULT_DURATION_MS;
+    }
+    long total = 0;
+    int count = 0;
+    for (long duration : durations.values()) {
+      total += duration;
+      count++;
+    }
+    return count == 0 ? DEFAULT_DURATION_MS : total / count;
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+/** Main class of the runs in the tests of {@link TestRunnerDaemon} and {@link TestDaemonPool}. */
+public class DaemonTestMain {
+
+  public static void main(String[] args) throws Exception {
+    switch (args[0]) {
+      case "print":
+        System.out.println(args[1]);
+        System.err.println(args[2]);
+        break;
+      case "jvm":
+        System.out.println(ManagementFactory.getRuntimeMXBean().getName());
+        break;
+      case "fail":
+        System.setProperty(TestRunnerDaemon.EXIT_CODE_PROPERTY, "2");
+        break;
+      case "wait":
+        while (!new File(args[1]).exists()) {
+          Thread.sleep(10);
+        }
+        break;
+      case "halt":
+        Runtime.getRuntime().halt(1);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown command " + args[0]);
+    }
+  }
+}
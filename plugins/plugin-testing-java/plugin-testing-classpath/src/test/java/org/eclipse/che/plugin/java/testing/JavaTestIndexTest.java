@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Collections.singleton;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.java.testing.JavaTestIndex.TestClasses;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Test for {@link JavaTestIndex} and the search of the indexed tests by {@link JavaTestFinder} */
+@Listeners(value = {MockitoTestNGListener.class})
+public class JavaTestIndexTest {
+
+  private static final String TEST_ANNOTATION = JavaTestAnnotations.TESTNG_TEST.getName();
+  private static final String FRAMEWORK = TEST_ANNOTATION + '\n';
+  private static final String UNIT_PATH = "/project/src/org/eclipse/SomeTest.java";
+
+  @Mock private IJavaProject project;
+  @Mock private ICompilationUnit unit;
+  @Mock private IType type;
+
+  private File indexDir;
+  private JavaTestIndex index;
+  private JavaTestFinder finder;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    indexDir = Files.createTempDirectory("test-index").toFile();
+    index = new JavaTestIndex(indexDir);
+    finder = spy(new JavaTestFinder(index));
+    when(project.getPath()).thenReturn(new Path("/project"));
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    IoUtil.deleteRecursive(indexDir);
+  }
+
+  @Test
+  public void projectIsSearchedOnceAndThenServedFromIndex() throws Exception {
+    mockSearch();
+
+    List<String> first = finder.findClassesInProject(project, TEST_ANNOTATION, "");
+    List<String> second = finder.findClassesInProject(project, TEST_ANNOTATION, "");
+
+    assertThat(first).containsOnly("org.eclipse.SomeTest");
+    assertThat(second).containsOnly("org.eclipse.SomeTest");
+    verify(finder, times(1)).findCandidates(any(IRegion.class), anyString(), anyString());
+  }
+
+  @Test
+  public void changedCompilationUnitIsReadAgainWithoutSearchOfProject() throws Exception {
+    mockSearch();
+    finder.findClassesInProject(project, TEST_ANNOTATION, "");
+
+    // the class became abstract, so it is still a candidate but isn't runnable any more
+    ICompilationUnit changedUnit = mock(ICompilationUnit.class);
+    IType changedType = mockTestType(changedUnit, Flags.AccPublic | Flags.AccAbstract);
+    when(changedUnit.exists()).thenReturn(true);
+    when(changedUnit.getAllTypes()).thenReturn(new IType[] {changedType});
+    doReturn(changedUnit).when(finder).getElement(UNIT_PATH);
+    index.elementChanged(unitChangedEvent());
+
+    List<String> tests = finder.findClassesInProject(project, TEST_ANNOTATION, "");
+
+    assertThat(tests).isEmpty();
+    verify(finder).getElement(UNIT_PATH);
+    verify(finder, times(1)).findCandidates(any(IRegion.class), anyString(), anyString());
+  }
+
+  @Test
+  public void savedIndexIsReusedAfterRestart() throws Exception {
+    when(project.getPackageFragmentRoots()).thenReturn(new IPackageFragmentRoot[0]);
+    TestClasses tests = new TestClasses();
+    tests.candidates.put("org.eclipse.SomeTest", UNIT_PATH);
+    tests.tests.put("org.eclipse.SomeTest", UNIT_PATH);
+    index.put(project, FRAMEWORK, tests);
+    index.save();
+
+    JavaTestIndex restarted = new JavaTestIndex(indexDir);
+    restarted.load();
+    TestClasses loaded = restarted.get(project, FRAMEWORK);
+
+    assertThat(loaded).isNotNull();
+    assertThat(loaded.tests.keySet()).containsOnly("org.eclipse.SomeTest");
+  }
+
+  @Test
+  public void savedIndexIsDroppedIfSourcesWereChangedWhileStopped() throws Exception {
+    when(project.getPackageFragmentRoots()).thenReturn(new IPackageFragmentRoot[0]);
+    TestClasses tests = new TestClasses();
+    tests.tests.put("org.eclipse.SomeTest", UNIT_PATH);
+    index.put(project, FRAMEWORK, tests);
+    index.save();
+
+    File sources = Files.createTempDirectory(indexDir.toPath(), "src").toFile();
+    Files.write(new File(sources, "SomeTest.java").toPath(), "class SomeTest {}".getBytes());
+    IPackageFragmentRoot root = mock(IPackageFragmentRoot.class);
+    IResource rootResource = mock(IResource.class);
+    when(rootResource.getLocation()).thenReturn(new Path(sources.getAbsolutePath()));
+    when(root.getResource()).thenReturn(rootResource);
+    when(root.getPath()).thenReturn(new Path("/project/src"));
+    when(project.getPackageFragmentRoots()).thenReturn(new IPackageFragmentRoot[] {root});
+
+    JavaTestIndex restarted = new JavaTestIndex(indexDir);
+    restarted.load();
+
+    assertThat(restarted.get(project, FRAMEWORK)).isNull();
+  }
+
+  private void mockSearch() throws Exception {
+    when(project.getPackageFragmentRoots()).thenReturn(new IPackageFragmentRoot[0]);
+    when(type.getFullyQualifiedName()).thenReturn("org.eclipse.SomeTest");
+    when(type.getCompilationUnit()).thenReturn(unit);
+    when(type.getFlags()).thenReturn(Flags.AccPublic);
+    when(type.getParent()).thenReturn(unit);
+    when(unit.getPath()).thenReturn(new Path(UNIT_PATH));
+    doReturn(singleton(type))
+        .when(finder)
+        .findCandidates(any(IRegion.class), anyString(), anyString());
+  }
+
+  /** Mocks a class with a test method annotated with the imported test annotation. */
+  private IType mockTestType(ICompilationUnit compilationUnit, int flags) throws Exception {
+    IAnnotation annotation = mock(IAnnotation.class);
+    when(annotation.getElementName()).thenReturn("Test");
+    IMethod method = mock(IMethod.class);
+    when(method.getAnnotations()).thenReturn(new IAnnotation[] {annotation});
+    IImportDeclaration importDeclaration = mock(IImportDeclaration.class);
+    when(importDeclaration.getElementName()).thenReturn(TEST_ANNOTATION);
+    when(compilationUnit.getImports()).thenReturn(new IImportDeclaration[] {importDeclaration});
+
+    IType result = mock(IType.class);
+    when(result.getFullyQualifiedName()).thenReturn("org.eclipse.SomeTest");
+    when(result.getAnnotations()).thenReturn(new IAnnotation[0]);
+    when(result.getMethods()).thenReturn(new IMethod[] {method});
+    when(result.getFlags()).thenReturn(flags);
+    when(result.getParent()).thenReturn(compilationUnit);
+    return result;
+  }
+
+  private ElementChangedEvent unitChangedEvent() {
+    IJavaElement element = mock(IJavaElement.class);
+    when(element.getElementType()).thenReturn(IJavaElement.COMPILATION_UNIT);
+    when(element.getJavaProject()).thenReturn(project);
+    when(element.getPath()).thenReturn(new Path(UNIT_PATH));
+    IJavaElementDelta delta = mock(IJavaElementDelta.class);
+    when(delta.getElement()).thenReturn(element);
+    when(delta.getKind()).thenReturn(IJavaElementDelta.CHANGED);
+    when(delta.getFlags()).thenReturn(IJavaElementDelta.F_CONTENT);
+    return new ElementChangedEvent(delta, ElementChangedEvent.POST_CHANGE);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Test for {@link ShardOutputMerger} and {@link TestShardPlanner} */
+public class ShardOutputMergerTest {
+
+  private static final String ATTACHED = "@@<{\"name\":\"testReporterAttached\"}>";
+  private static final String ROOT =
+      "@@<{\"name\":\"rootName\", \"attributes\":{\"name\":\"Default Suite\"}}>";
+
+  private List<String> output;
+  private File durationsDir;
+  private TestShardPlanner planner;
+  private ShardOutputMerger merger;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    output = new ArrayList<>();
+    durationsDir = Files.createTempDirectory("durations").toFile();
+    planner = new TestShardPlanner(2, durationsDir);
+    merger = new ShardOutputMerger(2, output::add, planner);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    IoUtil.deleteRecursive(durationsDir);
+  }
+
+  @Test
+  public void suitesOfDifferentShardsAreNotInterleaved() throws Exception {
+    merger.accept(0, ATTACHED);
+    merger.accept(0, count(2));
+    merger.accept(1, ATTACHED);
+    merger.accept(1, count(1));
+    merger.accept(0, suiteStarted("a.A"));
+    merger.accept(1, suiteStarted("b.B"));
+    merger.accept(0, test("a1"));
+    merger.accept(1, test("b1"));
+    merger.accept(0, test("a2"));
+    merger.accept(1, suiteFinished("b.B"));
+    merger.accept(0, suiteFinished("a.A"));
+    merger.finish(0);
+    merger.finish(1);
+    merger.close();
+
+    assertThat(output)
+        .isEqualTo(
+            asList(
+                ATTACHED,
+                count(3),
+                suiteStarted("b.B"),
+                test("b1"),
+                suiteFinished("b.B"),
+                suiteStarted("a.A"),
+                test("a1"),
+                test("a2"),
+                suiteFinished("a.A")));
+  }
+
+  @Test
+  public void enclosingSuiteIsSharedByShards() throws Exception {
+    merger.accept(0, ROOT);
+    merger.accept(1, ROOT);
+    merger.accept(0, suiteStarted("project"));
+    merger.accept(0, suiteStarted("a.A"));
+    merger.accept(1, suiteStarted("project"));
+    merger.accept(1, suiteStarted("b.B"));
+    merger.accept(0, suiteFinished("a.A"));
+    merger.accept(0, suiteFinished("project"));
+    merger.accept(1, suiteFinished("b.B"));
+    merger.accept(1, suiteFinished("project"));
+    merger.finish(0);
+    merger.finish(1);
+    merger.close();
+
+    assertThat(output)
+        .isEqualTo(
+            asList(
+                ROOT,
+                suiteStarted("project"),
+                suiteStarted("a.A"),
+                suiteFinished("a.A"),
+                suiteStarted("b.B"),
+                suiteFinished("b.B"),
+                suiteFinished("project")));
+  }
+
+  @Test
+  public void totalsAreSummed() throws Exception {
+    merger.accept(0, "Total tests run: 2, Failures: 1, Skips: 0");
+    merger.accept(1, "Total tests run: 3, Failures: 0, Skips: 1");
+    merger.finish(0);
+    merger.finish(1);
+    merger.close();
+
+    assertThat(output).isEqualTo(asList("Total tests run: 5, Failures: 1, Skips: 1"));
+  }
+
+  @Test
+  public void classesAreBalancedByRecordedDurations() throws Exception {
+    planner.recordDuration("a.Slow", 10_000);
+    planner.recordDuration("a.Fast1", 1_000);
+    planner.recordDuration("a.Fast2", 1_000);
+    planner.recordDuration("a.Fast3", 1_000);
+
+    List<List<String>> shards = planner.plan(asList("a.Fast1", "a.Fast2", "a.Slow", "a.Fast3"));
+
+    assertThat(shards)
+        .isEqualTo(asList(asList("a.Slow"), asList("a.Fast1", "a.Fast2", "a.Fast3")));
+  }
+
+  @Test
+  public void recordedDurationsAreRestoredAfterRestart() throws Exception {
+    planner.recordDuration("a.Slow", 10_000);
+    planner.recordDuration("a.Fast1", 1_000);
+    planner.recordDuration("a.Fast2", 1_000);
+    planner.stop();
+
+    TestShardPlanner restarted = new TestShardPlanner(2, durationsDir);
+    restarted.start();
+    List<List<String>> shards = restarted.plan(asList("a.Fast1", "a.Fast2", "a.Slow"));
+
+    assertThat(shards).isEqualTo(asList(asList("a.Slow"), asList("a.Fast1", "a.Fast2")));
+  }
+
+  private static String count(int count) {
+    return "@@<{\"name\":\"testCount\", \"attributes\":{\"count\":\"" + count + "\"}}>";
+  }
+
+  private static String suiteStarted(String name) {
+    return "@@<{\"name\":\"testSuiteStarted\", \"attributes\":{\"name\":\""
+        + name
+        + "\", \"location\":\"java:test://"
+        + name
+        + "\"}}>";
+  }
+
+  private static String suiteFinished(String name) {
+    return "@@<{\"name\":\"testSuiteFinished\", \"attributes\":{\"name\":\"" + name + "\"}}>";
+  }
+
+  private static String test(String name) {
+    return "@@<{\"name\":\"testStarted\", \"attributes\":{\"name\":\"" + name + "\"}}>";
+  }
+}
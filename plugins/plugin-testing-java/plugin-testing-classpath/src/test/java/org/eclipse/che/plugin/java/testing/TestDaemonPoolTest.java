@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import com.google.common.io.CharStreams;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.jar.JarOutputStream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.execution.JavaParameters;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Test for {@link TestDaemonPool}, runs the daemons in real JVMs. */
+public class TestDaemonPoolTest {
+
+  private File workDir;
+  private TestDaemonPool pool;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workDir = Files.createTempDirectory("test-daemon").toFile();
+    pool = new TestDaemonPool(true);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    pool.stop();
+    IoUtil.deleteRecursive(workDir);
+  }
+
+  @Test
+  public void daemonIsReusedBetweenRuns() throws Exception {
+    String jvm = runInDaemon(parameters("jvm"));
+
+    assertEquals(runInDaemon(parameters("jvm")), jvm);
+  }
+
+  @Test
+  public void runsInNewJvmWhenDaemonIsBusy() throws Exception {
+    File release = new File(workDir, "release");
+    Process running = runOrWait(parameters("wait", release.getAbsolutePath()));
+    try {
+      assertNull(pool.run(parameters("jvm")));
+    } finally {
+      Files.createFile(release.toPath());
+    }
+
+    assertEquals(running.waitFor(), 0);
+  }
+
+  @Test
+  public void daemonIsStartedAgainWhenItDied() throws Exception {
+    String jvm = runInDaemon(parameters("jvm"));
+    runOrWait(parameters("halt")).waitFor();
+
+    assertNotEquals(runInDaemon(parameters("jvm")), jvm);
+  }
+
+  @Test
+  public void daemonIsRestartedWhenLibrariesChange() throws Exception {
+    File library = new File(workDir, "library.jar");
+    new JarOutputStream(new FileOutputStream(library)).close();
+    JavaParameters parameters = parameters("jvm");
+    parameters.getClassPath().add(library.getAbsolutePath());
+    String jvm = runInDaemon(parameters);
+
+    library.setLastModified(library.lastModified() + 10_000);
+
+    assertNotEquals(runInDaemon(parameters), jvm);
+  }
+
+  @Test
+  public void projectClassesAreLoadedAgainForEachRun() throws Exception {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new SkipException("Java compiler is not available");
+    }
+    File classes = new File(workDir, "classes");
+    JavaParameters parameters = parameters();
+    parameters.setMainClassName("Probe");
+    parameters.getClassPath().add(classes.getAbsolutePath());
+
+    compileProbe(compiler, classes, "first");
+    assertEquals(runInDaemon(parameters).trim(), "first");
+    compileProbe(compiler, classes, "second");
+    assertEquals(runInDaemon(parameters).trim(), "second");
+  }
+
+  @Test
+  public void exitCodeOfFailedRunIsReported() throws Exception {
+    assertEquals(runOrWait(parameters("fail")).waitFor(), 2);
+  }
+
+  private JavaParameters parameters(String... args) {
+    JavaParameters parameters = new JavaParameters();
+    parameters.setJavaExecutable(System.getProperty("java.home") + "/bin/java");
+    parameters.setWorkingDirectory(workDir.getAbsolutePath());
+    parameters.setMainClassName(DaemonTestMain.class.getName());
+    parameters.getClassPath().add(ClasspathUtil.getJarPathForClass(DaemonTestMain.class));
+    for (String arg : args) {
+      parameters.getParametersList().add(arg);
+    }
+    return parameters;
+  }
+
+  /** Runs in the daemon and returns the output of the run. */
+  private String runInDaemon(JavaParameters parameters) throws Exception {
+    Process process = runOrWait(parameters);
+    String output = CharStreams.toString(new InputStreamReader(process.getInputStream(), UTF_8));
+    assertEquals(process.waitFor(), 0);
+    return output;
+  }
+
+  /**
+   * Runs in the daemon. A daemon which has just died is found out when connecting to it, then the
+   * pool tells to run in a new JVM, the next run starts a new daemon.
+   */
+  private Process runOrWait(JavaParameters parameters) throws Exception {
+    Process process = pool.run(parameters);
+    for (int i = 0; process == null && i < 10; i++) {
+      Thread.sleep(100);
+      process = pool.run(parameters);
+    }
+    assertNotNull(process);
+    return process;
+  }
+
+  private void compileProbe(JavaCompiler compiler, File classes, String output) throws Exception {
+    File source = new File(workDir, "Probe.java");
+    String code =
+        "public class Probe {\n"
+            + "  public static void main(String[] args) {\n"
+            + "    System.out.println(\""
+            + output
+            + "\");\n"
+            + "  }\n"
+            + "}\n";
+    Files.write(source.toPath(), code.getBytes(UTF_8));
+    Files.createDirectories(classes.toPath());
+    assertEquals(
+        compiler.run(null, null, null, "-d", classes.getAbsolutePath(), source.getAbsolutePath()),
+        0);
+  }
+}
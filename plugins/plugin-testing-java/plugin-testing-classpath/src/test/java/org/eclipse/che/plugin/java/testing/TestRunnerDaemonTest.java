@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.io.CharStreams;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Test for the protocol between {@link TestRunnerDaemon} and {@link DaemonTestProcess} */
+public class TestRunnerDaemonTest {
+
+  private static final String SECRET = "secret";
+
+  private ServerSocket server;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    server.close();
+  }
+
+  @Test
+  public void outputOfRunIsSentInFrames() throws Exception {
+    Process process = startRun("print", "to out", "to err");
+
+    assertEquals(read(process.getInputStream()), "to out" + System.lineSeparator());
+    assertEquals(read(process.getErrorStream()), "to err" + System.lineSeparator());
+    assertEquals(process.waitFor(), 0);
+  }
+
+  @Test
+  public void exitCodeReportedByMainClassIsSent() throws Exception {
+    Process process = startRun("fail");
+
+    assertEquals(process.waitFor(), 2);
+    assertNull(System.getProperty(TestRunnerDaemon.EXIT_CODE_PROPERTY));
+  }
+
+  @Test
+  public void exceptionOfMainClassIsSentAsFailure() throws Exception {
+    Process process = startRun("unknown");
+
+    assertTrue(read(process.getErrorStream()).contains("Unknown command unknown"));
+    assertEquals(process.waitFor(), 1);
+  }
+
+  @Test
+  public void runWithWrongSecretIsNotExecuted() throws Exception {
+    Process process = startRun("wrong secret", "print", "to out", "to err");
+
+    assertEquals(read(process.getInputStream()), "");
+    assertEquals(read(process.getErrorStream()), "");
+    assertEquals(process.waitFor(), 1);
+  }
+
+  private Process startRun(String... args) throws Exception {
+    return startRun(SECRET, args);
+  }
+
+  private Process startRun(String secret, String... args) throws Exception {
+    executor.submit(
+        () -> {
+          try (Socket socket = server.accept()) {
+            TestRunnerDaemon.run(socket, SECRET);
+          }
+          return null;
+        });
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+    List<String> mainArgs = asList(args);
+    TestRunnerDaemon.writeRequest(
+        new DataOutputStream(socket.getOutputStream()),
+        secret,
+        DaemonTestMain.class.getName(),
+        mainArgs,
+        emptyList());
+    return new DaemonTestProcess(socket, () -> {}, () -> {});
+  }
+
+  private static String read(InputStream in) throws Exception {
+    return CharStreams.toString(new InputStreamReader(in, UTF_8));
+  }
+}
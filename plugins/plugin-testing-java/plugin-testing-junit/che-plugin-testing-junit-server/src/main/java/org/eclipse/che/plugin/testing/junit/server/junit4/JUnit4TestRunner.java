@@ -20,7 +20,6 @@ import org.eclipse.che.api.testing.shared.TestExecutionContext;
 import org.eclipse.che.api.testing.shared.TestResult;
 import org.eclipse.che.api.testing.shared.dto.TestResultDto;
 import org.eclipse.che.api.testing.shared.dto.TestResultRootDto;
-import org.eclipse.che.commons.lang.execution.CommandLine;
 import org.eclipse.che.commons.lang.execution.ExecutionException;
 import org.eclipse.che.commons.lang.execution.JavaParameters;
 import org.eclipse.che.commons.lang.execution.ProcessHandler;
@@ -30,6 +29,8 @@ import org.eclipse.che.plugin.java.testing.ClasspathUtil;
 import org.eclipse.che.plugin.java.testing.JavaTestAnnotations;
 import org.eclipse.che.plugin.java.testing.JavaTestFinder;
 import org.eclipse.che.plugin.java.testing.ProjectClasspathProvider;
+import org.eclipse.che.plugin.java.testing.TestDaemonPool;
+import org.eclipse.che.plugin.java.testing.TestShardPlanner;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -53,8 +54,10 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
   public JUnit4TestRunner(
       @Named("che.user.workspaces.storage") String workspacePath,
       JavaTestFinder javaTestFinder,
-      ProjectClasspathProvider classpathProvider) {
-    super(workspacePath, javaTestFinder);
+      ProjectClasspathProvider classpathProvider,
+      TestShardPlanner shardPlanner,
+      TestDaemonPool daemonPool) {
+    super(workspacePath, javaTestFinder, shardPlanner, daemonPool);
     this.workspacePath = workspacePath;
     this.javaTestFinder = javaTestFinder;
     this.classpathProvider = classpathProvider;
@@ -99,6 +102,28 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
   }
 
   private ProcessHandler startTestProcess(IJavaProject javaProject, TestExecutionContext context) {
+    List<String> suite =
+        findTests(
+            context,
+            javaProject,
+            JavaTestAnnotations.JUNIT4X_TEST.getName(),
+            JavaTestAnnotations.JUNIT4X_RUN_WITH.getName());
+
+    List<JavaParameters> parameters = new ArrayList<>();
+    for (List<String> shard : splitTests(context, suite)) {
+      parameters.add(createParameters(javaProject, context, shard));
+    }
+    try {
+      return new ProcessHandler(createProcess(parameters, null));
+    } catch (ExecutionException e) {
+      LOG.error("Can't run JUnit JVM", e);
+    }
+
+    return null;
+  }
+
+  private JavaParameters createParameters(
+      IJavaProject javaProject, TestExecutionContext context, List<String> suite) {
     JavaParameters parameters = new JavaParameters();
     parameters.setJavaExecutable(System.getProperty("java.home") + "/bin/java");
     parameters.setMainClassName(MAIN_CLASS_NAME);
@@ -110,12 +135,6 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
     classPath.add(ClasspathUtil.getJarPathForClass(CheJUnitCoreRunner.class));
     parameters.getClassPath().addAll(classPath);
 
-    List<String> suite =
-        findTests(
-            context,
-            javaProject,
-            JavaTestAnnotations.JUNIT4X_TEST.getName(),
-            JavaTestAnnotations.JUNIT4X_RUN_WITH.getName());
     for (String element : suite) {
       parameters.getParametersList().add(element);
     }
@@ -126,14 +145,7 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
           .getVmParameters()
           .add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=" + getDebugPort());
     }
-    CommandLine command = parameters.createCommand();
-    try {
-      return new ProcessHandler(command.createProcess());
-    } catch (ExecutionException e) {
-      LOG.error("Can't run JUnit JVM", e);
-    }
-
-    return null;
+    return parameters;
   }
 
   @Override
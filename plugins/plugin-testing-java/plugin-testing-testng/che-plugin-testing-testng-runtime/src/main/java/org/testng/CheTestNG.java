@@ -18,6 +18,10 @@ import org.testng.xml.XmlSuite;
 
 /** Class for running tests in the TestNG framework. */
 public class CheTestNG extends TestNG {
+  /** System property which is set in the JVM which runs the tests again. */
+  private static final String DAEMON_PROPERTY = "che.testing.daemon";
+  /** System property the daemon reads the exit code of the run from. */
+  private static final String DAEMON_EXIT_CODE_PROPERTY = "che.testing.daemon.exitCode";
 
   @Override
   public void run() {
@@ -33,11 +37,19 @@ public class CheTestNG extends TestNG {
       } else {
         addCheListeners();
         super.run();
-        System.exit(0);
+        // the JVM which runs the tests again must stay alive, it reports the status instead
+        if (Boolean.getBoolean(DAEMON_PROPERTY)) {
+          System.setProperty(DAEMON_EXIT_CODE_PROPERTY, String.valueOf(getStatus()));
+        } else {
+          System.exit(0);
+        }
       }
 
     } catch (Throwable throwable) {
       throwable.printStackTrace(System.err);
+      if (Boolean.getBoolean(DAEMON_PROPERTY)) {
+        System.setProperty(DAEMON_EXIT_CODE_PROPERTY, "1");
+      }
     }
   }
 
@@ -18,6 +18,7 @@ import com.beust.jcommander.JCommander;
 import com.google.inject.name.Named;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -33,7 +34,7 @@ import org.eclipse.che.api.testing.shared.TestResult;
 import org.eclipse.che.api.testing.shared.dto.TestResultDto;
 import org.eclipse.che.api.testing.shared.dto.TestResultRootDto;
 import org.eclipse.che.commons.annotation.Nullable;
-import org.eclipse.che.commons.lang.execution.CommandLine;
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.execution.ExecutionException;
 import org.eclipse.che.commons.lang.execution.JavaParameters;
 import org.eclipse.che.commons.lang.execution.ProcessHandler;
@@ -42,6 +43,8 @@ import org.eclipse.che.plugin.java.testing.ClasspathUtil;
 import org.eclipse.che.plugin.java.testing.JavaTestAnnotations;
 import org.eclipse.che.plugin.java.testing.JavaTestFinder;
 import org.eclipse.che.plugin.java.testing.ProjectClasspathProvider;
+import org.eclipse.che.plugin.java.testing.TestDaemonPool;
+import org.eclipse.che.plugin.java.testing.TestShardPlanner;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -56,6 +59,7 @@ public class TestNGRunner extends AbstractJavaTestRunner {
   private static final String TESTNG_NAME = "testng";
   private static final Logger LOG = LoggerFactory.getLogger(TestNGRunner.class);
   private static final String JAVA_IO_TMPDIR = "java.io.tmpdir";
+  private static final String SHARD_DIR_PREFIX = "che-testng-shard-";
 
   private String workspacePath;
   private JavaTestFinder javaTestFinder;
@@ -67,8 +71,10 @@ public class TestNGRunner extends AbstractJavaTestRunner {
       @Named("che.user.workspaces.storage") String workspacePath,
       JavaTestFinder javaTestFinder,
       ProjectClasspathProvider classpathProvider,
-      TestNGSuiteUtil suiteUtil) {
-    super(workspacePath, javaTestFinder);
+      TestNGSuiteUtil suiteUtil,
+      TestShardPlanner shardPlanner,
+      TestDaemonPool daemonPool) {
+    super(workspacePath, javaTestFinder, shardPlanner, daemonPool);
     this.workspacePath = workspacePath;
     this.javaTestFinder = javaTestFinder;
     this.classpathProvider = classpathProvider;
@@ -106,11 +112,30 @@ public class TestNGRunner extends AbstractJavaTestRunner {
   }
 
   private ProcessHandler startTestProcess(IJavaProject javaProject, TestExecutionContext context) {
-    File suiteFile = createSuite(context, javaProject);
-    if (suiteFile == null) {
-      throw new RuntimeException("Can't create TestNG suite xml file.");
+    List<File> shardDirs = new ArrayList<>();
+    List<JavaParameters> parameters = new ArrayList<>();
+    try {
+      for (File suiteFile : createSuites(context, javaProject, shardDirs)) {
+        if (suiteFile == null) {
+          throw new RuntimeException("Can't create TestNG suite xml file.");
+        }
+        parameters.add(createParameters(javaProject, context, suiteFile));
+      }
+    } catch (RuntimeException e) {
+      deleteShardDirs(shardDirs);
+      throw e;
+    }
+    try {
+      return new ProcessHandler(createProcess(parameters, () -> deleteShardDirs(shardDirs)));
+    } catch (ExecutionException e) {
+      LOG.error("Can't run TestNG JVM", e);
     }
 
+    return null;
+  }
+
+  private JavaParameters createParameters(
+      IJavaProject javaProject, TestExecutionContext context, File suiteFile) {
     JavaParameters parameters = new JavaParameters();
     parameters.setJavaExecutable(System.getProperty("java.home") + "/bin/java");
     parameters.setMainClassName("org.testng.CheTestNGLauncher");
@@ -132,31 +157,64 @@ public class TestNGRunner extends AbstractJavaTestRunner {
           .getVmParameters()
           .add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=" + getDebugPort());
     }
-    CommandLine command = parameters.createCommand();
-    try {
-      return new ProcessHandler(command.createProcess());
-    } catch (ExecutionException e) {
-      LOG.error("Can't run TestNG JVM", e);
-    }
+    return parameters;
+  }
 
-    return null;
+  private static void deleteShardDirs(List<File> shardDirs) {
+    for (File shardDir : shardDirs) {
+      if (!IoUtil.deleteRecursive(shardDir)) {
+        LOG.warn("Can't delete directory {} of the shard suite", shardDir);
+      }
+    }
   }
 
-  private File createSuite(TestExecutionContext context, IJavaProject javaProject) {
+  /**
+   * Writes the suites of the tests, one per each JVM.
+   *
+   * @param shardDirs receives the directories of the shard suites, they should be deleted when the
+   *     tests are finished
+   */
+  private List<File> createSuites(
+      TestExecutionContext context, IJavaProject javaProject, List<File> shardDirs) {
     String filePath = context.getFilePath();
     if (!isNullOrEmpty(filePath) && filePath.endsWith(".xml")) {
       String path =
           filePath.substring(javaProject.getPath().toString().length(), filePath.length());
       IFile file = javaProject.getProject().getFile(path);
-      return suiteUtil.writeSuite(System.getProperty(JAVA_IO_TMPDIR), file);
+      return singletonList(suiteUtil.writeSuite(System.getProperty(JAVA_IO_TMPDIR), file));
     }
     List<String> testSuite =
         findTests(context, javaProject, JavaTestAnnotations.TESTNG_TEST.getName(), "");
 
-    Map<String, List<String>> classes = buildTestNgSuite(testSuite, context);
+    List<List<String>> shards = splitTests(context, testSuite);
+    if (shards.size() == 1) {
+      Map<String, List<String>> classes = buildTestNgSuite(testSuite, context);
+      return singletonList(
+          suiteUtil.writeSuite(
+              System.getProperty(JAVA_IO_TMPDIR), javaProject.getElementName(), classes));
+    }
 
-    return suiteUtil.writeSuite(
-        System.getProperty(JAVA_IO_TMPDIR), javaProject.getElementName(), classes);
+    // suites of all the shards have the same name, so their classes are shown in one suite
+    List<File> suites = new ArrayList<>(shards.size());
+    for (int i = 0; i < shards.size(); i++) {
+      File shardDir;
+      try {
+        // unique per run, so concurrent runs don't overwrite the suites of each other
+        shardDir = Files.createTempDirectory(SHARD_DIR_PREFIX + i + "-").toFile();
+      } catch (IOException e) {
+        LOG.error("Can't create directory for the suite of shard {}", i, e);
+        suites.add(null);
+        continue;
+      }
+      shardDirs.add(shardDir);
+      File suiteFile =
+          suiteUtil.writeSuite(
+              shardDir.getAbsolutePath(),
+              javaProject.getElementName(),
+              createContainerSuite(shards.get(i)));
+      suites.add(suiteFile);
+    }
+    return suites;
   }
 
   private Map<String, List<String>> buildTestNgSuite(
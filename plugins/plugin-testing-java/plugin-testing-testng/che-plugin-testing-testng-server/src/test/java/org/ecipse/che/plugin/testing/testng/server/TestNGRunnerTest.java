@@ -29,6 +29,8 @@ import org.eclipse.che.jdt.core.resources.ResourceChangedEvent;
 import org.eclipse.che.plugin.java.testing.ClasspathUtil;
 import org.eclipse.che.plugin.java.testing.JavaTestFinder;
 import org.eclipse.che.plugin.java.testing.ProjectClasspathProvider;
+import org.eclipse.che.plugin.java.testing.TestDaemonPool;
+import org.eclipse.che.plugin.java.testing.TestShardPlanner;
 import org.eclipse.che.plugin.testing.testng.server.TestNGRunner;
 import org.eclipse.che.plugin.testing.testng.server.TestNGSuiteUtil;
 import org.eclipse.core.runtime.Path;
@@ -60,7 +62,12 @@ public class TestNGRunnerTest extends BaseTest {
 
     runner =
         new TestNGRunner(
-            "", testNGTestFinder, new ProjectClasspathProvider(""), new TestNGSuiteUtil());
+            "",
+            testNGTestFinder,
+            new ProjectClasspathProvider(""),
+            new TestNGSuiteUtil(),
+            mock(TestShardPlanner.class),
+            mock(TestDaemonPool.class));
   }
 
   @Test()
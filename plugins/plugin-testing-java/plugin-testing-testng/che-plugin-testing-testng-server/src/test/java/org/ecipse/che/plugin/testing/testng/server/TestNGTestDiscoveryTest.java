@@ -14,12 +14,18 @@ import static org.ecipse.che.plugin.testing.testng.server.TestSetUpUtil.addSourc
 import static org.ecipse.che.plugin.testing.testng.server.TestSetUpUtil.createJavaProject;
 import static org.ecipse.che.plugin.testing.testng.server.TestSetUpUtil.getTestNgClassPath;
 import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import java.util.List;
 import org.eclipse.che.api.testing.shared.TestDetectionContext;
 import org.eclipse.che.api.testing.shared.TestPosition;
 import org.eclipse.che.plugin.java.testing.JavaTestFinder;
+import org.eclipse.che.plugin.java.testing.JavaTestIndex;
+import org.eclipse.che.plugin.java.testing.ProjectClasspathProvider;
+import org.eclipse.che.plugin.java.testing.TestDaemonPool;
+import org.eclipse.che.plugin.java.testing.TestShardPlanner;
 import org.eclipse.che.plugin.testing.testng.server.TestNGRunner;
+import org.eclipse.che.plugin.testing.testng.server.TestNGSuiteUtil;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
@@ -38,7 +44,7 @@ public class TestNGTestDiscoveryTest extends BaseTest {
   @BeforeMethod
   public void setUp() throws Exception {
     javaProject = createJavaProject("testDiscovery", "bin");
-    testNGTestFinder = new JavaTestFinder();
+    testNGTestFinder = new JavaTestFinder(mock(JavaTestIndex.class));
     IPackageFragmentRoot packageFragmentRoot = addSourceContainer(javaProject, "src", "bin");
     javaProject.setRawClasspath(getTestNgClassPath("/testDiscovery/src"), null);
 
@@ -67,7 +73,7 @@ public class TestNGTestDiscoveryTest extends BaseTest {
         packageFragment.createCompilationUnit("T.java", buf.toString(), false, null);
 
     compilationUnit.reconcile(0, true, DefaultWorkingCopyOwner.PRIMARY, null);
-    TestNGRunner runner = new TestNGRunner("", testNGTestFinder, null, null);
+    TestNGRunner runner = newRunner();
 
     List<TestPosition> testPositions =
         runner.detectTests(
@@ -98,7 +104,7 @@ public class TestNGTestDiscoveryTest extends BaseTest {
         packageFragment.createCompilationUnit("T.java", buf.toString(), false, null);
 
     compilationUnit.reconcile(0, true, DefaultWorkingCopyOwner.PRIMARY, null);
-    TestNGRunner runner = new TestNGRunner("", testNGTestFinder, null, null);
+    TestNGRunner runner = newRunner();
 
     List<TestPosition> testPositions =
         runner.detectTests(
@@ -124,7 +130,7 @@ public class TestNGTestDiscoveryTest extends BaseTest {
         packageFragment.createCompilationUnit("T.java", buf.toString(), false, null);
 
     compilationUnit.reconcile(0, true, DefaultWorkingCopyOwner.PRIMARY, null);
-    TestNGRunner runner = new TestNGRunner("", testNGTestFinder, null, null);
+    TestNGRunner runner = newRunner();
 
     List<TestPosition> testPositions =
         runner.detectTests(
@@ -151,7 +157,7 @@ public class TestNGTestDiscoveryTest extends BaseTest {
         packageFragment.createCompilationUnit("T.java", buf.toString(), false, null);
 
     compilationUnit.reconcile(0, true, DefaultWorkingCopyOwner.PRIMARY, null);
-    TestNGRunner runner = new TestNGRunner("", testNGTestFinder, null, null);
+    TestNGRunner runner = newRunner();
 
     List<TestPosition> testPositions =
         runner.detectTests(
@@ -177,7 +183,7 @@ public class TestNGTestDiscoveryTest extends BaseTest {
         packageFragment.createCompilationUnit("T.java", buf.toString(), false, null);
 
     compilationUnit.reconcile(0, true, DefaultWorkingCopyOwner.PRIMARY, null);
-    TestNGRunner runner = new TestNGRunner("", testNGTestFinder, null, null);
+    TestNGRunner runner = newRunner();
 
     List<TestPosition> testPositions =
         runner.detectTests(
@@ -222,4 +228,14 @@ public class TestNGTestDiscoveryTest extends BaseTest {
     @Override
     public void setOffset(int offset) {}
   }
+
+  private TestNGRunner newRunner() {
+    return new TestNGRunner(
+        "",
+        testNGTestFinder,
+        new ProjectClasspathProvider(""),
+        new TestNGSuiteUtil(),
+        mock(TestShardPlanner.class),
+        mock(TestDaemonPool.class));
+  }
 }
@@ -20,4 +20,10 @@ public interface Breakpoint {
 
   /** The condition. */
   String getCondition();
+
+  /**
+   * The number of hits after which the breakpoint suspends the execution once, or 0 if it suspends
+   * on every hit.
+   */
+  int getHitCount();
 }
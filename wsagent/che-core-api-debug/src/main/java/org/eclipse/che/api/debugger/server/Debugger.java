@@ -244,6 +244,32 @@ public interface Debugger {
     return Collections.emptyList();
   }
 
+  /**
+   * Gets the states of all threads without their frames, which are fetched on demand with {@link
+   * #getStackFrames(long, int, int)}.
+   *
+   * @return snapshot of the state of all threads
+   * @throws DebuggerException if any error occur
+   */
+  default List<ThreadState> getThreadSummaries() throws DebuggerException {
+    return getThreadDump();
+  }
+
+  /**
+   * Gets the window of the frames of the suspended thread. Frames contain only their locations,
+   * values are fetched on demand with {@link #getStackFrameDump(long, int)}.
+   *
+   * @param threadId the thread unique id
+   * @param start index of the first frame, the top frame has index 0
+   * @param count maximum number of the frames
+   * @return the frames of the thread from the given index
+   * @throws DebuggerException if any error occur
+   */
+  default List<StackFrameDump> getStackFrames(long threadId, int start, int count)
+      throws DebuggerException {
+    throw new DebuggerException("Unsupported operation for current debugger implementation.");
+  }
+
   /** Is used to send back any events to client. */
   interface DebuggerCallback {
     void onEvent(DebuggerEvent event);
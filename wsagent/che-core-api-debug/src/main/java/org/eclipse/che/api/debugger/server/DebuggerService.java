@@ -191,12 +191,33 @@ public class DebuggerService {
   @GET
   @Path("{id}/threaddump")
   @Produces(MediaType.APPLICATION_JSON)
-  public List<ThreadStateDto> getThreadDump(@PathParam("id") String sessionId)
+  public List<ThreadStateDto> getThreadDump(
+      @PathParam("id") String sessionId,
+      @QueryParam("frames") @DefaultValue("true") boolean withFrames)
       throws DebuggerException {
-    List<ThreadState> threadStates = debuggerManager.getDebugger(sessionId).getThreadDump();
+    Debugger debugger = debuggerManager.getDebugger(sessionId);
+    List<ThreadState> threadStates =
+        withFrames ? debugger.getThreadDump() : debugger.getThreadSummaries();
     return threadStates.stream().map(DtoConverter::asDto).collect(Collectors.toList());
   }
 
+  @GET
+  @Path("{id}/threaddump/{thread}/frames")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<StackFrameDumpDto> getStackFrames(
+      @PathParam("id") String sessionId,
+      @PathParam("thread") long threadId,
+      @QueryParam("start") @DefaultValue("0") int start,
+      @QueryParam("count") @DefaultValue("20") int count)
+      throws DebuggerException {
+    return debuggerManager
+        .getDebugger(sessionId)
+        .getStackFrames(threadId, start, count)
+        .stream()
+        .map(DtoConverter::asDto)
+        .collect(Collectors.toList());
+  }
+
   @GET
   @Path("{id}/value")
   @Produces(MediaType.APPLICATION_JSON)
@@ -72,6 +72,7 @@ public final class DtoConverter {
   public static BreakpointDto asDto(Breakpoint breakpoint) {
     return newDto(BreakpointDto.class)
         .withCondition(breakpoint.getCondition())
+        .withHitCount(breakpoint.getHitCount())
         .withEnabled(breakpoint.isEnabled())
         .withLocation(asDto(breakpoint.getLocation()));
   }
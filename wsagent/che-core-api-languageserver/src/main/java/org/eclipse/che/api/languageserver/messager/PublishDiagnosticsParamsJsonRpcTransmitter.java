@@ -10,40 +10,74 @@
  */
 package org.eclipse.che.api.languageserver.messager;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedPublishDiagnosticsParamsDto;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Transmits 'textDocument/publishDiagnostics' over the JSON-RPC */
+/**
+ * Transmits 'textDocument/publishDiagnostics' over the JSON-RPC.
+ *
+ * <p>The latest diagnostics are kept per language server and document, diagnostics which are
+ * republished without changes are not transmitted. Each endpoint receives at most one
+ * 'textDocument/publishDiagnostics/batch' notification per delivery interval, the batch contains
+ * only the latest diagnostics of each document changed since the previous one. A newly subscribed
+ * endpoint receives the latest diagnostics of all the documents in its first batch.
+ */
 @Singleton
 public class PublishDiagnosticsParamsJsonRpcTransmitter {
-  private final Set<String> endpointIds = new CopyOnWriteArraySet<>();
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PublishDiagnosticsParamsJsonRpcTransmitter.class);
+
+  private final RequestTransmitter requestTransmitter;
+  private final long deliveryIntervalMs;
+  private final ScheduledExecutorService executor;
+  private final Map<String, LatestDiagnostics> latest = new ConcurrentHashMap<>();
+  private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+  @Inject
+  public PublishDiagnosticsParamsJsonRpcTransmitter(
+      RequestTransmitter requestTransmitter,
+      @Named("che.languageserver.diagnostics.delivery_interval_ms") long deliveryIntervalMs) {
+    this.requestTransmitter = requestTransmitter;
+    this.deliveryIntervalMs = deliveryIntervalMs;
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setNameFormat("PublishDiagnostics-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    executor.setRemoveOnCancelPolicy(true);
+    this.executor = executor;
+  }
 
   @Inject
-  private void subscribe(EventService eventService, RequestTransmitter requestTransmitter) {
-    eventService.subscribe(
-        event -> {
-          PublishDiagnosticsParams params = event.getParams();
-          if (params.getUri() != null) {
-            params.setUri(params.getUri().substring(16));
-          }
-          endpointIds.forEach(
-              endpointId ->
-                  requestTransmitter
-                      .newRequest()
-                      .endpointId(endpointId)
-                      .methodName("textDocument/publishDiagnostics")
-                      .paramsAsDto(new ExtendedPublishDiagnosticsParamsDto(event))
-                      .sendAndSkipResult());
-        },
-        ExtendedPublishDiagnosticsParams.class);
+  private void subscribe(EventService eventService) {
+    eventService.subscribe(this::publish, ExtendedPublishDiagnosticsParams.class);
   }
 
   @Inject
@@ -53,7 +87,7 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/subscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::add);
+        .withConsumer(this::addEndpoint);
   }
 
   @Inject
@@ -63,6 +97,103 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/unsubscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::remove);
+        .withConsumer(endpoints::remove);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** Synchronized with {@link #publish} so the endpoint doesn't get older diagnostics last. */
+  synchronized void addEndpoint(String endpointId) {
+    Endpoint endpoint = new Endpoint(endpointId);
+    if (endpoints.putIfAbsent(endpointId, endpoint) == null) {
+      latest.forEach((key, diagnostics) -> endpoint.add(key, diagnostics.dto));
+    }
+  }
+
+  synchronized void publish(ExtendedPublishDiagnosticsParams event) {
+    PublishDiagnosticsParams params = event.getParams();
+    if (params.getUri() != null) {
+      params.setUri(params.getUri().substring(16));
+    }
+    String key = event.getLanguageServerId() + ' ' + params.getUri();
+    List<Diagnostic> diagnostics =
+        params.getDiagnostics() == null ? emptyList() : params.getDiagnostics();
+    LatestDiagnostics previous = latest.get(key);
+    if (diagnostics.isEmpty()) {
+      // absent diagnostics are the same as empty ones, no need to keep them
+      if (previous == null) {
+        return;
+      }
+      latest.remove(key);
+    } else if (previous != null && diagnostics.equals(previous.diagnostics)) {
+      return;
+    }
+    ExtendedPublishDiagnosticsParamsDto dto = new ExtendedPublishDiagnosticsParamsDto(event);
+    if (!diagnostics.isEmpty()) {
+      latest.put(key, new LatestDiagnostics(diagnostics, dto));
+    }
+    endpoints.values().forEach(endpoint -> endpoint.add(key, dto));
+  }
+
+  /** Sends the batch of diagnostics to the endpoint. */
+  void send(String endpointId, List<ExtendedPublishDiagnosticsParamsDto> batch) {
+    requestTransmitter
+        .newRequest()
+        .endpointId(endpointId)
+        .methodName("textDocument/publishDiagnostics/batch")
+        .paramsAsListOfDto(batch)
+        .sendAndSkipResult();
+  }
+
+  /** The latest diagnostics of a document published by a language server. */
+  private static class LatestDiagnostics {
+    final List<Diagnostic> diagnostics;
+    final ExtendedPublishDiagnosticsParamsDto dto;
+
+    LatestDiagnostics(List<Diagnostic> diagnostics, ExtendedPublishDiagnosticsParamsDto dto) {
+      this.diagnostics = diagnostics;
+      this.dto = dto;
+    }
+  }
+
+  /** Diagnostics pending delivery to a single endpoint, the latest ones per document. */
+  private class Endpoint {
+    final String id;
+    final Map<String, ExtendedPublishDiagnosticsParamsDto> pending = new LinkedHashMap<>();
+    ScheduledFuture<?> scheduled;
+    long lastSentMs;
+
+    Endpoint(String id) {
+      this.id = id;
+    }
+
+    synchronized void add(String key, ExtendedPublishDiagnosticsParamsDto diagnostics) {
+      pending.remove(key);
+      pending.put(key, diagnostics);
+      if (scheduled == null && !executor.isShutdown()) {
+        long delay = Math.max(0, lastSentMs + deliveryIntervalMs - System.currentTimeMillis());
+        scheduled = executor.schedule(this::flush, delay, MILLISECONDS);
+      }
+    }
+
+    void flush() {
+      List<ExtendedPublishDiagnosticsParamsDto> batch;
+      synchronized (this) {
+        batch = new ArrayList<>(pending.values());
+        pending.clear();
+        scheduled = null;
+        lastSentMs = System.currentTimeMillis();
+      }
+      if (!batch.isEmpty() && endpoints.get(id) == this) {
+        try {
+          send(id, batch);
+        } catch (RuntimeException x) {
+          LOG.error("Couldn't publish diagnostics to endpoint '{}'", id, x);
+        }
+      }
+    }
   }
 }
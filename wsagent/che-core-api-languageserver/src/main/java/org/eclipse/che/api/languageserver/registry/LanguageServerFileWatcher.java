@@ -10,57 +10,84 @@
  */
 package org.eclipse.che.api.languageserver.registry;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.prefixURI;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.FileChangeType;
 import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.services.LanguageServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Implement <a
  * href="https://github.com/Microsoft/language-server-protocol/blob/master/protocol.md#workspace_didChangeWatchedFiles">DidChangeWatchedFiles
  * Notification</a>
+ *
+ * <p>File events are buffered per server during the configured window and sent as a single
+ * notification, only the last event of a path is kept. Batch size is limited, events which don't
+ * fit into a batch are sent with the next one.
  */
 @Singleton
 public class LanguageServerFileWatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(LanguageServerFileWatcher.class);
 
   private final FileWatcherManager watcherManager;
+  private final long batchWindowMs;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService executor;
 
   private CopyOnWriteArrayList<Integer> watcherIds = new CopyOnWriteArrayList<>();
 
   @Inject
   public LanguageServerFileWatcher(
-      FileWatcherManager watcherManager, ServerInitializer serverInitializer) {
+      FileWatcherManager watcherManager,
+      ServerInitializer serverInitializer,
+      @Named("che.languageserver.watched_files.batch_window_ms") long batchWindowMs,
+      @Named("che.languageserver.watched_files.max_batch_size") int maxBatchSize) {
     this.watcherManager = watcherManager;
+    this.batchWindowMs = batchWindowMs;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("LanguageServerFileWatcher-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
     serverInitializer.addObserver(this::onServerInitialized);
   }
 
-  private void send(LanguageServer server, String filePath, FileChangeType changeType) {
-    DidChangeWatchedFilesParams params =
-        new DidChangeWatchedFilesParams(
-            Collections.singletonList(new FileEvent(prefixURI(filePath), changeType)));
-    server.getWorkspaceService().didChangeWatchedFiles(params);
-  }
-
   @PreDestroy
   @VisibleForTesting
   public void removeAllWatchers() {
     for (Integer watcherId : watcherIds) {
       watcherManager.unRegisterByMatcher(watcherId);
     }
+    executor.shutdownNow();
   }
 
   private void onServerInitialized(
@@ -70,16 +97,68 @@ public class LanguageServerFileWatcher {
       String projectPath) {
     LanguageServerDescription description = launcher.getDescription();
     FileSystem fileSystem = FileSystems.getDefault();
+    PendingEvents pendingEvents = new PendingEvents(server);
     for (String pattern : description.getFileWatchPatterns()) {
       PathMatcher matcher = fileSystem.getPathMatcher(pattern);
       int watcherId =
           watcherManager.registerByMatcher(
               matcher,
-              s -> send(server, s, FileChangeType.Created),
-              s -> send(server, s, FileChangeType.Changed),
-              s -> send(server, s, FileChangeType.Deleted));
+              s -> pendingEvents.add(s, FileChangeType.Created),
+              s -> pendingEvents.add(s, FileChangeType.Changed),
+              s -> pendingEvents.add(s, FileChangeType.Deleted));
 
       watcherIds.add(watcherId);
     }
   }
+
+  /** File events of a single server which are not sent yet. */
+  private class PendingEvents {
+    private final LanguageServer server;
+    private final Map<String, FileChangeType> events;
+
+    private ScheduledFuture<?> scheduledFlush;
+
+    private PendingEvents(LanguageServer server) {
+      this.server = server;
+      this.events = new LinkedHashMap<>();
+    }
+
+    private synchronized void add(String filePath, FileChangeType changeType) {
+      FileChangeType previous = events.remove(filePath);
+      // file created within the window is still new for the server
+      if (previous == FileChangeType.Created && changeType == FileChangeType.Changed) {
+        changeType = FileChangeType.Created;
+      }
+      events.put(filePath, changeType);
+      if (scheduledFlush == null) {
+        long delay = events.size() >= maxBatchSize ? 0 : batchWindowMs;
+        scheduledFlush = executor.schedule(this::flush, delay, MILLISECONDS);
+      } else if (events.size() == maxBatchSize) {
+        scheduledFlush.cancel(false);
+        scheduledFlush = executor.schedule(this::flush, 0, MILLISECONDS);
+      }
+    }
+
+    private void flush() {
+      List<FileEvent> batch = new ArrayList<>();
+      synchronized (this) {
+        Iterator<Map.Entry<String, FileChangeType>> it = events.entrySet().iterator();
+        while (it.hasNext() && batch.size() < maxBatchSize) {
+          Map.Entry<String, FileChangeType> event = it.next();
+          batch.add(new FileEvent(prefixURI(event.getKey()), event.getValue()));
+          it.remove();
+        }
+        scheduledFlush =
+            events.isEmpty() ? null : executor.schedule(this::flush, 0, MILLISECONDS);
+      }
+      if (batch.isEmpty()) {
+        return;
+      }
+      try {
+        server.getWorkspaceService().didChangeWatchedFiles(new DidChangeWatchedFilesParams(batch));
+      } catch (RuntimeException x) {
+        LOG.error("Couldn't send watched files changes to language server", x);
+      }
+    }
+  }
 }
@@ -10,6 +10,11 @@
  */
 package org.eclipse.che.api.languageserver.registry;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -20,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -43,6 +49,8 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public class LanguageServerRegistryImpl implements LanguageServerRegistry {
   private static final Logger LOG = LoggerFactory.getLogger(LanguageServerRegistryImpl.class);
+  private static final int ROUTES_CACHE_SIZE = 2048;
+
   private final List<LanguageDescription> languages;
   private final List<LanguageServerLauncher> launchers;
   private final AtomicInteger serverId = new AtomicInteger();
@@ -50,8 +58,15 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
   /** Started {@link LanguageServer} by project. */
   private final Map<String, List<LanguageServerLauncher>> launchedServers;
 
+  /**
+   * Initialized servers by project. Lists are never modified but replaced under the lock of this
+   * map, so they can be read without locking.
+   */
   private final Map<String, List<InitializedLanguageServer>> initializedServers;
 
+  /** Ranked servers by (project, language, file), see {@link #getApplicableLanguageServers}. */
+  private final Cache<List<String>, Route> routes;
+
   private final Provider<ProjectManager> projectManagerProvider;
   private final ServerInitializer initializer;
   private EventService eventService;
@@ -72,7 +87,8 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
     this.eventService = eventService;
     this.clientFactory = clientFactory;
     this.launchedServers = new HashMap<>();
-    this.initializedServers = new HashMap<>();
+    this.initializedServers = new ConcurrentHashMap<>();
+    this.routes = CacheBuilder.newBuilder().maximumSize(ROUTES_CACHE_SIZE).build();
   }
 
   private LanguageDescription findLanguage(String path) {
@@ -125,9 +141,8 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
               .thenAccept(
                   pair -> {
                     synchronized (initializedServers) {
-                      List<InitializedLanguageServer> initialized =
-                          initializedServers.computeIfAbsent(projectPath, k -> new ArrayList<>());
-                      initialized.add(
+                      addInitializedServer(
+                          projectPath,
                           new InitializedLanguageServer(id, pair.first, pair.second, launcher));
                       requiredToLaunch.remove(launcher);
                       initializedServers.notifyAll();
@@ -231,6 +246,12 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
     return LanguageServiceUtils.prefixURI(fileEntry.getProject());
   }
 
+  /**
+   * Returns servers applicable for the given file grouped by match score, highest score first.
+   *
+   * <p>Ranking is cached per project, language and file and is recomputed only when the set of
+   * project servers changes, so the method doesn't block on the registry lock.
+   */
   public List<Collection<InitializedLanguageServer>> getApplicableLanguageServers(String fileUri)
       throws LanguageServerException {
     String projectPath = extractProjectPath(fileUri);
@@ -239,35 +260,50 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
       return Collections.emptyList();
     }
 
-    Map<Integer, List<InitializedLanguageServer>> result = new HashMap<>();
-
-    List<InitializedLanguageServer> servers = null;
-    synchronized (initializedServers) {
-      List<InitializedLanguageServer> list = initializedServers.get(projectPath);
-      if (list == null) {
-        return Collections.emptyList();
-      }
-      servers = new ArrayList<InitializedLanguageServer>(list);
+    List<InitializedLanguageServer> servers = initializedServers.get(projectPath);
+    if (servers == null) {
+      return Collections.emptyList();
+    }
+    List<String> key = asList(projectPath, language.getLanguageId(), fileUri);
+    Route route = routes.getIfPresent(key);
+    // servers list is replaced on each modification, so identity check is enough
+    if (route == null || route.servers != servers) {
+      route = new Route(servers, rank(servers, fileUri, language.getLanguageId()));
+      routes.put(key, route);
     }
+    return route.ranked;
+  }
+
+  private List<Collection<InitializedLanguageServer>> rank(
+      List<InitializedLanguageServer> servers, String fileUri, String languageId) {
+    Map<Integer, List<InitializedLanguageServer>> result = new HashMap<>();
     for (InitializedLanguageServer server : servers) {
-      int score =
-          matchScore(server.getLauncher().getDescription(), fileUri, language.getLanguageId());
+      int score = matchScore(server.getLauncher().getDescription(), fileUri, languageId);
       if (score > 0) {
-        List<InitializedLanguageServer> list = result.get(score);
-        if (list == null) {
-          list = new ArrayList<>();
-          result.put(score, list);
-        }
-        list.add(server);
+        result.computeIfAbsent(score, k -> new ArrayList<>()).add(server);
       }
     }
     // sort lists highest score first
-    return result
-        .entrySet()
-        .stream()
-        .sorted((left, right) -> right.getKey() - left.getKey())
-        .map(entry -> entry.getValue())
-        .collect(Collectors.toList());
+    List<Collection<InitializedLanguageServer>> ranked =
+        result
+            .entrySet()
+            .stream()
+            .sorted((left, right) -> right.getKey() - left.getKey())
+            .map(entry -> unmodifiableList(entry.getValue()))
+            .collect(Collectors.toList());
+    return unmodifiableList(ranked);
+  }
+
+  /** Must be called under the lock of {@link #initializedServers}. */
+  private void addInitializedServer(String projectPath, InitializedLanguageServer server) {
+    List<InitializedLanguageServer> servers = new ArrayList<>();
+    List<InitializedLanguageServer> existing = initializedServers.get(projectPath);
+    if (existing != null) {
+      servers.addAll(existing);
+    }
+    servers.add(server);
+    initializedServers.put(projectPath, unmodifiableList(servers));
+    routes.invalidateAll();
   }
 
   private int matchScore(LanguageServerDescription desc, String path, String languageId) {
@@ -291,8 +327,8 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
         if (pattern.equals(path)) {
           return 10;
         }
-        Pattern regex = Pattern.compile(pattern);
-        if (regex.matcher(path).matches()) {
+        Pattern regex = filter.getPathPattern();
+        if (regex != null && regex.matcher(path).matches()) {
           match = Math.max(match, 5);
         }
       }
@@ -355,4 +391,17 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry {
     }
     return null;
   }
+
+  /** Servers ranking computed for a certain list of project servers. */
+  private static class Route {
+    final List<InitializedLanguageServer> servers;
+    final List<Collection<InitializedLanguageServer>> ranked;
+
+    Route(
+        List<InitializedLanguageServer> servers,
+        List<Collection<InitializedLanguageServer>> ranked) {
+      this.servers = servers;
+      this.ranked = ranked;
+    }
+  }
 }
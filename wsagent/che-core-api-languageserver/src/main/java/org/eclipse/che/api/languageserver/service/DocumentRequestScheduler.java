@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules language server traffic of documents.
+ *
+ * <p>Position based requests of the same kind for a document supersede each other: when a newer
+ * request comes the previous one is cancelled, which sends {@code $/cancelRequest} to the language
+ * servers which still process it.
+ *
+ * <p>Notifications about a document are sent to each language server in the order they come, but
+ * not from the request processing thread. When a server doesn't keep up, incremental {@code
+ * didChange} notifications which wait to be sent are merged into a single notification. Position
+ * based requests {@link #flush(String) flush} notifications of the document first, so servers
+ * answer them against the latest content.
+ */
+@Singleton
+public class DocumentRequestScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(DocumentRequestScheduler.class);
+
+  private final ConcurrentMap<String, CompletableFuture<?>> latestRequests;
+  private final ConcurrentMap<String, NotificationQueue> notificationQueues;
+  private final ThreadPoolExecutor executor;
+
+  public DocumentRequestScheduler() {
+    this.latestRequests = new ConcurrentHashMap<>();
+    this.notificationQueues = new ConcurrentHashMap<>();
+    // queues of other documents wait while all the threads are busy
+    int threads = Runtime.getRuntime().availableProcessors();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("LanguageServerNotifications-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Registers the request as the latest request of the given kind for the document and cancels the
+   * previous one if it is still running.
+   *
+   * @param uri document uri
+   * @param method kind of the request, e.g. {@code completion}
+   * @param request future which cancels language server requests when it is cancelled
+   */
+  public void supersede(String uri, String method, CompletableFuture<?> request) {
+    String key = method + ':' + uri;
+    CompletableFuture<?> previous = latestRequests.put(key, request);
+    if (previous != null && previous != request) {
+      previous.cancel(true);
+    }
+    request.whenComplete((result, error) -> latestRequests.remove(key, request));
+  }
+
+  /**
+   * Sends {@code didChange} notification to the server after the notifications about the document
+   * which are not sent yet. If the previous notification is {@code didChange} which is not sent yet
+   * the changes are merged into it.
+   */
+  public void didChange(InitializedLanguageServer server, DidChangeTextDocumentParams params) {
+    enqueue(server, params.getTextDocument().getUri(), new Notification(params));
+  }
+
+  /** Sends notification to the server after the notifications about the document not sent yet. */
+  public void notify(
+      InitializedLanguageServer server, String uri, Consumer<TextDocumentService> notification) {
+    enqueue(server, uri, new Notification(notification));
+  }
+
+  /**
+   * Sends the notifications about the document which are not sent yet from the calling thread,
+   * waiting for the notifications which are being sent at the moment.
+   *
+   * @param uri document uri
+   */
+  public void flush(String uri) {
+    for (Map.Entry<String, NotificationQueue> entry : notificationQueues.entrySet()) {
+      if (entry.getValue().uri.equals(uri)) {
+        drain(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void enqueue(InitializedLanguageServer server, String uri, Notification notification) {
+    String key = server.getId() + ':' + uri;
+    NotificationQueue[] created = new NotificationQueue[1];
+    notificationQueues.compute(
+        key,
+        (k, queue) -> {
+          if (queue == null) {
+            queue = created[0] = new NotificationQueue(uri, server);
+          }
+          queue.add(notification);
+          return queue;
+        });
+    if (created[0] != null) {
+      NotificationQueue queue = created[0];
+      executor.execute(() -> drain(key, queue));
+    }
+  }
+
+  /** Notifications of the queue are polled and sent under its lock, so they keep the order. */
+  private void drain(String key, NotificationQueue queue) {
+    synchronized (queue.sendLock) {
+      TextDocumentService service = queue.server.getServer().getTextDocumentService();
+      Notification next;
+      while ((next = poll(key, queue)) != null) {
+        try {
+          next.send(service);
+        } catch (RuntimeException x) {
+          LOG.error("Error trying to send notification to language server", x);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes the queue when it is empty, so the next notification starts a new drain. The queue
+   * might be already drained by {@link #flush(String)} and replaced by a new one, which is kept.
+   */
+  private Notification poll(String key, NotificationQueue queue) {
+    Notification[] next = new Notification[1];
+    notificationQueues.compute(
+        key,
+        (k, current) -> {
+          next[0] = queue.poll();
+          return next[0] == null && current == queue ? null : current;
+        });
+    return next[0];
+  }
+
+  /** Notifications which wait to be sent, accessed only within atomic operations of the map. */
+  private static class NotificationQueue {
+    private final Deque<Notification> notifications = new ArrayDeque<>();
+    private final Object sendLock = new Object();
+    private final String uri;
+    private final InitializedLanguageServer server;
+
+    NotificationQueue(String uri, InitializedLanguageServer server) {
+      this.uri = uri;
+      this.server = server;
+    }
+
+    void add(Notification notification) {
+      Notification last = notifications.peekLast();
+      if (last != null && last.change != null && notification.change != null) {
+        last.merge(notification.change);
+      } else {
+        notifications.add(notification);
+      }
+    }
+
+    Notification poll() {
+      return notifications.poll();
+    }
+  }
+
+  private static class Notification {
+    private DidChangeTextDocumentParams change;
+    private final Consumer<TextDocumentService> notification;
+
+    Notification(DidChangeTextDocumentParams change) {
+      this.change = change;
+      this.notification = null;
+    }
+
+    Notification(Consumer<TextDocumentService> notification) {
+      this.change = null;
+      this.notification = notification;
+    }
+
+    void send(TextDocumentService service) {
+      if (change != null) {
+        service.didChange(change);
+      } else {
+        notification.accept(service);
+      }
+    }
+
+    /**
+     * Appends changes of the next notification, changes before a full text change are dropped. The
+     * params are shared between the servers, so merged changes are kept in a new instance.
+     */
+    void merge(DidChangeTextDocumentParams next) {
+      List<TextDocumentContentChangeEvent> changes = new ArrayList<>(change.getContentChanges());
+      for (TextDocumentContentChangeEvent event : next.getContentChanges()) {
+        if (event.getRange() == null) {
+          changes.clear();
+        }
+        changes.add(event);
+      }
+      DidChangeTextDocumentParams merged = new DidChangeTextDocumentParams();
+      merged.setTextDocument(next.getTextDocument());
+      merged.setUri(next.getUri());
+      merged.setContentChanges(changes);
+      change = merged;
+    }
+  }
+}
@@ -19,9 +19,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,6 +41,7 @@ import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.SignatureHel
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.SymbolInformationDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.TextEditDto;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedCompletionItem;
+import org.eclipse.che.api.languageserver.util.FuturePromise;
 import org.eclipse.che.api.languageserver.util.LSOperation;
 import org.eclipse.che.api.languageserver.util.OperationUtil;
 import org.eclipse.lsp4j.CodeActionParams;
@@ -66,6 +64,7 @@ import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,12 +80,16 @@ public class TextDocumentService {
 
   private final LanguageServerRegistry languageServerRegistry;
   private final RequestHandlerConfigurator requestHandler;
+  private final DocumentRequestScheduler scheduler;
 
   @Inject
   public TextDocumentService(
-      LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+      LanguageServerRegistry languageServerRegistry,
+      RequestHandlerConfigurator requestHandler,
+      DocumentRequestScheduler scheduler) {
     this.languageServerRegistry = languageServerRegistry;
     this.requestHandler = requestHandler;
+    this.scheduler = scheduler;
   }
 
   @PostConstruct
@@ -120,7 +123,7 @@ public class TextDocumentService {
     dtoToDto(
         "documentHighlight",
         TextDocumentPositionParams.class,
-        DocumentHighlight.class,
+        DocumentHighlightDto.class,
         this::documentHighlight);
     dtoToDto(
         "completion",
@@ -140,10 +143,11 @@ public class TextDocumentService {
     dtoToNothing("didSave", DidSaveTextDocumentParams.class, this::didSave);
   }
 
-  private List<CommandDto> codeAction(CodeActionParams params) {
+  private CompletableFuture<List<CommandDto>> codeAction(CodeActionParams params) {
     TextDocumentIdentifier textDocument = params.getTextDocument();
     String uri = prefixURI(textDocument.getUri());
     textDocument.setUri(uri);
+    scheduler.flush(uri);
     List<CommandDto> result = new ArrayList<>();
     try {
       List<InitializedLanguageServer> servers =
@@ -174,19 +178,19 @@ public class TextDocumentService {
               return false;
             };
           };
-      OperationUtil.doInParallel(servers, op, 10000);
-      return result;
+      return OperationUtil.doInParallel(servers, op, 10000).thenApply(v -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private ExtendedCompletionListDto completion(
+  private CompletableFuture<ExtendedCompletionListDto> completion(
       TextDocumentPositionParams textDocumentPositionParams) {
     try {
       TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
       String uri = prefixURI(textDocument.getUri());
       textDocument.setUri(uri);
+      scheduler.flush(uri);
       textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
       ExtendedCompletionListDto[] result = new ExtendedCompletionListDto[1];
 
@@ -201,63 +205,57 @@ public class TextDocumentService {
             @Override
             public CompletableFuture<ExtendedCompletionListDto> start(
                 Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    ExtendedCompletionListDto res = new ExtendedCompletionListDto();
-                    List<ExtendedCompletionItem> items = new ArrayList<>();
-                    res.setItems(items);
-                    LSOperation<
-                            InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
-                        op2 =
-                            new LSOperation<
-                                InitializedLanguageServer,
-                                Either<List<CompletionItem>, CompletionList>>() {
-
-                              @Override
-                              public boolean canDo(InitializedLanguageServer element) {
-                                return element
-                                        .getInitializeResult()
-                                        .getCapabilities()
-                                        .getCompletionProvider()
-                                    != null;
-                              }
-
-                              @Override
-                              public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
-                                  start(InitializedLanguageServer element) {
-                                return element
-                                    .getServer()
-                                    .getTextDocumentService()
-                                    .completion(textDocumentPositionParams);
-                              }
-
-                              @Override
-                              public boolean handleResult(
-                                  InitializedLanguageServer element,
-                                  Either<List<CompletionItem>, CompletionList> result) {
-                                List<CompletionItem> itemList;
-                                if (result.isRight()) {
-                                  res.setInComplete(
-                                      res.isInComplete() && result.getRight().isIncomplete());
-                                  itemList = result.getRight().getItems();
-                                } else {
-                                  itemList = result.getLeft();
-                                }
-
-                                for (CompletionItem item : itemList) {
-                                  ExtendedCompletionItemDto exItem =
-                                      new ExtendedCompletionItemDto();
-                                  exItem.setItem(new CompletionItemDto(item));
-                                  exItem.setLanguageServerId(element.getId());
-                                  items.add(exItem);
-                                }
-                                return false;
-                              }
-                            };
-                    OperationUtil.doInParallel(element, op2, 30000);
-
-                    return res;
-                  });
+              ExtendedCompletionListDto res = new ExtendedCompletionListDto();
+              List<ExtendedCompletionItem> items = new ArrayList<>();
+              res.setItems(items);
+              LSOperation<InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
+                  op2 =
+                      new LSOperation<
+                          InitializedLanguageServer,
+                          Either<List<CompletionItem>, CompletionList>>() {
+
+                        @Override
+                        public boolean canDo(InitializedLanguageServer element) {
+                          return element
+                                  .getInitializeResult()
+                                  .getCapabilities()
+                                  .getCompletionProvider()
+                              != null;
+                        }
+
+                        @Override
+                        public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
+                            start(InitializedLanguageServer element) {
+                          return element
+                              .getServer()
+                              .getTextDocumentService()
+                              .completion(textDocumentPositionParams);
+                        }
+
+                        @Override
+                        public boolean handleResult(
+                            InitializedLanguageServer element,
+                            Either<List<CompletionItem>, CompletionList> result) {
+                          List<CompletionItem> itemList;
+                          if (result.isRight()) {
+                            res.setInComplete(
+                                res.isInComplete() && result.getRight().isIncomplete());
+                            itemList = result.getRight().getItems();
+                          } else {
+                            itemList = result.getLeft();
+                          }
+
+                          for (CompletionItem item : itemList) {
+                            ExtendedCompletionItemDto exItem = new ExtendedCompletionItemDto();
+                            exItem.setItem(new CompletionItemDto(item));
+                            exItem.setLanguageServerId(element.getId());
+                            items.add(exItem);
+                          }
+                          return false;
+                        }
+                      };
+              return OperationUtil.thenApply(
+                  OperationUtil.doInParallel(element, op2, 30000), v -> res);
             }
 
             @Override
@@ -267,17 +265,21 @@ public class TextDocumentService {
               return !list.getItems().isEmpty();
             }
           };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-      return result[0];
+      CompletableFuture<Void> operation =
+          OperationUtil.doInSequence(
+              languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
+      scheduler.supersede(uri, "completion", operation);
+      return operation.thenApply(v -> result[0]);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
+  private CompletableFuture<List<SymbolInformationDto>> documentSymbol(
+      DocumentSymbolParams documentSymbolParams) {
     String uri = prefixURI(documentSymbolParams.getTextDocument().getUri());
     documentSymbolParams.getTextDocument().setUri(uri);
+    scheduler.flush(uri);
     List<SymbolInformationDto> result = new ArrayList<>();
     try {
       List<InitializedLanguageServer> servers =
@@ -286,47 +288,48 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getDocumentSymbolProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends SymbolInformation>> start(
-                InitializedLanguageServer element) {
-              return element
-                  .getServer()
-                  .getTextDocumentService()
-                  .documentSymbol(documentSymbolParams);
-            }
-
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends SymbolInformation> locations) {
-              locations.forEach(
-                  o -> {
-                    o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
-                    result.add(new SymbolInformationDto(o));
-                  });
-              return true;
-            }
-          },
-          10000);
-      return result;
-
+      return OperationUtil.doInParallel(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getDocumentSymbolProvider());
+                }
+
+                @Override
+                public CompletableFuture<List<? extends SymbolInformation>> start(
+                    InitializedLanguageServer element) {
+                  return element
+                      .getServer()
+                      .getTextDocumentService()
+                      .documentSymbol(documentSymbolParams);
+                }
+
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element,
+                    List<? extends SymbolInformation> locations) {
+                  locations.forEach(
+                      o -> {
+                        o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
+                        result.add(new SymbolInformationDto(o));
+                      });
+                  return true;
+                }
+              },
+              10000)
+          .thenApply(v -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<LocationDto> references(ReferenceParams referenceParams) {
+  private CompletableFuture<List<LocationDto>> references(ReferenceParams referenceParams) {
     String uri = prefixURI(referenceParams.getTextDocument().getUri());
     referenceParams.getTextDocument().setUri(uri);
+    scheduler.flush(uri);
     List<LocationDto> result = new ArrayList<>();
     try {
       List<InitializedLanguageServer> servers =
@@ -335,43 +338,45 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getReferencesProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends Location>> start(
-                InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().references(referenceParams);
-            }
-
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Location> locations) {
-              locations.forEach(
-                  o -> {
-                    o.setUri(removePrefixUri(o.getUri()));
-                    result.add(new LocationDto(o));
-                  });
-              return true;
-            }
-          },
-          30000);
-      return result;
+      return OperationUtil.doInParallel(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getReferencesProvider());
+                }
+
+                @Override
+                public CompletableFuture<List<? extends Location>> start(
+                    InitializedLanguageServer element) {
+                  return element.getServer().getTextDocumentService().references(referenceParams);
+                }
+
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element, List<? extends Location> locations) {
+                  locations.forEach(
+                      o -> {
+                        o.setUri(removePrefixUri(o.getUri()));
+                        result.add(new LocationDto(o));
+                      });
+                  return true;
+                }
+              },
+              30000)
+          .thenApply(v -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<List<LocationDto>> definition(
+      TextDocumentPositionParams textDocumentPositionParams) {
     String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
     textDocumentPositionParams.getTextDocument().setUri(uri);
+    scheduler.flush(uri);
     try {
       List<InitializedLanguageServer> servers =
           languageServerRegistry
@@ -380,68 +385,68 @@ public class TextDocumentService {
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
       List<LocationDto> result = new ArrayList<>();
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getDefinitionProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends Location>> start(
-                InitializedLanguageServer element) {
-              return element
-                  .getServer()
-                  .getTextDocumentService()
-                  .definition(textDocumentPositionParams);
-            }
-
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Location> locations) {
-              locations.forEach(
-                  o -> {
-                    o.setUri(removePrefixUri(o.getUri()));
-                    result.add(new LocationDto(o));
-                  });
-              return true;
-            }
-          },
-          30000);
-      return result;
+      return OperationUtil.doInParallel(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getDefinitionProvider());
+                }
+
+                @Override
+                public CompletableFuture<List<? extends Location>> start(
+                    InitializedLanguageServer element) {
+                  return element
+                      .getServer()
+                      .getTextDocumentService()
+                      .definition(textDocumentPositionParams);
+                }
+
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element, List<? extends Location> locations) {
+                  locations.forEach(
+                      o -> {
+                        o.setUri(removePrefixUri(o.getUri()));
+                        result.add(new LocationDto(o));
+                      });
+                  return true;
+                }
+              },
+              30000)
+          .thenApply(v -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private ExtendedCompletionItemDto completionItemResolve(ExtendedCompletionItem unresolved) {
-    try {
-      InitializedLanguageServer server =
-          languageServerRegistry.getServer(unresolved.getLanguageServerId());
-
-      if (server != null) {
-        ExtendedCompletionItem res = new ExtendedCompletionItem();
-        res.setItem(
-            server
-                .getServer()
-                .getTextDocumentService()
-                .resolveCompletionItem(unresolved.getItem())
-                .get());
-        res.setLanguageServerId(unresolved.getLanguageServerId());
-        return new ExtendedCompletionItemDto(res);
-      }
-      return new ExtendedCompletionItemDto(unresolved);
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+  private CompletableFuture<ExtendedCompletionItemDto> completionItemResolve(
+      ExtendedCompletionItem unresolved) {
+    InitializedLanguageServer server =
+        languageServerRegistry.getServer(unresolved.getLanguageServerId());
+
+    if (server == null) {
+      return CompletableFuture.completedFuture(new ExtendedCompletionItemDto(unresolved));
     }
+    return server
+        .getServer()
+        .getTextDocumentService()
+        .resolveCompletionItem(unresolved.getItem())
+        .thenApply(
+            item -> {
+              ExtendedCompletionItem res = new ExtendedCompletionItem();
+              res.setItem(item);
+              res.setLanguageServerId(unresolved.getLanguageServerId());
+              return new ExtendedCompletionItemDto(res);
+            });
   }
 
-  private HoverDto hover(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<HoverDto> hover(TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
+    scheduler.flush(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
     HoverDto result = new HoverDto();
     result.setContents(new ArrayList<>());
@@ -453,39 +458,43 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, Hover>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(element.getInitializeResult().getCapabilities().getHoverProvider());
-            }
-
-            @Override
-            public CompletableFuture<Hover> start(InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().hover(positionParams);
-            }
-
-            @Override
-            public boolean handleResult(InitializedLanguageServer element, Hover hover) {
-              if (hover != null) {
-                HoverDto hoverDto = new HoverDto(hover);
-                result.getContents().addAll(hoverDto.getContents());
-              }
-              return true;
-            }
-          },
-          10000);
-      return result;
+      CompletableFuture<Void> operation =
+          OperationUtil.doInParallel(
+              servers,
+              new LSOperation<InitializedLanguageServer, Hover>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(element.getInitializeResult().getCapabilities().getHoverProvider());
+                }
+
+                @Override
+                public CompletableFuture<Hover> start(InitializedLanguageServer element) {
+                  return element.getServer().getTextDocumentService().hover(positionParams);
+                }
+
+                @Override
+                public boolean handleResult(InitializedLanguageServer element, Hover hover) {
+                  if (hover != null) {
+                    HoverDto hoverDto = new HoverDto(hover);
+                    result.getContents().addAll(hoverDto.getContents());
+                  }
+                  return true;
+                }
+              },
+              10000);
+      scheduler.supersede(uri, "hover", operation);
+      return operation.thenApply(v -> result);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<SignatureHelpDto> signatureHelp(
+      TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
+    scheduler.flush(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
     SignatureHelpDto[] result = new SignatureHelpDto[1];
     try {
@@ -518,17 +527,20 @@ public class TextDocumentService {
               return false;
             }
           };
-      OperationUtil.doInSequence(servers, op, 10000);
-      return result[0];
+      CompletableFuture<Void> operation = OperationUtil.doInSequence(servers, op, 10000);
+      scheduler.supersede(uri, "signatureHelp", operation);
+      return operation.thenApply(v -> result[0]);
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
+  private CompletableFuture<List<TextEditDto>> formatting(
+      DocumentFormattingParams documentFormattingParams) {
     try {
       String uri = prefixURI(documentFormattingParams.getTextDocument().getUri());
       documentFormattingParams.getTextDocument().setUri(uri);
+      scheduler.flush(uri);
       InitializedLanguageServer server =
           languageServerRegistry
               .getApplicableLanguageServers(uri)
@@ -541,31 +553,25 @@ public class TextDocumentService {
                               .getCapabilities()
                               .getDocumentFormattingProvider()))
               .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .formatting(documentFormattingParams)
-              .get(5000, TimeUnit.MILLISECONDS)
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-
-    } catch (InterruptedException
-        | ExecutionException
-        | LanguageServerException
-        | TimeoutException e) {
+              .orElse(null);
+      if (server == null) {
+        return CompletableFuture.completedFuture(Collections.emptyList());
+      }
+      return OperationUtil.withTimeout(
+              server.getServer().getTextDocumentService().formatting(documentFormattingParams),
+              5000)
+          .thenApply(TextDocumentService::toTextEditDtos);
+    } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<TextEditDto> rangeFormatting(
+  private CompletableFuture<List<TextEditDto>> rangeFormatting(
       DocumentRangeFormattingParams documentRangeFormattingParams) {
     try {
       String uri = prefixURI(documentRangeFormattingParams.getTextDocument().getUri());
       documentRangeFormattingParams.getTextDocument().setUri(uri);
+      scheduler.flush(uri);
       InitializedLanguageServer server =
           languageServerRegistry
               .getApplicableLanguageServers(uri)
@@ -578,27 +584,26 @@ public class TextDocumentService {
                               .getCapabilities()
                               .getDocumentRangeFormattingProvider()))
               .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .rangeFormatting(documentRangeFormattingParams)
-              .get()
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-    } catch (InterruptedException | ExecutionException | LanguageServerException e) {
+              .orElse(null);
+      if (server == null) {
+        return CompletableFuture.completedFuture(Collections.emptyList());
+      }
+      return server
+          .getServer()
+          .getTextDocumentService()
+          .rangeFormatting(documentRangeFormattingParams)
+          .thenApply(TextDocumentService::toTextEditDtos);
+    } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
-  private List<TextEditDto> onTypeFormatting(
+  private CompletableFuture<List<TextEditDto>> onTypeFormatting(
       DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
     try {
       String uri = prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri());
       documentOnTypeFormattingParams.getTextDocument().setUri(uri);
+      scheduler.flush(uri);
       InitializedLanguageServer server =
           languageServerRegistry
               .getApplicableLanguageServers(uri)
@@ -611,18 +616,16 @@ public class TextDocumentService {
                               .getDocumentOnTypeFormattingProvider()
                           != null)
               .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .onTypeFormatting(documentOnTypeFormattingParams)
-              .get()
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-    } catch (InterruptedException | ExecutionException | LanguageServerException e) {
+              .orElse(null);
+      if (server == null) {
+        return CompletableFuture.completedFuture(Collections.emptyList());
+      }
+      return server
+          .getServer()
+          .getTextDocumentService()
+          .onTypeFormatting(documentOnTypeFormattingParams)
+          .thenApply(TextDocumentService::toTextEditDtos);
+    } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
@@ -636,11 +639,7 @@ public class TextDocumentService {
           .getApplicableLanguageServers(uri)
           .stream()
           .flatMap(Collection::stream)
-          .map(InitializedLanguageServer::getServer)
-          .forEach(
-              server -> {
-                server.getTextDocumentService().didChange(didChangeTextDocumentParams);
-              });
+          .forEach(server -> scheduler.didChange(server, didChangeTextDocumentParams));
     } catch (LanguageServerException e) {
       LOG.error("Error trying to process textDocument/didChange", e);
     }
@@ -654,11 +653,10 @@ public class TextDocumentService {
           .getApplicableLanguageServers(uri)
           .stream()
           .flatMap(Collection::stream)
-          .map(InitializedLanguageServer::getServer)
           .forEach(
-              server -> {
-                server.getTextDocumentService().didOpen(openTextDocumentParams);
-              });
+              server ->
+                  scheduler.notify(
+                      server, uri, service -> service.didOpen(openTextDocumentParams)));
     } catch (LanguageServerException e) {
       LOG.error("Error trying to process textDocument/didOpen", e);
     }
@@ -672,11 +670,10 @@ public class TextDocumentService {
           .getApplicableLanguageServers(uri)
           .stream()
           .flatMap(Collection::stream)
-          .map(InitializedLanguageServer::getServer)
           .forEach(
-              server -> {
-                server.getTextDocumentService().didClose(didCloseTextDocumentParams);
-              });
+              server ->
+                  scheduler.notify(
+                      server, uri, service -> service.didClose(didCloseTextDocumentParams)));
     } catch (LanguageServerException e) {
       LOG.error("Error trying to process textDocument/didOpen", e);
     }
@@ -690,21 +687,21 @@ public class TextDocumentService {
           .getApplicableLanguageServers(uri)
           .stream()
           .flatMap(Collection::stream)
-          .map(InitializedLanguageServer::getServer)
           .forEach(
-              server -> {
-                server.getTextDocumentService().didSave(didSaveTextDocumentParams);
-              });
+              server ->
+                  scheduler.notify(
+                      server, uri, service -> service.didSave(didSaveTextDocumentParams)));
     } catch (LanguageServerException e) {
       LOG.error("Error trying to process textDocument/didSave", e);
     }
   }
 
-  private DocumentHighlightDto documentHighlight(
+  private CompletableFuture<DocumentHighlightDto> documentHighlight(
       TextDocumentPositionParams textDocumentPositionParams) {
     try {
       String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
       textDocumentPositionParams.getTextDocument().setUri(uri);
+      scheduler.flush(uri);
       @SuppressWarnings("unchecked")
       List<DocumentHighlightDto>[] result = new List[1];
       LSOperation<Collection<InitializedLanguageServer>, List<DocumentHighlightDto>> op =
@@ -718,43 +715,38 @@ public class TextDocumentService {
             @Override
             public CompletableFuture<List<DocumentHighlightDto>> start(
                 Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    List<DocumentHighlightDto> res = new ArrayList<>();
-                    LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
-                        new LSOperation<
-                            InitializedLanguageServer, List<? extends DocumentHighlight>>() {
-
-                          @Override
-                          public boolean canDo(InitializedLanguageServer element) {
-                            return truish(
-                                element
-                                    .getInitializeResult()
-                                    .getCapabilities()
-                                    .getDocumentHighlightProvider());
-                          }
-
-                          @Override
-                          public CompletableFuture<List<? extends DocumentHighlight>> start(
-                              InitializedLanguageServer element) {
-                            return element
-                                .getServer()
-                                .getTextDocumentService()
-                                .documentHighlight(textDocumentPositionParams);
-                          }
-
-                          @Override
-                          public boolean handleResult(
-                              InitializedLanguageServer element,
-                              List<? extends DocumentHighlight> result) {
-
-                            return false;
-                          }
-                        };
-                    OperationUtil.doInParallel(element, op2, 10000);
-
-                    return res;
-                  });
+              List<DocumentHighlightDto> res = new ArrayList<>();
+              LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
+                  new LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>>() {
+
+                    @Override
+                    public boolean canDo(InitializedLanguageServer element) {
+                      return truish(
+                          element
+                              .getInitializeResult()
+                              .getCapabilities()
+                              .getDocumentHighlightProvider());
+                    }
+
+                    @Override
+                    public CompletableFuture<List<? extends DocumentHighlight>> start(
+                        InitializedLanguageServer element) {
+                      return element
+                          .getServer()
+                          .getTextDocumentService()
+                          .documentHighlight(textDocumentPositionParams);
+                    }
+
+                    @Override
+                    public boolean handleResult(
+                        InitializedLanguageServer element,
+                        List<? extends DocumentHighlight> result) {
+
+                      return false;
+                    }
+                  };
+              return OperationUtil.thenApply(
+                  OperationUtil.doInParallel(element, op2, 10000), v -> res);
             }
 
             @Override
@@ -764,13 +756,17 @@ public class TextDocumentService {
               return !list.isEmpty();
             }
           };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-
-      if (!result[0].isEmpty()) {
-        return result[0].get(0);
-      }
-      return null;
+      CompletableFuture<Void> operation =
+          OperationUtil.doInSequence(
+              languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
+      scheduler.supersede(uri, "documentHighlight", operation);
+      return operation.thenApply(
+          v -> {
+            if (result[0] != null && !result[0].isEmpty()) {
+              return result[0].get(0);
+            }
+            return null;
+          });
     } catch (LanguageServerException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
@@ -786,23 +782,34 @@ public class TextDocumentService {
   }
 
   private <P, R> void dtoToDtoList(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      Function<P, CompletableFuture<List<R>>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsListOfDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseListOfDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) ->
+                new FuturePromise<>(endpointId, function.apply(params), -27000));
   }
 
   private <P, R> void dtoToDto(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+      String name, Class<P> pClass, Class<R> rClass, Function<P, CompletableFuture<R>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) ->
+                new FuturePromise<>(endpointId, function.apply(params), -27000));
+  }
+
+  private static List<TextEditDto> toTextEditDtos(List<? extends TextEdit> edits) {
+    return edits.stream().map(TextEditDto::new).collect(Collectors.toList());
   }
 
   private boolean truish(Boolean b) {
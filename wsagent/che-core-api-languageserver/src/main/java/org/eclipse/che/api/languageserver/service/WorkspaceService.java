@@ -41,6 +41,7 @@ import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.TextEditDto;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedWorkspaceSymbolParams;
 import org.eclipse.che.api.languageserver.shared.model.FileEditParams;
 import org.eclipse.che.api.languageserver.shared.util.CharStreamEditor;
+import org.eclipse.che.api.languageserver.util.FuturePromise;
 import org.eclipse.che.api.languageserver.util.LSOperation;
 import org.eclipse.che.api.languageserver.util.OperationUtil;
 import org.eclipse.che.api.project.server.ProjectManager;
@@ -81,8 +82,9 @@ public class WorkspaceService {
         .newConfiguration()
         .methodName("workspace/symbol")
         .paramsAsDto(ExtendedWorkspaceSymbolParams.class)
-        .resultAsListOfDto(SymbolInformationDto.class)
-        .withFunction(this::symbol);
+        .resultAsPromiseListOfDto(SymbolInformationDto.class)
+        .withPromiseBiFunction(
+            (endpointId, params) -> new FuturePromise<>(endpointId, symbol(params), -27000));
     requestHandler
         .newConfiguration()
         .methodName("workspace/editFile")
@@ -137,7 +139,8 @@ public class WorkspaceService {
     }
   }
 
-  private List<SymbolInformationDto> symbol(ExtendedWorkspaceSymbolParams workspaceSymbolParams) {
+  private CompletableFuture<List<SymbolInformationDto>> symbol(
+      ExtendedWorkspaceSymbolParams workspaceSymbolParams) {
     List<SymbolInformationDto> result = new ArrayList<>();
     List<InitializedLanguageServer> servers;
     try {
@@ -147,35 +150,36 @@ public class WorkspaceService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
+      return OperationUtil.doInParallel(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
 
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getWorkspaceSymbolProvider());
-            }
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getWorkspaceSymbolProvider());
+                }
 
-            @Override
-            public CompletableFuture<List<? extends SymbolInformation>> start(
-                InitializedLanguageServer element) {
-              return element.getServer().getWorkspaceService().symbol(workspaceSymbolParams);
-            }
+                @Override
+                public CompletableFuture<List<? extends SymbolInformation>> start(
+                    InitializedLanguageServer element) {
+                  return element.getServer().getWorkspaceService().symbol(workspaceSymbolParams);
+                }
 
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends SymbolInformation> locations) {
-              locations.forEach(
-                  o -> {
-                    o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
-                    result.add(new SymbolInformationDto(o));
-                  });
-              return true;
-            }
-          },
-          10000);
-      return result;
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element,
+                    List<? extends SymbolInformation> locations) {
+                  locations.forEach(
+                      o -> {
+                        o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
+                        result.add(new SymbolInformationDto(o));
+                      });
+                  return true;
+                }
+              },
+              10000)
+          .thenApply(v -> result);
     } catch (LanguageServerException e) {
       LOG.error("error getting symbol", e);
       throw new JsonRpcException(-27000, e.getMessage());
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
+
+/**
+ * {@link JsonRpcPromise} which is resolved when the given future completes, so that a request
+ * handler can send the response from the future completion callback instead of blocking the
+ * request processing thread.
+ *
+ * <p>The future may complete before the consumers of the promise are configured, so its outcome is
+ * delivered only after both success and failure consumers are set. Failures are delivered as JSON
+ * RPC errors, {@link JsonRpcException} keeps its own error code and cancellation is reported with
+ * the LSP {@code RequestCancelled} code.
+ *
+ * @param <R> type of the result
+ */
+public class FuturePromise<R> extends JsonRpcPromise<R> {
+  /** LSP error code of a cancelled request. */
+  public static final int REQUEST_CANCELLED = -32800;
+
+  private final String endpointId;
+  private final CompletableFuture<R> future;
+  private final int errorCode;
+  private final AtomicBoolean subscribed;
+
+  public FuturePromise(String endpointId, CompletableFuture<R> future, int errorCode) {
+    this.endpointId = endpointId;
+    this.future = future;
+    this.errorCode = errorCode;
+    this.subscribed = new AtomicBoolean();
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
+    super.onSuccess(biConsumer);
+    subscribeWhenConfigured();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
+    super.onSuccess(consumer);
+    subscribeWhenConfigured();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(Runnable runnable) {
+    super.onSuccess(runnable);
+    subscribeWhenConfigured();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
+    super.onFailure(biConsumer);
+    subscribeWhenConfigured();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
+    super.onFailure(consumer);
+    subscribeWhenConfigured();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(Runnable runnable) {
+    super.onFailure(runnable);
+    subscribeWhenConfigured();
+    return this;
+  }
+
+  private void subscribeWhenConfigured() {
+    if (getSuccessConsumer().isPresent()
+        && getFailureConsumer().isPresent()
+        && subscribed.compareAndSet(false, true)) {
+      future.whenComplete(this::complete);
+    }
+  }
+
+  private void complete(R result, Throwable error) {
+    if (error == null) {
+      getSuccessConsumer().ifPresent(consumer -> consumer.accept(endpointId, result));
+      return;
+    }
+    Throwable cause = error;
+    if (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    JsonRpcError jsonRpcError;
+    if (cause instanceof CancellationException) {
+      jsonRpcError = new JsonRpcError(REQUEST_CANCELLED, "Request is cancelled");
+    } else if (cause instanceof JsonRpcException) {
+      jsonRpcError = new JsonRpcError(((JsonRpcException) cause).getCode(), cause.getMessage());
+    } else {
+      jsonRpcError = new JsonRpcError(errorCode, cause.getMessage());
+    }
+    getFailureConsumer().ifPresent(consumer -> consumer.accept(endpointId, jsonRpcError));
+  }
+}
@@ -10,48 +10,67 @@
  */
 package org.eclipse.che.api.languageserver.util;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Runs {@link LSOperation operations} against language servers without blocking the calling
+ * thread. Results are handled as soon as they arrive and the returned futures complete when the
+ * operation is done, so the response can be sent from the completion callback.
+ */
 public class OperationUtil {
   private static final Logger LOG = LoggerFactory.getLogger(OperationUtil.class);
 
+  private static final ScheduledExecutorService TIMEOUTS =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("LanguageServerOperationTimeouts-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
   /**
    * Execute the given operation on each element of the collection in sequence. Stops as soon as
-   * {@link LSOperation#canDo(Object)} returns true.
+   * {@link LSOperation#handleResult(Object, Object)} returns true. The operation is started on the
+   * next element only when the previous one completes.
    *
    * @param collection
    * @param op
    * @param timeoutMillis
+   * @return future which completes when the operation is done, or when the timeout expires, in
+   *     which case the running operation is cancelled. Cancelling of the returned future cancels
+   *     the running operation too
    */
-  public static <C, R> void doInSequence(
+  public static <C, R> CompletableFuture<Void> doInSequence(
       Collection<C> collection, LSOperation<C, R> op, long timeoutMillis) {
-    long endTime = System.currentTimeMillis() + timeoutMillis;
-    for (C element : collection) {
-      if (op.canDo(element)) {
-        CompletableFuture<R> future = op.start(element);
-        try {
-          R result = future.get(Math.max(endTime - timeoutMillis, 1), TimeUnit.MILLISECONDS);
-          if (op.handleResult(element, result)) {
-            return;
+    Object lock = new Object();
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    AtomicReference<CompletableFuture<R>> running = new AtomicReference<>();
+    done.whenComplete(
+        (v, error) -> {
+          CompletableFuture<R> future = running.get();
+          if (future != null) {
+            future.cancel(true);
           }
-        } catch (InterruptedException e) {
-          LOG.info("Thread interrupted", e);
-          Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-          LOG.info("Exception occurred in op", e);
-        } catch (TimeoutException e) {
-          future.cancel(true);
-        }
-      }
-    }
+        });
+    completeOnTimeout(done, lock, timeoutMillis);
+    doNext(collection.iterator(), op, done, lock, running);
+    return done;
   }
 
   /**
@@ -61,59 +80,146 @@ public class OperationUtil {
    * @param collection
    * @param op
    * @param timeoutMillis
+   * @return future which completes when the operation is done for all the elements, or when the
+   *     timeout expires, in which case the pending operations are cancelled. Cancelling of the
+   *     returned future cancels the pending operations too
    */
-  public static <C, R> void doInParallel(
+  public static <C, R> CompletableFuture<Void> doInParallel(
       Collection<C> collection, LSOperation<C, R> op, long timeoutMillis) {
     Object lock = new Object();
-    List<CompletableFuture<?>> pendingResponses = new ArrayList<>();
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    List<CompletableFuture<R>> pendingResponses = new ArrayList<>();
+    List<CompletableFuture<?>> handledResponses = new ArrayList<>();
 
     for (C element : collection) {
       if (op.canDo(element)) {
         CompletableFuture<R> future = op.start(element);
-        synchronized (lock) {
-          pendingResponses.add(future);
-          lock.notifyAll();
-        }
-        future
-            .thenAccept(
-                result -> {
+        pendingResponses.add(future);
+        handledResponses.add(
+            future.whenComplete(
+                (result, error) -> {
                   synchronized (lock) {
-                    if (!future.isCancelled()) {
-                      op.handleResult(element, result);
-                      pendingResponses.remove(future);
-                      lock.notifyAll();
+                    if (done.isDone()) {
+                      return;
+                    }
+                    if (error != null) {
+                      LOG.info("Exception occurred in request", error);
+                    } else {
+                      handleResult(op, element, result);
                     }
                   }
-                })
-            .exceptionally(
-                (t) -> {
-                  LOG.info("Exception occurred in request", t);
-                  synchronized (lock) {
-                    pendingResponses.remove(future);
-                    lock.notifyAll();
-                  }
-                  return null;
-                });
+                }));
       }
     }
 
-    long endTime = System.currentTimeMillis() + 5000;
+    done.whenComplete((v, error) -> pendingResponses.forEach(future -> future.cancel(true)));
+    completeOnTimeout(done, lock, timeoutMillis);
+    CompletableFuture.allOf(handledResponses.toArray(new CompletableFuture<?>[0]))
+        .whenComplete((v, error) -> complete(done, lock));
+    return done;
+  }
 
-    try {
-      synchronized (lock) {
-        while (System.currentTimeMillis() < endTime && pendingResponses.size() > 0) {
-          lock.wait(endTime - System.currentTimeMillis());
+  /**
+   * Same as {@link CompletableFuture#thenApply(Function)}, but cancelling of the returned future
+   * cancels the given one too, so operations started by nested operations are cancelled along with
+   * the outer ones.
+   */
+  public static <T, R> CompletableFuture<R> thenApply(
+      CompletableFuture<T> future, Function<? super T, ? extends R> fn) {
+    CompletableFuture<R> result = future.thenApply(fn);
+    result.whenComplete((value, error) -> future.cancel(true));
+    return result;
+  }
+
+  /**
+   * Returns a future which completes as the given one does, or fails with {@link
+   * TimeoutException} if the given future doesn't complete in time, in which case the given future
+   * is cancelled. Cancelling of the returned future cancels the given one too.
+   */
+  public static <R> CompletableFuture<R> withTimeout(
+      CompletableFuture<R> future, long timeoutMillis) {
+    CompletableFuture<R> result = new CompletableFuture<>();
+    future.whenComplete(
+        (value, error) -> {
+          if (error == null) {
+            result.complete(value);
+          } else {
+            result.completeExceptionally(error);
+          }
+        });
+    ScheduledFuture<?> timeout =
+        TIMEOUTS.schedule(
+            () ->
+                result.completeExceptionally(
+                    new TimeoutException(
+                        "Language server didn't respond within " + timeoutMillis + "ms")),
+            timeoutMillis,
+            MILLISECONDS);
+    result.whenComplete(
+        (value, error) -> {
+          timeout.cancel(false);
+          future.cancel(true);
+        });
+    return result;
+  }
+
+  private static <C, R> void doNext(
+      Iterator<C> iterator,
+      LSOperation<C, R> op,
+      CompletableFuture<Void> done,
+      Object lock,
+      AtomicReference<CompletableFuture<R>> running) {
+    while (iterator.hasNext() && !done.isDone()) {
+      C element = iterator.next();
+      if (op.canDo(element)) {
+        CompletableFuture<R> future = op.start(element);
+        running.set(future);
+        if (done.isDone()) {
+          // completed while starting, nobody else is going to cancel it
+          future.cancel(true);
+          return;
         }
+        future.whenComplete(
+            (result, error) -> {
+              synchronized (lock) {
+                if (done.isDone()) {
+                  return;
+                }
+                if (error != null) {
+                  LOG.info("Exception occurred in op", error);
+                } else if (handleResult(op, element, result)) {
+                  done.complete(null);
+                  return;
+                }
+              }
+              doNext(iterator, op, done, lock, running);
+            });
+        return;
       }
-    } catch (InterruptedException e) {
-      LOG.info("Thread interrupted", e);
-      Thread.currentThread().interrupt();
     }
+    complete(done, lock);
+  }
+
+  private static <C, R> boolean handleResult(LSOperation<C, R> op, C element, R result) {
+    try {
+      return op.handleResult(element, result);
+    } catch (RuntimeException x) {
+      LOG.info("Exception occurred while handling result", x);
+      return false;
+    }
+  }
+
+  private static void completeOnTimeout(
+      CompletableFuture<Void> done, Object lock, long timeoutMillis) {
+    ScheduledFuture<?> timeout =
+        TIMEOUTS.schedule(() -> complete(done, lock), timeoutMillis, MILLISECONDS);
+    done.whenComplete((v, error) -> timeout.cancel(false));
+  }
+
+  /** Completes the future so that no result is handled after it is completed. */
+  private static void complete(CompletableFuture<Void> done, Object lock) {
     synchronized (lock) {
-      for (CompletableFuture<?> pending : new ArrayList<>(pendingResponses)) {
-        pending.cancel(true);
-      }
-      lock.notifyAll();
+      done.complete(null);
     }
   }
 }
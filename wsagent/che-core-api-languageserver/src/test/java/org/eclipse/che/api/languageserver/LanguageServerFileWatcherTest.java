@@ -12,13 +12,16 @@ package org.eclipse.che.api.languageserver;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.io.File;
 import java.nio.file.PathMatcher;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
@@ -26,6 +29,9 @@ import org.eclipse.che.api.languageserver.registry.LanguageServerFileWatcher;
 import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.registry.ServerInitializerObserver;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.mockito.ArgumentCaptor;
@@ -44,6 +50,7 @@ public class LanguageServerFileWatcherTest {
   @Mock private LanguageServer server;
   @Mock private FileWatcherManager watcherManager;
   @Mock private ServerInitializer initializer;
+  @Captor private ArgumentCaptor<Consumer<String>> createdCaptor;
   @Captor private ArgumentCaptor<Consumer<String>> changedCaptor;
 
   private LanguageServerFileWatcher watcher;
@@ -57,7 +64,7 @@ public class LanguageServerFileWatcherTest {
 
   @Test
   public void testShouldAddObserver() throws Exception {
-    watcher = new LanguageServerFileWatcher(watcherManager, initializer);
+    watcher = new LanguageServerFileWatcher(watcherManager, initializer, 0, 1000);
     verify(initializer).addObserver(any());
   }
 
@@ -65,7 +72,7 @@ public class LanguageServerFileWatcherTest {
   public void testRegisterFileWatcher() throws Exception {
     ArgumentCaptor<ServerInitializerObserver> argumentCaptor =
         ArgumentCaptor.forClass(ServerInitializerObserver.class);
-    watcher = new LanguageServerFileWatcher(watcherManager, initializer);
+    watcher = new LanguageServerFileWatcher(watcherManager, initializer, 0, 1000);
     verify(initializer).addObserver(argumentCaptor.capture());
     ServerInitializerObserver value = argumentCaptor.getValue();
 
@@ -87,7 +94,7 @@ public class LanguageServerFileWatcherTest {
   public void testSendNotification() throws Exception {
     ArgumentCaptor<ServerInitializerObserver> argumentCaptor =
         ArgumentCaptor.forClass(ServerInitializerObserver.class);
-    watcher = new LanguageServerFileWatcher(watcherManager, initializer);
+    watcher = new LanguageServerFileWatcher(watcherManager, initializer, 0, 1000);
     verify(initializer).addObserver(argumentCaptor.capture());
     ServerInitializerObserver value = argumentCaptor.getValue();
 
@@ -108,6 +115,44 @@ public class LanguageServerFileWatcherTest {
 
     changedCaptor.getValue().accept("/p/bar.foo");
 
-    verify(workspaceService).didChangeWatchedFiles(any());
+    verify(workspaceService, timeout(5000)).didChangeWatchedFiles(any());
+  }
+
+  @Test
+  public void testSendBatchOfNotifications() throws Exception {
+    ArgumentCaptor<ServerInitializerObserver> argumentCaptor =
+        ArgumentCaptor.forClass(ServerInitializerObserver.class);
+    watcher = new LanguageServerFileWatcher(watcherManager, initializer, 500, 1000);
+    verify(initializer).addObserver(argumentCaptor.capture());
+    ServerInitializerObserver value = argumentCaptor.getValue();
+
+    LanguageServerDescription description =
+        new LanguageServerDescription(
+            "foo",
+            Collections.singletonList("bar"),
+            Collections.emptyList(),
+            Collections.singletonList("glob:*.foo"));
+    when(launcher.getDescription()).thenReturn(description);
+
+    WorkspaceService workspaceService = mock(WorkspaceService.class);
+    when(server.getWorkspaceService()).thenReturn(workspaceService);
+
+    value.onServerInitialized(launcher, server, null, null);
+
+    verify(watcherManager)
+        .registerByMatcher(any(), createdCaptor.capture(), changedCaptor.capture(), any());
+
+    createdCaptor.getValue().accept("/p/a.foo");
+    changedCaptor.getValue().accept("/p/b.foo");
+    changedCaptor.getValue().accept("/p/a.foo");
+    changedCaptor.getValue().accept("/p/b.foo");
+
+    ArgumentCaptor<DidChangeWatchedFilesParams> paramsCaptor =
+        ArgumentCaptor.forClass(DidChangeWatchedFilesParams.class);
+    verify(workspaceService, timeout(5000)).didChangeWatchedFiles(paramsCaptor.capture());
+    List<FileEvent> changes = paramsCaptor.getValue().getChanges();
+    assertEquals(changes.size(), 2);
+    assertEquals(changes.get(0).getType(), FileChangeType.Created);
+    assertEquals(changes.get(1).getType(), FileChangeType.Changed);
   }
 }
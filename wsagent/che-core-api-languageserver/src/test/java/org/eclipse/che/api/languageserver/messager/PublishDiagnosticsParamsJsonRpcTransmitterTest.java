@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.messager;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedPublishDiagnosticsParamsDto;
+import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link PublishDiagnosticsParamsJsonRpcTransmitter}. */
+@Listeners(MockitoTestNGListener.class)
+public class PublishDiagnosticsParamsJsonRpcTransmitterTest {
+  private static final String URI = "file:///projects/test/Test.java";
+
+  @Mock private RequestTransmitter requestTransmitter;
+
+  private BlockingQueue<List<ExtendedPublishDiagnosticsParamsDto>> sent;
+  private PublishDiagnosticsParamsJsonRpcTransmitter transmitter;
+
+  @BeforeMethod
+  public void setUp() {
+    sent = new LinkedBlockingQueue<>();
+    transmitter =
+        new PublishDiagnosticsParamsJsonRpcTransmitter(requestTransmitter, 500) {
+          @Override
+          void send(String endpointId, List<ExtendedPublishDiagnosticsParamsDto> batch) {
+            sent.add(batch);
+          }
+        };
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    transmitter.shutdown();
+  }
+
+  @Test
+  public void coalescesDiagnosticsPublishedWithinDeliveryInterval() throws Exception {
+    transmitter.addEndpoint("endpoint");
+    transmitter.publish(event("server", URI, "first"));
+    assertEquals(sent.poll(5, SECONDS).size(), 1);
+
+    transmitter.publish(event("server", URI, "second"));
+    transmitter.publish(event("server", URI, "third"));
+    transmitter.publish(event("other", URI, "other"));
+
+    List<ExtendedPublishDiagnosticsParamsDto> batch = sent.poll(5, SECONDS);
+    assertEquals(batch.size(), 2);
+    assertEquals(batch.get(0).getLanguageServerId(), "server");
+    assertEquals(batch.get(0).getParams().getDiagnostics().get(0).getMessage(), "third");
+    assertEquals(batch.get(0).getParams().getUri(), "/test/Test.java");
+    assertEquals(batch.get(1).getLanguageServerId(), "other");
+  }
+
+  @Test
+  public void skipsUnchangedDiagnostics() throws Exception {
+    transmitter.addEndpoint("endpoint");
+    transmitter.publish(event("server", URI, "message"));
+    assertEquals(sent.poll(5, SECONDS).size(), 1);
+
+    transmitter.publish(event("server", URI, "message"));
+    transmitter.publish(event("server", "file:///projects/test/Other.java"));
+
+    assertNull(sent.poll(1, SECONDS));
+  }
+
+  @Test
+  public void sendsClearedDiagnostics() throws Exception {
+    transmitter.addEndpoint("endpoint");
+    transmitter.publish(event("server", URI, "message"));
+    assertEquals(sent.poll(5, SECONDS).size(), 1);
+
+    transmitter.publish(event("server", URI));
+
+    List<ExtendedPublishDiagnosticsParamsDto> batch = sent.poll(5, SECONDS);
+    assertEquals(batch.size(), 1);
+    assertEquals(batch.get(0).getParams().getDiagnostics(), emptyList());
+  }
+
+  @Test
+  public void sendsLatestDiagnosticsToNewEndpoint() throws Exception {
+    transmitter.publish(event("server", URI, "first"));
+    transmitter.publish(event("server", "file:///projects/test/Other.java", "other"));
+    transmitter.publish(event("server", "file:///projects/test/Other.java"));
+
+    transmitter.addEndpoint("endpoint");
+
+    List<ExtendedPublishDiagnosticsParamsDto> batch = sent.poll(5, SECONDS);
+    assertEquals(batch.size(), 1);
+    assertEquals(batch.get(0).getParams().getUri(), "/test/Test.java");
+    assertEquals(batch.get(0).getParams().getDiagnostics().get(0).getMessage(), "first");
+  }
+
+  private static ExtendedPublishDiagnosticsParams event(String serverId, String uri) {
+    return new ExtendedPublishDiagnosticsParams(
+        serverId, new PublishDiagnosticsParams(uri, emptyList()));
+  }
+
+  private static ExtendedPublishDiagnosticsParams event(
+      String serverId, String uri, String message) {
+    Diagnostic diagnostic = new Diagnostic();
+    diagnostic.setRange(new Range(new Position(0, 0), new Position(0, 1)));
+    diagnostic.setMessage(message);
+    return new ExtendedPublishDiagnosticsParams(
+        serverId, new PublishDiagnosticsParams(uri, singletonList(diagnostic)));
+  }
+}
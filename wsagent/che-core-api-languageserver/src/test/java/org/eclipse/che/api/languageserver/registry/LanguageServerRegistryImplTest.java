@@ -19,9 +19,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import com.google.inject.Provider;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
@@ -124,4 +129,35 @@ public class LanguageServerRegistryImplTest {
     verify(initializer)
         .initialize(eq(languageServerLauncher), any(LanguageClient.class), eq(PROJECT_PATH));
   }
+
+  @Test
+  public void reusesRankedServersUntilServersChange() throws Exception {
+    registry.initialize(PREFIX + FILE_PATH);
+
+    List<Collection<InitializedLanguageServer>> first =
+        registry.getApplicableLanguageServers(PREFIX + FILE_PATH);
+    List<Collection<InitializedLanguageServer>> second =
+        registry.getApplicableLanguageServers(PREFIX + FILE_PATH);
+
+    assertEquals(first.size(), 1);
+    assertSame(second, first);
+  }
+
+  @Test
+  public void returnsNoServersBeforeInitialization() throws Exception {
+    assertTrue(registry.getApplicableLanguageServers(PREFIX + FILE_PATH).isEmpty());
+  }
+
+  @Test
+  public void compilesDocumentFilterPathRegexOnce() throws Exception {
+    DocumentFilter filter = new DocumentFilter("id", ".*\\.txt", null);
+
+    assertSame(filter.getPathPattern(), filter.getPathPattern());
+    assertTrue(filter.getPathPattern().matcher(FILE_PATH).matches());
+  }
+
+  @Test
+  public void ignoresInvalidDocumentFilterPathRegex() throws Exception {
+    assertNull(new DocumentFilter("id", "*.txt", null).getPathPattern());
+  }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DocumentRequestScheduler}. */
+@Listeners(MockitoTestNGListener.class)
+public class DocumentRequestSchedulerTest {
+  private static final String URI = "file:///projects/test/Test.java";
+
+  @Mock private InitializedLanguageServer server;
+  @Mock private LanguageServer languageServer;
+  @Mock private TextDocumentService textDocumentService;
+
+  private DocumentRequestScheduler scheduler;
+
+  @BeforeMethod
+  public void setUp() {
+    when(server.getId()).thenReturn("server");
+    when(server.getServer()).thenReturn(languageServer);
+    when(languageServer.getTextDocumentService()).thenReturn(textDocumentService);
+    scheduler = new DocumentRequestScheduler();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void cancelsSupersededRequest() throws Exception {
+    CompletableFuture<Void> first = new CompletableFuture<>();
+    CompletableFuture<Void> second = new CompletableFuture<>();
+
+    scheduler.supersede(URI, "completion", first);
+    scheduler.supersede(URI, "completion", second);
+
+    assertTrue(first.isCancelled());
+    assertFalse(second.isDone());
+  }
+
+  @Test
+  public void doesNotCancelRequestsOfOtherKind() throws Exception {
+    CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    scheduler.supersede(URI, "completion", completion);
+    scheduler.supersede(URI, "hover", new CompletableFuture<>());
+
+    assertFalse(completion.isDone());
+  }
+
+  @Test
+  public void mergesChangesWhileServerIsBusy() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              sending.countDown();
+              release.await(5, SECONDS);
+              return null;
+            })
+        .when(textDocumentService)
+        .didSave(any(DidSaveTextDocumentParams.class));
+
+    scheduler.notify(server, URI, service -> service.didSave(new DidSaveTextDocumentParams()));
+    assertTrue(sending.await(5, SECONDS));
+    scheduler.didChange(server, change(1, "a"));
+    scheduler.didChange(server, change(2, "b"));
+    scheduler.didChange(server, change(3, "c"));
+    release.countDown();
+
+    ArgumentCaptor<DidChangeTextDocumentParams> captor =
+        ArgumentCaptor.forClass(DidChangeTextDocumentParams.class);
+    verify(textDocumentService, timeout(5000)).didChange(captor.capture());
+    DidChangeTextDocumentParams sent = captor.getValue();
+    assertEquals(sent.getTextDocument().getVersion(), Integer.valueOf(3));
+    List<String> texts = new ArrayList<>();
+    sent.getContentChanges().forEach(event -> texts.add(event.getText()));
+    assertEquals(texts, asList("a", "b", "c"));
+  }
+
+  @Test
+  public void flushSendsPendingChangesBeforeReturning() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              sending.countDown();
+              release.await(5, SECONDS);
+              return null;
+            })
+        .when(textDocumentService)
+        .didSave(any(DidSaveTextDocumentParams.class));
+    scheduler.notify(server, URI, service -> service.didSave(new DidSaveTextDocumentParams()));
+    assertTrue(sending.await(5, SECONDS));
+    scheduler.didChange(server, change(1, "a"));
+    release.countDown();
+
+    scheduler.flush(URI);
+
+    verify(textDocumentService).didChange(any(DidChangeTextDocumentParams.class));
+  }
+
+  private static DidChangeTextDocumentParams change(int version, String text) {
+    VersionedTextDocumentIdentifier document = new VersionedTextDocumentIdentifier();
+    document.setUri(URI);
+    document.setVersion(version);
+    TextDocumentContentChangeEvent event = new TextDocumentContentChangeEvent();
+    event.setRange(new Range(new Position(0, 0), new Position(0, 0)));
+    event.setText(text);
+    List<TextDocumentContentChangeEvent> events = new ArrayList<>();
+    events.add(event);
+    DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+    params.setTextDocument(document);
+    params.setContentChanges(events);
+    return params;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link OperationUtil}. */
+public class OperationUtilTest {
+
+  private Map<String, CompletableFuture<String>> responses;
+  private List<String> handled;
+
+  @BeforeMethod
+  public void setUp() {
+    responses = new HashMap<>();
+    handled = new ArrayList<>();
+  }
+
+  @Test
+  public void handlesResultsOfAllElementsInParallel() throws Exception {
+    responses.put("a", new CompletableFuture<>());
+    responses.put("b", completedFuture("b"));
+
+    CompletableFuture<Void> done = OperationUtil.doInParallel(asList("a", "b"), op(false), 5000);
+
+    assertFalse(done.isDone());
+    assertEquals(handled, asList("b"));
+
+    responses.get("a").complete("a");
+
+    done.get(5, SECONDS);
+    assertEquals(handled, asList("b", "a"));
+  }
+
+  @Test
+  public void cancelsPendingRequestsOnTimeout() throws Exception {
+    responses.put("a", new CompletableFuture<>());
+    responses.put("b", completedFuture("b"));
+
+    OperationUtil.doInParallel(asList("a", "b"), op(false), 100).get(5, SECONDS);
+
+    assertEquals(handled, asList("b"));
+    assertTrue(responses.get("a").isCancelled());
+  }
+
+  @Test
+  public void stopsSequenceOnFirstValidResult() throws Exception {
+    responses.put("a", completedFuture("a"));
+    responses.put("b", completedFuture("b"));
+
+    OperationUtil.doInSequence(asList("a", "b"), op(true), 5000).get(5, SECONDS);
+
+    assertEquals(handled, asList("a"));
+  }
+
+  @Test
+  public void startsNextElementOfSequenceWhenPreviousOneFailed() throws Exception {
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException());
+    responses.put("a", failed);
+    responses.put("b", completedFuture("b"));
+
+    OperationUtil.doInSequence(asList("a", "b"), op(true), 5000).get(5, SECONDS);
+
+    assertEquals(handled, asList("b"));
+  }
+
+  @Test
+  public void cancellationOfSequenceCancelsRunningRequest() throws Exception {
+    responses.put("a", new CompletableFuture<>());
+
+    OperationUtil.doInSequence(asList("a"), op(true), 5000).cancel(true);
+
+    assertTrue(responses.get("a").isCancelled());
+  }
+
+  @Test
+  public void cancellationOfSequenceCancelsRequestsOfNestedParallelOperation() throws Exception {
+    responses.put("a", new CompletableFuture<>());
+    responses.put("b", new CompletableFuture<>());
+    LSOperation<List<String>, String> groups =
+        new LSOperation<List<String>, String>() {
+          @Override
+          public boolean canDo(List<String> group) {
+            return true;
+          }
+
+          @Override
+          public CompletableFuture<String> start(List<String> group) {
+            return OperationUtil.thenApply(
+                OperationUtil.doInParallel(group, op(false), 5000), v -> "done");
+          }
+
+          @Override
+          public boolean handleResult(List<String> group, String result) {
+            return true;
+          }
+        };
+
+    OperationUtil.doInSequence(asList(asList("a", "b")), groups, 5000).cancel(true);
+
+    assertTrue(responses.get("a").isCancelled());
+    assertTrue(responses.get("b").isCancelled());
+  }
+
+  @Test
+  public void mapsResultOfFuture() throws Exception {
+    CompletableFuture<String> future = new CompletableFuture<>();
+
+    CompletableFuture<Integer> mapped = OperationUtil.thenApply(future, String::length);
+    future.complete("abc");
+
+    assertEquals(mapped.get(5, SECONDS), Integer.valueOf(3));
+  }
+
+  private LSOperation<String, String> op(boolean stopOnResult) {
+    return new LSOperation<String, String>() {
+      @Override
+      public boolean canDo(String element) {
+        return true;
+      }
+
+      @Override
+      public CompletableFuture<String> start(String element) {
+        return responses.get(element);
+      }
+
+      @Override
+      public boolean handleResult(String element, String result) {
+        handled.add(result);
+        return stopOnResult;
+      }
+    };
+  }
+}
@@ -39,7 +39,6 @@ import org.eclipse.che.api.core.model.project.NewProjectConfig;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.project.ProjectProblem;
 import org.eclipse.che.api.core.model.project.SourceStorage;
-import org.eclipse.che.api.core.model.project.type.ProjectType;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
@@ -85,10 +84,10 @@ public class ProjectManager {
   private final ExecutorService executor;
   private final WorkspaceProjectsSyncer workspaceProjectsHolder;
   private final FileWatcherManager fileWatcherManager;
+  private final ProjectTypeEstimator projectTypeEstimator;
 
   private int rootProjcetOperationSetId;
 
-  @Inject
   public ProjectManager(
       VirtualFileSystemProvider vfsProvider,
       ProjectTypeRegistry projectTypeRegistry,
@@ -100,6 +99,33 @@ public class ProjectManager {
       WorkspaceProjectsSyncer workspaceProjectsHolder,
       FileWatcherManager fileWatcherManager)
       throws ServerException {
+    this(
+        vfsProvider,
+        projectTypeRegistry,
+        projectRegistry,
+        handlers,
+        importers,
+        fileWatcherNotificationHandler,
+        fileTreeWatcher,
+        workspaceProjectsHolder,
+        fileWatcherManager,
+        new ProjectTypeEstimator());
+  }
+
+  @Inject
+  public ProjectManager(
+      VirtualFileSystemProvider vfsProvider,
+      ProjectTypeRegistry projectTypeRegistry,
+      ProjectRegistry projectRegistry,
+      ProjectHandlerRegistry handlers,
+      ProjectImporterRegistry importers,
+      FileWatcherNotificationHandler fileWatcherNotificationHandler,
+      FileTreeWatcher fileTreeWatcher,
+      WorkspaceProjectsSyncer workspaceProjectsHolder,
+      FileWatcherManager fileWatcherManager,
+      ProjectTypeEstimator projectTypeEstimator)
+      throws ServerException {
+    this.projectTypeEstimator = projectTypeEstimator;
     this.vfs = vfsProvider.getVirtualFileSystem();
     this.projectTypeRegistry = projectTypeRegistry;
     this.projectRegistry = projectRegistry;
@@ -584,7 +610,7 @@ public class ProjectManager {
       throw new NotFoundException("Folder not found: " + path);
     }
 
-    return projectType.resolveSources(baseFolder);
+    return projectTypeEstimator.estimate(baseFolder, projectType);
   }
 
   /**
@@ -598,15 +624,22 @@ public class ProjectManager {
    */
   public List<ProjectTypeResolution> resolveSources(String path, boolean transientOnly)
       throws ServerException, NotFoundException {
-    final List<ProjectTypeResolution> resolutions = new ArrayList<>();
+    final FolderEntry baseFolder = asFolder(path);
 
-    for (ProjectType type :
+    if (baseFolder == null) {
+      throw new NotFoundException("Folder not found: " + path);
+    }
+
+    final List<ProjectTypeDef> types = new ArrayList<>();
+    for (ProjectTypeDef type :
         projectTypeRegistry.getProjectTypes(ProjectTypeRegistry.CHILD_TO_PARENT_COMPARATOR)) {
-      if (transientOnly && type.isPersisted()) {
-        continue;
+      if (!transientOnly || !type.isPersisted()) {
+        types.add(type);
       }
+    }
 
-      final ProjectTypeResolution resolution = estimateProject(path, type.getId());
+    final List<ProjectTypeResolution> resolutions = new ArrayList<>();
+    for (ProjectTypeResolution resolution : projectTypeEstimator.estimate(baseFolder, types)) {
       if (resolution.matched()) {
         resolutions.add(resolution);
       }
@@ -636,6 +669,7 @@ public class ProjectManager {
 
     // delete child projects
     projectRegistry.removeProjects(apath);
+    projectTypeEstimator.invalidate(apath);
 
     workspaceProjectsHolder.sync(projectRegistry);
   }
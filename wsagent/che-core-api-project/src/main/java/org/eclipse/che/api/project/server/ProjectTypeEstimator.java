@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+/**
+ * Estimates project types of folders. Project types are resolved in parallel and the resolutions
+ * are cached per folder and project type. Cached resolution is used while the listing of the folder
+ * is the same and the resolution is not older than the configured time, so changes deeper in the
+ * folder are noticed after that.
+ */
+@Singleton
+public class ProjectTypeEstimator {
+  private static final long CACHE_EXPIRATION_SECONDS = 60;
+  private static final long CACHE_MAX_SIZE = 1000;
+
+  private final ExecutorService executor;
+  private final Cache<String, CachedResolution> resolutions;
+
+  /** Resolves the project types one by one in the calling thread. */
+  public ProjectTypeEstimator() {
+    this(1, CACHE_EXPIRATION_SECONDS);
+  }
+
+  /**
+   * @param threads number of the threads which resolve project types of a folder in parallel, the
+   *     types are resolved one by one in the calling thread if it is less than 2
+   * @param cacheExpirationSeconds time during which a resolution is reused while the listing of
+   *     the folder is the same
+   */
+  @Inject
+  public ProjectTypeEstimator(
+      @Named("che.project.type.estimation_threads") int threads,
+      @Named("che.project.type.estimation_cache_ttl_sec") long cacheExpirationSeconds) {
+    executor =
+        threads < 2
+            ? null
+            : Executors.newFixedThreadPool(
+                threads,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("ProjectTypeEstimator-%d")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .setDaemon(true)
+                    .build());
+    resolutions =
+        CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAX_SIZE)
+            .expireAfterWrite(cacheExpirationSeconds, TimeUnit.SECONDS)
+            .build();
+  }
+
+  @PreDestroy
+  void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Resolves the folder as a project of the given type. */
+  public ProjectTypeResolution estimate(FolderEntry folder, ProjectTypeDef projectType)
+      throws ServerException {
+    return estimate(folder, projectType, fingerprint(folder));
+  }
+
+  /**
+   * Resolves the folder as a project of each of the given types in parallel.
+   *
+   * @return resolutions in the order of the types
+   */
+  public List<ProjectTypeResolution> estimate(FolderEntry folder, List<ProjectTypeDef> projectTypes)
+      throws ServerException {
+    // the folder is listed once for all the types
+    long fingerprint = fingerprint(folder);
+    if (executor == null) {
+      List<ProjectTypeResolution> result = new ArrayList<>(projectTypes.size());
+      for (ProjectTypeDef projectType : projectTypes) {
+        result.add(estimate(folder, projectType, fingerprint));
+      }
+      return result;
+    }
+    List<Future<ProjectTypeResolution>> futures = new ArrayList<>(projectTypes.size());
+    try {
+      for (ProjectTypeDef projectType : projectTypes) {
+        futures.add(executor.submit(() -> estimate(folder, projectType, fingerprint)));
+      }
+      List<ProjectTypeResolution> result = new ArrayList<>(projectTypes.size());
+      for (Future<ProjectTypeResolution> future : futures) {
+        result.add(future.get());
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException("Estimation of project types is interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof ServerException) {
+        throw (ServerException) cause;
+      }
+      throw new ServerException(cause.getMessage(), cause);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /** Forgets resolutions of the folder and its sub-folders, e.g. when the folder is removed. */
+  public void invalidate(String path) {
+    String prefix = path.endsWith("/") ? path : path + '/';
+    resolutions
+        .asMap()
+        .keySet()
+        .removeIf(key -> key.startsWith(path + '\n') || key.startsWith(prefix));
+  }
+
+  private ProjectTypeResolution estimate(
+      FolderEntry folder, ProjectTypeDef projectType, long fingerprint) {
+    String key = folder.getPath().toString() + '\n' + projectType.getId();
+    CachedResolution cached = resolutions.getIfPresent(key);
+    if (cached != null && cached.fingerprint == fingerprint) {
+      return cached.resolution;
+    }
+    ProjectTypeResolution resolution = projectType.resolveSources(folder);
+    resolutions.put(key, new CachedResolution(fingerprint, resolution));
+    return resolution;
+  }
+
+  /** Returns the hash of the names, sizes and modification dates of the folder children. */
+  private static long fingerprint(FolderEntry folder) throws ServerException {
+    VirtualFile virtualFile = folder.getVirtualFile();
+    long result = virtualFile.getLastModificationDate();
+    for (VirtualFile child : virtualFile.getChildren()) {
+      // children are listed in no particular order
+      result +=
+          (child.getName().hashCode() * 31L + child.getLastModificationDate()) * 31L
+              + (child.isFile() ? child.getLength() : 0);
+    }
+    return result;
+  }
+
+  private static class CachedResolution {
+    private final long fingerprint;
+    private final ProjectTypeResolution resolution;
+
+    private CachedResolution(long fingerprint, ProjectTypeResolution resolution) {
+      this.fingerprint = fingerprint;
+      this.resolution = resolution;
+    }
+  }
+}
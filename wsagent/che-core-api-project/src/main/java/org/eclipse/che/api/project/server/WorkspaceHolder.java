@@ -11,8 +11,10 @@
 package org.eclipse.che.api.project.server;
 
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -23,6 +25,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -123,6 +127,40 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
     }
   }
 
+  /**
+   * Adds, updates and removes projects on WS-master side by a single update of the workspace.
+   *
+   * @throws ServerException
+   */
+  @Override
+  protected void updateProjects(
+      List<ProjectConfig> added, List<ProjectConfig> updated, List<ProjectConfig> removed)
+      throws ServerException {
+
+    final List<ProjectConfigDto> projects = new ArrayList<>(added.size() + updated.size());
+    for (ProjectConfig project : added) projects.add(asDto(project));
+    for (ProjectConfig project : updated) projects.add(asDto(project));
+    final List<String> removedPaths = new ArrayList<>(removed.size());
+    for (ProjectConfig project : removed) removedPaths.add(project.getPath());
+
+    final UriBuilder builder =
+        UriBuilder.fromUri(apiEndpoint)
+            .path(WorkspaceService.class)
+            .path(WorkspaceService.class, "updateProjects");
+    if (userToken != null) builder.queryParam("token", userToken);
+    final String href = builder.build(workspaceId).toString();
+    try {
+      httpJsonRequestFactory
+          .fromUrl(href)
+          .usePutMethod()
+          .setBody(
+              newDto(ProjectsUpdateDto.class).withProjects(projects).withRemoved(removedPaths))
+          .request();
+    } catch (IOException | ApiException e) {
+      throw new ServerException(e.getMessage());
+    }
+  }
+
   protected void removeProject(ProjectConfig project) throws ServerException {
 
     final UriBuilder builder =
@@ -10,8 +10,11 @@
  */
 package org.eclipse.che.api.project.server;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 
@@ -22,13 +25,102 @@ import org.eclipse.che.api.core.model.project.ProjectConfig;
  */
 public abstract class WorkspaceProjectsSyncer {
 
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private final Condition syncStateChanged = syncLock.newCondition();
+
+  /** Pass which is not started yet, requests arriving meanwhile are served by it. */
+  private SyncPass pendingPass;
+
+  private boolean syncing;
+
   /**
-   * Synchronizes Project Config state on Agent and Master
+   * Synchronizes Project Config state on Agent and Master. Synchronization starts immediately when
+   * no other synchronization is running, otherwise it waits for the running one to finish, and
+   * requests which arrive meanwhile are coalesced and served by it.
    *
    * @param projectRegistry project registry
    * @throws ServerException
    */
   public final void sync(ProjectRegistry projectRegistry) throws ServerException {
+    final SyncPass pass;
+    final boolean leader;
+    syncLock.lock();
+    try {
+      leader = pendingPass == null;
+      if (leader) {
+        pendingPass = new SyncPass();
+      }
+      pass = pendingPass;
+      pass.requests++;
+    } finally {
+      syncLock.unlock();
+    }
+
+    if (leader) {
+      runPass(pass, projectRegistry);
+    } else {
+      awaitPass(pass);
+    }
+    if (pass.error instanceof ServerException) {
+      throw (ServerException) pass.error;
+    }
+    if (pass.error != null) {
+      throw (RuntimeException) pass.error;
+    }
+  }
+
+  private void runPass(SyncPass pass, ProjectRegistry projectRegistry) {
+    syncLock.lock();
+    try {
+      // changes of the previous pass may be read before the requests of this one
+      while (syncing) {
+        syncStateChanged.awaitUninterruptibly();
+      }
+      syncing = true;
+      pendingPass = null;
+    } finally {
+      syncLock.unlock();
+    }
+
+    try {
+      doSync(projectRegistry);
+    } catch (ServerException | RuntimeException e) {
+      pass.error = e;
+    } finally {
+      syncLock.lock();
+      try {
+        syncing = false;
+        pass.done = true;
+        syncStateChanged.signalAll();
+      } finally {
+        syncLock.unlock();
+      }
+    }
+  }
+
+  /** Returns the number of requests waiting for the synchronization which is not started yet. */
+  @VisibleForTesting
+  int getPendingRequests() {
+    syncLock.lock();
+    try {
+      return pendingPass == null ? 0 : pendingPass.requests;
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private void awaitPass(SyncPass pass) {
+    syncLock.lock();
+    try {
+      while (!pass.done) {
+        syncStateChanged.awaitUninterruptibly();
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private void doSync(ProjectRegistry projectRegistry) throws ServerException {
 
     List<? extends ProjectConfig> remote = getProjects();
 
@@ -38,9 +130,10 @@ public abstract class WorkspaceProjectsSyncer {
       if (projectRegistry.getProject(r.getPath()) == null) removed.add(r);
     }
 
-    for (ProjectConfig r : removed) removeProject(r);
-
     // update or add
+    List<ProjectConfig> added = new ArrayList<>();
+    List<ProjectConfig> updated = new ArrayList<>();
+    List<RegisteredProject> changed = new ArrayList<>();
     for (RegisteredProject project : projectRegistry.getProjects()) {
 
       if (!project.isSynced() && !project.isDetected()) {
@@ -59,16 +152,41 @@ public abstract class WorkspaceProjectsSyncer {
         boolean found = false;
         for (ProjectConfig r : remote) {
           if (r.getPath().equals(project.getPath())) {
-            updateProject(config);
             found = true;
+            break;
           }
         }
 
-        if (!found) addProject(config);
-
-        project.setSync();
+        if (found) {
+          updated.add(config);
+        } else {
+          added.add(config);
+        }
+        changed.add(project);
       }
     }
+
+    if (!added.isEmpty() || !updated.isEmpty() || !removed.isEmpty()) {
+      updateProjects(added, updated, removed);
+    }
+    changed.forEach(RegisteredProject::setSync);
+  }
+
+  /**
+   * Applies changes of the projects to Workspace Config. By default each project is added, updated
+   * or removed separately, implementations may apply all the changes at once.
+   *
+   * @param added projects to add
+   * @param updated projects to update
+   * @param removed projects to remove
+   * @throws ServerException
+   */
+  protected void updateProjects(
+      List<ProjectConfig> added, List<ProjectConfig> updated, List<ProjectConfig> removed)
+      throws ServerException {
+    for (ProjectConfig project : removed) removeProject(project);
+    for (ProjectConfig project : updated) updateProject(project);
+    for (ProjectConfig project : added) addProject(project);
   }
 
   /**
@@ -103,4 +221,10 @@ public abstract class WorkspaceProjectsSyncer {
    * @throws ServerException
    */
   protected abstract void removeProject(ProjectConfig project) throws ServerException;
+
+  private static class SyncPass {
+    private int requests;
+    private volatile boolean done;
+    private volatile Exception error;
+  }
 }
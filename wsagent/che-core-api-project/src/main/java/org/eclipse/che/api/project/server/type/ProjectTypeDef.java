@@ -180,7 +180,10 @@ public abstract class ProjectTypeDef implements ProjectType {
           Value value;
           String errorMessage = "";
           try {
-            value = new AttributeValue(factory.newInstance(projectFolder).getValues(name));
+            // project types sharing the factory may be resolved in parallel
+            synchronized (factory) {
+              value = new AttributeValue(factory.newInstance(projectFolder).getValues(name));
+            }
           } catch (ValueStorageException e) {
             value = null;
             errorMessage = e.getLocalizedMessage();
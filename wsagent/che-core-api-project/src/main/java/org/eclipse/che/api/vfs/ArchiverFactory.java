@@ -10,13 +10,64 @@
  */
 package org.eclipse.che.api.vfs;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+@Singleton
 public class ArchiverFactory {
+  private final int zipCompressionLevel;
+  private final int zipCompressionThreads;
+  private final ExecutorService zipCompressionExecutor;
+
+  public ArchiverFactory() {
+    this(Deflater.DEFAULT_COMPRESSION, 1);
+  }
+
+  /**
+   * @param zipCompressionLevel level of ZIP compression, {@code 0} stores the files without
+   *     compression, {@code -1} is the default level
+   * @param zipCompressionThreads number of the threads which compress files of one ZIP archive in
+   *     parallel, the files are compressed one by one if it is less than 2
+   */
+  @Inject
+  public ArchiverFactory(
+      @Named("che.vfs.zip.compression_level") int zipCompressionLevel,
+      @Named("che.vfs.zip.compression_threads") int zipCompressionThreads) {
+    this.zipCompressionLevel = zipCompressionLevel;
+    this.zipCompressionThreads = zipCompressionThreads;
+    this.zipCompressionExecutor =
+        zipCompressionThreads < 2
+            ? null
+            : Executors.newFixedThreadPool(
+                zipCompressionThreads,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("ZipCompressor-%d")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .setDaemon(true)
+                    .build());
+  }
+
+  @PreDestroy
+  void stop() {
+    if (zipCompressionExecutor != null) {
+      zipCompressionExecutor.shutdownNow();
+    }
+  }
+
   public Archiver createArchiver(VirtualFile folder, String archiveType) {
     if (archiveType == null) {
       throw new IllegalArgumentException("Archive type might not be null");
     }
     if ("zip".equals(archiveType.toLowerCase())) {
-      return new ZipArchiver(folder);
+      return new ZipArchiver(
+          folder, zipCompressionLevel, zipCompressionExecutor, zipCompressionThreads);
     } else if ("tar".equals(archiveType.toLowerCase())) {
       return new TarArchiver(folder);
     }
@@ -10,22 +10,77 @@
  */
 package org.eclipse.che.api.vfs;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
-import org.eclipse.che.api.vfs.util.ZipContent;
+import org.eclipse.che.api.vfs.util.RatioCheckingZipInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ZipArchiver extends Archiver {
+  private static final Logger LOG = LoggerFactory.getLogger(ZipArchiver.class);
+
+  /** Extensions of the files which are already compressed, such files are stored as is. */
+  private static final Set<String> COMPRESSED_EXTENSIONS =
+      ImmutableSet.of(
+          "zip", "jar", "war", "ear", "gz", "tgz", "bz2", "xz", "7z", "rar", "png", "jpg", "jpeg",
+          "gif", "webp", "mp3", "mp4", "avi", "mov", "woff", "woff2");
+  /** Bigger files are compressed by the writing thread, so they are not kept in memory. */
+  private static final long MAX_PARALLEL_ENTRY_SIZE = 4 * 1024 * 1024;
+  /** Number of the entries compressed in parallel per compression thread. */
+  private static final int PENDING_ENTRIES_PER_THREAD = 4;
+
+  private final int compressionLevel;
+  private final ExecutorService compressionExecutor;
+  private final int maxPendingEntries;
+
   public ZipArchiver(VirtualFile folder) {
+    this(folder, Deflater.DEFAULT_COMPRESSION, null, 0);
+  }
+
+  /**
+   * @param folder folder to compress or extract to
+   * @param compressionLevel level of compression, {@link Deflater#NO_COMPRESSION} stores all the
+   *     files as is
+   * @param compressionExecutor executor which compresses the files in parallel, the files are
+   *     compressed by the writing thread if it is null
+   * @param compressionThreads number of the threads of the executor
+   */
+  public ZipArchiver(
+      VirtualFile folder,
+      int compressionLevel,
+      ExecutorService compressionExecutor,
+      int compressionThreads) {
     super(folder);
+    this.compressionLevel = compressionLevel;
+    this.compressionExecutor = compressionExecutor;
+    this.maxPendingEntries = Math.max(1, compressionThreads) * PENDING_ENTRIES_PER_THREAD;
   }
 
   @Override
@@ -36,24 +91,59 @@ public class ZipArchiver extends Archiver {
   @Override
   public void compress(OutputStream zipOutput, VirtualFileFilter filter)
       throws IOException, ServerException {
+    if (compressionExecutor != null) {
+      compressInParallel(zipOutput, filter);
+      return;
+    }
     try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
-      folder.accept(
-          new VirtualFileVisitor() {
-            @Override
-            public void visit(VirtualFile visitedVirtualFile) throws ServerException {
-              if (filter.accept(visitedVirtualFile)) {
-                if (!visitedVirtualFile.equals(folder)) {
-                  addZipEntry(visitedVirtualFile, zipOutputStream);
-                }
-                if (visitedVirtualFile.isFolder()) {
-                  for (VirtualFile child : visitedVirtualFile.getChildren()) {
-                    child.accept(this);
-                  }
+      visitEntries(filter, virtualFile -> addZipEntry(virtualFile, zipOutputStream));
+    }
+  }
+
+  private void compressInParallel(OutputStream zipOutput, VirtualFileFilter filter)
+      throws IOException, ServerException {
+    try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(zipOutput)) {
+      Deque<Future<CompressedEntry>> pending = new ArrayDeque<>();
+      try {
+        visitEntries(
+            filter,
+            virtualFile -> {
+              if (virtualFile.isFile() && virtualFile.getLength() > MAX_PARALLEL_ENTRY_SIZE) {
+                writeEntries(pending, 0, zipOutputStream);
+                addZipEntry(virtualFile, zipOutputStream);
+              } else {
+                pending.add(
+                    virtualFile.isFolder()
+                        ? CompletableFuture.completedFuture(folderEntry(virtualFile))
+                        : compressionExecutor.submit(() -> compressEntry(virtualFile)));
+                writeEntries(pending, maxPendingEntries, zipOutputStream);
+              }
+            });
+        writeEntries(pending, 0, zipOutputStream);
+      } finally {
+        pending.forEach(entry -> entry.cancel(true));
+      }
+    }
+  }
+
+  private void visitEntries(VirtualFileFilter filter, EntryConsumer consumer)
+      throws ServerException {
+    folder.accept(
+        new VirtualFileVisitor() {
+          @Override
+          public void visit(VirtualFile visitedVirtualFile) throws ServerException {
+            if (filter.accept(visitedVirtualFile)) {
+              if (!visitedVirtualFile.equals(folder)) {
+                consumer.accept(visitedVirtualFile);
+              }
+              if (visitedVirtualFile.isFolder()) {
+                for (VirtualFile child : visitedVirtualFile.getChildren()) {
+                  child.accept(this);
                 }
               }
             }
-          });
-    }
+          }
+        });
   }
 
   private String getZipEntryName(VirtualFile virtualFile) {
@@ -64,18 +154,34 @@ public class ZipArchiver extends Archiver {
     return zipPath.toString();
   }
 
+  private boolean isStored(VirtualFile virtualFile) {
+    if (compressionLevel == Deflater.NO_COMPRESSION) {
+      return true;
+    }
+    String name = virtualFile.getName();
+    int dot = name.lastIndexOf('.');
+    return dot != -1 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase());
+  }
+
   private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream)
       throws ServerException {
     try {
       ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
-      zipOutputStream.putNextEntry(zipEntry);
       if (virtualFile.isFolder()) {
         zipEntry.setTime(0);
+        zipOutputStream.putNextEntry(zipEntry);
       } else {
+        zipEntry.setTime(virtualFile.getLastModificationDate());
+        if (isStored(virtualFile)) {
+          setStored(zipEntry, virtualFile);
+        } else {
+          zipEntry.setMethod(ZipEntry.DEFLATED);
+          zipOutputStream.setLevel(compressionLevel);
+        }
+        zipOutputStream.putNextEntry(zipEntry);
         try (InputStream content = virtualFile.getContent()) {
           ByteStreams.copy(content, zipOutputStream);
         }
-        zipEntry.setTime(virtualFile.getLastModificationDate());
       }
       zipOutputStream.closeEntry();
     } catch (ForbiddenException e) {
@@ -85,53 +191,228 @@ public class ZipArchiver extends Archiver {
     }
   }
 
+  private void addZipEntry(VirtualFile virtualFile, ZipArchiveOutputStream zipOutputStream)
+      throws ServerException {
+    try {
+      ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
+      zipEntry.setTime(virtualFile.getLastModificationDate());
+      if (isStored(virtualFile)) {
+        setStored(zipEntry, virtualFile);
+      } else {
+        zipEntry.setMethod(ZipEntry.DEFLATED);
+        zipOutputStream.setLevel(compressionLevel);
+      }
+      zipOutputStream.putArchiveEntry(zipEntry);
+      try (InputStream content = virtualFile.getContent()) {
+        ByteStreams.copy(content, zipOutputStream);
+      }
+      zipOutputStream.closeArchiveEntry();
+    } catch (ForbiddenException e) {
+      throw new ServerException(e.getServiceError());
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Makes the entry stored as is. Size and CRC-32 of a stored entry must be written before its
+   * content, so the file is read once to compute them before it is copied to the archive.
+   */
+  private void setStored(ZipEntry zipEntry, VirtualFile virtualFile)
+      throws ForbiddenException, ServerException, IOException {
+    CRC32 crc = new CRC32();
+    long size;
+    try (InputStream content = new CheckedInputStream(virtualFile.getContent(), crc)) {
+      size = ByteStreams.copy(content, ByteStreams.nullOutputStream());
+    }
+    zipEntry.setMethod(ZipEntry.STORED);
+    zipEntry.setCrc(crc.getValue());
+    zipEntry.setSize(size);
+    zipEntry.setCompressedSize(size);
+  }
+
+  private CompressedEntry folderEntry(VirtualFile virtualFile) {
+    ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
+    zipEntry.setTime(0);
+    return new CompressedEntry(zipEntry, null);
+  }
+
+  /** Compresses content of the file in memory, runs in the compression thread. */
+  private CompressedEntry compressEntry(VirtualFile virtualFile) throws ServerException {
+    ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
+    zipEntry.setTime(virtualFile.getLastModificationDate());
+    boolean stored = isStored(virtualFile);
+    CRC32 crc = new CRC32();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    long size;
+    try (InputStream content = new CheckedInputStream(virtualFile.getContent(), crc)) {
+      if (stored) {
+        size = ByteStreams.copy(content, compressed);
+      } else {
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try (OutputStream deflaterOutput = new DeflaterOutputStream(compressed, deflater)) {
+          size = ByteStreams.copy(content, deflaterOutput);
+        } finally {
+          deflater.end();
+        }
+      }
+    } catch (ForbiddenException e) {
+      throw new ServerException(e.getServiceError());
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+    zipEntry.setMethod(stored ? ZipEntry.STORED : ZipEntry.DEFLATED);
+    zipEntry.setCrc(crc.getValue());
+    zipEntry.setSize(size);
+    zipEntry.setCompressedSize(compressed.size());
+    return new CompressedEntry(zipEntry, compressed.toByteArray());
+  }
+
+  /** Writes the compressed entries in the order they were added until the given number is left. */
+  private void writeEntries(
+      Deque<Future<CompressedEntry>> pending, int remaining, ZipArchiveOutputStream zipOutputStream)
+      throws ServerException {
+    while (pending.size() > remaining) {
+      CompressedEntry entry;
+      try {
+        entry = pending.peek().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ServerException("Compression of the folder is interrupted", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof ServerException) {
+          throw (ServerException) e.getCause();
+        }
+        throw new ServerException(e.getCause().getMessage(), e.getCause());
+      }
+      pending.poll();
+      try {
+        if (entry.content == null) {
+          zipOutputStream.putArchiveEntry(entry.zipEntry);
+          zipOutputStream.closeArchiveEntry();
+        } else {
+          zipOutputStream.addRawArchiveEntry(
+              entry.zipEntry, new ByteArrayInputStream(entry.content));
+        }
+      } catch (IOException e) {
+        throw new ServerException(e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The archive is read once and the compression ratio is checked while it is extracted. When
+   * a zip bomb is detected, files and folders created by the extraction are removed, while the
+   * content of the files overwritten before the detection is not restored.
+   */
   @Override
   public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
       throws IOException, ForbiddenException, ConflictException, ServerException {
-    try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent())) {
-      InputStream notClosableInputStream = new NotClosableInputStream(zip);
-      ZipEntry zipEntry;
-      while ((zipEntry = zip.getNextEntry()) != null) {
-        VirtualFile extractFolder = folder;
-
-        Path relativePath = Path.of(zipEntry.getName());
-
-        if (stripNumber > 0) {
-          if (relativePath.length() <= stripNumber) {
-            continue;
-          }
-          relativePath = relativePath.subPath(stripNumber);
+    List<VirtualFile> created = new ArrayList<>();
+    try (RatioCheckingZipInputStream zip = new RatioCheckingZipInputStream(zipInput)) {
+      try {
+        extract(zip, overwrite, stripNumber, created);
+      } catch (ServerException | IOException e) {
+        if (zip.isRatioExceeded()) {
+          removeCreated(created);
+          throw new IOException("Zip bomb detected", e);
         }
+        throw e;
+      }
+    }
+  }
 
-        if (zipEntry.isDirectory()) {
-          if (!extractFolder.hasChild(relativePath)) {
-            extractFolder.createFolder(relativePath.toString());
-          }
+  private void extract(
+      ZipInputStream zip, boolean overwrite, int stripNumber, List<VirtualFile> created)
+      throws IOException, ForbiddenException, ConflictException, ServerException {
+    InputStream notClosableInputStream = new NotClosableInputStream(zip);
+    ZipEntry zipEntry;
+    while ((zipEntry = zip.getNextEntry()) != null) {
+      Path relativePath = Path.of(zipEntry.getName());
+
+      if (stripNumber > 0) {
+        if (relativePath.length() <= stripNumber) {
           continue;
         }
+        relativePath = relativePath.subPath(stripNumber);
+      }
 
-        if (relativePath.length() > 1) {
-          Path neededParentPath = relativePath.getParent();
-          VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-          if (neededParent == null) {
-            neededParent = extractFolder.createFolder(neededParentPath.toString());
+      if (zipEntry.isDirectory()) {
+        getOrCreateFolder(relativePath.elements(), relativePath.length(), created);
+        continue;
+      }
+
+      VirtualFile extractFolder =
+          getOrCreateFolder(relativePath.elements(), relativePath.length() - 1, created);
+      String fileName = relativePath.getName();
+      VirtualFile file = extractFolder.getChild(Path.of(fileName));
+      if (file == null) {
+        try {
+          created.add(extractFolder.createFile(fileName, notClosableInputStream));
+        } catch (ServerException e) {
+          // the file might be left partially written
+          VirtualFile partial = extractFolder.getChild(Path.of(fileName));
+          if (partial != null) {
+            created.add(partial);
           }
-          extractFolder = neededParent;
+          throw e;
         }
-
-        String fileName = relativePath.getName();
-        VirtualFile file = extractFolder.getChild(Path.of(fileName));
-        if (file == null) {
-          extractFolder.createFile(fileName, notClosableInputStream);
+      } else {
+        if (overwrite) {
+          file.updateContent(notClosableInputStream);
         } else {
-          if (overwrite) {
-            file.updateContent(notClosableInputStream);
-          } else {
-            throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
-          }
+          throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
         }
-        zip.closeEntry();
       }
+      zip.closeEntry();
+    }
+  }
+
+  /**
+   * Returns the folder with the given first elements of the path relative to the extraction
+   * folder, missing folders are created one by one, so each of them is known to be created.
+   */
+  private VirtualFile getOrCreateFolder(String[] elements, int length, List<VirtualFile> created)
+      throws ForbiddenException, ConflictException, ServerException {
+    VirtualFile current = folder;
+    for (int i = 0; i < length; i++) {
+      VirtualFile child = current.getChild(Path.of(elements[i]));
+      if (child == null) {
+        child = current.createFolder(elements[i]);
+        created.add(child);
+      }
+      current = child;
+    }
+    return current;
+  }
+
+  /** Removes the files and folders created by the extraction, the latest created go first. */
+  private static void removeCreated(List<VirtualFile> created) {
+    for (int i = created.size() - 1; i >= 0; i--) {
+      VirtualFile virtualFile = created.get(i);
+      try {
+        if (virtualFile.exists()) {
+          virtualFile.delete();
+        }
+      } catch (ForbiddenException | ServerException e) {
+        LOG.warn("Can't remove '{}' extracted from zip bomb", virtualFile.getPath(), e);
+      }
+    }
+  }
+
+  private interface EntryConsumer {
+    void accept(VirtualFile virtualFile) throws ServerException;
+  }
+
+  private static class CompressedEntry {
+    private final ZipArchiveEntry zipEntry;
+    private final byte[] content;
+
+    private CompressedEntry(ZipArchiveEntry zipEntry, byte[] content) {
+      this.zipEntry = zipEntry;
+      this.content = content;
     }
   }
 }
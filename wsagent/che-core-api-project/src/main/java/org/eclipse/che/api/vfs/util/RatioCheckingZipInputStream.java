@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.io.input.CountingInputStream;
+
+/**
+ * ZIP input stream which fails with {@code IOException} as soon as the uncompressed data read from
+ * it exceeds the compressed data read from the underlying stream more than {@link #ZIP_RATIO}
+ * times, so a zip bomb is detected while the archive is extracted.
+ */
+public class RatioCheckingZipInputStream extends ZipInputStream {
+  /** The threshold after that checking of ZIP ratio started. */
+  static final long ZIP_THRESHOLD = 1000000;
+  /**
+   * Max compression ratio. If the number of bytes uncompressed data is exceed the number of bytes
+   * of compressed stream more than this ratio (and number of uncompressed data is more than
+   * threshold) then IOException is thrown.
+   */
+  static final int ZIP_RATIO = 100;
+
+  private final CountingInputStream compressedDataCounter;
+  private long uncompressedBytes;
+  private boolean ratioExceeded;
+
+  public RatioCheckingZipInputStream(InputStream in) {
+    this(new CountingInputStream(in));
+  }
+
+  private RatioCheckingZipInputStream(CountingInputStream compressedDataCounter) {
+    super(compressedDataCounter);
+    this.compressedDataCounter = compressedDataCounter;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int count = super.read(b, off, len);
+    if (count > 0) {
+      uncompressedBytes += count;
+      if (uncompressedBytes > ZIP_THRESHOLD
+          && uncompressedBytes > (ZIP_RATIO * compressedDataCounter.getByteCount())) {
+        ratioExceeded = true;
+        throw new IOException("Zip bomb detected");
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns {@code true} if the ratio was exceeded, e.g. to find out the cause of the failure of
+   * the consumer of the stream which doesn't propagate the {@code IOException}.
+   */
+  public boolean isRatioExceeded() {
+    return ratioExceeded;
+  }
+}
@@ -18,7 +18,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import org.apache.commons.io.input.CountingInputStream;
 
 /** @author andrew00x */
 public final class ZipContent {
@@ -26,14 +25,6 @@ public final class ZipContent {
   private static final int KEEP_IN_MEMORY_THRESHOLD = 200 * 1024;
 
   private static final int COPY_BUFFER_SIZE = 8 * 1024;
-  /** The threshold after that checking of ZIP ratio started. */
-  private static final long ZIP_THRESHOLD = 1000000;
-  /**
-   * Max compression ratio. If the number of bytes uncompressed data is exceed the number of bytes
-   * of compressed stream more than this ratio (and number of uncompressed data is more than
-   * threshold) then IOException is thrown.
-   */
-  private static final int ZIP_RATIO = 100;
 
   public static ZipContent of(InputStream in) throws IOException {
     java.io.File file = null;
@@ -64,21 +55,12 @@ public final class ZipContent {
       spool = new ByteArrayInputStream(inMemory);
     }
 
-    try (CountingInputStream compressedDataCounter = new CountingInputStream(spool);
-        ZipInputStream zip = new ZipInputStream(compressedDataCounter)) {
-      try (CountingInputStream uncompressedDataCounter = new CountingInputStream(zip)) {
-        ZipEntry zipEntry;
-        while ((zipEntry = zip.getNextEntry()) != null) {
-          if (!zipEntry.isDirectory()) {
-            while (uncompressedDataCounter.read(buff) != -1) {
-              long uncompressedBytes = uncompressedDataCounter.getByteCount();
-              if (uncompressedBytes > ZIP_THRESHOLD) {
-                long compressedBytes = compressedDataCounter.getByteCount();
-                if (uncompressedBytes > (ZIP_RATIO * compressedBytes)) {
-                  throw new IOException("Zip bomb detected");
-                }
-              }
-            }
+    try (ZipInputStream zip = new RatioCheckingZipInputStream(spool)) {
+      ZipEntry zipEntry;
+      while ((zipEntry = zip.getNextEntry()) != null) {
+        if (!zipEntry.isDirectory()) {
+          while (zip.read(buff) != -1) {
+            // the ratio is checked while reading
           }
         }
       }
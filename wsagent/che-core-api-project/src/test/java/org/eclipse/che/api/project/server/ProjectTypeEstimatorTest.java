@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(value = {MockitoTestNGListener.class})
+public class ProjectTypeEstimatorTest {
+  @Mock private ProjectTypeDef projectType;
+  @Mock private ProjectTypeResolution resolution;
+
+  private ProjectTypeEstimator estimator;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    estimator = new ProjectTypeEstimator(2, 60);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    estimator.stop();
+  }
+
+  @Test
+  public void returnsResolutionsInOrderOfProjectTypes() throws Exception {
+    FolderEntry folder = mockFolder("/project", mockChild("pom.xml", 1));
+    ProjectTypeDef slowProjectType = mock(ProjectTypeDef.class);
+    ProjectTypeResolution slowResolution = mock(ProjectTypeResolution.class);
+    when(slowProjectType.getId()).thenReturn("slow");
+    when(slowProjectType.resolveSources(folder))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(200);
+              return slowResolution;
+            });
+    when(projectType.getId()).thenReturn("fast");
+    when(projectType.resolveSources(folder)).thenReturn(resolution);
+
+    List<ProjectTypeResolution> resolutions =
+        estimator.estimate(folder, asList(slowProjectType, projectType));
+
+    assertEquals(resolutions, asList(slowResolution, resolution));
+  }
+
+  @Test
+  public void reusesResolutionWhileFolderIsNotModified() throws Exception {
+    FolderEntry folder = mockFolder("/project", mockChild("pom.xml", 1));
+    when(projectType.getId()).thenReturn("maven");
+    when(projectType.resolveSources(folder)).thenReturn(resolution);
+
+    estimator.estimate(folder, singletonList(projectType));
+    ProjectTypeResolution cached = estimator.estimate(folder, projectType);
+
+    assertEquals(cached, resolution);
+    verify(projectType).resolveSources(folder);
+  }
+
+  @Test
+  public void resolvesAgainWhenChildOfFolderIsModified() throws Exception {
+    VirtualFile child = mockChild("pom.xml", 1);
+    FolderEntry folder = mockFolder("/project", child);
+    when(projectType.getId()).thenReturn("maven");
+    when(projectType.resolveSources(folder)).thenReturn(resolution);
+
+    estimator.estimate(folder, projectType);
+    when(child.getLastModificationDate()).thenReturn(2L);
+    estimator.estimate(folder, projectType);
+
+    verify(projectType, times(2)).resolveSources(folder);
+  }
+
+  @Test
+  public void resolvesAgainWhenFolderOrItsParentIsInvalidated() throws Exception {
+    FolderEntry module = mockFolder("/project/module", mockChild("pom.xml", 1));
+    FolderEntry sibling = mockFolder("/project2", mockChild("pom.xml", 1));
+    when(projectType.getId()).thenReturn("maven");
+    when(projectType.resolveSources(module)).thenReturn(resolution);
+    when(projectType.resolveSources(sibling)).thenReturn(resolution);
+
+    estimator.estimate(module, projectType);
+    estimator.estimate(sibling, projectType);
+    estimator.invalidate("/project");
+    estimator.estimate(module, projectType);
+    estimator.estimate(sibling, projectType);
+
+    verify(projectType, times(2)).resolveSources(module);
+    verify(projectType).resolveSources(sibling);
+  }
+
+  private FolderEntry mockFolder(String path, VirtualFile child) throws Exception {
+    FolderEntry folder = mock(FolderEntry.class);
+    VirtualFile virtualFile = mock(VirtualFile.class);
+    when(folder.getPath()).thenReturn(Path.of(path));
+    when(folder.getVirtualFile()).thenReturn(virtualFile);
+    when(virtualFile.getChildren()).thenReturn(singletonList(child));
+    return folder;
+  }
+
+  private VirtualFile mockChild(String name, long lastModificationDate) {
+    VirtualFile child = mock(VirtualFile.class);
+    when(child.getName()).thenReturn(name);
+    when(child.getLastModificationDate()).thenReturn(lastModificationDate);
+    return child;
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(value = {MockitoTestNGListener.class})
+public class WorkspaceProjectsSyncerTest {
+  @Mock private ProjectRegistry projectRegistry;
+  @Mock private RegisteredProject project;
+
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(projectRegistry.getProjects()).thenReturn(singletonList(project));
+    when(project.getPath()).thenReturn("/project");
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void syncStartsImmediatelyWhenNoOtherSyncIsRunning() throws Exception {
+    TestProjectsSyncer syncer = new TestProjectsSyncer();
+
+    syncer.sync(projectRegistry);
+
+    assertEquals(syncer.updates.get(), 1);
+    verify(project).setSync();
+  }
+
+  @Test
+  public void requestsArrivedDuringRunningSyncAreServedBySingleNextSync() throws Exception {
+    TestProjectsSyncer syncer = new TestProjectsSyncer();
+    syncer.updateReleased = new CountDownLatch(1);
+    Future<Void> first = executor.submit(sync(syncer));
+    assertTrue(syncer.updateStarted.tryAcquire(10, SECONDS));
+
+    List<Future<Void>> next = syncConcurrently(syncer, 5);
+    awaitPendingRequests(syncer, 5);
+    try {
+      next.get(0).get(200, MILLISECONDS);
+      fail("Request must wait for the sync which starts after the running one");
+    } catch (TimeoutException expected) {
+    }
+    syncer.updateReleased.countDown();
+    first.get(10, SECONDS);
+    for (Future<Void> future : next) {
+      future.get(10, SECONDS);
+    }
+
+    assertEquals(syncer.updates.get(), 2);
+  }
+
+  @Test
+  public void projectsStayUnsyncedAndAllRequestsFailWhenUpdateFails() throws Exception {
+    TestProjectsSyncer syncer = new TestProjectsSyncer();
+    syncer.updateError = new ServerException("Workspace is not updated");
+    syncer.updateReleased = new CountDownLatch(1);
+    Future<Void> first = executor.submit(sync(syncer));
+    assertTrue(syncer.updateStarted.tryAcquire(10, SECONDS));
+    List<Future<Void>> requests = new ArrayList<>(syncConcurrently(syncer, 2));
+    requests.add(first);
+    awaitPendingRequests(syncer, 2);
+    syncer.updateReleased.countDown();
+
+    for (Future<Void> future : requests) {
+      try {
+        future.get(10, SECONDS);
+        fail("Sync request must fail when the update of the workspace fails");
+      } catch (ExecutionException e) {
+        assertEquals(e.getCause(), syncer.updateError);
+      }
+    }
+    verify(project, never()).setSync();
+
+    syncer.updateError = null;
+    syncer.sync(projectRegistry);
+
+    assertEquals(syncer.updates.get(), 3);
+    verify(project).setSync();
+  }
+
+  private static void awaitPendingRequests(TestProjectsSyncer syncer, int requests) {
+    for (int i = 0; syncer.getPendingRequests() < requests && i < 100; i++) {
+      Uninterruptibles.sleepUninterruptibly(100, MILLISECONDS);
+    }
+    assertEquals(syncer.getPendingRequests(), requests);
+  }
+
+  private List<Future<Void>> syncConcurrently(TestProjectsSyncer syncer, int requests) {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Void>> futures = new ArrayList<>(requests);
+    for (int i = 0; i < requests; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return sync(syncer).call();
+              }));
+    }
+    start.countDown();
+    return futures;
+  }
+
+  private Callable<Void> sync(TestProjectsSyncer syncer) {
+    return () -> {
+      syncer.sync(projectRegistry);
+      return null;
+    };
+  }
+
+  private static class TestProjectsSyncer extends WorkspaceProjectsSyncer {
+    private final AtomicInteger updates = new AtomicInteger();
+    private final Semaphore updateStarted = new Semaphore(0);
+
+    private volatile CountDownLatch updateReleased = new CountDownLatch(0);
+    private volatile ServerException updateError;
+
+    @Override
+    protected void updateProjects(
+        List<ProjectConfig> added, List<ProjectConfig> updated, List<ProjectConfig> removed)
+        throws ServerException {
+      updates.incrementAndGet();
+      updateStarted.release();
+      Uninterruptibles.awaitUninterruptibly(updateReleased);
+      if (updateError != null) {
+        throw updateError;
+      }
+    }
+
+    @Override
+    public List<? extends ProjectConfig> getProjects() {
+      return emptyList();
+    }
+
+    @Override
+    public String getWorkspaceId() {
+      return "ws";
+    }
+
+    @Override
+    protected void addProject(ProjectConfig project) {}
+
+    @Override
+    protected void updateProject(ProjectConfig project) {}
+
+    @Override
+    protected void removeProject(ProjectConfig project) {}
+  }
+}
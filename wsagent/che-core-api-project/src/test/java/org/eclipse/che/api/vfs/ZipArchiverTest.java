@@ -12,9 +12,11 @@ package org.eclipse.che.api.vfs;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -27,6 +29,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -111,6 +115,76 @@ public class ZipArchiverTest {
         new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
   }
 
+  @Test
+  public void compressesFolderToArchiveInParallel() throws Exception {
+    VirtualFile folder = createFileTreeForArchiving();
+    folder.getChild(Path.of("a")).createFile("lib.jar", TEST_CONTENT);
+    ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+    Map<String, String> entries =
+        getFileTreeAsList(folder)
+            .stream()
+            .collect(toMap(f -> getZipEntryName(folder, f), this::readContentUnchecked));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      new ZipArchiver(folder, 9, executor, 2).compress(compressedFolder);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThatZipArchiveContainsAllEntries(
+        new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+  }
+
+  @Test
+  public void storesAlreadyCompressedFilesWithoutDeflating() throws Exception {
+    VirtualFile folder = createFileTreeForArchiving();
+    folder.getChild(Path.of("a")).createFile("lib.jar", TEST_CONTENT);
+    ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+    new ZipArchiver(folder).compress(compressedFolder);
+
+    Map<String, Integer> methods = newHashMap();
+    try (ZipInputStream zip =
+        new ZipInputStream(new ByteArrayInputStream(compressedFolder.toByteArray()))) {
+      ZipEntry zipEntry;
+      while ((zipEntry = zip.getNextEntry()) != null) {
+        methods.put(zipEntry.getName(), zipEntry.getMethod());
+      }
+    }
+    assertEquals(Integer.valueOf(ZipEntry.STORED), methods.get("a/lib.jar"));
+    assertEquals(Integer.valueOf(ZipEntry.DEFLATED), methods.get("a/_a.txt"));
+  }
+
+  @Test
+  public void failsExtractArchiveWhenCompressionRatioIsTooHigh() throws Exception {
+    ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+      zipOut.putNextEntry(new ZipEntry("file.txt"));
+      zipOut.write(TEST_CONTENT_BYTES);
+      zipOut.putNextEntry(new ZipEntry("existing/nested/bomb.txt"));
+      zipOut.write(new byte[10 * 1024 * 1024]);
+    }
+    VirtualFile folder = vfsRoot.createFolder("folder");
+    folder.createFolder("existing").createFile("existing.txt", TEST_CONTENT);
+
+    try {
+      new ZipArchiver(folder).extract(new ByteArrayInputStream(byteOut.toByteArray()), false, 0);
+      fail("Zip bomb is expected to be detected");
+    } catch (IOException e) {
+      assertEquals("Zip bomb detected", e.getMessage());
+    }
+
+    // entries extracted before the detection are removed, while existing files are kept
+    assertEquals(
+        newArrayList("existing/", "existing/existing.txt"),
+        getFileTreeAsList(folder)
+            .stream()
+            .filter(file -> !file.equals(folder))
+            .map(file -> getZipEntryName(folder, file))
+            .sorted()
+            .collect(toList()));
+  }
+
   @Test
   public void extractsArchiveToFolder() throws Exception {
     byte[] archive = createTestZipArchive();
@@ -14,6 +14,7 @@ import static java.util.Objects.requireNonNull;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.che.account.event.AccountUpdatedEvent;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountDao;
@@ -56,6 +57,9 @@ public class AccountManager {
   /**
    * Updates account by replacing an existing account entity with a new one.
    *
+   * <p>Publishes {@link AccountUpdatedEvent} after the account is updated, so the components
+   * relying on the account name(e.g. namespace of workspaces) are able to respect the rename.
+   *
    * @param account account to update
    * @throws NullPointerException when {@code account} is null
    * @throws NotFoundException when account with id {@code account.getId()} is not found
@@ -64,7 +68,10 @@ public class AccountManager {
    */
   public void update(Account account) throws NotFoundException, ConflictException, ServerException {
     requireNonNull(account, "Required non-null account");
-    accountDao.update(new AccountImpl(account));
+    final AccountImpl original = accountDao.getById(account.getId());
+    final AccountImpl updated = new AccountImpl(account);
+    accountDao.update(updated);
+    eventService.publish(new AccountUpdatedEvent(original, updated));
   }
 
   /**
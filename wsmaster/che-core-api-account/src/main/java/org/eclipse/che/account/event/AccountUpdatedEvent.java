@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.account.event;
+
+import org.eclipse.che.account.spi.AccountImpl;
+
+/** Published after {@link AccountImpl account} updated, e.g. renamed. */
+public class AccountUpdatedEvent {
+
+  private final AccountImpl originalAccount;
+  private final AccountImpl updatedAccount;
+
+  public AccountUpdatedEvent(AccountImpl originalAccount, AccountImpl updatedAccount) {
+    this.originalAccount = originalAccount;
+    this.updatedAccount = updatedAccount;
+  }
+
+  /** Returns account as it was before the update. */
+  public AccountImpl getOriginalAccount() {
+    return originalAccount;
+  }
+
+  /** Returns updated account. */
+  public AccountImpl getUpdatedAccount() {
+    return updatedAccount;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.server.jpa;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.server.event.BeforeRecipeRemovedEvent;
+import org.eclipse.che.api.machine.server.event.RecipePersistedEvent;
+import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.eclipse.che.api.machine.server.spi.RecipeDao;
+import org.eclipse.che.core.db.cache.DaoCache;
+import org.eclipse.che.core.db.cache.TransactionTracker;
+
+/**
+ * Caches recipes fetched by {@link JpaRecipeDao} by their ids as well as results of recipes search.
+ *
+ * <p>Search results are invalidated on any recipe modification. All the returned recipes are
+ * copies of cached ones.
+ */
+@Singleton
+public class CachingRecipeDao implements RecipeDao {
+
+  private final JpaRecipeDao delegate;
+  private final EventService eventService;
+  private final DaoCache<String, RecipeImpl> byId;
+  private final DaoCache<List<Object>, List<RecipeImpl>> searches;
+  private final EventSubscriber<RecipePersistedEvent> persistedSubscriber;
+  private final EventSubscriber<BeforeRecipeRemovedEvent> removedSubscriber;
+
+  @Inject
+  public CachingRecipeDao(
+      JpaRecipeDao delegate,
+      EventService eventService,
+      TransactionTracker transactionTracker,
+      @Named("db.cache.entity.max_entries") long maxEntities,
+      @Named("db.cache.query.max_entries") long maxQueries,
+      @Named("db.cache.ttl_sec") long ttlSeconds) {
+    this.delegate = delegate;
+    this.eventService = eventService;
+    this.byId = new DaoCache<>("recipe.byId", maxEntities, ttlSeconds, transactionTracker);
+    this.searches = new DaoCache<>("recipe.search", maxQueries, ttlSeconds, transactionTracker);
+    this.persistedSubscriber = event -> invalidate(event.getRecipe().getId());
+    this.removedSubscriber = event -> invalidate(event.getRecipe().getId());
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(persistedSubscriber, RecipePersistedEvent.class);
+    eventService.subscribe(removedSubscriber, BeforeRecipeRemovedEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(persistedSubscriber, RecipePersistedEvent.class);
+    eventService.unsubscribe(removedSubscriber, BeforeRecipeRemovedEvent.class);
+  }
+
+  @Override
+  public void create(RecipeImpl recipe) throws ConflictException, ServerException {
+    requireNonNull(recipe);
+    try {
+      delegate.create(recipe);
+    } finally {
+      invalidate(recipe.getId());
+    }
+  }
+
+  @Override
+  public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
+    requireNonNull(update);
+    try {
+      return delegate.update(update);
+    } finally {
+      invalidate(update.getId());
+    }
+  }
+
+  @Override
+  public void remove(String id) throws ServerException {
+    requireNonNull(id);
+    try {
+      delegate.remove(id);
+    } finally {
+      invalidate(id);
+    }
+  }
+
+  @Override
+  public RecipeImpl getById(String id) throws NotFoundException, ServerException {
+    requireNonNull(id);
+    return new RecipeImpl(byId.get(id, () -> new RecipeImpl(delegate.getById(id))));
+  }
+
+  @Override
+  public List<RecipeImpl> search(
+      String user, List<String> tags, String type, int skipCount, int maxItems)
+      throws ServerException {
+    final List<Object> key =
+        asList(user, tags == null ? null : new ArrayList<>(tags), type, skipCount, maxItems);
+    return searches
+        .get(key, () -> copyOf(delegate.search(user, tags, type, skipCount, maxItems)))
+        .stream()
+        .map(RecipeImpl::new)
+        .collect(toList());
+  }
+
+  private void invalidate(String id) {
+    byId.invalidate(id);
+    searches.invalidateAll();
+  }
+
+  private static List<RecipeImpl> copyOf(List<RecipeImpl> recipes) {
+    return recipes.stream().map(RecipeImpl::new).collect(toList());
+  }
+}
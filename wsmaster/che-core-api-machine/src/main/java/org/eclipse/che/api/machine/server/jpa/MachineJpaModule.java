@@ -19,7 +19,7 @@ public class MachineJpaModule extends AbstractModule {
 
   @Override
   protected void configure() {
-    bind(RecipeDao.class).to(JpaRecipeDao.class);
+    bind(RecipeDao.class).to(CachingRecipeDao.class);
     bind(SnapshotDao.class).to(JpaSnapshotDao.class);
   }
 }
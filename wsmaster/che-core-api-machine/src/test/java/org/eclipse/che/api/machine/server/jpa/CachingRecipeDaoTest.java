@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.machine.server.jpa;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.machine.server.event.BeforeRecipeRemovedEvent;
+import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link CachingRecipeDao}. */
+@Listeners(MockitoTestNGListener.class)
+public class CachingRecipeDaoTest {
+
+  @Mock private JpaRecipeDao delegate;
+
+  private EventService eventService;
+  private CachingRecipeDao dao;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    dao = new CachingRecipeDao(delegate, eventService, null, 10, 10, 60);
+    dao.subscribe();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    dao.unsubscribe();
+  }
+
+  @Test
+  public void returnsCachedRecipe() throws Exception {
+    final RecipeImpl recipe = createRecipe("script");
+    when(delegate.getById("id")).thenReturn(recipe);
+
+    dao.getById("id");
+    final RecipeImpl result = dao.getById("id");
+
+    assertEquals(result, recipe);
+    verify(delegate).getById("id");
+  }
+
+  @Test
+  public void returnsUpdatedRecipeAfterUpdate() throws Exception {
+    final RecipeImpl recipe = createRecipe("script");
+    final RecipeImpl updated = createRecipe("new script");
+    when(delegate.getById("id")).thenReturn(recipe, updated);
+    when(delegate.search("user", null, "docker", 0, 10))
+        .thenReturn(singletonList(recipe), singletonList(updated));
+    when(delegate.update(updated)).thenReturn(updated);
+    dao.getById("id");
+    dao.search("user", null, "docker", 0, 10);
+
+    dao.update(updated);
+
+    assertEquals(dao.getById("id"), updated);
+    assertEquals(dao.search("user", null, "docker", 0, 10), singletonList(updated));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void doesNotReturnRecipeAfterRemoval() throws Exception {
+    when(delegate.getById("id"))
+        .thenReturn(createRecipe("script"))
+        .thenThrow(new NotFoundException("removed"));
+    dao.getById("id");
+
+    dao.remove("id");
+
+    dao.getById("id");
+  }
+
+  @Test
+  public void invalidatesRecipeRemovedByCascade() throws Exception {
+    final RecipeImpl recipe = createRecipe("script");
+    when(delegate.getById("id")).thenReturn(recipe);
+    when(delegate.search("user", null, "docker", 0, 10)).thenReturn(singletonList(recipe));
+    dao.getById("id");
+    dao.search("user", null, "docker", 0, 10);
+
+    eventService.publish(new BeforeRecipeRemovedEvent(recipe));
+    dao.getById("id");
+    dao.search("user", null, "docker", 0, 10);
+
+    verify(delegate, times(2)).getById("id");
+    verify(delegate, times(2)).search("user", null, "docker", 0, 10);
+  }
+
+  private static RecipeImpl createRecipe(String script) {
+    return new RecipeImpl("id", "recipe", "user", "docker", script, null, "description");
+  }
+}
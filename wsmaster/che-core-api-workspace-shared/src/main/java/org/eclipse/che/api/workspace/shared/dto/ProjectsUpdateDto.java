@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Changes of the workspace projects which are applied by a single update of the workspace. */
+@DTO
+public interface ProjectsUpdateDto {
+
+  /** Projects to add, or to replace the projects with the same paths. */
+  List<ProjectConfigDto> getProjects();
+
+  void setProjects(List<ProjectConfigDto> projects);
+
+  ProjectsUpdateDto withProjects(List<ProjectConfigDto> projects);
+
+  /** Paths of the projects to remove. */
+  List<String> getRemoved();
+
+  void setRemoved(List<String> removed);
+
+  ProjectsUpdateDto withRemoved(List<String> removed);
+}
@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
@@ -44,6 +45,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
@@ -56,8 +58,11 @@ import org.eclipse.che.api.core.model.workspace.ServerConf2;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.AbstractLineConsumer;
+import org.eclipse.che.api.core.util.JsonRpcEndpointToMachineNameHolder;
+import org.eclipse.che.api.core.util.JsonRpcMessageConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentFileLineConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
@@ -90,7 +95,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.KeyedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -106,8 +111,12 @@ public class CheEnvironmentEngine {
   private static final NoOpStartedHandler NO_OP_HANDLER = new NoOpStartedHandler();
   private static final Logger LOG = getLogger(CheEnvironmentEngine.class);
 
+  private static final int MACHINE_LOG_BATCH_SIZE = 200;
+  private static final long MACHINE_LOG_BATCH_DELAY_MS = 100;
+  private static final int MACHINE_LOG_MAX_PENDING_LINES = 20_000;
+
   private final Map<String, EnvironmentHolder> environments;
-  private final StripedLocks stripedLocks;
+  private final KeyedLocks locks;
   private final File machineLogsDir;
   private final MachineInstanceProviders machineInstanceProviders;
   private final long defaultMachineMemorySizeBytes;
@@ -122,6 +131,8 @@ public class CheEnvironmentEngine {
   private final ContainerNameGenerator containerNameGenerator;
   private final AgentRegistry agentRegistry;
   private final WorkspaceSharedPool sharedPool;
+  private final RequestTransmitter transmitter;
+  private final JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
 
   private volatile boolean isPreDestroyInvoked;
 
@@ -140,7 +151,9 @@ public class CheEnvironmentEngine {
       RecipeDownloader recipeDownloader,
       ContainerNameGenerator containerNameGenerator,
       AgentRegistry agentRegistry,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      RequestTransmitter transmitter,
+      JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder) {
     this.snapshotDao = snapshotDao;
     this.eventService = eventService;
     this.environmentParser = environmentParser;
@@ -150,12 +163,13 @@ public class CheEnvironmentEngine {
     this.recipeDownloader = recipeDownloader;
     this.agentRegistry = agentRegistry;
     this.sharedPool = sharedPool;
+    this.transmitter = transmitter;
+    this.jsonRpcEndpointToMachineNameHolder = jsonRpcEndpointToMachineNameHolder;
     this.environments = new ConcurrentHashMap<>();
     this.machineInstanceProviders = machineInstanceProviders;
     this.machineLogsDir = new File(machineLogsDir);
     this.defaultMachineMemorySizeBytes = Size.parseSize(defaultMachineMemorySizeMB + "MB");
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    this.stripedLocks = new StripedLocks(16);
+    this.locks = new KeyedLocks("CheEnvironmentEngine");
     this.recipeApiPattern =
         Pattern.compile(
             "(^https?"
@@ -174,7 +188,7 @@ public class CheEnvironmentEngine {
   public List<Instance> getMachines(String workspaceId) throws EnvironmentNotRunningException {
     EnvironmentHolder environment;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environment = environments.get(workspaceId);
       if (environment == null) {
         throw new EnvironmentNotRunningException(
@@ -196,7 +210,7 @@ public class CheEnvironmentEngine {
   public Instance getMachine(String workspaceId, String machineId) throws NotFoundException {
     EnvironmentHolder environment;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environment = environments.get(workspaceId);
     }
     if (environment == null) {
@@ -263,7 +277,7 @@ public class CheEnvironmentEngine {
         ownerName, workspaceId, devMachineName, networkId, recover, startedHandler);
 
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       // possible only if environment was stopped during its start
       if (environmentHolder == null) {
@@ -301,7 +315,7 @@ public class CheEnvironmentEngine {
     List<Instance> machinesCopy;
     EnvironmentHolder environmentHolder;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -321,7 +335,7 @@ public class CheEnvironmentEngine {
     destroyEnvironment(environmentHolder.networkId, machinesCopy);
 
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       environments.remove(workspaceId);
     }
   }
@@ -343,7 +357,7 @@ public class CheEnvironmentEngine {
     MachineConfig machineConfigCopy = new MachineConfigImpl(machineConfig);
     EnvironmentHolder environmentHolder;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -431,7 +445,7 @@ public class CheEnvironmentEngine {
       throws NotFoundException, ServerException, ConflictException {
     Instance targetMachine = null;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -476,7 +490,7 @@ public class CheEnvironmentEngine {
     SnapshotImpl snapshot = null;
     Instance instance = null;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -563,7 +577,7 @@ public class CheEnvironmentEngine {
             networkId);
 
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       if (environments.putIfAbsent(workspaceId, environmentHolder) != null) {
         throw new ConflictException(
             format("Environment of workspace '%s' already exists", workspaceId));
@@ -713,7 +727,7 @@ public class CheEnvironmentEngine {
     MessageConsumer<MachineLogMessage> envLogger;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null) {
         throw new ServerException("Environment start is interrupted.");
@@ -735,7 +749,7 @@ public class CheEnvironmentEngine {
         CheServiceImpl service;
         @Nullable ExtendedMachine extendedMachine;
         try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
+            Unlocker u = locks.readLock(workspaceId)) {
           EnvironmentHolder environmentHolder = environments.get(workspaceId);
           if (environmentHolder == null) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -804,7 +818,7 @@ public class CheEnvironmentEngine {
         // Also polls the proceeded machine configuration from the queue
         boolean queuePolled = false;
         try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            Unlocker u = locks.writeLock(workspaceId)) {
           ensurePreDestroyIsNotExecuted();
           EnvironmentHolder environmentHolder = environments.get(workspaceId);
           if (environmentHolder != null) {
@@ -855,7 +869,7 @@ public class CheEnvironmentEngine {
       boolean interrupted = Thread.interrupted();
       EnvironmentHolder env;
       try (@SuppressWarnings("unused")
-          Unlocker u = stripedLocks.writeLock(workspaceId)) {
+          Unlocker u = locks.writeLock(workspaceId)) {
         env = environments.remove(workspaceId);
       }
 
@@ -906,7 +920,11 @@ public class CheEnvironmentEngine {
               .withWorkspaceId(machine.getWorkspaceId()));
 
       machineLogger =
-          getMachineLogger(environmentLogger, machine.getId(), machine.getConfig().getName());
+          getMachineLogger(
+              environmentLogger,
+              machine.getWorkspaceId(),
+              machine.getId(),
+              machine.getConfig().getName());
 
       MachineImpl originMachine = new MachineImpl(machine);
       try {
@@ -1050,7 +1068,7 @@ public class CheEnvironmentEngine {
   private void addMachine(MachineImpl machine) throws ServerException {
     Instance instance = new NoOpMachineInstance(machine);
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(machine.getWorkspaceId())) {
+        Unlocker u = locks.writeLock(machine.getWorkspaceId())) {
       ensurePreDestroyIsNotExecuted();
       EnvironmentHolder environmentHolder = environments.get(machine.getWorkspaceId());
       if (environmentHolder != null && environmentHolder.status != EnvStatus.STOPPING) {
@@ -1070,7 +1088,7 @@ public class CheEnvironmentEngine {
 
   private void removeMachine(String workspaceId, String machineId) {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder != null) {
         for (Instance machine : environmentHolder.machines) {
@@ -1085,7 +1103,7 @@ public class CheEnvironmentEngine {
 
   private void replaceMachine(Instance machine) throws ServerException {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(machine.getWorkspaceId())) {
+        Unlocker u = locks.writeLock(machine.getWorkspaceId())) {
       ensurePreDestroyIsNotExecuted();
       EnvironmentHolder environmentHolder = environments.get(machine.getWorkspaceId());
       if (environmentHolder != null) {
@@ -1124,7 +1142,7 @@ public class CheEnvironmentEngine {
    */
   private String queuePeekOrFail(String workspaceId) throws ServerException {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       ensurePreDestroyIsNotExecuted();
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.startQueue == null) {
@@ -1208,21 +1226,56 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /**
+   * Returns the logger of the machine, which is the only place where machine output is batched.
+   * The output is written to the log file, sent to the environment logger and sent to JSON-RPC
+   * clients of the machine with a single notification per batch.
+   */
   private LineConsumer getMachineLogger(
-      MessageConsumer<MachineLogMessage> environmentLogger, String machineId, String machineName)
+      MessageConsumer<MachineLogMessage> environmentLogger,
+      String workspaceId,
+      String machineId,
+      String machineName)
       throws ServerException {
     createMachineLogsDir(machineId);
 
+    JsonRpcMessageConsumer<MachineLogMessage> jsonRpcLogger =
+        new JsonRpcMessageConsumer<>(
+            "event:environment-output:messages",
+            transmitter,
+            () ->
+                jsonRpcEndpointToMachineNameHolder.getEndpointIdsByWorkspaceIdPlusMachineName(
+                    workspaceId + "::" + machineName));
     LineConsumer lineConsumer =
         new AbstractLineConsumer() {
           @Override
           public void writeLine(String line) throws IOException {
-            environmentLogger.consume(new MachineLogMessageImpl(machineName, line));
+            writeLines(singletonList(line));
+          }
+
+          @Override
+          public void writeLines(List<String> lines) throws IOException {
+            List<MachineLogMessage> messages =
+                lines
+                    .stream()
+                    .map(line -> new MachineLogMessageImpl(machineName, line))
+                    .collect(toList());
+            // environment output channel keeps its one message per line format
+            for (MachineLogMessage message : messages) {
+              environmentLogger.consume(message);
+            }
+            jsonRpcLogger.consumeBatch(messages);
           }
         };
     try {
-      return new ConcurrentCompositeLineConsumer(
-          new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)), lineConsumer);
+      // machine output is written to the file and sent to clients in batches from
+      // a separate thread, so image pulls and builds are not slowed down by log consumers
+      return new BatchingLineConsumer(
+          new ConcurrentCompositeLineConsumer(
+              new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)), lineConsumer),
+          MACHINE_LOG_BATCH_SIZE,
+          MACHINE_LOG_BATCH_DELAY_MS,
+          MACHINE_LOG_MAX_PENDING_LINES);
     } catch (IOException e) {
       throw new MachineException(
           format(
@@ -1288,7 +1341,7 @@ public class CheEnvironmentEngine {
   @Nullable
   Instance removeMachineFromEnvironment(String workspaceId, String machineId) {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         // should not happen
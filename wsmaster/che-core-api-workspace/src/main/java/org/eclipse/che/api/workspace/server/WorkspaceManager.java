@@ -249,6 +249,31 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which user can read.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param skipCount the number of workspaces to skip
+   * @param maxItems the maximum number of workspaces to return
+   * @return the list of workspaces or empty list if there are no workspaces in the requested range
+   * @throws NullPointerException when {@code user} is null
+   * @throws IllegalArgumentException when {@code maxItems} or {@code skipCount} is negative
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getWorkspaces(String, int, int)}
+   */
+  public List<WorkspaceImpl> getWorkspaces(
+      String user, boolean includeRuntimes, int skipCount, int maxItems) throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(user, skipCount, maxItems);
+    injectRuntimeAndAttributes(workspaces, !includeRuntimes);
+    return workspaces;
+  }
+
   /**
    * Gets list of workspaces which has given namespace. Runtimes are included
    *
@@ -286,6 +311,33 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which has given namespace.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param namespace the namespace to find workspaces
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param skipCount the number of workspaces to skip
+   * @param maxItems the maximum number of workspaces to return
+   * @return the list of workspaces or empty list if there are no workspaces in the requested range
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws IllegalArgumentException when {@code maxItems} or {@code skipCount} is negative
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getByNamespace(String, int, int)}
+   */
+  public List<WorkspaceImpl> getByNamespace(
+      String namespace, boolean includeRuntimes, int skipCount, int maxItems)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    final List<WorkspaceImpl> workspaces =
+        workspaceDao.getByNamespace(namespace, skipCount, maxItems);
+    injectRuntimeAndAttributes(workspaces, !includeRuntimes);
+    return workspaces;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -845,15 +897,12 @@ public class WorkspaceManager {
   private void injectRuntimeAndAttributes(List<WorkspaceImpl> workspaces, boolean statusOnly)
       throws SnapshotException {
     if (statusOnly) {
-      for (WorkspaceImpl workspace : workspaces) {
-        workspace.setStatus(runtimes.getStatus(workspace.getId()));
-        addExtraAttributes(workspace);
-      }
+      runtimes.injectStatuses(workspaces);
     } else {
-      for (WorkspaceImpl workspace : workspaces) {
-        runtimes.injectRuntime(workspace);
-        addExtraAttributes(workspace);
-      }
+      runtimes.injectRuntimes(workspaces);
+    }
+    for (WorkspaceImpl workspace : workspaces) {
+      addExtraAttributes(workspace);
     }
   }
 
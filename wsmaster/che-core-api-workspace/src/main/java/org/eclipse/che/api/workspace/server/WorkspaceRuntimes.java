@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -35,9 +36,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -77,7 +81,8 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.KeyedLocks;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
@@ -87,8 +92,8 @@ import org.slf4j.Logger;
  *
  * <p>This component implements {@link WorkspaceStatus} contract.
  *
- * <p>The implementation is thread-safe and guarded by eagerly initialized readwrite locks produced
- * by {@link StripedLocks}. The component doesn't expose any api for client-side locking. All the
+ * <p>The implementation is thread-safe and guarded by per workspace readwrite locks produced by
+ * {@link KeyedLocks}. The component doesn't expose any api for client-side locking. All the
  * instances produced by this component are copies of the real data.
  *
  * <p>The component doesn't check if the incoming objects are in application-valid state. Which
@@ -106,13 +111,14 @@ public class WorkspaceRuntimes {
 
   private final ConcurrentMap<String, RuntimeState> states;
   private final EventService eventsService;
-  private final StripedLocks locks;
+  private final KeyedLocks locks;
   private final CheEnvironmentEngine envEngine;
   private final AgentSorter agentSorter;
   private final AgentLauncherFactory launcherFactory;
   private final AgentRegistry agentRegistry;
   private final SnapshotDao snapshotDao;
   private final WorkspaceSharedPool sharedPool;
+  private final ExecutorService snapshotsExecutor;
 
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
   private final AtomicBoolean isStartRefused = new AtomicBoolean(false);
@@ -153,9 +159,25 @@ public class WorkspaceRuntimes {
     this.launcherFactory = launcherFactory;
     this.agentRegistry = agentRegistry;
     this.snapshotDao = snapshotDao;
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    this.locks = new StripedLocks(16);
+    this.locks = new KeyedLocks("WorkspaceRuntimes");
     this.sharedPool = sharedPool;
+    // snapshot tasks are submitted by the tasks of the shared pool and awaited there,
+    // so they need a separate pool; idle threads are released as snapshots are rare
+    final int snapshotThreads = 2 * Runtime.getRuntime().availableProcessors();
+    final ThreadPoolExecutor snapshotsPool =
+        new ThreadPoolExecutor(
+            snapshotThreads,
+            snapshotThreads,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("WorkspaceSnapshotsPool-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    snapshotsPool.allowCoreThreadTimeOut(true);
+    this.snapshotsExecutor = snapshotsPool;
     this.states = states;
   }
 
@@ -294,16 +316,39 @@ public class WorkspaceRuntimes {
         state = new RuntimeState(states.get(workspace.getId()));
       }
     }
-    if (state == null) {
-      workspace.setStatus(WorkspaceStatus.STOPPED);
-    } else {
-      workspace.setStatus(state.status);
-      try {
-        workspace.setRuntime(
-            new WorkspaceRuntimeImpl(state.envName, envEngine.getMachines(workspace.getId())));
-      } catch (Exception x) {
-        workspace.setRuntime(new WorkspaceRuntimeImpl(state.envName, Collections.emptyList()));
-      }
+    injectRuntime(workspace, state);
+  }
+
+  /**
+   * Injects runtime information such as status and {@link WorkspaceRuntimeImpl} into each of the
+   * given workspaces. The state of each workspace is copied under its own read lock, the same way
+   * {@link #injectRuntime(WorkspaceImpl)} does, so each workspace is consistent on its own, while
+   * workspaces may reflect states taken at slightly different moments. No locks are acquired when
+   * there are no running workspaces.
+   *
+   * @param workspaces the workspaces to inject runtimes into
+   */
+  public void injectRuntimes(Collection<WorkspaceImpl> workspaces) {
+    requireNonNull(workspaces, "Required non-null workspaces");
+    final Map<String, RuntimeState> statesSnapshot = getStates(workspaces);
+    for (WorkspaceImpl workspace : workspaces) {
+      injectRuntime(workspace, statesSnapshot.get(workspace.getId()));
+    }
+  }
+
+  /**
+   * Injects status into each of the given workspaces, {@link WorkspaceStatus#STOPPED} is set if
+   * workspace is not running. Statuses are read the same way as in {@link
+   * #injectRuntimes(Collection)}.
+   *
+   * @param workspaces the workspaces to inject statuses into
+   */
+  public void injectStatuses(Collection<WorkspaceImpl> workspaces) {
+    requireNonNull(workspaces, "Required non-null workspaces");
+    final Map<String, RuntimeState> statesSnapshot = getStates(workspaces);
+    for (WorkspaceImpl workspace : workspaces) {
+      RuntimeState state = statesSnapshot.get(workspace.getId());
+      workspace.setStatus(state == null ? WorkspaceStatus.STOPPED : state.status);
     }
   }
 
@@ -640,6 +685,9 @@ public class WorkspaceRuntimes {
         Thread.currentThread().interrupt();
       }
     }
+
+    // environments are stopped, so there is nothing to snapshot anymore
+    snapshotsExecutor.shutdownNow();
   }
 
   private void checkIsNotTerminated(String operation) throws ServerException {
@@ -838,6 +886,26 @@ public class WorkspaceRuntimes {
     }
   }
 
+  /** Waits for the machine snapshot to be created and rethrows the failure if any. */
+  private static SnapshotImpl getSnapshot(Future<SnapshotImpl> snapshotTask)
+      throws ServerException, NotFoundException {
+    try {
+      return snapshotTask.get();
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      throw new ServerException("Interrupted while waiting for machine snapshot", x);
+    } catch (ExecutionException x) {
+      final Throwable cause = x.getCause();
+      if (cause instanceof ServerException) {
+        throw (ServerException) cause;
+      }
+      if (cause instanceof NotFoundException) {
+        throw (NotFoundException) cause;
+      }
+      throw new ServerException(cause.getMessage(), cause);
+    }
+  }
+
   /** Creates a snapshot and changes status SNAPSHOTTING -> RUNNING. */
   private void snapshotAndUpdateStatus(String workspaceId)
       throws NotFoundException, ConflictException, ServerException {
@@ -856,28 +924,46 @@ public class WorkspaceRuntimes {
         "Creating snapshot of workspace '{}', machines to snapshot: '{}'",
         workspaceId,
         machines.size());
-    List<SnapshotImpl> newSnapshots = new ArrayList<>(machines.size());
+    // machines are committed and pushed in parallel, it's up to the machine implementation
+    // to reuse binaries of the previous snapshots
+    List<Future<SnapshotImpl>> snapshotTasks = new ArrayList<>(machines.size());
     for (MachineImpl machine : machines) {
+      snapshotTasks.add(
+          snapshotsExecutor.submit(() -> envEngine.saveSnapshot(workspaceId, machine.getId())));
+    }
+    List<SnapshotImpl> newSnapshots = new ArrayList<>(machines.size());
+    Exception devMachineError = null;
+    for (int i = 0; i < machines.size(); i++) {
+      MachineImpl machine = machines.get(i);
       try {
-        newSnapshots.add(envEngine.saveSnapshot(workspaceId, machine.getId()));
+        newSnapshots.add(getSnapshot(snapshotTasks.get(i)));
       } catch (ServerException | NotFoundException x) {
         if (machine.getConfig().isDev()) {
-          compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
-          eventsService.publish(
-              DtoFactory.newDto(WorkspaceStatusEvent.class)
-                  .withWorkspaceId(workspaceId)
-                  .withStatus(WorkspaceStatus.RUNNING)
-                  .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
-                  .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
-                  .withError(x.getMessage()));
-          throw x;
+          devMachineError = x;
+        } else {
+          LOG.warn(
+              format(
+                  "Couldn't create snapshot of machine '%s:%s' in workspace '%s'",
+                  machine.getEnvName(), machine.getConfig().getName(), workspaceId),
+              x);
         }
-        LOG.warn(
-            format(
-                "Couldn't create snapshot of machine '%s:%s' in workspace '%s'",
-                machine.getEnvName(), machine.getConfig().getName(), workspaceId));
       }
     }
+    if (devMachineError != null) {
+      removeBinaries(newSnapshots);
+      compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
+      eventsService.publish(
+          DtoFactory.newDto(WorkspaceStatusEvent.class)
+              .withWorkspaceId(workspaceId)
+              .withStatus(WorkspaceStatus.RUNNING)
+              .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
+              .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
+              .withError(devMachineError.getMessage()));
+      if (devMachineError instanceof NotFoundException) {
+        throw (NotFoundException) devMachineError;
+      }
+      throw (ServerException) devMachineError;
+    }
 
     LOG.info("Saving new snapshots metadata, workspace id '{}'", workspaceId);
     try {
@@ -917,6 +1003,38 @@ public class WorkspaceRuntimes {
             .withPrevStatus(WorkspaceStatus.SNAPSHOTTING));
   }
 
+  private void injectRuntime(WorkspaceImpl workspace, @Nullable RuntimeState state) {
+    if (state == null) {
+      workspace.setStatus(WorkspaceStatus.STOPPED);
+    } else {
+      workspace.setStatus(state.status);
+      try {
+        workspace.setRuntime(
+            new WorkspaceRuntimeImpl(state.envName, envEngine.getMachines(workspace.getId())));
+      } catch (Exception x) {
+        workspace.setRuntime(new WorkspaceRuntimeImpl(state.envName, Collections.emptyList()));
+      }
+    }
+  }
+
+  /** Returns copies of runtime states of running workspaces among the given ones. */
+  private Map<String, RuntimeState> getStates(Collection<WorkspaceImpl> workspaces) {
+    final Map<String, RuntimeState> result = new HashMap<>();
+    if (workspaces.isEmpty() || states.isEmpty()) {
+      return result;
+    }
+    for (WorkspaceImpl workspace : workspaces) {
+      try (@SuppressWarnings("unused")
+          Unlocker u = locks.readLock(workspace.getId())) {
+        RuntimeState state = states.get(workspace.getId());
+        if (state != null) {
+          result.put(workspace.getId(), new RuntimeState(state));
+        }
+      }
+    }
+    return result;
+  }
+
   /** Holds runtime information while workspace is running. */
   @VisibleForTesting
   static class RuntimeState {
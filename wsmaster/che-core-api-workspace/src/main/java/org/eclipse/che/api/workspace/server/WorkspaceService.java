@@ -59,6 +59,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.rest.ServiceContext;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -70,6 +71,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
@@ -230,19 +232,21 @@ public class WorkspaceService extends Service {
   public List<WorkspaceDto> getWorkspaces(
       @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
           Integer skipCount,
-      @ApiParam("The limit of the items in the response, default is 30")
-          @DefaultValue("30")
+      @ApiParam("The limit of the items in the response, all the items are returned if not set")
           @QueryParam("maxItems")
           Integer maxItems,
       @ApiParam("Workspace status") @QueryParam("status") String status)
       throws ServerException, BadRequestException {
-    //TODO add maxItems & skipCount to manager
-    return workspaceManager
-        .getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    checkPagingParams(skipCount, maxItems);
+    final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    final List<WorkspaceImpl> workspaces;
+    if (status == null && maxItems != null) {
+      workspaces = workspaceManager.getWorkspaces(userId, false, skipCount, maxItems);
+    } else {
+      workspaces =
+          filterAndPage(workspaceManager.getWorkspaces(userId, false), status, skipCount, maxItems);
+    }
+    return asDtosWithLinks(workspaces);
   }
 
   @GET
@@ -261,14 +265,23 @@ public class WorkspaceService extends Service {
   })
   public List<WorkspaceDto> getByNamespace(
       @ApiParam("Workspace status") @QueryParam("status") String status,
-      @ApiParam("The namespace") @PathParam("namespace") String namespace)
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
+          Integer skipCount,
+      @ApiParam("The limit of the items in the response, all the items are returned if not set")
+          @QueryParam("maxItems")
+          Integer maxItems)
       throws ServerException, BadRequestException {
-    return workspaceManager
-        .getByNamespace(namespace, false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    checkPagingParams(skipCount, maxItems);
+    final List<WorkspaceImpl> workspaces;
+    if (status == null && maxItems != null) {
+      workspaces = workspaceManager.getByNamespace(namespace, false, skipCount, maxItems);
+    } else {
+      workspaces =
+          filterAndPage(
+              workspaceManager.getByNamespace(namespace, false), status, skipCount, maxItems);
+    }
+    return asDtosWithLinks(workspaces);
   }
 
   @PUT
@@ -717,7 +730,7 @@ public class WorkspaceService extends Service {
     requiredNotNull(update, "Project config");
     final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
     final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
-    final String normalizedPath = path.startsWith("/") ? path : '/' + path;
+    final String normalizedPath = normalizePath(path);
     if (!projects.removeIf(project -> project.getPath().equals(normalizedPath))) {
       throw new NotFoundException(
           format("Workspace '%s' doesn't contain project with path '%s'", id, normalizedPath));
@@ -746,7 +759,7 @@ public class WorkspaceService extends Service {
       throws ServerException, BadRequestException, NotFoundException, ConflictException,
           ForbiddenException {
     final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
-    final String normalizedPath = path.startsWith("/") ? path : '/' + path;
+    final String normalizedPath = normalizePath(path);
     if (workspace
         .getConfig()
         .getProjects()
@@ -755,6 +768,47 @@ public class WorkspaceService extends Service {
     }
   }
 
+  @PUT
+  @Path("/{id}/projects")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Add, update and remove the workspace projects by a single update of the workspace",
+    notes = "This operation can be performed only by the workspace owner"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The projects successfully updated"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+    @ApiResponse(code = 404, message = "The workspace not found"),
+    @ApiResponse(code = 409, message = "Any conflict error occurs"),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public WorkspaceDto updateProjects(
+      @ApiParam("The workspace id") @PathParam("id") String id,
+      @ApiParam(value = "The projects update", required = true) ProjectsUpdateDto update)
+      throws ServerException, BadRequestException, NotFoundException, ConflictException,
+          ForbiddenException {
+    requiredNotNull(update, "Projects update");
+    final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
+    final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+    for (String path : update.getRemoved()) {
+      final String normalizedPath = normalizePath(path);
+      projects.removeIf(project -> normalizePath(project.getPath()).equals(normalizedPath));
+    }
+    for (ProjectConfigDto projectDto : update.getProjects()) {
+      requiredNotNull(projectDto.getPath(), "Project path");
+      final String normalizedPath = normalizePath(projectDto.getPath());
+      projects.removeIf(project -> normalizePath(project.getPath()).equals(normalizedPath));
+      final ProjectConfigImpl project = new ProjectConfigImpl(projectDto);
+      project.setPath(normalizedPath);
+      projects.add(project);
+    }
+    validator.validateConfig(workspace.getConfig());
+    return linksInjector.injectLinks(
+        asDto(workspaceManager.updateWorkspace(id, workspace)), getServiceContext());
+  }
+
   @GET
   @Path("/{id}/check")
   @Produces(APPLICATION_JSON)
@@ -818,6 +872,43 @@ public class WorkspaceService extends Service {
     return res;
   }
 
+  private static void checkPagingParams(Integer skipCount, Integer maxItems)
+      throws BadRequestException {
+    if (skipCount != null && skipCount < 0) {
+      throw new BadRequestException("The number of items to skip can't be negative");
+    }
+    if (maxItems != null && maxItems < 0) {
+      throw new BadRequestException("The number of items to return can't be negative");
+    }
+  }
+
+  /**
+   * Filters workspaces by status and returns requested range of them. Used when the page can't be
+   * fetched from the storage directly, as the status is not persisted.
+   */
+  private static List<WorkspaceImpl> filterAndPage(
+      List<WorkspaceImpl> workspaces, String status, Integer skipCount, Integer maxItems) {
+    return workspaces
+        .stream()
+        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+        .skip(skipCount == null ? 0 : skipCount)
+        .limit(maxItems == null ? Long.MAX_VALUE : maxItems)
+        .collect(toList());
+  }
+
+  private List<WorkspaceDto> asDtosWithLinks(List<WorkspaceImpl> workspaces) {
+    final ServiceContext serviceContext = getServiceContext();
+    return workspaces
+        .stream()
+        .map(workspace -> linksInjector.injectLinks(asDto(workspace), serviceContext))
+        .collect(toList());
+  }
+
+  /** Returns the project path starting with '/' as it is stored in the workspace config. */
+  private static String normalizePath(String path) {
+    return path.startsWith("/") ? path : '/' + path;
+  }
+
   /**
    * Checks object reference is not {@code null}
    *
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.event.BeforeStackRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.StackPersistedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.core.db.cache.DaoCache;
+import org.eclipse.che.core.db.cache.TransactionTracker;
+
+/**
+ * Caches stacks fetched by {@link JpaStackDao} by their ids as well as results of stacks search.
+ *
+ * <p>Search results are invalidated on any stack modification, stacks are rarely modified while
+ * searched on every dashboard visit. All the returned stacks are copies of cached ones.
+ */
+@Singleton
+public class CachingStackDao implements StackDao {
+
+  private final JpaStackDao delegate;
+  private final EventService eventService;
+  private final DaoCache<String, StackImpl> byId;
+  private final DaoCache<List<Object>, List<StackImpl>> searches;
+  private final EventSubscriber<StackPersistedEvent> persistedSubscriber;
+  private final EventSubscriber<BeforeStackRemovedEvent> removedSubscriber;
+
+  @Inject
+  public CachingStackDao(
+      JpaStackDao delegate,
+      EventService eventService,
+      TransactionTracker transactionTracker,
+      @Named("db.cache.entity.max_entries") long maxEntities,
+      @Named("db.cache.query.max_entries") long maxQueries,
+      @Named("db.cache.ttl_sec") long ttlSeconds) {
+    this.delegate = delegate;
+    this.eventService = eventService;
+    this.byId = new DaoCache<>("stack.byId", maxEntities, ttlSeconds, transactionTracker);
+    this.searches = new DaoCache<>("stack.search", maxQueries, ttlSeconds, transactionTracker);
+    this.persistedSubscriber = event -> invalidate(event.getStack().getId());
+    this.removedSubscriber = event -> invalidate(event.getStack().getId());
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(persistedSubscriber, StackPersistedEvent.class);
+    eventService.subscribe(removedSubscriber, BeforeStackRemovedEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(persistedSubscriber, StackPersistedEvent.class);
+    eventService.unsubscribe(removedSubscriber, BeforeStackRemovedEvent.class);
+  }
+
+  @Override
+  public void create(StackImpl stack) throws ConflictException, ServerException {
+    requireNonNull(stack, "Required non-null stack");
+    try {
+      delegate.create(stack);
+    } finally {
+      invalidate(stack.getId());
+    }
+  }
+
+  @Override
+  public StackImpl getById(String id) throws NotFoundException, ServerException {
+    requireNonNull(id, "Required non-null id");
+    return new StackImpl(byId.get(id, () -> new StackImpl(delegate.getById(id))));
+  }
+
+  @Override
+  public void remove(String id) throws ServerException {
+    requireNonNull(id, "Required non-null id");
+    try {
+      delegate.remove(id);
+    } finally {
+      invalidate(id);
+    }
+  }
+
+  @Override
+  public StackImpl update(StackImpl update)
+      throws NotFoundException, ServerException, ConflictException {
+    requireNonNull(update, "Required non-null update");
+    try {
+      return delegate.update(update);
+    } finally {
+      invalidate(update.getId());
+    }
+  }
+
+  @Override
+  public List<StackImpl> searchStacks(
+      @Nullable String user, @Nullable List<String> tags, int skipCount, int maxItems)
+      throws ServerException {
+    final List<Object> key =
+        asList(user, tags == null ? null : new ArrayList<>(tags), skipCount, maxItems);
+    return searches
+        .get(key, () -> copyOf(delegate.searchStacks(user, tags, skipCount, maxItems)))
+        .stream()
+        .map(StackImpl::new)
+        .collect(toList());
+  }
+
+  private void invalidate(String id) {
+    byId.invalidate(id);
+    searches.invalidateAll();
+  }
+
+  private static List<StackImpl> copyOf(List<StackImpl> stacks) {
+    return stacks.stream().map(StackImpl::new).collect(toList());
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.account.event.AccountUpdatedEvent;
+import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
+import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.core.db.cache.DaoCache;
+import org.eclipse.che.core.db.cache.TransactionTracker;
+
+/**
+ * Caches results of the most frequent {@link JpaWorkspaceDao} lookups: by id, by name and
+ * namespace, and by namespace.
+ *
+ * <p>Cached entries are invalidated on modifications performed through this DAO as well as on
+ * workspace and account removal events, so modifications caused by cascade removals are also
+ * respected. Account update events invalidate workspaces of the renamed account, as their
+ * namespace is the account name. Cached workspaces are detached copies of the loaded entities and
+ * all the returned workspaces are copies of cached ones, so callers are free to modify them.
+ */
+@Singleton
+public class CachingWorkspaceDao implements WorkspaceDao {
+
+  private final JpaWorkspaceDao delegate;
+  private final EventService eventService;
+  private final DaoCache<String, WorkspaceImpl> byId;
+  private final DaoCache<String, WorkspaceImpl> byKey;
+  private final DaoCache<String, List<WorkspaceImpl>> byNamespace;
+  private final EventSubscriber<WorkspaceCreatedEvent> createdSubscriber;
+  private final EventSubscriber<BeforeWorkspaceRemovedEvent> beforeRemovedSubscriber;
+  private final EventSubscriber<WorkspaceRemovedEvent> removedSubscriber;
+  private final EventSubscriber<BeforeAccountRemovedEvent> accountRemovedSubscriber;
+  private final EventSubscriber<AccountUpdatedEvent> accountUpdatedSubscriber;
+
+  @Inject
+  public CachingWorkspaceDao(
+      JpaWorkspaceDao delegate,
+      EventService eventService,
+      TransactionTracker transactionTracker,
+      @Named("db.cache.entity.max_entries") long maxEntities,
+      @Named("db.cache.query.max_entries") long maxQueries,
+      @Named("db.cache.ttl_sec") long ttlSeconds) {
+    this.delegate = delegate;
+    this.eventService = eventService;
+    this.byId = new DaoCache<>("workspace.byId", maxEntities, ttlSeconds, transactionTracker);
+    this.byKey = new DaoCache<>("workspace.byKey", maxEntities, ttlSeconds, transactionTracker);
+    this.byNamespace =
+        new DaoCache<>("workspace.byNamespace", maxQueries, ttlSeconds, transactionTracker);
+    this.createdSubscriber = event -> invalidate(event.getWorkspace());
+    this.beforeRemovedSubscriber = event -> invalidate(event.getWorkspace());
+    this.removedSubscriber = event -> invalidate(event.getWorkspace());
+    this.accountRemovedSubscriber = event -> invalidateNamespace(event.getAccount().getName());
+    this.accountUpdatedSubscriber =
+        event -> {
+          invalidateNamespace(event.getOriginalAccount().getName());
+          invalidateNamespace(event.getUpdatedAccount().getName());
+        };
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(createdSubscriber, WorkspaceCreatedEvent.class);
+    eventService.subscribe(beforeRemovedSubscriber, BeforeWorkspaceRemovedEvent.class);
+    eventService.subscribe(removedSubscriber, WorkspaceRemovedEvent.class);
+    eventService.subscribe(accountRemovedSubscriber, BeforeAccountRemovedEvent.class);
+    eventService.subscribe(accountUpdatedSubscriber, AccountUpdatedEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(createdSubscriber, WorkspaceCreatedEvent.class);
+    eventService.unsubscribe(beforeRemovedSubscriber, BeforeWorkspaceRemovedEvent.class);
+    eventService.unsubscribe(removedSubscriber, WorkspaceRemovedEvent.class);
+    eventService.unsubscribe(accountRemovedSubscriber, BeforeAccountRemovedEvent.class);
+    eventService.unsubscribe(accountUpdatedSubscriber, AccountUpdatedEvent.class);
+  }
+
+  @Override
+  public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
+    final WorkspaceImpl created = delegate.create(workspace);
+    invalidate(created);
+    return created;
+  }
+
+  @Override
+  public WorkspaceImpl update(WorkspaceImpl update)
+      throws NotFoundException, ConflictException, ServerException {
+    requireNonNull(update, "Required non-null update");
+    try {
+      return delegate.update(update);
+    } finally {
+      // name and namespace might be changed, so entries cached by the old key are removed too
+      invalidateById(update.getId());
+    }
+  }
+
+  @Override
+  public void remove(String id) throws ServerException {
+    requireNonNull(id, "Required non-null id");
+    try {
+      delegate.remove(id);
+    } finally {
+      invalidateById(id);
+    }
+  }
+
+  @Override
+  public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+    requireNonNull(id, "Required non-null id");
+    return new WorkspaceImpl(byId.get(id, () -> new WorkspaceImpl(delegate.get(id))));
+  }
+
+  @Override
+  public WorkspaceImpl get(String name, String namespace)
+      throws NotFoundException, ServerException {
+    requireNonNull(name, "Required non-null name");
+    requireNonNull(namespace, "Required non-null namespace");
+    return new WorkspaceImpl(
+        byKey.get(keyOf(namespace, name), () -> new WorkspaceImpl(delegate.get(name, namespace))));
+  }
+
+  @Override
+  public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    return byNamespace
+        .get(namespace, () -> copyOf(delegate.getByNamespace(namespace)))
+        .stream()
+        .map(WorkspaceImpl::new)
+        .collect(toList());
+  }
+
+  @Override
+  public List<WorkspaceImpl> getByNamespace(String namespace, int skipCount, int maxItems)
+      throws ServerException {
+    return delegate.getByNamespace(namespace, skipCount, maxItems);
+  }
+
+  @Override
+  public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
+    return delegate.getWorkspaces(userId);
+  }
+
+  @Override
+  public List<WorkspaceImpl> getWorkspaces(String userId, int skipCount, int maxItems)
+      throws ServerException {
+    return delegate.getWorkspaces(userId, skipCount, maxItems);
+  }
+
+  @Override
+  public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
+      throws ServerException {
+    return delegate.getWorkspaces(isTemporary, skipCount, maxItems);
+  }
+
+  private void invalidate(WorkspaceImpl workspace) {
+    invalidateById(workspace.getId());
+    if (workspace.getConfig() != null) {
+      byKey.invalidate(keyOf(workspace.getNamespace(), workspace.getConfig().getName()));
+    }
+    byNamespace.invalidate(workspace.getNamespace());
+  }
+
+  private void invalidateById(String id) {
+    byId.invalidate(id);
+    byKey.invalidateIf(ws -> id.equals(ws.getId()));
+    byNamespace.invalidateIf(
+        workspaces -> workspaces.stream().anyMatch(ws -> id.equals(ws.getId())));
+  }
+
+  private void invalidateNamespace(String namespace) {
+    byId.invalidateIf(ws -> namespace.equals(ws.getNamespace()));
+    byKey.invalidateIf(ws -> namespace.equals(ws.getNamespace()));
+    byNamespace.invalidate(namespace);
+  }
+
+  private static List<WorkspaceImpl> copyOf(List<WorkspaceImpl> workspaces) {
+    return workspaces.stream().map(WorkspaceImpl::new).collect(toList());
+  }
+
+  private static String keyOf(String namespace, String name) {
+    return namespace + '/' + name;
+  }
+}
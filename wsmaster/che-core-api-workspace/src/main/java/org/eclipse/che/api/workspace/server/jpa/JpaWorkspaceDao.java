@@ -150,6 +150,29 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceImpl> getByNamespace(String namespace, int skipCount, int maxItems)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
+          .setParameter("namespace", namespace)
+          .setMaxResults(maxItems)
+          .setFirstResult(skipCount)
+          .getResultList()
+          .stream()
+          .map(WorkspaceImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
@@ -166,6 +189,27 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceImpl> getWorkspaces(String userId, int skipCount, int maxItems)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("Workspace.getAll", WorkspaceImpl.class)
+          .setMaxResults(maxItems)
+          .setFirstResult(skipCount)
+          .getResultList()
+          .stream()
+          .map(WorkspaceImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
@@ -21,8 +21,8 @@ public class WorkspaceJpaModule extends AbstractModule {
 
   @Override
   protected void configure() {
-    bind(StackDao.class).to(JpaStackDao.class);
-    bind(WorkspaceDao.class).to(JpaWorkspaceDao.class);
+    bind(StackDao.class).to(CachingStackDao.class);
+    bind(WorkspaceDao.class).to(CachingWorkspaceDao.class);
     bind(RemoveWorkspaceBeforeAccountRemovedEventSubscriber.class).asEagerSingleton();
     bind(RemoveSnapshotsBeforeWorkspaceRemovedEventSubscriber.class).asEagerSingleton();
   }
@@ -107,6 +107,21 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException;
 
+  /**
+   * Gets page of workspaces in given namespace.
+   *
+   * @param namespace workspace namespace
+   * @param skipCount the number of workspaces to skip
+   * @param maxItems the maximum number of workspaces to return
+   * @return list of workspaces in given namespace or empty list if there are no workspaces in the
+   *     requested range
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws IllegalArgumentException when {@code maxItems} or {@code skipCount} is negative
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  List<WorkspaceImpl> getByNamespace(String namespace, int skipCount, int maxItems)
+      throws ServerException;
+
   /**
    * Gets list of workspaces which user can read
    *
@@ -116,6 +131,20 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+  /**
+   * Gets page of workspaces which user can read.
+   *
+   * @param userId id of user
+   * @param skipCount the number of workspaces to skip
+   * @param maxItems the maximum number of workspaces to return
+   * @return list of workspaces which user can read or empty list if there are no workspaces in the
+   *     requested range
+   * @throws IllegalArgumentException when {@code maxItems} or {@code skipCount} is negative
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  List<WorkspaceImpl> getWorkspaces(String userId, int skipCount, int maxItems)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
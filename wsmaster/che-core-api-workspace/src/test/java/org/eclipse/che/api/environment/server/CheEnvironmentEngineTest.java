@@ -52,6 +52,7 @@ import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
@@ -59,6 +60,7 @@ import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
 import org.eclipse.che.api.core.model.workspace.ServerConf2;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.JsonRpcEndpointToMachineNameHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
@@ -122,6 +124,8 @@ public class CheEnvironmentEngineTest {
   @Mock private EnvironmentParser environmentParser;
   @Mock private MachineStartedHandler startedHandler;
   @Mock private WorkspaceSharedPool sharedPool;
+  @Mock private RequestTransmitter transmitter;
+  @Mock private JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
 
   @Captor ArgumentCaptor<EventSubscriber<InstanceStateEvent>> eventServiceSubscriberCaptor;
 
@@ -145,7 +149,9 @@ public class CheEnvironmentEngineTest {
                 recipeDownloader,
                 containerNameGenerator,
                 agentRegistry,
-                sharedPool));
+                sharedPool,
+                transmitter,
+                jsonRpcEndpointToMachineNameHolder));
 
     when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
     when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
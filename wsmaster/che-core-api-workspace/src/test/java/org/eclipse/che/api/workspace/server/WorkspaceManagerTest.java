@@ -43,6 +43,7 @@ import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -132,6 +133,25 @@ public class WorkspaceManagerTest {
         .thenAnswer(invocation -> invocation.getArguments()[0]);
     when(workspaceDao.update(any(WorkspaceImpl.class)))
         .thenAnswer(invocation -> invocation.getArguments()[0]);
+    // bulk runtime injection is delegated to the mocked single workspace methods
+    doAnswer(
+            inv -> {
+              for (WorkspaceImpl workspace : (Collection<WorkspaceImpl>) inv.getArguments()[0]) {
+                runtimes.injectRuntime(workspace);
+              }
+              return null;
+            })
+        .when(runtimes)
+        .injectRuntimes(any());
+    doAnswer(
+            inv -> {
+              for (WorkspaceImpl workspace : (Collection<WorkspaceImpl>) inv.getArguments()[0]) {
+                workspace.setStatus(runtimes.getStatus(workspace.getId()));
+              }
+              return null;
+            })
+        .when(runtimes)
+        .injectStatuses(any());
 
     EnvironmentContext.setCurrent(
         new EnvironmentContext() {
@@ -269,6 +289,32 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void shouldBeAbleToGetPageOfWorkspacesAvailableForUser() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    when(workspaceDao.getWorkspaces(USER_ID, 2, 1)).thenReturn(singletonList(workspace));
+    mockRuntime(workspace, RUNNING);
+
+    final List<WorkspaceImpl> result = workspaceManager.getWorkspaces(USER_ID, true, 2, 1);
+
+    assertEquals(result, singletonList(workspace));
+    assertEquals(result.get(0).getStatus(), RUNNING);
+    assertNotNull(result.get(0).getRuntime());
+  }
+
+  @Test
+  public void shouldBeAbleToGetPageOfWorkspacesByNamespaceWithStatusesOnly() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    when(workspaceDao.getByNamespace(NAMESPACE, 0, 1)).thenReturn(singletonList(workspace));
+    mockRuntime(workspace, STARTING);
+
+    final List<WorkspaceImpl> result = workspaceManager.getByNamespace(NAMESPACE, false, 0, 1);
+
+    assertEquals(result, singletonList(workspace));
+    assertEquals(result.get(0).getStatus(), STARTING);
+    verify(runtimes, never()).injectRuntimes(any());
+  }
+
   @Test
   public void shouldBeAbleToGetWorkspacesByNamespace() throws Exception {
     // given
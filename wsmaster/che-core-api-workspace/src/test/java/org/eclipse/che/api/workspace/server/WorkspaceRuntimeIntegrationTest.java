@@ -32,8 +32,10 @@ import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.workspace.Environment;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.JsonRpcEndpointToMachineNameHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
 import org.eclipse.che.api.environment.server.ContainerNameGenerator;
@@ -85,6 +87,8 @@ public class WorkspaceRuntimeIntegrationTest {
   @Mock private AgentLauncherFactory launcherFactory;
   @Mock private WorkspaceSharedPool sharedPool;
   @Mock private SnapshotDao snapshotDao;
+  @Mock private RequestTransmitter transmitter;
+  @Mock private JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
   @Captor private ArgumentCaptor<Callable<WorkspaceRuntimeImpl>> taskCaptor;
 
   private ExecutorService executor;
@@ -107,7 +111,9 @@ public class WorkspaceRuntimeIntegrationTest {
             recipeDownloader,
             containerNameGenerator,
             agentRegistry,
-            sharedPool);
+            sharedPool,
+            transmitter,
+            jsonRpcEndpointToMachineNameHolder);
 
     runtimes =
         new WorkspaceRuntimes(
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -213,6 +214,35 @@ public class WorkspaceRuntimesTest {
     assertTrue(workspace.getRuntime().getMachines().isEmpty());
   }
 
+  @Test
+  public void injectsRuntimesIntoMultipleWorkspaces() throws Exception {
+    setRuntime("workspace1", WorkspaceStatus.RUNNING, "env-name");
+    List<Instance> machines = prepareMachines("workspace1", "env-name");
+    WorkspaceImpl workspace1 = WorkspaceImpl.builder().setId("workspace1").build();
+    WorkspaceImpl workspace2 = WorkspaceImpl.builder().setId("workspace2").build();
+
+    runtimes.injectRuntimes(asList(workspace1, workspace2));
+
+    assertEquals(workspace1.getStatus(), WorkspaceStatus.RUNNING);
+    assertEquals(workspace1.getRuntime(), new WorkspaceRuntimeImpl("env-name", machines));
+    assertEquals(workspace2.getStatus(), WorkspaceStatus.STOPPED);
+    assertNull(workspace2.getRuntime());
+  }
+
+  @Test
+  public void injectsStatusesIntoMultipleWorkspaces() throws Exception {
+    setRuntime("workspace1", WorkspaceStatus.STARTING);
+    WorkspaceImpl workspace1 = WorkspaceImpl.builder().setId("workspace1").build();
+    WorkspaceImpl workspace2 = WorkspaceImpl.builder().setId("workspace2").build();
+
+    runtimes.injectStatuses(asList(workspace1, workspace2));
+
+    assertEquals(workspace1.getStatus(), WorkspaceStatus.STARTING);
+    assertNull(workspace1.getRuntime());
+    assertEquals(workspace2.getStatus(), WorkspaceStatus.STOPPED);
+    verify(envEngine, never()).getMachines(anyString());
+  }
+
   @Test
   public void startsWorkspace() throws Exception {
     WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
@@ -850,6 +880,53 @@ public class WorkspaceRuntimesTest {
             null));
   }
 
+  @Test
+  public void createsSnapshotsOfAllMachinesInParallel() throws Exception {
+    WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+    setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+    List<Instance> machines = prepareMachines(workspace.getId(), "env-name");
+    CountDownLatch allStarted = new CountDownLatch(machines.size());
+    when(envEngine.saveSnapshot(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              allStarted.countDown();
+              if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("snapshots are not created in parallel");
+              }
+              return mock(SnapshotImpl.class);
+            });
+
+    runtimes.snapshot(workspace.getId());
+
+    verify(snapshotDao).replaceSnapshots(any(), any(), snapshotsCaptor.capture());
+    assertEquals(snapshotsCaptor.getValue().size(), machines.size());
+  }
+
+  @Test
+  public void removesSnapshotsOfOtherMachinesWhenDevMachineSnapshottingFailed() throws Exception {
+    WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+    setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+    List<Instance> machines = prepareMachines(workspace.getId(), "env-name");
+    for (int i = 0; i < machines.size(); i++) {
+      ((MachineImpl) machines.get(i)).setId("machine" + i);
+    }
+    SnapshotImpl snapshot = mock(SnapshotImpl.class);
+    when(envEngine.saveSnapshot(workspace.getId(), "machine0"))
+        .thenThrow(new ServerException("can't save"));
+    when(envEngine.saveSnapshot(workspace.getId(), "machine1")).thenReturn(snapshot);
+    when(envEngine.saveSnapshot(workspace.getId(), "machine2")).thenReturn(snapshot);
+
+    try {
+      runtimes.snapshot(workspace.getId());
+      fail("Snapshot creation must fail");
+    } catch (ServerException x) {
+      assertEquals(x.getMessage(), "can't save");
+    }
+
+    verify(envEngine, times(2)).removeSnapshot(snapshot);
+    verify(snapshotDao, never()).replaceSnapshots(any(), any(), any());
+  }
+
   @Test
   public void getsRuntimesIds() {
     setRuntime("workspace1", WorkspaceStatus.STARTING);
@@ -92,11 +92,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
@@ -420,6 +422,84 @@ public class WorkspaceServiceTest {
         asList(workspace1, workspace2));
   }
 
+  @Test
+  public void shouldGetPageOfWorkspaces() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspaces(USER_ID, false, 1, 1)).thenReturn(singletonList(workspace));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?skipCount=1&maxItems=1");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace));
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspacesByStatus() throws Exception {
+    final WorkspaceImpl workspace1 = createWorkspace(createConfigDto(), STARTING);
+    final WorkspaceImpl workspace2 = createWorkspace(createConfigDto());
+    final WorkspaceImpl workspace3 = createWorkspace(createConfigDto(), STARTING);
+    when(wsManager.getWorkspaces(USER_ID, false))
+        .thenReturn(asList(workspace1, workspace2, workspace3));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?status=starting&skipCount=1&maxItems=1");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace3));
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspacesByNamespace() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getByNamespace(NAMESPACE, false, 0, 1)).thenReturn(singletonList(workspace));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?maxItems=1");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        singletonList(workspace));
+  }
+
+  @Test
+  public void shouldNotGetWorkspacesWhenMaxItemsIsNegative() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?maxItems=-1");
+
+    assertEquals(response.getStatusCode(), 400);
+  }
+
   @Test
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -965,6 +1045,80 @@ public class WorkspaceServiceTest {
     verify(wsManager).updateWorkspace(any(), any());
   }
 
+  @Test
+  public void shouldAddUpdateAndRemoveProjectsByOneWorkspaceUpdate() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    when(wsManager.updateWorkspace(any(), any())).thenReturn(workspace);
+    final String removedPath = workspace.getConfig().getProjects().get(0).getPath();
+    final ProjectConfigDto added = createProjectDto().withPath("/added");
+    final ProjectConfigDto updated = createProjectDto().withPath("/updated");
+    workspace.getConfig().getProjects().add(new ProjectConfigImpl(updated));
+    updated.setDescription("Updated project");
+    final ProjectsUpdateDto update =
+        newDto(ProjectsUpdateDto.class)
+            .withProjects(asList(added, updated))
+            .withRemoved(singletonList(removedPath));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(update)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/projects");
+
+    assertEquals(response.getStatusCode(), 200);
+    final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+    assertEquals(
+        projects.stream().map(ProjectConfigImpl::getPath).collect(toSet()),
+        new HashSet<>(asList("/added", "/updated")));
+    assertEquals(
+        projects
+            .stream()
+            .filter(project -> project.getPath().equals("/updated"))
+            .findAny()
+            .get()
+            .getDescription(),
+        "Updated project");
+    verify(validator).validateConfig(workspace.getConfig());
+    verify(wsManager).updateWorkspace(any(), any());
+  }
+
+  @Test
+  public void shouldReplaceProjectWhenUpdatedProjectPathIsNotNormalized() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    when(wsManager.updateWorkspace(any(), any())).thenReturn(workspace);
+    final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+    final int projectsCount = projects.size();
+    final String path = projects.get(0).getPath();
+    final ProjectConfigDto updated = createProjectDto().withPath(path.substring(1));
+    updated.setDescription("Updated project");
+    final ProjectsUpdateDto update =
+        newDto(ProjectsUpdateDto.class).withProjects(singletonList(updated));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(update)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/projects");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(projects.size(), projectsCount);
+    assertTrue(
+        projects
+            .stream()
+            .anyMatch(
+                project ->
+                    path.equals(project.getPath())
+                        && "Updated project".equals(project.getDescription())));
+  }
+
   @Test
   public void testWorkspaceLinks() throws Exception {
     // given
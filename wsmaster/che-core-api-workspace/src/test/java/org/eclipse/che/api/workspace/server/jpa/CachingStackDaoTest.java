@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.BeforeStackRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link CachingStackDao}. */
+@Listeners(MockitoTestNGListener.class)
+public class CachingStackDaoTest {
+
+  @Mock private JpaStackDao delegate;
+
+  private EventService eventService;
+  private CachingStackDao dao;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    dao = new CachingStackDao(delegate, eventService, null, 10, 10, 60);
+    dao.subscribe();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    dao.unsubscribe();
+  }
+
+  @Test
+  public void returnsCachedStack() throws Exception {
+    final StackImpl stack = createStack("description");
+    when(delegate.getById("id")).thenReturn(stack);
+
+    dao.getById("id");
+    final StackImpl result = dao.getById("id");
+
+    assertEquals(result, stack);
+    verify(delegate).getById("id");
+  }
+
+  @Test
+  public void returnsUpdatedStackAfterUpdate() throws Exception {
+    final StackImpl stack = createStack("description");
+    final StackImpl updated = createStack("new description");
+    when(delegate.getById("id")).thenReturn(stack, updated);
+    when(delegate.searchStacks("user", null, 0, 10))
+        .thenReturn(singletonList(stack), singletonList(updated));
+    when(delegate.update(updated)).thenReturn(updated);
+    dao.getById("id");
+    dao.searchStacks("user", null, 0, 10);
+
+    dao.update(updated);
+
+    assertEquals(dao.getById("id"), updated);
+    assertEquals(dao.searchStacks("user", null, 0, 10), singletonList(updated));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void doesNotReturnStackAfterRemoval() throws Exception {
+    when(delegate.getById("id"))
+        .thenReturn(createStack("description"))
+        .thenThrow(new NotFoundException("removed"));
+    dao.getById("id");
+
+    dao.remove("id");
+
+    dao.getById("id");
+  }
+
+  @Test
+  public void invalidatesStackRemovedByCascade() throws Exception {
+    final StackImpl stack = createStack("description");
+    when(delegate.getById("id")).thenReturn(stack);
+    when(delegate.searchStacks("user", null, 0, 10)).thenReturn(singletonList(stack));
+    dao.getById("id");
+    dao.searchStacks("user", null, 0, 10);
+
+    eventService.publish(new BeforeStackRemovedEvent(stack));
+    dao.getById("id");
+    dao.searchStacks("user", null, 0, 10);
+
+    verify(delegate, times(2)).getById("id");
+    verify(delegate, times(2)).searchStacks("user", null, 0, 10);
+  }
+
+  @Test
+  public void doesNotShareCachedStackWithLoadedEntity() throws Exception {
+    final StackImpl stack = createStack("description");
+    when(delegate.getById("id")).thenReturn(stack);
+    dao.getById("id");
+
+    // the entity managed by the persistence context is modified
+    stack.setDescription("new description");
+
+    assertEquals(dao.getById("id").getDescription(), "description");
+  }
+
+  private static StackImpl createStack(String description) {
+    return StackImpl.builder()
+        .setId("id")
+        .setName("stack")
+        .setDescription(description)
+        .setCreator("user")
+        .build();
+  }
+}
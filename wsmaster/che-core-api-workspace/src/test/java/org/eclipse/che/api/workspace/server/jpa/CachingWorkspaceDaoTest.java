@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import org.eclipse.che.account.event.AccountUpdatedEvent;
+import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link CachingWorkspaceDao}. */
+@Listeners(MockitoTestNGListener.class)
+public class CachingWorkspaceDaoTest {
+
+  private static final AccountImpl ACCOUNT = new AccountImpl("accountId", "namespace", "test");
+
+  @Mock private JpaWorkspaceDao delegate;
+
+  private EventService eventService;
+  private CachingWorkspaceDao dao;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    dao = new CachingWorkspaceDao(delegate, eventService, null, 10, 10, 60);
+    dao.subscribe();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    dao.unsubscribe();
+  }
+
+  @Test
+  public void returnsCachedWorkspace() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace("ws", "description");
+    when(delegate.get("id")).thenReturn(workspace);
+
+    dao.get("id");
+    final WorkspaceImpl result = dao.get("id");
+
+    assertEquals(result, workspace);
+    verify(delegate).get("id");
+  }
+
+  @Test
+  public void returnsUpdatedWorkspaceAfterUpdate() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace("ws", "description");
+    final WorkspaceImpl updated = createWorkspace("ws", "new description");
+    when(delegate.get("id")).thenReturn(workspace, updated);
+    when(delegate.get("ws", ACCOUNT.getName())).thenReturn(workspace, updated);
+    when(delegate.getByNamespace(ACCOUNT.getName()))
+        .thenReturn(singletonList(workspace), singletonList(updated));
+    when(delegate.update(updated)).thenReturn(updated);
+    dao.get("id");
+    dao.get("ws", ACCOUNT.getName());
+    dao.getByNamespace(ACCOUNT.getName());
+
+    dao.update(updated);
+
+    assertEquals(dao.get("id"), updated);
+    assertEquals(dao.get("ws", ACCOUNT.getName()), updated);
+    assertEquals(dao.getByNamespace(ACCOUNT.getName()), singletonList(updated));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void doesNotReturnWorkspaceAfterRemoval() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace("ws", "description");
+    when(delegate.get("id")).thenReturn(workspace).thenThrow(new NotFoundException("removed"));
+    dao.get("id");
+
+    dao.remove("id");
+
+    dao.get("id");
+  }
+
+  @Test
+  public void invalidatesWorkspaceRemovedByCascade() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace("ws", "description");
+    when(delegate.get("id")).thenReturn(workspace);
+    dao.get("id");
+
+    // workspace removed by JpaWorkspaceDao directly, e.g. on the removal of its account
+    eventService.publish(new WorkspaceRemovedEvent(workspace));
+    dao.get("id");
+
+    verify(delegate, times(2)).get("id");
+  }
+
+  @Test
+  public void invalidatesWorkspacesOfRemovedAccount() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace("ws", "description");
+    when(delegate.get("id")).thenReturn(workspace);
+    when(delegate.getByNamespace(ACCOUNT.getName())).thenReturn(singletonList(workspace));
+    dao.get("id");
+    dao.getByNamespace(ACCOUNT.getName());
+
+    eventService.publish(new BeforeAccountRemovedEvent(ACCOUNT));
+    dao.get("id");
+    dao.getByNamespace(ACCOUNT.getName());
+
+    verify(delegate, times(2)).get("id");
+    verify(delegate, times(2)).getByNamespace(ACCOUNT.getName());
+  }
+
+  @Test
+  public void invalidatesWorkspacesOfRenamedAccount() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace("ws", "description");
+    final AccountImpl renamed = new AccountImpl(ACCOUNT.getId(), "new-namespace", "test");
+    when(delegate.get("id")).thenReturn(workspace);
+    when(delegate.get("ws", ACCOUNT.getName())).thenReturn(workspace);
+    when(delegate.getByNamespace(ACCOUNT.getName())).thenReturn(singletonList(workspace));
+    when(delegate.getByNamespace(renamed.getName())).thenReturn(emptyList());
+    dao.get("id");
+    dao.get("ws", ACCOUNT.getName());
+    dao.getByNamespace(ACCOUNT.getName());
+    dao.getByNamespace(renamed.getName());
+
+    eventService.publish(new AccountUpdatedEvent(ACCOUNT, renamed));
+    dao.get("id");
+    dao.get("ws", ACCOUNT.getName());
+    dao.getByNamespace(ACCOUNT.getName());
+    dao.getByNamespace(renamed.getName());
+
+    verify(delegate, times(2)).get("id");
+    verify(delegate, times(2)).get("ws", ACCOUNT.getName());
+    verify(delegate, times(2)).getByNamespace(ACCOUNT.getName());
+    verify(delegate, times(2)).getByNamespace(renamed.getName());
+  }
+
+  private static WorkspaceImpl createWorkspace(String name, String description) {
+    return new WorkspaceImpl(
+        "id", ACCOUNT, new WorkspaceConfigImpl(name, description, null, null, null, null));
+  }
+}
@@ -136,6 +136,41 @@ public class WorkspaceDaoTest {
     assertEquals(new HashSet<>(found), new HashSet<>(asList(workspace1, workspace2)));
   }
 
+  @Test
+  public void shouldGetPageOfWorkspacesByNamespace() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+
+    final List<WorkspaceImpl> first = workspaceDao.getByNamespace(workspace1.getNamespace(), 0, 1);
+    final List<WorkspaceImpl> second = workspaceDao.getByNamespace(workspace1.getNamespace(), 1, 1);
+
+    assertEquals(first.size(), 1);
+    assertEquals(second.size(), 1);
+    assertEquals(
+        new HashSet<>(asList(first.get(0), second.get(0))),
+        new HashSet<>(asList(workspace1, workspace2)));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingPageByNamespaceWithNegativeSkipCount()
+      throws Exception {
+    workspaceDao.getByNamespace(workspaces[0].getNamespace(), -1, 1);
+  }
+
+  @Test
+  public void shouldGetPageOfWorkspacesAvailableForUser() throws Exception {
+    final List<WorkspaceImpl> result = workspaceDao.getWorkspaces("userId", 1, 3);
+
+    assertEquals(result.size(), 3);
+    assertTrue(asList(workspaces).containsAll(result));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingPageOfWorkspacesWithNegativeLimit()
+      throws Exception {
+    workspaceDao.getWorkspaces("userId", 0, -1);
+  }
+
   @Test
   public void emptyListShouldBeReturnedWhenThereAreNoWorkspacesInGivenNamespace() throws Exception {
     assertTrue(workspaceDao.getByNamespace("non-existing-namespace").isEmpty());
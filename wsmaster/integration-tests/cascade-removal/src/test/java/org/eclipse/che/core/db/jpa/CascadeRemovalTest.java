@@ -197,6 +197,13 @@ public class CascadeRemovalTest {
                 install(new SshJpaModule());
                 install(new WorkspaceJpaModule());
                 install(new MachineJpaModule());
+                bindConstant()
+                    .annotatedWith(Names.named("db.cache.entity.max_entries"))
+                    .to(100L);
+                bindConstant()
+                    .annotatedWith(Names.named("db.cache.query.max_entries"))
+                    .to(100L);
+                bindConstant().annotatedWith(Names.named("db.cache.ttl_sec")).to(60L);
                 bind(WorkspaceManager.class);
                 final WorkspaceRuntimes wR = mock(WorkspaceRuntimes.class);
                 when(wR.hasRuntime(anyString())).thenReturn(false);